@@ -26,7 +26,9 @@ import static com.boomi.connector.cosmosdb.util.CosmosDbConstants.MASTER_KEY;
 import static com.boomi.connector.cosmosdb.util.CosmosDbConstants.PARTITION_KEY_HEADER;
 import static com.boomi.connector.cosmosdb.util.CosmosDbConstants.PARTITION_KEY_HEADER_END;
 import static com.boomi.connector.cosmosdb.util.CosmosDbConstants.PARTITION_KEY_HEADER_START;
+import static com.boomi.connector.cosmosdb.util.CosmosDbConstants.PKRANGES;
 import static com.boomi.connector.cosmosdb.util.CosmosDbConstants.QUERY_MAXRETRY;
+import static com.boomi.connector.cosmosdb.util.CosmosDbConstants.REQUEST_UNIT_BUDGET;
 import static com.boomi.connector.cosmosdb.util.CosmosDbConstants.RFC_TIME;
 import static com.boomi.connector.cosmosdb.util.CosmosDbConstants.STATUS_CODE_SUCCESS;
 import static com.boomi.connector.cosmosdb.util.CosmosDbConstants.STATUS_MESSAGE_SUCCESS;
@@ -34,7 +36,9 @@ import static com.boomi.connector.cosmosdb.util.CosmosDbConstants.X_MS_DATE;
 import static com.boomi.connector.cosmosdb.util.CosmosDbConstants.X_MS_VERSION;
 import static com.boomi.connector.cosmosdb.util.CosmosDbConstants.CONTENT_TYPE;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -42,14 +46,18 @@ import java.net.UnknownHostException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
@@ -59,10 +67,11 @@ import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.utils.URIBuilder;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.InputStreamEntity;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.util.EntityUtils;
 
 import com.boomi.connector.api.BrowseContext;
 import com.boomi.connector.api.ConnectorException;
@@ -71,26 +80,35 @@ import com.boomi.connector.api.ObjectData;
 import com.boomi.connector.api.OperationResponse;
 import com.boomi.connector.api.OperationStatus;
 import com.boomi.connector.api.OperationType;
+import com.boomi.connector.api.PropertyMap;
 import com.boomi.connector.api.ResponseUtil;
+import com.boomi.connector.cosmosdb.bean.BatchOperation;
+import com.boomi.connector.cosmosdb.bean.BatchOperationResult;
 import com.boomi.connector.cosmosdb.bean.CreateOperationRequest;
 import com.boomi.connector.cosmosdb.bean.DeleteOperationRequest;
 import com.boomi.connector.cosmosdb.bean.ErrorDetails;
 import com.boomi.connector.cosmosdb.bean.OutputDocument;
 import com.boomi.connector.cosmosdb.bean.UpdateOperationRequest;
+import com.boomi.connector.cosmosdb.util.CollectionMetadataCache;
 import com.boomi.connector.cosmosdb.util.CosmosDBPayloadUtil;
 import com.boomi.connector.cosmosdb.util.CosmosDbConstants;
 import com.boomi.connector.cosmosdb.util.DocumentUtil;
+import com.boomi.connector.cosmosdb.util.HttpClientPool;
 import com.boomi.connector.cosmosdb.util.JsonSchemaBuilder;
-import com.boomi.connector.cosmosdb.util.SignatureUtils;
+import com.boomi.connector.cosmosdb.util.PartitionedQueryExecutor;
+import com.boomi.connector.cosmosdb.util.RequestSigner;
+import com.boomi.connector.cosmosdb.util.RequestThrottle;
 import com.boomi.connector.exception.CosmosDBConnectorException;
 import com.boomi.connector.exception.CosmosDBRetryException;
 import com.boomi.connector.util.BaseConnection;
+import com.boomi.util.IOUtil;
 import com.boomi.util.StringUtil;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
-import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 
 /**
  * @author Abhijit Mishra
@@ -102,11 +120,18 @@ public class CosmosDBConnection extends BaseConnection {
 	/** The Constant logger. */
 	private static final Logger logger = Logger.getLogger(CosmosDBConnection.class.getName());
 
+	/** The mapper of the batch requests and responses. */
+	private static final ObjectMapper BATCH_MAPPER = new ObjectMapper();
+
 	private final String cosmosdbUrl;
 	private final String masterKey;
 	private final String databaseName;
+	private final double requestUnitBudget;
 	private String operationType;
 
+	/** The signer of the requests, created with the master key on first use. */
+	private volatile RequestSigner signer;
+
 	@SuppressWarnings({ "rawtypes" })
 	private static List<Class> exceptionTermedFailure = initListOfExceptionsTermedFailure();
 
@@ -115,6 +140,28 @@ public class CosmosDBConnection extends BaseConnection {
 		this.cosmosdbUrl = getBaseUrl(context);
 		this.masterKey = context.getConnectionProperties().getProperty(MASTER_KEY);
 		this.databaseName = context.getConnectionProperties().getProperty(DB_NAME);
+		this.requestUnitBudget = context.getConnectionProperties().getLongProperty(REQUEST_UNIT_BUDGET, 0L);
+	}
+
+	/**
+	 * Gets the signer of the requests of this connection. The signer is held by
+	 * the connection only, so the master key is not kept after the connection
+	 * is discarded.
+	 * 
+	 * @return the signer
+	 */
+	private RequestSigner getSigner() {
+		RequestSigner current = signer;
+		if (current == null) {
+			synchronized (this) {
+				current = signer;
+				if (current == null) {
+					current = new RequestSigner(masterKey);
+					signer = current;
+				}
+			}
+		}
+		return current;
 	}
 
 	/**
@@ -133,8 +180,7 @@ public class CosmosDBConnection extends BaseConnection {
 
 		URI uri = new URIBuilder(cosmosdbUrl + urlPath).build();
 		RequestConfig config = RequestConfig.DEFAULT;
-		Map<String, String> requestHeaders = SignatureUtils.generateHashSignature(cosmosdbUrl + urlPath, masterKey,
-				httpMethod);
+		Map<String, String> requestHeaders = getSigner().sign(cosmosdbUrl + urlPath, httpMethod);
 		switch (httpMethod) {
 		case HTTP_GET:
 			HttpGet request = new HttpGet(uri);
@@ -199,11 +245,29 @@ public class CosmosDBConnection extends BaseConnection {
 	public HttpRequestBase buildUriRequestQuery(String urlPath, String httpMethod, String continuationHeader)
 			throws URISyntaxException, InvalidKeyException, NoSuchAlgorithmException, UnsupportedEncodingException,
 			CosmosDBConnectorException, CosmosDBRetryException {
+		return buildUriRequestQuery(urlPath, httpMethod, continuationHeader, getPartitionKeyRange(urlPath));
+	}
+
+	/**
+	 * Build Http API Request of a query on a single Partition Key range.
+	 * 
+	 * @param urlPath The Url Path
+	 * @param httpMethod The Https Method
+	 * @param continuationHeader The continuation token of the page, or null for the first page
+	 * @param partitionKeyRange The Partition Key range header value
+	 * @return HttpRequestBase
+	 * @throws URISyntaxException If any URISyntax Error Occurs.
+	 * @throws InvalidKeyException If any InvalidKey Exception Occurs.
+	 * @throws NoSuchAlgorithmException If any NoSuchAlgorithm Exception Occurs.
+	 * @throws UnsupportedEncodingException If any UnsupportedEncoding Exception occurs.
+	 */
+	public HttpRequestBase buildUriRequestQuery(String urlPath, String httpMethod, String continuationHeader,
+			String partitionKeyRange) throws URISyntaxException, InvalidKeyException, NoSuchAlgorithmException,
+			UnsupportedEncodingException {
 
 		URI uri = new URIBuilder(cosmosdbUrl + urlPath).build();
 		RequestConfig config = RequestConfig.DEFAULT;
-		Map<String, String> requestHeaders = SignatureUtils.generateHashSignature(cosmosdbUrl + urlPath, masterKey,
-				httpMethod);
+		Map<String, String> requestHeaders = getSigner().sign(cosmosdbUrl + urlPath, httpMethod);
 		HttpPost queryRequest = new HttpPost(uri);
 		queryRequest.setConfig(config);
 		queryRequest.addHeader(AUTHORIZATION, requestHeaders.get(AUTH_TOKEN));
@@ -213,7 +277,9 @@ public class CosmosDBConnection extends BaseConnection {
 		queryRequest.addHeader(X_MS_DATE, requestHeaders.get(RFC_TIME));
 		queryRequest.addHeader("x-ms-documentdb-isquery", "true");
 		queryRequest.addHeader("x-ms-documentdb-query-enablecrosspartition", "true");
-		queryRequest.addHeader("x-ms-documentdb-partitionkeyrangeid",getPartitionKeyRange(urlPath));
+		if (partitionKeyRange != null) {
+			queryRequest.addHeader(CosmosDbConstants.X_MS_PARTITION_KEY_RANGE_ID, partitionKeyRange);
+		}
 		queryRequest.addHeader("x-ms-max-item-count", "1000");
 		if(StringUtil.isNotBlank(continuationHeader)) {
 			queryRequest.addHeader(CosmosDbConstants.X_MS_CONTINUATION,continuationHeader);
@@ -231,15 +297,50 @@ public class CosmosDBConnection extends BaseConnection {
 	 * @throws CosmosDBRetryException If any Recoverable Error Occurs
 	 */
 	private String getPartitionKeyRange(String urlPath) throws CosmosDBConnectorException, CosmosDBRetryException {
-		try (CloseableHttpClient clientConnection = HttpClientBuilder.create().build();) {
-			try (CloseableHttpResponse response = clientConnection
-					.execute(buildUriRequest(urlPath.substring(0, urlPath.length() - 5) + "/pkranges", HTTP_GET))) {
+		List<String> ranges = getPartitionKeyRanges(urlPath);
+		return ranges.isEmpty() ? null : ranges.get(0);
+	}
+
+	/**
+	 * Gets all the Partition Key ranges of a collection, as the values of the
+	 * Partition Key range header of the QUERY Operation API.
+	 * @param urlPath
+	 * @return the list of Partition Key ranges
+	 * @throws CosmosDBConnectorException If any Irrovable Error Occurs.
+	 * @throws CosmosDBRetryException If any Recoverable Error Occurs
+	 */
+	public List<String> getPartitionKeyRanges(String urlPath) throws CosmosDBConnectorException, CosmosDBRetryException {
+		final String pkRangesPath = urlPath.substring(0, urlPath.length() - 5) + PKRANGES;
+		String ranges = CollectionMetadataCache.getShared().get(cosmosdbUrl + pkRangesPath,
+				new CollectionMetadataCache.Loader() {
+					@Override
+					public String load() throws CosmosDBConnectorException, CosmosDBRetryException {
+						return loadPartitionKeyRange(pkRangesPath);
+					}
+				});
+		if (StringUtil.isBlank(ranges)) {
+			return new ArrayList<>();
+		}
+		return Arrays.asList(ranges.split(CosmosDbConstants.PARTITION_KEY_RANGE_SEPARATOR));
+	}
+
+	/**
+	 * Requests the Partition Key ranges of a collection from Cosmos DB.
+	 * 
+	 * @param pkRangesPath the URL Path of the Partition Key ranges
+	 * @return string
+	 * @throws CosmosDBConnectorException If any Irrovable Error Occurs.
+	 * @throws CosmosDBRetryException If any Recoverable Error Occurs
+	 */
+	private String loadPartitionKeyRange(String pkRangesPath) throws CosmosDBConnectorException, CosmosDBRetryException {
+		try {
+			CloseableHttpClient clientConnection = getHttpClient();
+			try (CloseableHttpResponse response = clientConnection.execute(buildUriRequest(pkRangesPath, HTTP_GET))) {
 				if (response.getStatusLine().getStatusCode() == 200) {
-					return DocumentUtil.getPartitionKeyRange(response.getEntity().getContent());
-				} else if (response.getStatusLine().getStatusCode() == 449
-						|| response.getStatusLine().getStatusCode() == 503) {
-					throw new CosmosDBRetryException(response.getStatusLine().getReasonPhrase(), null,
-							response.getStatusLine().getStatusCode());
+					return StringUtils.join(DocumentUtil.getPartitionKeyRanges(response.getEntity().getContent()),
+							CosmosDbConstants.PARTITION_KEY_RANGE_SEPARATOR);
+				} else if (isRetryableStatus(response.getStatusLine().getStatusCode())) {
+					throw newRetryException(response, null);
 				} else {
 					throw new CosmosDBConnectorException(response.getStatusLine().getReasonPhrase(), null,
 							response.getStatusLine().getStatusCode());
@@ -265,8 +366,8 @@ public class CosmosDBConnection extends BaseConnection {
 	 */
 	public List<String> listCollectionsOfDB() {
 		List<String> collections = null;
-		try (CloseableHttpClient clientConnection = HttpClientBuilder.create().build();) {
-			collections = getAllCollections(clientConnection);
+		try {
+			collections = getAllCollections(getHttpClient());
 		} catch (Exception e) {
 			throw new ConnectorException(e.getMessage());
 		}
@@ -317,6 +418,37 @@ public class CosmosDBConnection extends BaseConnection {
 		return inputConfig;
 	}
 
+	/**
+	 * Prepares the input config of an operation that can send the documents in
+	 * batches.
+	 * 
+	 * @param operationProperties the operation properties
+	 * @return the input config
+	 */
+	public Map<String, Object> prepareInputConfig(PropertyMap operationProperties) {
+		Map<String, Object> inputConfig = prepareInputConfig();
+		inputConfig.put(CosmosDbConstants.BATCH_MODE,
+				operationProperties.getProperty(CosmosDbConstants.BATCH_MODE, CosmosDbConstants.BATCH_MODE_SINGLE));
+		inputConfig.put(CosmosDbConstants.BATCH_CONCURRENCY, (int) Math.max(1L, operationProperties
+				.getLongProperty(CosmosDbConstants.BATCH_CONCURRENCY, CosmosDbConstants.DEFAULT_BATCH_CONCURRENCY)));
+		return inputConfig;
+	}
+
+	/**
+	 * Prepares the input config of the QUERY operation.
+	 * 
+	 * @param operationProperties the operation properties
+	 * @return the input config
+	 */
+	public Map<String, Object> prepareQueryInputConfig(PropertyMap operationProperties) {
+		Map<String, Object> inputConfig = prepareInputConfig();
+		inputConfig.put(CosmosDbConstants.QUERY_PARALLELISM, (int) Math.max(1L, operationProperties
+				.getLongProperty(CosmosDbConstants.QUERY_PARALLELISM, CosmosDbConstants.DEFAULT_QUERY_PARALLELISM)));
+		inputConfig.put(CosmosDbConstants.QUERY_PREFETCH_PAGES, (int) Math.max(0L, operationProperties.getLongProperty(
+				CosmosDbConstants.QUERY_PREFETCH_PAGES, CosmosDbConstants.DEFAULT_QUERY_PREFETCH_PAGES)));
+		return inputConfig;
+	}
+
 	/**
 	 * Find document by id.
 	 *
@@ -329,8 +461,8 @@ public class CosmosDBConnection extends BaseConnection {
 		StringBuilder errMsg = null;
 		Exception ex = null;
 		HttpRequestBase httpRequestBase = null;
-		try (CloseableHttpClient clientConnection = HttpClientBuilder.create().build();) {
-			
+		try {
+			CloseableHttpClient clientConnection = getHttpClient();
 			if(objectId != null) {
 				httpRequestBase = buildUriRequest(DB + databaseName + COLLS
 					+ objectTypeId + DOCS + objectId, HTTP_GET);
@@ -539,70 +671,264 @@ public class CosmosDBConnection extends BaseConnection {
 	public void doQuery(String collectionName, List<Entry<String, String>> filterParameters,
 			OperationResponse operationResponse, FilterData filterData)
 			throws CosmosDBConnectorException, CosmosDBRetryException {
+		doQuery(collectionName, filterParameters, operationResponse, filterData, 1, 0);
+	}
+
+	/**
+	 * This method fetchs all records as per the Inputs, querying each Partition Key
+	 * range of the collection. When the parallelism or the prefetch is set, the
+	 * ranges are queried in parallel and up to prefetchPages result pages are
+	 * fetched ahead of the response. A sorted query fails on a collection with
+	 * several ranges, as each range is sorted on its own and querying a single
+	 * one would miss documents. Once documents were sent to the
+	 * response, a failure is added as a partial failure rather than thrown, so
+	 * the query is not retried and the documents are not sent again.
+	 * 
+	 * @param collectionName The Collection Name
+	 * @param filterParameters The Filter  Paramters
+	 * @param operationResponse The Operation Response
+	 * @param filterData The Filter Data
+	 * @param parallelism The most ranges queried at the same time
+	 * @param prefetchPages The most pages fetched ahead of the response, 0 to stream each page
+	 * @throws CosmosDBConnectorException If any irrecoverable error occurs.
+	 * @throws CosmosDBRetryException If any Recoverable error occurs.
+	 */
+	public void doQuery(final String collectionName, List<Entry<String, String>> filterParameters,
+			final OperationResponse operationResponse, final FilterData filterData, int parallelism,
+			int prefetchPages) throws CosmosDBConnectorException, CosmosDBRetryException {
 
 		UpdateOperationRequest updateRequest = new UpdateOperationRequest();
 		String errorMessage = null;
-		ObjectMapper mapper = new ObjectMapper();
-		try (CloseableHttpClient clientConnection = HttpClientBuilder.create().build();) {
-			
-			boolean isPaginationExists = false;
-			String continuationHeader = null;
-			do {
-				HttpPost queryRequest = (HttpPost) buildUriRequestQuery(
-						DB + getDatabaseName() + COLLS + collectionName + "/docs", HTTP_POST, continuationHeader);
-				HttpEntity entity = new StringEntity(DocumentUtil.getRequestData(filterParameters));
-				queryRequest.setEntity(entity);
-				try (CloseableHttpResponse response = clientConnection.execute(queryRequest);) {
-					if (response.getStatusLine().getStatusCode() != 200) {
-						isPaginationExists = false;
-						if (response.getStatusLine().getStatusCode() == 449
-								|| response.getStatusLine().getStatusCode() == 503) {
-							throw new CosmosDBRetryException(
-									response.getStatusLine().getStatusCode() + ":"
-											+ response.getStatusLine().getReasonPhrase(),
-									null, response.getStatusLine().getStatusCode());
-						} else {
-							throw new CosmosDBConnectorException(response.getStatusLine().getReasonPhrase(), null,
-									response.getStatusLine().getStatusCode());
-						}
-					} else {
-						addResponse(response, operationResponse, filterData);
-						continuationHeader = response.getFirstHeader(CosmosDbConstants.X_MS_CONTINUATION) != null ? response.getFirstHeader(CosmosDbConstants.X_MS_CONTINUATION).getValue() : null;
-						
-						if(StringUtil.isNotBlank(continuationHeader)) {
-							isPaginationExists = true;
-						} else {
-							isPaginationExists = false;
-							operationResponse.finishPartialResult(filterData);
-							logger.info("Query Successful");
-						}
-					}
+		final AtomicInteger emittedPages = new AtomicInteger();
+		try {
+			final String queryPath = DB + getDatabaseName() + COLLS + collectionName + "/docs";
+			final String query = DocumentUtil.getRequestData(filterParameters);
+			List<String> partitionKeyRanges = getPartitionKeyRanges(queryPath);
+			if (partitionKeyRanges.size() > 1 && isSortedQuery(filterParameters)) {
+				throw new CosmosDBConnectorException("Sorted queries are not supported on collection " + collectionName
+						+ " as it has " + partitionKeyRanges.size()
+						+ " Partition Key ranges, remove the sort to query all of its documents");
+			}
+			if (partitionKeyRanges.isEmpty()) {
+				partitionKeyRanges = Collections.singletonList(null);
+			}
+			if (parallelism <= 1 && prefetchPages <= 0) {
+				for (String partitionKeyRange : partitionKeyRanges) {
+					queryPartitionKeyRange(collectionName, queryPath, query, partitionKeyRange, operationResponse,
+							filterData, emittedPages);
 				}
-			} while (isPaginationExists);
-			
+			} else {
+				new PartitionedQueryExecutor(parallelism, prefetchPages).execute(partitionKeyRanges,
+						new PartitionedQueryExecutor.PageFetcher() {
+							@Override
+							public PartitionedQueryExecutor.Page fetch(String partitionKeyRange, String continuation)
+									throws CosmosDBConnectorException, CosmosDBRetryException {
+								return fetchQueryPage(collectionName, queryPath, query, partitionKeyRange,
+										continuation);
+							}
+						}, new PartitionedQueryExecutor.PageConsumer() {
+							@Override
+							public void consume(PartitionedQueryExecutor.Page page) throws IOException {
+								emittedPages.incrementAndGet();
+								addResponse(new ByteArrayInputStream(page.getContent()), page.getReasonPhrase(),
+										operationResponse, filterData);
+							}
+						});
+			}
+			operationResponse.finishPartialResult(filterData);
+			logger.info("Query Successful");
 		} catch (CosmosDBConnectorException | CosmosDBRetryException ex) {
-			throw ex;
+			if (emittedPages.get() == 0) {
+				throw ex;
+			}
+			addQueryPartialFailure(operationResponse, ex, filterData);
 		} catch (Exception e) {
 			if (e.getClass().equals(JsonParseException.class)) {
 				errorMessage = JSON_PARSING_ERROR_MSG;
 			} else {
 				errorMessage = e.toString();
 			}
-			throw new CosmosDBConnectorException(errorMessage, updateRequest.getId(), e);
+			CosmosDBConnectorException ex = new CosmosDBConnectorException(errorMessage, updateRequest.getId(), e);
+			if (emittedPages.get() == 0) {
+				throw ex;
+			}
+			addQueryPartialFailure(operationResponse, ex, filterData);
+		}
+
+	}
+
+	/**
+	 * Adds the failure of a query that already sent documents to the response
+	 * as a partial result, and finishes the response of the query.
+	 * 
+	 * @param response The Operation Response
+	 * @param ex The failure
+	 * @param filterData The Filter Data
+	 */
+	private void addQueryPartialFailure(OperationResponse response, Exception ex, FilterData filterData) {
+		ErrorDetails err = getErrorDetails(ex);
+		OperationStatus operationStatus = getOperationStatus(ex);
+		logger.log(Level.WARNING, "Query failed after returning documents: {0}", err.getErrorMessage());
+		response.addPartialResult(filterData, operationStatus, String.valueOf(err.getErrorCode()),
+				err.getErrorMessage(), CosmosDBPayloadUtil.toPayload(new OutputDocument(operationStatus, err)));
+		response.finishPartialResult(filterData);
+	}
+
+	/**
+	 * Walks the continuation tokens of a query on a single Partition Key range,
+	 * sending each page to the response as it is read.
+	 * 
+	 * @param collectionName The Collection Name
+	 * @param queryPath The Url Path of the query
+	 * @param query The query
+	 * @param partitionKeyRange The Partition Key range header value
+	 * @param operationResponse The Operation Response
+	 * @param filterData The Filter Data
+	 * @param emittedPages The number of pages sent to the response, updated as they are sent
+	 * @throws Exception If the query fails.
+	 */
+	private void queryPartitionKeyRange(String collectionName, String queryPath, String query,
+			String partitionKeyRange, OperationResponse operationResponse, FilterData filterData,
+			AtomicInteger emittedPages) throws Exception {
+		CloseableHttpClient clientConnection = getHttpClient();
+		String continuationHeader = null;
+		do {
+			HttpPost queryRequest = (HttpPost) buildUriRequestQuery(queryPath, HTTP_POST, continuationHeader,
+					partitionKeyRange);
+			queryRequest.setEntity(new StringEntity(query));
+			try (CloseableHttpResponse response = executeQueryPage(clientConnection, queryRequest, collectionName);) {
+				checkQueryResponse(response, collectionName);
+				emittedPages.incrementAndGet();
+				addResponse(response.getEntity().getContent(), response.getStatusLine().getReasonPhrase(),
+						operationResponse, filterData);
+				continuationHeader = response.getFirstHeader(CosmosDbConstants.X_MS_CONTINUATION) != null
+						? response.getFirstHeader(CosmosDbConstants.X_MS_CONTINUATION).getValue()
+						: null;
+			}
+		} while (StringUtil.isNotBlank(continuationHeader));
+	}
+
+	/**
+	 * Fetches a page of a query on a single Partition Key range, reading it
+	 * fully so the connection is released before the page is consumed.
+	 * 
+	 * @param collectionName The Collection Name
+	 * @param queryPath The Url Path of the query
+	 * @param query The query
+	 * @param partitionKeyRange The Partition Key range header value
+	 * @param continuationHeader The continuation token of the page, or null for the first page
+	 * @return the page
+	 * @throws CosmosDBConnectorException If any irrecoverable error occurs.
+	 * @throws CosmosDBRetryException If any Recoverable error occurs.
+	 */
+	private PartitionedQueryExecutor.Page fetchQueryPage(String collectionName, String queryPath, String query,
+			String partitionKeyRange, String continuationHeader)
+			throws CosmosDBConnectorException, CosmosDBRetryException {
+		try {
+			HttpPost queryRequest = (HttpPost) buildUriRequestQuery(queryPath, HTTP_POST, continuationHeader,
+					partitionKeyRange);
+			queryRequest.setEntity(new StringEntity(query));
+			try (CloseableHttpResponse response = executeQueryPage(getHttpClient(), queryRequest, collectionName);) {
+				checkQueryResponse(response, collectionName);
+				Header continuation = response.getFirstHeader(CosmosDbConstants.X_MS_CONTINUATION);
+				return new PartitionedQueryExecutor.Page(EntityUtils.toByteArray(response.getEntity()),
+						continuation != null ? continuation.getValue() : null,
+						response.getStatusLine().getReasonPhrase());
+			}
+		} catch (CosmosDBConnectorException | CosmosDBRetryException ex) {
+			throw ex;
+		} catch (Exception e) {
+			throw new CosmosDBConnectorException(e.toString(), null, e);
+		}
+	}
+
+	/**
+	 * Sends the request of a query page, sending it again while Cosmos DB
+	 * throttles it. Throttled pages are retried here, after the retry-after time
+	 * held back by the throttle, rather than by retrying the whole query, which
+	 * would send the pages already read to the response again.
+	 * 
+	 * @param clientConnection the HTTP client
+	 * @param queryRequest the request of the page
+	 * @param collectionName the collection name
+	 * @return the response, throttled only if the retries are exhausted
+	 * @throws IOException If the request fails.
+	 * @throws CosmosDBConnectorException If interrupted while waiting.
+	 */
+	private CloseableHttpResponse executeQueryPage(CloseableHttpClient clientConnection, HttpRequestBase queryRequest,
+			String collectionName) throws IOException, CosmosDBConnectorException {
+		int attempt = 0;
+		while (true) {
+			CloseableHttpResponse response = executeThrottled(clientConnection, queryRequest, collectionName);
+			if (response.getStatusLine().getStatusCode() != CosmosDbConstants.STATUS_TOO_MANY_REQUESTS
+					|| attempt++ >= CosmosDbConstants.QUERY_THROTTLE_RETRIES) {
+				return response;
+			}
+			long retryAfter = (long) getNumericHeader(response, CosmosDbConstants.X_MS_RETRY_AFTER_MS);
+			EntityUtils.consumeQuietly(response.getEntity());
+			response.close();
+			logger.log(Level.FINE, "Query page throttled, sending it again, attempt {0}", attempt);
+			if (retryAfter <= 0) {
+				try {
+					Thread.sleep(CosmosDbConstants.QUERY_THROTTLE_BACKOFF * attempt);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new CosmosDBConnectorException("Interrupted while waiting for a throttled query page", null,
+							e);
+				}
+			}
 		}
+	}
+
+	/**
+	 * Checks the status of a query response. A query page still throttled after
+	 * its retries fails the query, as retrying the whole query would send the
+	 * pages already read to the response again.
+	 * 
+	 * @param response The response
+	 * @param collectionName The Collection Name
+	 * @throws CosmosDBConnectorException If any irrecoverable error occurs.
+	 * @throws CosmosDBRetryException If any Recoverable error occurs.
+	 */
+	private void checkQueryResponse(CloseableHttpResponse response, String collectionName)
+			throws CosmosDBConnectorException, CosmosDBRetryException {
+		int statusCode = response.getStatusLine().getStatusCode();
+		if (statusCode != 200) {
+			EntityUtils.consumeQuietly(response.getEntity());
+			invalidateCollectionMetadata(collectionName, statusCode);
+			if (statusCode != CosmosDbConstants.STATUS_TOO_MANY_REQUESTS && isRetryableStatus(statusCode)) {
+				throw newRetryException(response, null);
+			}
+			throw new CosmosDBConnectorException(response.getStatusLine().getReasonPhrase(), null, statusCode);
+		}
+	}
 
+	/**
+	 * Check if the query sorts the results.
+	 * 
+	 * @param filterParameters The Filter Paramters
+	 * @return boolean
+	 */
+	private static boolean isSortedQuery(List<Entry<String, String>> filterParameters) {
+		for (Entry<String, String> filterParameter : filterParameters) {
+			if ("$sort".equals(filterParameter.getKey()) && StringUtil.isNotBlank(filterParameter.getValue())) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	/**
 	 * This method will send the output to response payload.
-	 * @param response
+	 * @param content
+	 * @param reasonPhrase
 	 * @param operationResponse
 	 * @param filterData
 	 * @throws IOException
 	 */
-	private void addResponse(CloseableHttpResponse response, OperationResponse operationResponse, FilterData filterData) throws IOException {
-		ObjectMapper mapper = new ObjectMapper().disable(MapperFeature.CAN_OVERRIDE_ACCESS_MODIFIERS);
-		try (JsonParser jp = mapper.getFactory().createParser(response.getEntity().getContent())) {
+	private void addResponse(InputStream content, String reasonPhrase, OperationResponse operationResponse,
+			FilterData filterData) throws IOException {
+		try (JsonParser jp = CosmosDBPayloadUtil.MAPPER.getFactory().createParser(content)) {
 			while (jp.nextToken() != null) {
 				if (jp.getCurrentToken() == JsonToken.FIELD_NAME
 						&& jp.getCurrentName().equals("Documents")) {
@@ -611,8 +937,7 @@ public class CosmosDBConnection extends BaseConnection {
 						while (jp.getCurrentToken() != JsonToken.END_ARRAY) {
 							jp.nextToken();
 							if (jp.getCurrentToken() == JsonToken.START_OBJECT) {
-								ResponseUtil.addPartialSuccess(operationResponse, filterData,
-										response.getStatusLine().getReasonPhrase(),
+								ResponseUtil.addPartialSuccess(operationResponse, filterData, reasonPhrase,
 										CosmosDBPayloadUtil.toPayloadQuery(jp));
 							} 
 						}
@@ -638,7 +963,8 @@ public class CosmosDBConnection extends BaseConnection {
 			throws CosmosDBConnectorException, CosmosDBRetryException {
 		UpdateOperationRequest updateRequest = null;
 		String errorMessage = null;
-		try (CloseableHttpClient clientConnection = HttpClientBuilder.create().build();) {
+		try {
+			CloseableHttpClient clientConnection = getHttpClient();
 			updateRequest = DocumentUtil.getUpdateRequestData(request, getPartitionKey(collectionName));
 			HttpPut putRequest = (HttpPut) buildUriRequest(
 					DB + getDatabaseName() + COLLS + collectionName + DOCS + updateRequest.getId(), HTTP_PUT);
@@ -647,14 +973,12 @@ public class CosmosDBConnection extends BaseConnection {
 			putRequest.addHeader(PARTITION_KEY_HEADER,
 					PARTITION_KEY_HEADER_START + partitionKey + PARTITION_KEY_HEADER_END);
 			putRequest.setEntity(new InputStreamEntity(request.getData()));
-			try (CloseableHttpResponse response = clientConnection.execute(putRequest);) {
+			try (CloseableHttpResponse response = executeThrottled(clientConnection, putRequest, collectionName);) {
+				EntityUtils.consumeQuietly(response.getEntity());
 				if (response.getStatusLine().getStatusCode() != 200) {
-					if (response.getStatusLine().getStatusCode() == 449
-							|| response.getStatusLine().getStatusCode() == 503) {
-						throw new CosmosDBRetryException(
-								response.getStatusLine().getStatusCode() + ":"
-										+ response.getStatusLine().getReasonPhrase(),
-								updateRequest.getId(), response.getStatusLine().getStatusCode());
+					invalidateCollectionMetadata(collectionName, response.getStatusLine().getStatusCode());
+					if (isRetryableStatus(response.getStatusLine().getStatusCode())) {
+						throw newRetryException(response, updateRequest.getId());
 					} else {
 						throw new CosmosDBConnectorException(response.getStatusLine().getReasonPhrase(),
 								updateRequest.getId(), response.getStatusLine().getStatusCode());
@@ -692,7 +1016,8 @@ public class CosmosDBConnection extends BaseConnection {
 		CreateOperationRequest createRequest = null;
 		String errorMessage = null;
 
-		try (CloseableHttpClient clientConnection = HttpClientBuilder.create().build();) {
+		try {
+			CloseableHttpClient clientConnection = getHttpClient();
 			createRequest = DocumentUtil.getCreateRequestData(request, getPartitionKey(collection));
 			HttpPost postRequest = (HttpPost) buildUriRequest(
 					DB + getDatabaseName() + COLLS + collection + CosmosDbConstants.CREATE_DOCS, HTTP_POST);
@@ -702,14 +1027,12 @@ public class CosmosDBConnection extends BaseConnection {
 			postRequest.addHeader(PARTITION_KEY_HEADER,
 					PARTITION_KEY_HEADER_START + partitionKey + PARTITION_KEY_HEADER_END);
 			postRequest.setEntity(new InputStreamEntity(request.getData()));
-			try (CloseableHttpResponse response = clientConnection.execute(postRequest);) {
+			try (CloseableHttpResponse response = executeThrottled(clientConnection, postRequest, collection);) {
+				EntityUtils.consumeQuietly(response.getEntity());
 				if (response.getStatusLine().getStatusCode() != 201) {
-					if (response.getStatusLine().getStatusCode() == 449
-							|| response.getStatusLine().getStatusCode() == 503) {
-						throw new CosmosDBRetryException(
-								response.getStatusLine().getStatusCode() + ":"
-										+ response.getStatusLine().getReasonPhrase(),
-								createRequest.getRequestId(), response.getStatusLine().getStatusCode());
+					invalidateCollectionMetadata(collection, response.getStatusLine().getStatusCode());
+					if (isRetryableStatus(response.getStatusLine().getStatusCode())) {
+						throw newRetryException(response, createRequest.getRequestId());
 					} else {
 						throw new CosmosDBConnectorException(response.getStatusLine().getReasonPhrase(),
 								createRequest.getRequestId(), response.getStatusLine().getStatusCode());
@@ -749,7 +1072,8 @@ public class CosmosDBConnection extends BaseConnection {
 			throws CosmosDBConnectorException, CosmosDBRetryException {
 		CreateOperationRequest createRequest = null;
 		String errorMessage = null;
-		try (CloseableHttpClient clientConnection = HttpClientBuilder.create().build();) {
+		try {
+			CloseableHttpClient clientConnection = getHttpClient();
 			createRequest = DocumentUtil.getCreateRequestData(request, getPartitionKey(collection));
 			HttpPost postRequest = (HttpPost) buildUriRequest(
 					DB + getDatabaseName() + COLLS + collection + CosmosDbConstants.CREATE_DOCS, HTTP_POST);
@@ -759,16 +1083,15 @@ public class CosmosDBConnection extends BaseConnection {
 			postRequest.addHeader(PARTITION_KEY_HEADER,
 					PARTITION_KEY_HEADER_START + partitionKey + PARTITION_KEY_HEADER_END);
 			postRequest.setEntity(new InputStreamEntity(request.getData()));
-			try (CloseableHttpResponse response = clientConnection.execute(postRequest);) {
+			try (CloseableHttpResponse response = executeThrottled(clientConnection, postRequest, collection);) {
+				EntityUtils.consumeQuietly(response.getEntity());
+				invalidateCollectionMetadata(collection, response.getStatusLine().getStatusCode());
 				if (response.getStatusLine().getStatusCode() == 200
 						|| response.getStatusLine().getStatusCode() == 201) {
 					createRequest.setStatusCode(response.getStatusLine().getStatusCode());
 					return createRequest;
-				} else if (response.getStatusLine().getStatusCode() == 449
-						|| response.getStatusLine().getStatusCode() == 503) {
-					throw new CosmosDBRetryException(
-							response.getStatusLine().getStatusCode() + ":" + response.getStatusLine().getReasonPhrase(),
-							createRequest.getRequestId(), response.getStatusLine().getStatusCode());
+				} else if (isRetryableStatus(response.getStatusLine().getStatusCode())) {
+					throw newRetryException(response, createRequest.getRequestId());
 				} else {
 					throw new CosmosDBConnectorException(response.getStatusLine().getReasonPhrase(),
 							createRequest.getRequestId(), response.getStatusLine().getStatusCode());
@@ -789,6 +1112,95 @@ public class CosmosDBConnection extends BaseConnection {
 
 	}
 
+	/**
+	 * This method sends the operations on documents sharing a partition key value
+	 * in one batch request, and returns the outcome of each operation in the
+	 * order of the operations.
+	 * 
+	 * @param collectionName the collection name
+	 * @param partitionKey the partition key value as a JSON array
+	 * @param operations the operations, at most 100
+	 * @param atomic true if the operations must succeed or fail together
+	 * @return the list of BatchOperationResult
+	 * @throws CosmosDBConnectorException If any Irrecoverable Error Occurs.
+	 * @throws CosmosDBRetryException If any Recoverable Error Occurs.
+	 */
+	public List<BatchOperationResult> doBatch(String collectionName, String partitionKey,
+			List<BatchOperation> operations, boolean atomic) throws CosmosDBConnectorException, CosmosDBRetryException {
+		try {
+			ArrayNode body = BATCH_MAPPER.createArrayNode();
+			for (BatchOperation operation : operations) {
+				body.add(operation.getOperation());
+			}
+			HttpPost postRequest = (HttpPost) buildUriRequest(
+					DB + getDatabaseName() + COLLS + collectionName + CosmosDbConstants.CREATE_DOCS, HTTP_POST);
+			postRequest.removeHeaders(CosmosDbConstants.X_MS_DOCUMENT);
+			postRequest.setHeader(X_MS_VERSION, CosmosDbConstants.BATCH_MS_VERSION);
+			postRequest.addHeader(CosmosDbConstants.X_MS_COSMOS_IS_BATCH_REQUEST, CosmosDbConstants.TRUE);
+			postRequest.addHeader(CosmosDbConstants.X_MS_COSMOS_BATCH_ATOMIC, String.valueOf(atomic));
+			postRequest.addHeader(CosmosDbConstants.X_MS_COSMOS_BATCH_CONTINUE_ON_ERROR, String.valueOf(!atomic));
+			postRequest.addHeader(PARTITION_KEY_HEADER, partitionKey);
+			postRequest.setEntity(new ByteArrayEntity(BATCH_MAPPER.writeValueAsBytes(body)));
+			try (CloseableHttpResponse response = executeThrottled(getHttpClient(), postRequest, collectionName)) {
+				int statusCode = response.getStatusLine().getStatusCode();
+				if (statusCode == 200 || statusCode == 207) {
+					return readBatchResults(response.getEntity().getContent(), operations.size());
+				}
+				EntityUtils.consumeQuietly(response.getEntity());
+				invalidateCollectionMetadata(collectionName, statusCode);
+				if (isRetryableStatus(statusCode)) {
+					throw newRetryException(response, null);
+				}
+				throw new CosmosDBConnectorException(response.getStatusLine().getReasonPhrase(), null, statusCode);
+			}
+		} catch (CosmosDBConnectorException | CosmosDBRetryException ex) {
+			throw ex;
+		} catch (Exception e) {
+			throw new CosmosDBConnectorException(e.toString(), null, e);
+		}
+	}
+
+	/**
+	 * Reads the outcome of each operation from the response of a batch request.
+	 * 
+	 * @param content the response content
+	 * @param operationCount the number of operations sent
+	 * @return the list of BatchOperationResult
+	 * @throws IOException If the response cannot be read.
+	 * @throws CosmosDBConnectorException If the response does not match the operations.
+	 */
+	private static List<BatchOperationResult> readBatchResults(InputStream content, int operationCount)
+			throws IOException, CosmosDBConnectorException {
+		try {
+			JsonNode results = BATCH_MAPPER.readTree(content);
+			if (results == null || !results.isArray() || results.size() != operationCount) {
+				throw new CosmosDBConnectorException("Unexpected batch response for " + operationCount + " operations");
+			}
+			List<BatchOperationResult> batchResults = new ArrayList<>(operationCount);
+			for (JsonNode result : results) {
+				batchResults.add(new BatchOperationResult(result.path(CosmosDbConstants.BATCH_STATUS_CODE).asInt(500),
+						result.path(CosmosDbConstants.BATCH_REQUEST_CHARGE).asDouble(),
+						result.path(CosmosDbConstants.BATCH_RETRY_AFTER).asLong()));
+			}
+			return batchResults;
+		} finally {
+			IOUtil.closeQuietly(content);
+		}
+	}
+
+	/**
+	 * Gets the path of the partition key of the collection, e.g. /address/city.
+	 * 
+	 * @param collectionName the collection name
+	 * @return the partition key path
+	 * @throws CosmosDBConnectorException If any Irrecoverable Error Occurs.
+	 * @throws CosmosDBRetryException If any Recoverable Error Occurs.
+	 */
+	public String getPartitionKeyPath(String collectionName) throws CosmosDBConnectorException, CosmosDBRetryException {
+		String partitionKey = getPartitionKey(collectionName);
+		return partitionKey == null ? null : partitionKey.replace("\"", "");
+	}
+
 	/**
 	 * Thid mrthod checks in the Cosmos DB, and return the partition key field name
 	 * as per the collection input.
@@ -798,15 +1210,31 @@ public class CosmosDBConnection extends BaseConnection {
 	 * @throws CosmosDBConnectorException
 	 */
 	private String getPartitionKey(String collectionName) throws CosmosDBConnectorException, CosmosDBRetryException {
-		try (CloseableHttpClient clientConnection = HttpClientBuilder.create().build();) {
-			try (CloseableHttpResponse response = clientConnection
-					.execute(buildUriRequest(DB + getDatabaseName() + COLLS + collectionName, HTTP_GET))) {
+		final String collectionPath = DB + getDatabaseName() + COLLS + collectionName;
+		return CollectionMetadataCache.getShared().get(cosmosdbUrl + collectionPath, new CollectionMetadataCache.Loader() {
+			@Override
+			public String load() throws CosmosDBConnectorException, CosmosDBRetryException {
+				return loadPartitionKey(collectionPath);
+			}
+		});
+	}
+
+	/**
+	 * Requests the partition key field name of a collection from Cosmos DB.
+	 * 
+	 * @param collectionPath the URL Path of the collection
+	 * @return String
+	 * @throws CosmosDBConnectorException
+	 * @throws CosmosDBRetryException
+	 */
+	private String loadPartitionKey(String collectionPath) throws CosmosDBConnectorException, CosmosDBRetryException {
+		try {
+			CloseableHttpClient clientConnection = getHttpClient();
+			try (CloseableHttpResponse response = clientConnection.execute(buildUriRequest(collectionPath, HTTP_GET))) {
 				if (response.getStatusLine().getStatusCode() == 200) {
 					return DocumentUtil.getPartitionKeyField(response.getEntity().getContent());
-				} else if (response.getStatusLine().getStatusCode() == 449
-						|| response.getStatusLine().getStatusCode() == 503) {
-					throw new CosmosDBRetryException(response.getStatusLine().getReasonPhrase(), null,
-							response.getStatusLine().getStatusCode());
+				} else if (isRetryableStatus(response.getStatusLine().getStatusCode())) {
+					throw newRetryException(response, null);
 				} else {
 					throw new CosmosDBConnectorException(response.getStatusLine().getReasonPhrase(), null,
 							response.getStatusLine().getStatusCode());
@@ -876,14 +1304,11 @@ public class CosmosDBConnection extends BaseConnection {
 					HTTP_DELETE);
 			deleteRequest.addHeader(PARTITION_KEY_HEADER,
 					PARTITION_KEY_HEADER_START + deleteOperationRequest.getPartitionKey() + PARTITION_KEY_HEADER_END);
-			try (CloseableHttpResponse response = clientConnection.execute(deleteRequest);) {
+			try (CloseableHttpResponse response = executeThrottled(clientConnection, deleteRequest, collectionName);) {
+				EntityUtils.consumeQuietly(response.getEntity());
 				if (response.getStatusLine().getStatusCode() != 204) {
-					if (response.getStatusLine().getStatusCode() == 449
-							|| response.getStatusLine().getStatusCode() == 503) {
-						throw new CosmosDBRetryException(
-								response.getStatusLine().getStatusCode() + ":"
-										+ response.getStatusLine().getReasonPhrase(),
-								deleteOperationRequest.getId(), response.getStatusLine().getStatusCode());
+					if (isRetryableStatus(response.getStatusLine().getStatusCode())) {
+						throw newRetryException(response, deleteOperationRequest.getId());
 					} else {
 						if (response.getStatusLine().getStatusCode() == 404) {
 							return new DeleteOperationRequest();
@@ -911,6 +1336,122 @@ public class CosmosDBConnection extends BaseConnection {
 		}
 	}
 
+	/**
+	 * Drops the cached metadata of the collection when Cosmos DB rejects a
+	 * request with a status that can be caused by outdated metadata, e.g. after
+	 * the collection has been recreated with another partition key or its
+	 * partitions have been split.
+	 * 
+	 * @param collectionName the collection name
+	 * @param statusCode the status code of the response
+	 */
+	private void invalidateCollectionMetadata(String collectionName, int statusCode) {
+		if (statusCode == 400 || statusCode == 410) {
+			CollectionMetadataCache.getShared().invalidate(cosmosdbUrl + DB + getDatabaseName() + COLLS + collectionName);
+		}
+	}
+
+	/**
+	 * Sends a request on a collection within the limits of the throttle of the
+	 * collection, and reports the request units charged and the throttling of
+	 * Cosmos DB to the throttle.
+	 * 
+	 * @param clientConnection the HTTP client
+	 * @param request the request
+	 * @param collectionName the collection name
+	 * @return the response
+	 * @throws IOException If the request fails.
+	 * @throws CosmosDBConnectorException If interrupted while waiting for the throttle.
+	 */
+	private CloseableHttpResponse executeThrottled(CloseableHttpClient clientConnection, HttpRequestBase request,
+			String collectionName) throws IOException, CosmosDBConnectorException {
+		RequestThrottle throttle = getThrottle(collectionName);
+		try {
+			throttle.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CosmosDBConnectorException("Interrupted while waiting for the request throttle", null, e);
+		}
+		CloseableHttpResponse response;
+		try {
+			response = clientConnection.execute(request);
+		} catch (IOException | RuntimeException e) {
+			throttle.cancel();
+			throw e;
+		}
+		throttle.release(response.getStatusLine().getStatusCode(),
+				getNumericHeader(response, CosmosDbConstants.X_MS_REQUEST_CHARGE),
+				(long) getNumericHeader(response, CosmosDbConstants.X_MS_RETRY_AFTER_MS));
+		return response;
+	}
+
+	/**
+	 * Gets the throttle of the requests sent to the collection.
+	 * 
+	 * @param collectionName the collection name
+	 * @return the throttle
+	 */
+	public RequestThrottle getThrottle(String collectionName) {
+		return RequestThrottle.forCollection(cosmosdbUrl + DB + getDatabaseName() + COLLS + collectionName,
+				requestUnitBudget);
+	}
+
+	/**
+	 * Check if the status code reports an error that can be recovered by retrying,
+	 * including the throttling of the request. Throttled query pages are retried
+	 * by {@link #executeQueryPage} instead.
+	 * 
+	 * @param statusCode the status code
+	 * @return boolean
+	 */
+	public static boolean isRetryableStatus(int statusCode) {
+		return statusCode == 449 || statusCode == 503 || statusCode == CosmosDbConstants.STATUS_TOO_MANY_REQUESTS;
+	}
+
+	/**
+	 * Builds the exception for a response that can be retried, including the time
+	 * Cosmos DB asked to wait before retrying.
+	 * 
+	 * @param response the response
+	 * @param objectId the object id
+	 * @return CosmosDBRetryException
+	 */
+	private static CosmosDBRetryException newRetryException(CloseableHttpResponse response, String objectId) {
+		return new CosmosDBRetryException(
+				response.getStatusLine().getStatusCode() + ":" + response.getStatusLine().getReasonPhrase(), objectId,
+				response.getStatusLine().getStatusCode(),
+				(long) getNumericHeader(response, CosmosDbConstants.X_MS_RETRY_AFTER_MS));
+	}
+
+	/**
+	 * Gets the value of a numeric response header.
+	 * 
+	 * @param response the response
+	 * @param headerName the header name
+	 * @return the value, or 0 if the header is missing or not a number
+	 */
+	private static double getNumericHeader(CloseableHttpResponse response, String headerName) {
+		Header header = response.getFirstHeader(headerName);
+		if (header == null || StringUtil.isBlank(header.getValue())) {
+			return 0;
+		}
+		try {
+			return Double.parseDouble(header.getValue().trim());
+		} catch (NumberFormatException e) {
+			return 0;
+		}
+	}
+
+	/**
+	 * Gets the pooled HTTP client shared by all the connections to the Cosmos DB
+	 * account. The client must not be closed.
+	 * 
+	 * @return the HTTP client
+	 */
+	public CloseableHttpClient getHttpClient() {
+		return HttpClientPool.getClient(cosmosdbUrl);
+	}
+
 	public void setOperationType(String operationType) {
 		this.operationType = operationType;
 	}
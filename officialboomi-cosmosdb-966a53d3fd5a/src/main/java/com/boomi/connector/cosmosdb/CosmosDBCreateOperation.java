@@ -7,7 +7,9 @@ import java.util.Map;
 import com.boomi.connector.api.OperationResponse;
 import com.boomi.connector.api.ResponseUtil;
 import com.boomi.connector.api.UpdateRequest;
+import com.boomi.connector.cosmosdb.action.RetryableBulkOperation;
 import com.boomi.connector.cosmosdb.action.RetryableCreateOperation;
+import com.boomi.connector.cosmosdb.util.CosmosDbConstants;
 import com.boomi.connector.cosmosdb.util.SizeLimitedUpdateOperation;
 /**
  * @author swastik.vn
@@ -29,12 +31,20 @@ public class CosmosDBCreateOperation extends SizeLimitedUpdateOperation {
 	@Override
 	protected void executeSizeLimitedUpdate(UpdateRequest request, OperationResponse response) {
 
-		Map<String, Object> inputConfig = getConnection().prepareInputConfig();
+		Map<String, Object> inputConfig = getConnection()
+				.prepareInputConfig(getContext().getOperationProperties());
 			try {
 				getConnection().setOperationType("CREATE");
-				RetryableCreateOperation operation = new RetryableCreateOperation(getConnection(),
-						this.getContext().getObjectTypeId(), response, inputConfig, request);
-				operation.execute();
+				if (CosmosDbConstants.BATCH_MODE_SINGLE.equals(inputConfig.get(CosmosDbConstants.BATCH_MODE))) {
+					RetryableCreateOperation operation = new RetryableCreateOperation(getConnection(),
+							this.getContext().getObjectTypeId(), response, inputConfig, request);
+					operation.execute();
+				} else {
+					RetryableBulkOperation operation = new RetryableBulkOperation(getConnection(),
+							this.getContext().getObjectTypeId(), response, inputConfig, request,
+							CosmosDbConstants.BATCH_CREATE);
+					operation.execute();
+				}
 			} catch (Exception e) {
 				ResponseUtil.addExceptionFailures(response, request, e);
 			}
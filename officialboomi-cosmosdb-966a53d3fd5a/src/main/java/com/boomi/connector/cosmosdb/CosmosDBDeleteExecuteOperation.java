@@ -9,7 +9,9 @@ import com.boomi.connector.api.ConnectorException;
 import com.boomi.connector.api.OperationResponse;
 import com.boomi.connector.api.ResponseUtil;
 import com.boomi.connector.api.UpdateRequest;
+import com.boomi.connector.cosmosdb.action.RetryableBulkOperation;
 import com.boomi.connector.cosmosdb.action.RetryableDeleteOperation;
+import com.boomi.connector.cosmosdb.util.CosmosDbConstants;
 import com.boomi.connector.util.BaseConnection;
 import com.boomi.connector.util.BaseUpdateOperation;
 
@@ -34,12 +36,20 @@ public class CosmosDBDeleteExecuteOperation extends BaseUpdateOperation{
 	 */
 	@Override
 	protected void executeUpdate(UpdateRequest request, OperationResponse response) {
-		Map<String, Object> inputConfig = getConnection().prepareInputConfig();
+		Map<String, Object> inputConfig = getConnection()
+				.prepareInputConfig(getContext().getOperationProperties());
 		try {
-			RetryableDeleteOperation operation = new RetryableDeleteOperation(getConnection(),
-					this.getContext().getObjectTypeId(), response, inputConfig, request,
-					StandardCharsets.UTF_8);
-			operation.execute();
+			if (CosmosDbConstants.BATCH_MODE_SINGLE.equals(inputConfig.get(CosmosDbConstants.BATCH_MODE))) {
+				RetryableDeleteOperation operation = new RetryableDeleteOperation(getConnection(),
+						this.getContext().getObjectTypeId(), response, inputConfig, request,
+						StandardCharsets.UTF_8);
+				operation.execute();
+			} else {
+				RetryableBulkOperation operation = new RetryableBulkOperation(getConnection(),
+						this.getContext().getObjectTypeId(), response, inputConfig, request,
+						CosmosDbConstants.BATCH_DELETE);
+				operation.execute();
+			}
 		}catch(Exception ex) {
 			ResponseUtil.addExceptionFailures(response, request, new ConnectorException(ex.getMessage()));
 		}
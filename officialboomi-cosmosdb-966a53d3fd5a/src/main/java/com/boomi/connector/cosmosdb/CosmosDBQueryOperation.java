@@ -67,7 +67,8 @@ public class CosmosDBQueryOperation extends BaseQueryOperation {
 	@Override
 	protected void executeQuery(QueryRequest queryRequest, OperationResponse operationResponse) {
 		String objectTypeId = this.getContext().getObjectTypeId();
-		Map<String, Object> inputConfig = getConnection().prepareInputConfig();
+		Map<String, Object> inputConfig = getConnection()
+				.prepareQueryInputConfig(getContext().getOperationProperties());
 		try {
 			FilterData requestData = queryRequest.getFilter();
 			QueryFilter filter = requestData.getFilter();
@@ -64,6 +64,26 @@ public class CosmosDBPhasedRetry extends PhasedRetry{
 				&& retryNumber < getMaxRetries();
 	}
 
+	/**
+	 * This function waits before the next attempt. When Cosmos DB throttled the
+	 * request and said how long to wait, that time is waited instead of the
+	 * phased backoff.
+	 **/
+	public void backoff(int retryNumber, Exception exception) {
+		long retryAfter = (exception instanceof CosmosDBRetryException)
+				? ((CosmosDBRetryException) exception).getRetryAfter()
+				: 0L;
+		if (retryAfter <= 0) {
+			backoff(retryNumber);
+			return;
+		}
+		try {
+			Thread.sleep(retryAfter);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
 	public int getMaxRetries() {
 		return maxRetries;
 	}
@@ -3,11 +3,13 @@
 package com.boomi.connector.cosmosdb.action;
 
 import java.util.Map;
+import java.util.logging.Level;
 
 import com.boomi.connector.api.ObjectData;
 import com.boomi.connector.api.OperationResponse;
 import com.boomi.connector.cosmosdb.CosmosDBConnection;
 import com.boomi.connector.cosmosdb.util.CosmosDbConstants;
+import com.boomi.connector.cosmosdb.util.RequestThrottle;
 import com.boomi.connector.exception.CosmosDBConnectorException;
 
 /**
@@ -159,4 +161,34 @@ public abstract class RetryableAction {
 		return request;
 	}
 
+	/**
+	 * Logs the number of documents processed per second since the given start
+	 * time.
+	 *
+	 * @param documentCount the number of processed documents
+	 * @param startTime the time in ms the processing started
+	 */
+	protected void logThroughput(int documentCount, long startTime) {
+		long elapsedTime = Math.max(1L, System.currentTimeMillis() - startTime);
+		getResponse().getLogger().log(Level.INFO,
+				new StringBuilder("Processed ").append(documentCount).append(" documents in ").append(elapsedTime)
+						.append("ms (").append(documentCount * 1000L / elapsedTime).append(" documents/sec)")
+						.toString());
+		logRequestUnits();
+	}
+
+	/**
+	 * Logs the request units consumed on the collection and how often Cosmos DB
+	 * throttled the requests, as measured by the throttle shared by the process.
+	 */
+	protected void logRequestUnits() {
+		RequestThrottle throttle = getConnection().getThrottle(getCollectionName());
+		getResponse().getLogger().log(Level.INFO,
+				new StringBuilder("Request units charged on the collection since startup: ")
+						.append(Math.round(throttle.getTotalRequestUnits()))
+						.append(", request units/sec: ").append(Math.round(throttle.getRequestUnitsPerSecond()))
+						.append(", throttled requests: ").append(throttle.getThrottleCount())
+						.append(", concurrency limit: ").append(throttle.getConcurrencyLimit()).toString());
+	}
+
 }
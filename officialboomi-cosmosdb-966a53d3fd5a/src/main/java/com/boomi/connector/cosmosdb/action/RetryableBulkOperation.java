@@ -0,0 +1,434 @@
+//Copyright (c) 2025 Boomi, Inc.
+
+package com.boomi.connector.cosmosdb.action;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.boomi.connector.api.ObjectData;
+import com.boomi.connector.api.OperationResponse;
+import com.boomi.connector.api.OperationType;
+import com.boomi.connector.cosmosdb.CosmosDBConnection;
+import com.boomi.connector.cosmosdb.bean.BatchOperation;
+import com.boomi.connector.cosmosdb.bean.BatchOperationResult;
+import com.boomi.connector.cosmosdb.bean.DeleteOperationRequest;
+import com.boomi.connector.cosmosdb.util.CosmosDbConstants;
+import com.boomi.connector.cosmosdb.util.DocumentUtil;
+import com.boomi.connector.exception.CosmosDBConnectorException;
+import com.boomi.connector.exception.CosmosDBRetryException;
+import com.boomi.util.IOUtil;
+import com.boomi.util.StringUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Implements logic for the create, upsert and delete operations sending the
+ * documents in batches. The documents are grouped by partition key value into
+ * batches of up to 100 operations, and several batches are sent concurrently.
+ * The outcome of each operation is mapped back to its document, in the order
+ * the batches are completed.
+ *
+ * @author Abhijit Mishra
+ */
+public class RetryableBulkOperation extends RetryableAction {
+
+	/** The mapper of the documents. */
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	/** The overhead of an operation in the batch payload, besides the document. */
+	private static final long OPERATION_OVERHEAD = 64L;
+
+	/** The batch operation type: Create, Upsert or Delete. */
+	private final String batchOperationType;
+
+	/** True if the operations of a batch must succeed or fail together. */
+	private final boolean atomic;
+
+	/** The batches being sent, in the order they were submitted. */
+	private final Deque<PendingBatch> inFlight = new ArrayDeque<>();
+
+	/** The number of documents processed. */
+	private int documentCount;
+
+	/**
+	 * Instantiates a new retryable bulk operation.
+	 *
+	 * @param connection         the connection
+	 * @param collectionName     the collection name
+	 * @param response           the response
+	 * @param inputConfig        the input config
+	 * @param request            the request
+	 * @param batchOperationType the batch operation type: Create, Upsert or Delete
+	 */
+	public RetryableBulkOperation(CosmosDBConnection connection, String collectionName, OperationResponse response,
+			Map<String, Object> inputConfig, Iterable<ObjectData> request, String batchOperationType) {
+		super(connection, collectionName, response, inputConfig, request);
+		this.batchOperationType = batchOperationType;
+		this.atomic = CosmosDbConstants.BATCH_MODE_TRANSACTIONAL
+				.equals(inputConfig.get(CosmosDbConstants.BATCH_MODE));
+	}
+
+	/**
+	 * Groups the documents by partition key value and sends them in batches.
+	 * @throws CosmosDBConnectorException
+	 */
+	@Override
+	public void execute() throws CosmosDBConnectorException {
+		long startTime = System.currentTimeMillis();
+		int concurrency = getConcurrency();
+		ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+		try {
+			String partitionKeyPath = isDelete() ? null : getConnection().getPartitionKeyPath(getCollectionName());
+			Map<String, PartitionBuffer> buffers = new LinkedHashMap<>();
+			int bufferedCount = 0;
+			for (ObjectData objectData : getRequest()) {
+				documentCount++;
+				BatchOperation operation;
+				try {
+					operation = newOperation(objectData, partitionKeyPath);
+				} catch (CosmosDBConnectorException e) {
+					addFailure(objectData, e);
+					continue;
+				}
+				PartitionBuffer buffer = buffers.get(operation.getPartitionKey());
+				if (buffer != null && buffer.size + operation.getSize() > CosmosDbConstants.MAX_BATCH_SIZE) {
+					bufferedCount -= submit(executor, concurrency, buffers.remove(operation.getPartitionKey()));
+					buffer = null;
+				}
+				if (buffer == null) {
+					buffer = new PartitionBuffer(operation.getPartitionKey());
+					buffers.put(operation.getPartitionKey(), buffer);
+				}
+				buffer.add(operation);
+				bufferedCount++;
+				if (buffer.operations.size() >= CosmosDbConstants.MAX_BATCH_OPERATIONS) {
+					bufferedCount -= submit(executor, concurrency, buffers.remove(buffer.partitionKey));
+				} else if (bufferedCount >= CosmosDbConstants.MAX_BUFFERED_OPERATIONS) {
+					bufferedCount -= submit(executor, concurrency, buffers.remove(largest(buffers).partitionKey));
+				}
+			}
+			for (PartitionBuffer buffer : buffers.values()) {
+				submit(executor, concurrency, buffer);
+			}
+			while (!inFlight.isEmpty()) {
+				complete(inFlight.removeFirst());
+			}
+		} catch (CosmosDBRetryException e) {
+			throw new CosmosDBConnectorException(e.getMessage(), null, e);
+		} finally {
+			executor.shutdownNow();
+		}
+		logThroughput(documentCount, startTime);
+	}
+
+	/**
+	 * Builds the batch operation of a document.
+	 *
+	 * @param objectData       the document
+	 * @param partitionKeyPath the partition key path of the collection
+	 * @return the batch operation
+	 * @throws CosmosDBConnectorException if the document cannot be read
+	 */
+	private BatchOperation newOperation(ObjectData objectData, String partitionKeyPath)
+			throws CosmosDBConnectorException {
+		InputStream data = null;
+		try {
+			ObjectNode operation = MAPPER.createObjectNode();
+			operation.put(CosmosDbConstants.BATCH_OPERATION_TYPE, batchOperationType);
+			long size = objectData.getDataSize() + OPERATION_OVERHEAD;
+			if (isDelete()) {
+				DeleteOperationRequest deleteRequest = DocumentUtil.getUpdateRequestData(objectData);
+				operation.put(CosmosDbConstants.ID_LOWERCASE, deleteRequest.getId());
+				String partitionKey = StringUtil.isBlank(deleteRequest.getPartitionKey()) ? deleteRequest.getId()
+						: deleteRequest.getPartitionKey();
+				return new BatchOperation(objectData, deleteRequest.getId(),
+						MAPPER.writeValueAsString(MAPPER.createArrayNode().add(partitionKey)), operation, size);
+			}
+			data = objectData.getData();
+			JsonNode document = MAPPER.readTree(data);
+			if (document == null || !document.isObject()) {
+				throw new CosmosDBConnectorException(CosmosDbConstants.JSON_PARSING_ERROR_MSG);
+			}
+			String id = document.path(CosmosDbConstants.ID_LOWERCASE).asText(null);
+			JsonNode partitionValue = getPartitionValue(document, partitionKeyPath);
+			if (partitionValue == null) {
+				partitionValue = document.path(CosmosDbConstants.ID_LOWERCASE);
+			}
+			operation.set(CosmosDbConstants.BATCH_RESOURCE_BODY, document);
+			return new BatchOperation(objectData, id,
+					MAPPER.writeValueAsString(MAPPER.createArrayNode().add(partitionValue)), operation, size);
+		} catch (CosmosDBConnectorException e) {
+			throw e;
+		} catch (IOException e) {
+			throw new CosmosDBConnectorException(CosmosDbConstants.JSON_PARSING_ERROR_MSG, null, e);
+		} finally {
+			IOUtil.closeQuietly(data);
+		}
+	}
+
+	/**
+	 * Gets the value of the partition key of a document, keeping its JSON type.
+	 *
+	 * @param document         the document
+	 * @param partitionKeyPath the partition key path, e.g. /address/city
+	 * @return the value or null if the document has none
+	 */
+	static JsonNode getPartitionValue(JsonNode document, String partitionKeyPath) {
+		if (StringUtil.isBlank(partitionKeyPath)) {
+			return null;
+		}
+		JsonNode value = document.at(partitionKeyPath);
+		return (value.isMissingNode() || value.isContainerNode()) ? null : value;
+	}
+
+	/**
+	 * Submits the batch of a partition, after completing the oldest batch if the
+	 * most batches are already in flight.
+	 *
+	 * @param executor    the executor
+	 * @param concurrency the most batches in flight
+	 * @param buffer      the operations of the partition
+	 * @return the number of submitted operations
+	 */
+	private int submit(ExecutorService executor, int concurrency, final PartitionBuffer buffer) {
+		while (inFlight.size() >= concurrency) {
+			complete(inFlight.removeFirst());
+		}
+		Future<List<BatchOperationResult>> future = executor.submit(new Callable<List<BatchOperationResult>>() {
+			@Override
+			public List<BatchOperationResult> call() throws CosmosDBConnectorException, CosmosDBRetryException {
+				return executeBatch(buffer);
+			}
+		});
+		inFlight.addLast(new PendingBatch(buffer.operations, future));
+		return buffer.operations.size();
+	}
+
+	/**
+	 * Sends the batch of a partition, retrying the operations throttled or
+	 * rejected with a recoverable error. The operations of an atomic batch are
+	 * always retried together.
+	 *
+	 * @param buffer the operations of the partition
+	 * @return the outcome of each operation
+	 * @throws CosmosDBConnectorException If any Irrecoverable Error Occurs.
+	 * @throws CosmosDBRetryException     If the retries are exhausted.
+	 */
+	List<BatchOperationResult> executeBatch(PartitionBuffer buffer)
+			throws CosmosDBConnectorException, CosmosDBRetryException {
+		List<BatchOperationResult> results = new ArrayList<>(buffer.operations.size());
+		List<Integer> pending = new ArrayList<>(buffer.operations.size());
+		for (int i = 0; i < buffer.operations.size(); i++) {
+			results.add(null);
+			pending.add(i);
+		}
+		CosmosDBPhasedRetry retry = new CosmosDBPhasedRetry(getMaxAllowedRetries(), getConnection());
+		for (int attempt = 0;; attempt++) {
+			List<BatchOperation> operations = new ArrayList<>(pending.size());
+			for (Integer index : pending) {
+				operations.add(buffer.operations.get(index));
+			}
+			CosmosDBRetryException failure;
+			try {
+				List<BatchOperationResult> batchResults = getConnection().doBatch(getCollectionName(),
+						buffer.partitionKey, operations, atomic);
+				List<Integer> retryable = new ArrayList<>();
+				long retryAfter = 0L;
+				for (int i = 0; i < batchResults.size(); i++) {
+					BatchOperationResult result = batchResults.get(i);
+					results.set(pending.get(i), result);
+					if (CosmosDBConnection.isRetryableStatus(result.getStatusCode())) {
+						retryable.add(pending.get(i));
+						retryAfter = Math.max(retryAfter, result.getRetryAfter());
+					}
+				}
+				if (retryable.isEmpty() || attempt >= retry.getMaxRetries()) {
+					return results;
+				}
+				if (!atomic) {
+					pending = retryable;
+				}
+				failure = new CosmosDBRetryException("Batch operations throttled", null,
+						CosmosDbConstants.STATUS_TOO_MANY_REQUESTS, retryAfter);
+			} catch (CosmosDBRetryException e) {
+				if (!retry.shouldRetry(attempt, NULL_STATUS, e)) {
+					throw e;
+				}
+				failure = e;
+			}
+			retry.logRetryAttempt(attempt, true, true, getResponse().getLogger());
+			retry.backoff(attempt, failure);
+		}
+	}
+
+	/**
+	 * Waits for a batch and adds the outcome of each of its operations to the
+	 * response.
+	 *
+	 * @param batch the batch
+	 */
+	private void complete(PendingBatch batch) {
+		List<BatchOperationResult> results;
+		try {
+			results = batch.future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			addFailures(batch.operations, new CosmosDBConnectorException("Interrupted while waiting for the batch",
+					null, e));
+			return;
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			addFailures(batch.operations, (cause instanceof Exception) ? (Exception) cause
+					: new CosmosDBConnectorException(String.valueOf(cause), null, cause));
+			return;
+		}
+		for (int i = 0; i < batch.operations.size(); i++) {
+			addResult(batch.operations.get(i), results.get(i));
+		}
+	}
+
+	/**
+	 * Adds the outcome of an operation to the response.
+	 *
+	 * @param operation the operation
+	 * @param result    the outcome
+	 */
+	private void addResult(BatchOperation operation, BatchOperationResult result) {
+		if (result.isSuccess()) {
+			getConnection().addOperationResponse(false, getResponse(), null, operation.getObjectData(), false,
+					operation.getId(), result.getStatusCode(), getResponseOperationType());
+		} else if (isDelete() && result.getStatusCode() == 404) {
+			getConnection().addOperationResponse(false, getResponse(), null, operation.getObjectData(), false, null,
+					result.getStatusCode(), getResponseOperationType());
+		} else {
+			String message = result.getStatusCode() == CosmosDbConstants.STATUS_FAILED_DEPENDENCY
+					? "Not applied because another operation of the transactional batch failed"
+					: "Batch operation failed with status " + result.getStatusCode();
+			addFailure(operation.getObjectData(),
+					new CosmosDBConnectorException(message, operation.getId(), result.getStatusCode()));
+		}
+	}
+
+	/**
+	 * Adds a failure for every operation of a batch to the response.
+	 *
+	 * @param operations the operations
+	 * @param ex         the exception
+	 */
+	private void addFailures(List<BatchOperation> operations, Exception ex) {
+		for (BatchOperation operation : operations) {
+			addFailure(operation.getObjectData(), ex);
+		}
+	}
+
+	/**
+	 * Adds a failure for a document to the response.
+	 *
+	 * @param objectData the document
+	 * @param ex         the exception
+	 */
+	private void addFailure(ObjectData objectData, Exception ex) {
+		String objectId = (ex instanceof CosmosDBConnectorException) ? ((CosmosDBConnectorException) ex).getObjectId()
+				: null;
+		getConnection().addOperationResponse(false, getResponse(), ex, objectData, true, objectId, 500,
+				getResponseOperationType());
+	}
+
+	/**
+	 * Gets the partition with the most buffered operations.
+	 *
+	 * @param buffers the buffers by partition key value
+	 * @return the largest buffer
+	 */
+	private static PartitionBuffer largest(Map<String, PartitionBuffer> buffers) {
+		PartitionBuffer largest = null;
+		Iterator<PartitionBuffer> iterator = buffers.values().iterator();
+		while (iterator.hasNext()) {
+			PartitionBuffer buffer = iterator.next();
+			if (largest == null || buffer.operations.size() > largest.operations.size()) {
+				largest = buffer;
+			}
+		}
+		return largest;
+	}
+
+	/**
+	 * Check if the documents are deleted.
+	 *
+	 * @return boolean
+	 */
+	private boolean isDelete() {
+		return CosmosDbConstants.BATCH_DELETE.equals(batchOperationType);
+	}
+
+	/**
+	 * Gets the operation type the results are reported for.
+	 *
+	 * @return the operation type
+	 */
+	private String getResponseOperationType() {
+		return isDelete() ? OperationType.DELETE.toString() : getConnection().getOperationType();
+	}
+
+	/**
+	 * Gets the most batches sent concurrently.
+	 *
+	 * @return the concurrency
+	 */
+	private int getConcurrency() {
+		Object concurrency = getInputConfig().get(CosmosDbConstants.BATCH_CONCURRENCY);
+		return (concurrency instanceof Integer) ? Math.max(1, (Integer) concurrency)
+				: (int) CosmosDbConstants.DEFAULT_BATCH_CONCURRENCY;
+	}
+
+	@Override
+	void doExecute() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * The operations buffered for a partition key value.
+	 */
+	static class PartitionBuffer {
+
+		private final String partitionKey;
+		private final List<BatchOperation> operations = new ArrayList<>();
+		private long size;
+
+		PartitionBuffer(String partitionKey) {
+			this.partitionKey = partitionKey;
+		}
+
+		void add(BatchOperation operation) {
+			operations.add(operation);
+			size += operation.getSize();
+		}
+	}
+
+	/**
+	 * A batch being sent and its operations.
+	 */
+	private static class PendingBatch {
+
+		private final List<BatchOperation> operations;
+		private final Future<List<BatchOperationResult>> future;
+
+		PendingBatch(List<BatchOperation> operations, Future<List<BatchOperationResult>> future) {
+			this.operations = operations;
+			this.future = future;
+		}
+	}
+}
@@ -40,7 +40,10 @@ public class RetryableCreateOperation extends RetryableAction {
 		String objectId = null;
 		Exception retryFailedException = null;
 		Iterable<ObjectData> request = getRequest();
+		long startTime = System.currentTimeMillis();
+		int documentCount = 0;
 			for (ObjectData objectData : request) {
+				documentCount++;
 				numOfAttempts = 0;
 				boolean shouldRetry = true;
 				
@@ -74,7 +77,7 @@ public class RetryableCreateOperation extends RetryableAction {
 						retry.logRetryAttempt(numOfAttempts, null != ex, shouldRetry, getResponse().getLogger());
 						if (shouldRetry) {
 							Timer.start();
-							retry.backoff(numOfAttempts);
+							retry.backoff(numOfAttempts, ex);
 							getResponse().getLogger()
 									.info(new StringBuffer("Backoff: ").append(Timer.stop())
 											.append("ms completed. Proceeding with attempt:").append(numOfAttempts + 1)
@@ -86,6 +89,7 @@ public class RetryableCreateOperation extends RetryableAction {
 					
 				}
 			}
+		logThroughput(documentCount, startTime);
 	}
 	/**
 	 * doExecute method which calls the doCreate method in CosmosDBConnection
@@ -2,12 +2,10 @@
 
 package com.boomi.connector.cosmosdb.action;
 
-import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.Map;
 
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClientBuilder;
 
 import com.boomi.connector.api.ObjectData;
 import com.boomi.connector.api.OperationResponse;
@@ -48,13 +46,7 @@ public class RetryableDeleteOperation extends RetryableAction {
 	@Override
 	public void execute() throws CosmosDBConnectorException {
 		Iterable<ObjectData> request = getRequest();
-		try (CloseableHttpClient clientConnection = HttpClientBuilder.create().build()) {
-			deleteOperation(request, clientConnection);
-		} catch (CosmosDBConnectorException e) {
-			throw e;
-		} catch (IOException e) {
-			throw new CosmosDBConnectorException(e.getMessage());
-		}
+		deleteOperation(request, getConnection().getHttpClient());
 	}
 
 	/**
@@ -68,7 +60,10 @@ public class RetryableDeleteOperation extends RetryableAction {
 		int numOfAttempts = 0;
 		Exception retryFailedException = null;
 		String objectId = null;
+		long startTime = System.currentTimeMillis();
+		int documentCount = 0;
 		for (ObjectData objectData : request) {
+			documentCount++;
 			numOfAttempts = 0;
 			boolean shouldRetry = true;
 			while (shouldRetry) {
@@ -97,7 +92,7 @@ public class RetryableDeleteOperation extends RetryableAction {
 					retry.logRetryAttempt(numOfAttempts, null != ex, shouldRetry, getResponse().getLogger());
 					if (shouldRetry) {
 						Timer.start();
-						retry.backoff(numOfAttempts);
+						retry.backoff(numOfAttempts, ex);
 						getResponse().getLogger().info(new StringBuffer("Backoff: ").append(Timer.stop())
 								.append("ms completed. Proceeding with attempt:").append(numOfAttempts + 1).toString());
 					}
@@ -105,6 +100,7 @@ public class RetryableDeleteOperation extends RetryableAction {
 				}
 			}
 		}
+		logThroughput(documentCount, startTime);
 	}
 
 	/**
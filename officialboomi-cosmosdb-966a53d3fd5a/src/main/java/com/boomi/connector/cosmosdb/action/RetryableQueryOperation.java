@@ -9,6 +9,7 @@ import java.util.Map.Entry;
 import com.boomi.connector.api.FilterData;
 import com.boomi.connector.api.OperationResponse;
 import com.boomi.connector.cosmosdb.CosmosDBConnection;
+import com.boomi.connector.cosmosdb.util.CosmosDbConstants;
 import com.boomi.connector.cosmosdb.util.Timer;
 import com.boomi.connector.exception.CosmosDBConnectorException;
 import com.boomi.connector.exception.CosmosDBRetryException;
@@ -60,13 +61,14 @@ public class RetryableQueryOperation extends RetryableAction {
 				retry.logRetryAttempt(numOfAttempts, null != ex, shouldRetry, getResponse().getLogger());
 				if (shouldRetry) {
 					Timer.start();
-					retry.backoff(numOfAttempts);
+					retry.backoff(numOfAttempts, ex);
 					getResponse().getLogger().info(new StringBuffer("Backoff: ").append(Timer.stop())
 							.append("ms completed. Proceeding with attempt:").append(numOfAttempts + 1).toString());
 				}
 				numOfAttempts++;
 			}
 		}
+		logRequestUnits();
 	}
 
 	public FilterData getFilterData() {
@@ -74,7 +76,20 @@ public class RetryableQueryOperation extends RetryableAction {
 	}
 
 	void doExecute(FilterData filterData) throws CosmosDBConnectorException, CosmosDBRetryException {
-		getConnection().doQuery(getCollectionName(), getFilterParameters(), getResponse(), filterData);
+		getConnection().doQuery(getCollectionName(), getFilterParameters(), getResponse(), filterData,
+				getIntConfig(CosmosDbConstants.QUERY_PARALLELISM, 1), getIntConfig(CosmosDbConstants.QUERY_PREFETCH_PAGES, 0));
+	}
+
+	/**
+	 * Gets an integer from the input config.
+	 *
+	 * @param key          the key
+	 * @param defaultValue the value when the input config has none
+	 * @return the value
+	 */
+	private int getIntConfig(String key, int defaultValue) {
+		Object value = getInputConfig().get(key);
+		return (value instanceof Integer) ? (Integer) value : defaultValue;
 	}
 
 	private List<Entry<String, String>> getFilterParameters() {
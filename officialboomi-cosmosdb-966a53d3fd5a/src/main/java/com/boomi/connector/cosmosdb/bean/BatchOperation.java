@@ -0,0 +1,86 @@
+//Copyright (c) 2025 Boomi, Inc.
+
+package com.boomi.connector.cosmosdb.bean;
+
+import com.boomi.connector.api.ObjectData;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * An input document and the operation sent for it in a batch.
+ *
+ * @author Abhijit Mishra
+ */
+public class BatchOperation {
+
+	/** The input document. */
+	private final ObjectData objectData;
+
+	/** The id of the document. */
+	private final String id;
+
+	/** The partition key value, as the JSON array sent in the partition key header. */
+	private final String partitionKey;
+
+	/** The operation. */
+	private final ObjectNode operation;
+
+	/** The estimated size of the operation. */
+	private final long size;
+
+	/**
+	 * Instantiates a new batch operation.
+	 *
+	 * @param objectData   the input document
+	 * @param id           the id of the document
+	 * @param partitionKey the partition key value as a JSON array
+	 * @param operation    the operation
+	 * @param size         the estimated size of the operation
+	 */
+	public BatchOperation(ObjectData objectData, String id, String partitionKey, ObjectNode operation, long size) {
+		this.objectData = objectData;
+		this.id = id;
+		this.partitionKey = partitionKey;
+		this.operation = operation;
+		this.size = size;
+	}
+
+	/**
+	 * Gets the input document
+	 * @return objectData
+	 */
+	public ObjectData getObjectData() {
+		return objectData;
+	}
+
+	/**
+	 * Gets the id
+	 * @return id
+	 */
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * Gets the partition key value as a JSON array
+	 * @return partitionKey
+	 */
+	public String getPartitionKey() {
+		return partitionKey;
+	}
+
+	/**
+	 * Gets the operation
+	 * @return operation
+	 */
+	public ObjectNode getOperation() {
+		return operation;
+	}
+
+	/**
+	 * Gets the estimated size of the operation
+	 * @return size
+	 */
+	public long getSize() {
+		return size;
+	}
+}
@@ -0,0 +1,65 @@
+//Copyright (c) 2025 Boomi, Inc.
+
+package com.boomi.connector.cosmosdb.bean;
+
+/**
+ * The outcome of an operation of a batch, as reported by Cosmos DB.
+ *
+ * @author Abhijit Mishra
+ */
+public class BatchOperationResult {
+
+	/** The status code. */
+	private final int statusCode;
+
+	/** The request units charged for the operation. */
+	private final double requestCharge;
+
+	/** The time in ms to wait before retrying a throttled operation. */
+	private final long retryAfter;
+
+	/**
+	 * Instantiates a new batch operation result.
+	 *
+	 * @param statusCode    the status code
+	 * @param requestCharge the request units charged for the operation
+	 * @param retryAfter    the time in ms to wait before retrying, or 0
+	 */
+	public BatchOperationResult(int statusCode, double requestCharge, long retryAfter) {
+		this.statusCode = statusCode;
+		this.requestCharge = requestCharge;
+		this.retryAfter = retryAfter;
+	}
+
+	/**
+	 * Gets the statusCode
+	 * @return statusCode
+	 */
+	public int getStatusCode() {
+		return statusCode;
+	}
+
+	/**
+	 * Gets the request units charged for the operation
+	 * @return requestCharge
+	 */
+	public double getRequestCharge() {
+		return requestCharge;
+	}
+
+	/**
+	 * Gets the time in ms to wait before retrying a throttled operation
+	 * @return retryAfter
+	 */
+	public long getRetryAfter() {
+		return retryAfter;
+	}
+
+	/**
+	 * Check if the operation succeeded.
+	 * @return boolean
+	 */
+	public boolean isSuccess() {
+		return statusCode >= 200 && statusCode < 300;
+	}
+}
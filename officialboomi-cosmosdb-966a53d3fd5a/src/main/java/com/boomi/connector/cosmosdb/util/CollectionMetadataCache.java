@@ -0,0 +1,117 @@
+//Copyright (c) 2025 Boomi, Inc.
+
+package com.boomi.connector.cosmosdb.util;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.boomi.connector.exception.CosmosDBConnectorException;
+import com.boomi.connector.exception.CosmosDBRetryException;
+
+/**
+ * Caches metadata of the collections, such as the partition key path and the
+ * partition key ranges, for a limited time so that it is not requested again
+ * for every document. The cache is shared by all the connections of the
+ * process, hence the keys must identify the account of the collection.
+ *
+ * @author Abhijit Mishra
+ */
+public class CollectionMetadataCache {
+
+	/** The cache shared by all the connections. */
+	private static final CollectionMetadataCache SHARED = new CollectionMetadataCache(
+			CosmosDbConstants.METADATA_CACHE_TTL);
+
+	/** The cached values by key. */
+	private final ConcurrentMap<String, CachedValue> values = new ConcurrentHashMap<>();
+
+	/** The time in ms a value is cached for. */
+	private final long timeToLive;
+
+	/**
+	 * Instantiates a new collection metadata cache.
+	 *
+	 * @param timeToLive the time in ms a value is cached for
+	 */
+	CollectionMetadataCache(long timeToLive) {
+		this.timeToLive = timeToLive;
+	}
+
+	/**
+	 * Gets the cache shared by all the connections.
+	 *
+	 * @return the shared cache
+	 */
+	public static CollectionMetadataCache getShared() {
+		return SHARED;
+	}
+
+	/**
+	 * Gets the value cached for the given key, loading it if it is missing or
+	 * expired. Values are loaded outside of any lock, so concurrent callers may
+	 * load the same value more than once.
+	 *
+	 * @param key    the key
+	 * @param loader the loader of the value
+	 * @return the value
+	 * @throws CosmosDBConnectorException If any Irrecoverable Error Occurs.
+	 * @throws CosmosDBRetryException     If any Recoverable Error Occurs.
+	 */
+	public String get(String key, Loader loader) throws CosmosDBConnectorException, CosmosDBRetryException {
+		CachedValue cached = values.get(key);
+		long now = System.currentTimeMillis();
+		if (cached != null && cached.expiresAt > now) {
+			return cached.value;
+		}
+		String value = loader.load();
+		if (value != null) {
+			values.put(key, new CachedValue(value, now + timeToLive));
+		}
+		return value;
+	}
+
+	/**
+	 * Removes all the values cached for the keys starting with the given prefix,
+	 * e.g. when the collection has been recreated.
+	 *
+	 * @param keyPrefix the key prefix
+	 */
+	public void invalidate(String keyPrefix) {
+		Iterator<String> keys = values.keySet().iterator();
+		while (keys.hasNext()) {
+			if (keys.next().startsWith(keyPrefix)) {
+				keys.remove();
+			}
+		}
+	}
+
+	/**
+	 * Loads a value missing from the cache.
+	 */
+	public interface Loader {
+
+		/**
+		 * Loads the value.
+		 *
+		 * @return the value
+		 * @throws CosmosDBConnectorException If any Irrecoverable Error Occurs.
+		 * @throws CosmosDBRetryException     If any Recoverable Error Occurs.
+		 */
+		String load() throws CosmosDBConnectorException, CosmosDBRetryException;
+	}
+
+	/**
+	 * A cached value and its expiry time.
+	 */
+	private static class CachedValue {
+
+		private final String value;
+		private final long expiresAt;
+
+		CachedValue(String value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
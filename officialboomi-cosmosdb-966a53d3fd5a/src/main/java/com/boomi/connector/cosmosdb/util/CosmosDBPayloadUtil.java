@@ -66,7 +66,7 @@ public class CosmosDBPayloadUtil extends BasePayload{
 		return new BasePayload() {
         	@Override
         	public void writeTo(OutputStream out) throws IOException {
-        		JsonFactory factory = new JsonFactory();
+        		JsonFactory factory = MAPPER.getFactory();
         		JsonGenerator generator = null;
         		try {
         			generator = factory.createGenerator(out);
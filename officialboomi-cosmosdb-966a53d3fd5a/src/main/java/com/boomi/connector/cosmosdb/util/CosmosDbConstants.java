@@ -268,6 +268,129 @@ public class CosmosDbConstants {
 	/** The Constant UPSERT. */
 	public static final String UPSERT = "UPSERT";
 	
+	/** The Constant HTTP_MAX_CONNECTIONS, the size of the connection pool of an account. */
+	public static final int HTTP_MAX_CONNECTIONS = 100;
+	
+	/** The Constant HTTP_CONNECTION_TTL, the time in ms a pooled connection is reused for. */
+	public static final long HTTP_CONNECTION_TTL = 300000L;
+	
+	/** The Constant HTTP_MAX_IDLE_TIME, the time in ms after which an idle connection is closed. */
+	public static final long HTTP_MAX_IDLE_TIME = 60000L;
+	
+	/** The Constant HTTP_VALIDATE_AFTER_INACTIVITY, the idle time in ms after which a connection is checked before reuse. */
+	public static final int HTTP_VALIDATE_AFTER_INACTIVITY = 2000;
+	
+	/** The Constant METADATA_CACHE_TTL, the time in ms the collection metadata is cached for. */
+	public static final long METADATA_CACHE_TTL = 300000L;
+	
+	/** The Constant PKRANGES. */
+	public static final String PKRANGES = "/pkranges";
+	
+	/** The Constant REQUEST_UNIT_BUDGET. */
+	public static final String REQUEST_UNIT_BUDGET = "requestUnitBudget";
+	
+	/** The Constant X_MS_REQUEST_CHARGE. */
+	public static final String X_MS_REQUEST_CHARGE = "x-ms-request-charge";
+	
+	/** The Constant X_MS_RETRY_AFTER_MS. */
+	public static final String X_MS_RETRY_AFTER_MS = "x-ms-retry-after-ms";
+	
+	/** The Constant STATUS_TOO_MANY_REQUESTS. */
+	public static final int STATUS_TOO_MANY_REQUESTS = 429;
+	
+	/** The Constant STATUS_FAILED_DEPENDENCY, reported for the operations of a failed transactional batch. */
+	public static final int STATUS_FAILED_DEPENDENCY = 424;
+	
+	/** The Constant THROTTLE_WINDOW, the time in ms the consumed request units are measured over. */
+	public static final long THROTTLE_WINDOW = 1000L;
+	
+	/** The Constant QUERY_THROTTLE_RETRIES, the most times a throttled query page is sent again. */
+	public static final int QUERY_THROTTLE_RETRIES = 9;
+	
+	/** The Constant QUERY_THROTTLE_BACKOFF, the time in ms waited for a throttled query page without retry-after. */
+	public static final long QUERY_THROTTLE_BACKOFF = 100L;
+	
+	/** The Constant BATCH_MODE. */
+	public static final String BATCH_MODE = "batchMode";
+	
+	/** The Constant BATCH_MODE_SINGLE, one request per document. */
+	public static final String BATCH_MODE_SINGLE = "SINGLE";
+	
+	/** The Constant BATCH_MODE_BULK, batches whose operations succeed or fail independently. */
+	public static final String BATCH_MODE_BULK = "BULK";
+	
+	/** The Constant BATCH_MODE_TRANSACTIONAL, batches whose operations succeed or fail together. */
+	public static final String BATCH_MODE_TRANSACTIONAL = "TRANSACTIONAL";
+	
+	/** The Constant BATCH_CONCURRENCY. */
+	public static final String BATCH_CONCURRENCY = "batchConcurrency";
+	
+	/** The Constant DEFAULT_BATCH_CONCURRENCY. */
+	public static final long DEFAULT_BATCH_CONCURRENCY = 4L;
+	
+	/** The Constant MAX_BATCH_OPERATIONS, the most operations Cosmos DB accepts in a batch. */
+	public static final int MAX_BATCH_OPERATIONS = 100;
+	
+	/** The Constant MAX_BATCH_SIZE, the largest batch payload Cosmos DB accepts. */
+	public static final long MAX_BATCH_SIZE = 2 * ByteUnit.MB.getByteUnitSize();
+	
+	/** The Constant MAX_BUFFERED_OPERATIONS, the most operations waiting for their batch to fill up. */
+	public static final int MAX_BUFFERED_OPERATIONS = 1000;
+	
+	/** The Constant BATCH_MS_VERSION, the API version supporting batches. */
+	public static final String BATCH_MS_VERSION = "2018-12-31";
+	
+	/** The Constant X_MS_COSMOS_IS_BATCH_REQUEST. */
+	public static final String X_MS_COSMOS_IS_BATCH_REQUEST = "x-ms-cosmos-is-batch-request";
+	
+	/** The Constant X_MS_COSMOS_BATCH_ATOMIC. */
+	public static final String X_MS_COSMOS_BATCH_ATOMIC = "x-ms-cosmos-batch-atomic";
+	
+	/** The Constant X_MS_COSMOS_BATCH_CONTINUE_ON_ERROR. */
+	public static final String X_MS_COSMOS_BATCH_CONTINUE_ON_ERROR = "x-ms-cosmos-batch-continue-on-error";
+	
+	/** The Constant BATCH_OPERATION_TYPE. */
+	public static final String BATCH_OPERATION_TYPE = "operationType";
+	
+	/** The Constant BATCH_RESOURCE_BODY. */
+	public static final String BATCH_RESOURCE_BODY = "resourceBody";
+	
+	/** The Constant BATCH_STATUS_CODE. */
+	public static final String BATCH_STATUS_CODE = "statusCode";
+	
+	/** The Constant BATCH_REQUEST_CHARGE. */
+	public static final String BATCH_REQUEST_CHARGE = "requestCharge";
+	
+	/** The Constant BATCH_RETRY_AFTER. */
+	public static final String BATCH_RETRY_AFTER = "retryAfterMilliseconds";
+	
+	/** The Constant BATCH_CREATE. */
+	public static final String BATCH_CREATE = "Create";
+	
+	/** The Constant BATCH_UPSERT. */
+	public static final String BATCH_UPSERT = "Upsert";
+	
+	/** The Constant BATCH_DELETE. */
+	public static final String BATCH_DELETE = "Delete";
+	
+	/** The Constant QUERY_PARALLELISM, the most partition key ranges queried at the same time. */
+	public static final String QUERY_PARALLELISM = "queryParallelism";
+	
+	/** The Constant DEFAULT_QUERY_PARALLELISM. */
+	public static final long DEFAULT_QUERY_PARALLELISM = 1L;
+	
+	/** The Constant QUERY_PREFETCH_PAGES, the most result pages fetched ahead of the response. */
+	public static final String QUERY_PREFETCH_PAGES = "queryPrefetchPages";
+	
+	/** The Constant DEFAULT_QUERY_PREFETCH_PAGES. */
+	public static final long DEFAULT_QUERY_PREFETCH_PAGES = 0L;
+	
+	/** The Constant X_MS_PARTITION_KEY_RANGE_ID. */
+	public static final String X_MS_PARTITION_KEY_RANGE_ID = "x-ms-documentdb-partitionkeyrangeid";
+	
+	/** The Constant PARTITION_KEY_RANGE_SEPARATOR, separates the cached partition key ranges of a collection. */
+	public static final String PARTITION_KEY_RANGE_SEPARATOR = ";";
+	
 	/**
 	 * Enum representing the supported query operations (these names match the ids
 	 * specified in the connector descriptor). Each operation has a prefix field
@@ -26,7 +26,6 @@ import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.MapperFeature;
-import com.fasterxml.jackson.databind.MappingJsonFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.module.jsonSchema.JsonSchema;
@@ -41,6 +40,10 @@ public class DocumentUtil {
 	
 	private static final Logger logger = Logger.getLogger(DocumentUtil.class.getName());
 
+	/** The mapper shared by all the conversions, thread-safe once configured. */
+	private static final ObjectMapper MAPPER = new ObjectMapper()
+			.disable(MapperFeature.CAN_OVERRIDE_ACCESS_MODIFIERS);
+
 	/**
 	 * Converts given Input stream to List of containers in Cosmos DB.
 	 *
@@ -49,7 +52,7 @@ public class DocumentUtil {
 	 * @throws IOException Signals that an I/O exception has occurred.
 	 */
 	public static List<String> getCollectionFromStream(InputStream responseStream) throws IOException {
-		JsonFactory f = new MappingJsonFactory();
+		JsonFactory f = MAPPER.getFactory();
 		List<String> collectionList = null;
 		try (JsonParser jp = f.createParser(responseStream);) {
 			collectionList = new ArrayList<>();
@@ -76,9 +79,7 @@ public class DocumentUtil {
 	public static GetOperationRequest getRequestData(ObjectData objectData) throws IOException {
 
 		try (InputStream requestStream = objectData.getData()) {
-			ObjectMapper objectMapper = new ObjectMapper().disable(
-		            MapperFeature.CAN_OVERRIDE_ACCESS_MODIFIERS);
-			return objectMapper.readValue(requestStream, GetOperationRequest.class);
+			return MAPPER.readValue(requestStream, GetOperationRequest.class);
 		}
 	}
 
@@ -96,7 +97,7 @@ public class DocumentUtil {
 		UpdateOperationRequest request = new UpdateOperationRequest();
 		String[] partitionKeyPaths = partitionKey.replace("\"", "").split("/");
 		request.setId(getPrimaryId(objectData));
-		try (JsonParser jp = new JsonFactory().createParser(objectData.getData())) {
+		try (JsonParser jp = MAPPER.getFactory().createParser(objectData.getData())) {
 			request.setPartitionKey(getPartitionKeyValue(jp, partitionKeyPaths, 1));
 		}
 		return request;
@@ -115,7 +116,7 @@ public class DocumentUtil {
 		CreateOperationRequest request = new CreateOperationRequest();
 		String[] partitionKeyPaths = partitionKey.replace("\"", "").split("/");
 		request.setRequestId(getPrimaryId(objectData));
-		try (JsonParser jp = new JsonFactory().createParser(objectData.getData())) {
+		try (JsonParser jp = MAPPER.getFactory().createParser(objectData.getData())) {
 			request.setPartitionValue(getPartitionKeyValue(jp, partitionKeyPaths, 1));
 		}
 		return request;
@@ -128,7 +129,7 @@ public class DocumentUtil {
 	 * @throws IOException
 	 */
 	private static String getPrimaryId(ObjectData objectData) throws IOException {
-		try (JsonParser jp = new JsonFactory().createParser(objectData.getData())) {
+		try (JsonParser jp = MAPPER.getFactory().createParser(objectData.getData())) {
 			while (jp.nextToken() != null) {
 				String fieldName = jp.getCurrentName();
 				if (fieldName != null && fieldName.equals("id")) {
@@ -198,9 +199,7 @@ public class DocumentUtil {
 	 */
 	public static String getPartitionKeyField(InputStream responInputStream) throws IOException {
 		try {
-			ObjectMapper objectMapper = new ObjectMapper().disable(
-		            MapperFeature.CAN_OVERRIDE_ACCESS_MODIFIERS);
-			JsonNode jsonNode = objectMapper.readTree(responInputStream);
+			JsonNode jsonNode = MAPPER.readTree(responInputStream);
 			ArrayNode paths = (ArrayNode) jsonNode.get("partitionKey").get("paths");
 			if (paths != null) {
 				return String.valueOf(paths.get(0));
@@ -220,9 +219,7 @@ public class DocumentUtil {
 	 */
 	public static String getPartitionKeyRange(InputStream responInputStream) throws IOException {
 		try {
-			ObjectMapper objectMapper = new ObjectMapper().disable(
-		            MapperFeature.CAN_OVERRIDE_ACCESS_MODIFIERS);
-			JsonNode jsonNode = objectMapper.readTree(responInputStream);
+			JsonNode jsonNode = MAPPER.readTree(responInputStream);
 			ArrayNode paths = (ArrayNode) jsonNode.get("PartitionKeyRanges");
 			if (paths != null) {
 				return jsonNode.get("_rid").toString().replaceAll("\"", "")+","+paths.get(0).get("id").toString().replaceAll("\"", "");
@@ -233,6 +230,31 @@ public class DocumentUtil {
 		return null;
 	}
 
+	/**
+	 * Get all the Partition Key ranges of the Collection selected, as the values
+	 * of the Partition Key range header.
+	 *
+	 * @param responInputStream
+	 * @return the list of Partition Key ranges, empty if the collection has none
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	public static List<String> getPartitionKeyRanges(InputStream responInputStream) throws IOException {
+		List<String> ranges = new ArrayList<>();
+		try {
+			JsonNode jsonNode = MAPPER.readTree(responInputStream);
+			ArrayNode paths = (ArrayNode) jsonNode.get("PartitionKeyRanges");
+			if (paths != null) {
+				String rid = jsonNode.get("_rid").asText();
+				for (JsonNode path : paths) {
+					ranges.add(rid + "," + path.get("id").asText());
+				}
+			}
+		} finally {
+			IOUtil.closeQuietly(responInputStream);
+		}
+		return ranges;
+	}
+
 	/**
 	 * Gets the json schema for a given bean class
 	 *
@@ -242,18 +264,14 @@ public class DocumentUtil {
 	 */
 	@SuppressWarnings("rawtypes")
 	public static String getJsonSchema(Class definitionClass) throws JsonProcessingException {
-		ObjectMapper mapper =  new ObjectMapper().disable(
-	            MapperFeature.CAN_OVERRIDE_ACCESS_MODIFIERS);
-		JavaType javaType = mapper.getTypeFactory().constructType(definitionClass);
-		JsonSchemaGenerator schemaGen = new JsonSchemaGenerator(mapper);
+		JavaType javaType = MAPPER.getTypeFactory().constructType(definitionClass);
+		JsonSchemaGenerator schemaGen = new JsonSchemaGenerator(MAPPER);
 		JsonSchema schema = schemaGen.generateSchema(javaType);
-		return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(schema);
+		return MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(schema);
 	}
 
 	public static DeleteOperationRequest getUpdateRequestData(ObjectData request) throws IOException {
-		ObjectMapper mapper =  new ObjectMapper().disable(
-	            MapperFeature.CAN_OVERRIDE_ACCESS_MODIFIERS);
-		return mapper.readValue(request.getData(), DeleteOperationRequest.class);
+		return MAPPER.readValue(request.getData(), DeleteOperationRequest.class);
 	}
 	
 	/**
@@ -0,0 +1,66 @@
+//Copyright (c) 2025 Boomi, Inc.
+
+package com.boomi.connector.cosmosdb.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+/**
+ * Holds one pooled, keep-alive HTTP client per CosmosDB account so that the
+ * TLS connections to the account are reused across documents, operations and
+ * executions instead of being opened for every request. The clients are shared
+ * and must not be closed by the callers.
+ *
+ * @author Abhijit Mishra
+ */
+public class HttpClientPool {
+
+	/** The clients by account URL. */
+	private static final ConcurrentMap<String, CloseableHttpClient> CLIENTS = new ConcurrentHashMap<>();
+
+	private HttpClientPool() {
+	}
+
+	/**
+	 * Gets the shared client of the given account, creating it on first use.
+	 *
+	 * @param accountUrl the account URL
+	 * @return the shared client
+	 */
+	public static CloseableHttpClient getClient(String accountUrl) {
+		String key = String.valueOf(accountUrl);
+		CloseableHttpClient client = CLIENTS.get(key);
+		if (client == null) {
+			synchronized (CLIENTS) {
+				client = CLIENTS.get(key);
+				if (client == null) {
+					client = newClient();
+					CLIENTS.put(key, client);
+				}
+			}
+		}
+		return client;
+	}
+
+	/**
+	 * Creates a client backed by a connection pool. Idle and expired connections
+	 * are evicted in the background and stale connections are validated before
+	 * they are reused.
+	 *
+	 * @return the client
+	 */
+	private static CloseableHttpClient newClient() {
+		PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+				CosmosDbConstants.HTTP_CONNECTION_TTL, TimeUnit.MILLISECONDS);
+		connectionManager.setMaxTotal(CosmosDbConstants.HTTP_MAX_CONNECTIONS);
+		connectionManager.setDefaultMaxPerRoute(CosmosDbConstants.HTTP_MAX_CONNECTIONS);
+		connectionManager.setValidateAfterInactivity(CosmosDbConstants.HTTP_VALIDATE_AFTER_INACTIVITY);
+		return HttpClientBuilder.create().setConnectionManager(connectionManager).evictExpiredConnections()
+				.evictIdleConnections(CosmosDbConstants.HTTP_MAX_IDLE_TIME, TimeUnit.MILLISECONDS).build();
+	}
+}
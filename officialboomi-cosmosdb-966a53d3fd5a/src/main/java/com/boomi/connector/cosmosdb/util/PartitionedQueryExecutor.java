@@ -0,0 +1,207 @@
+//Copyright (c) 2025 Boomi, Inc.
+
+package com.boomi.connector.cosmosdb.util;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.boomi.connector.exception.CosmosDBConnectorException;
+import com.boomi.connector.exception.CosmosDBRetryException;
+import com.boomi.util.StringUtil;
+
+/**
+ * Runs a query on each partition key range of a collection in parallel. Every
+ * range is paged through by its own worker, and the pages are handed over to
+ * the calling thread through a bounded buffer, so at most
+ * {@code prefetchPages + parallelism} pages are held in memory at any time.
+ *
+ * @author Abhijit Mishra
+ */
+public class PartitionedQueryExecutor {
+
+	/** Marks that all the pages of a range were fetched. */
+	private static final Page RANGE_DONE = new Page(null, null, null);
+
+	/** The most ranges queried at the same time. */
+	private final int parallelism;
+
+	/** The most pages fetched ahead of the calling thread. */
+	private final int prefetchPages;
+
+	/**
+	 * Fetches a page of the query results of a partition key range.
+	 */
+	public interface PageFetcher {
+
+		/**
+		 * Fetches a page.
+		 *
+		 * @param rangeId      the partition key range header value
+		 * @param continuation the continuation token of the page, or null for the first page
+		 * @return the page
+		 * @throws CosmosDBConnectorException If any Irrecoverable Error Occurs.
+		 * @throws CosmosDBRetryException     If any Recoverable Error Occurs.
+		 */
+		Page fetch(String rangeId, String continuation) throws CosmosDBConnectorException, CosmosDBRetryException;
+	}
+
+	/**
+	 * Consumes the pages on the calling thread.
+	 */
+	public interface PageConsumer {
+
+		/**
+		 * Consumes a page.
+		 *
+		 * @param page the page
+		 * @throws IOException If the page cannot be read.
+		 */
+		void consume(Page page) throws IOException;
+	}
+
+	/**
+	 * Instantiates a new partitioned query executor.
+	 *
+	 * @param parallelism   the most ranges queried at the same time
+	 * @param prefetchPages the most pages fetched ahead of the calling thread
+	 */
+	public PartitionedQueryExecutor(int parallelism, int prefetchPages) {
+		this.parallelism = Math.max(1, parallelism);
+		this.prefetchPages = Math.max(1, prefetchPages);
+	}
+
+	/**
+	 * Pages through the query results of every range and hands each page to the
+	 * consumer, as soon as it is fetched. The pages of a range are consumed in
+	 * order, and the pages of different ranges are interleaved. The first failure
+	 * stops all the workers and is thrown.
+	 *
+	 * @param rangeIds the partition key range header values
+	 * @param fetcher  the page fetcher, called from the workers
+	 * @param consumer the page consumer, called from the calling thread
+	 * @throws CosmosDBConnectorException If any Irrecoverable Error Occurs.
+	 * @throws CosmosDBRetryException     If any Recoverable Error Occurs.
+	 * @throws IOException                If a page cannot be consumed.
+	 */
+	public void execute(List<String> rangeIds, final PageFetcher fetcher, PageConsumer consumer)
+			throws CosmosDBConnectorException, CosmosDBRetryException, IOException {
+		final BlockingQueue<Page> pages = new ArrayBlockingQueue<>(prefetchPages);
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, rangeIds.size())));
+		try {
+			for (final String rangeId : rangeIds) {
+				executor.execute(new Runnable() {
+					@Override
+					public void run() {
+						fetchRange(rangeId, fetcher, pages);
+					}
+				});
+			}
+			int remaining = rangeIds.size();
+			while (remaining > 0) {
+				Page page = pages.take();
+				if (page == RANGE_DONE) {
+					remaining--;
+				} else if (page.failure != null) {
+					throw page.failure;
+				} else {
+					consumer.consume(page);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CosmosDBConnectorException("Interrupted while waiting for the query results", null, e);
+		} catch (CosmosDBConnectorException | CosmosDBRetryException e) {
+			throw e;
+		} catch (IOException | RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new CosmosDBConnectorException(e.toString(), null, e);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Pages through the query results of a range, queueing every page followed
+	 * by the end marker, or the failure. Errors are queued as failures too, so
+	 * the calling thread never waits for a range that stopped.
+	 *
+	 * @param rangeId the partition key range header value
+	 * @param fetcher the page fetcher
+	 * @param pages   the pages handed over to the calling thread
+	 */
+	private static void fetchRange(String rangeId, PageFetcher fetcher, BlockingQueue<Page> pages) {
+		try {
+			String continuation = null;
+			do {
+				Page page = fetcher.fetch(rangeId, continuation);
+				pages.put(page);
+				continuation = page.getContinuation();
+			} while (StringUtil.isNotBlank(continuation));
+			pages.put(RANGE_DONE);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (Throwable t) {
+			Page failure = new Page(null, null, null);
+			failure.failure = (t instanceof Exception) ? (Exception) t
+					: new CosmosDBConnectorException(t.toString(), null, t);
+			try {
+				pages.put(failure);
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * A page of query results.
+	 */
+	public static class Page {
+
+		private final byte[] content;
+		private final String continuation;
+		private final String reasonPhrase;
+		private Exception failure;
+
+		/**
+		 * Instantiates a new page.
+		 *
+		 * @param content      the response body
+		 * @param continuation the continuation token of the next page, or null
+		 * @param reasonPhrase the reason phrase of the response
+		 */
+		public Page(byte[] content, String continuation, String reasonPhrase) {
+			this.content = content;
+			this.continuation = continuation;
+			this.reasonPhrase = reasonPhrase;
+		}
+
+		/**
+		 * Gets the response body
+		 * @return content
+		 */
+		public byte[] getContent() {
+			return content;
+		}
+
+		/**
+		 * Gets the continuation token of the next page
+		 * @return continuation
+		 */
+		public String getContinuation() {
+			return continuation;
+		}
+
+		/**
+		 * Gets the reason phrase of the response
+		 * @return reasonPhrase
+		 */
+		public String getReasonPhrase() {
+			return reasonPhrase;
+		}
+	}
+}
@@ -0,0 +1,169 @@
+//Copyright (c) 2025 Boomi, Inc.
+
+package com.boomi.connector.cosmosdb.util;
+
+import static com.boomi.connector.cosmosdb.util.CosmosDbConstants.AUTH_TOKEN;
+import static com.boomi.connector.cosmosdb.util.CosmosDbConstants.LINE_BREAK;
+import static com.boomi.connector.cosmosdb.util.CosmosDbConstants.RFC_TIME;
+import static com.boomi.connector.cosmosdb.util.CosmosDbConstants.SIGNATURE_ALGORITHM;
+import static com.boomi.connector.cosmosdb.util.CosmosDbConstants.SIGNATURE_PARAMS;
+import static com.boomi.connector.cosmosdb.util.CosmosDbConstants.UTF;
+import static com.boomi.connector.cosmosdb.util.CosmosDbConstants.X_MS_DATE_FORMAT;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SimpleTimeZone;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.apache.commons.codec.binary.Base64;
+
+/**
+ * Signs the requests to Cosmos DB with the master key of an account. The key
+ * is decoded once, each thread initializes its own {@link Mac} once, and the
+ * date header is formatted once per second, so signing a request only hashes
+ * the request payload. A signer is held by the connection it signs for, so the
+ * master key is not kept beyond the connection.
+ *
+ * @author Abhijit Mishra
+ */
+public class RequestSigner {
+
+	/** The date header of the current second. */
+	private static volatile FormattedDate currentDate;
+
+	/** The decoded master key. */
+	private final SecretKeySpec secretKey;
+
+	/** The Mac of each thread, initialized with the master key. */
+	private final ThreadLocal<Mac> macs = new ThreadLocal<>();
+
+	/**
+	 * Instantiates a new request signer.
+	 *
+	 * @param masterKey the Base64 encoded master key
+	 */
+	public RequestSigner(String masterKey) {
+		this.secretKey = new SecretKeySpec(Base64.decodeBase64(masterKey), SIGNATURE_ALGORITHM);
+	}
+
+	/**
+	 * Creates the date and authorization headers of a request.
+	 *
+	 * @param uri        the request URI
+	 * @param httpMethod the HTTP method
+	 * @return the headers by RFC_TIME and AUTH_TOKEN
+	 * @throws NoSuchAlgorithmException
+	 * @throws InvalidKeyException
+	 * @throws UnsupportedEncodingException
+	 */
+	public Map<String, String> sign(String uri, String httpMethod)
+			throws NoSuchAlgorithmException, InvalidKeyException, UnsupportedEncodingException {
+		return sign(uri, httpMethod, System.currentTimeMillis());
+	}
+
+	/**
+	 * Creates the date and authorization headers of a request sent at the given
+	 * time.
+	 *
+	 * @param uri        the request URI
+	 * @param httpMethod the HTTP method
+	 * @param now        the time in ms
+	 * @return the headers by RFC_TIME and AUTH_TOKEN
+	 * @throws NoSuchAlgorithmException
+	 * @throws InvalidKeyException
+	 * @throws UnsupportedEncodingException
+	 */
+	Map<String, String> sign(String uri, String httpMethod, long now)
+			throws NoSuchAlgorithmException, InvalidKeyException, UnsupportedEncodingException {
+		FormattedDate date = formatDate(now);
+		String strippedurl = URI.create(uri).getPath();
+		String[] strippedparts = strippedurl.split("/");
+		int truestrippedcount = (strippedparts.length - 1);
+		String resourceId = "";
+		String resourceType;
+		if (truestrippedcount % 2 != 0) {
+			resourceType = strippedparts[truestrippedcount];
+			if (truestrippedcount > 1) {
+				resourceId = strippedurl.substring(1, strippedurl.lastIndexOf('/'));
+			}
+		} else {
+			resourceType = strippedparts[truestrippedcount - 1];
+			resourceId = strippedurl.substring(1);
+		}
+		String payload = new StringBuilder(httpMethod.toLowerCase()).append(LINE_BREAK)
+				.append(resourceType.toLowerCase()).append(LINE_BREAK).append(resourceId).append(LINE_BREAK)
+				.append(date.lowerCase).append(LINE_BREAK).append(LINE_BREAK).toString();
+		String signature = Base64.encodeBase64String(getMac().doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+		Map<String, String> headerParameters = new HashMap<>();
+		headerParameters.put(RFC_TIME, date.value);
+		headerParameters.put(AUTH_TOKEN, URLEncoder.encode(SIGNATURE_PARAMS + signature, UTF));
+		return headerParameters;
+	}
+
+	/**
+	 * Gets the Mac of the current thread, initializing it on first use.
+	 *
+	 * @return the Mac
+	 * @throws NoSuchAlgorithmException
+	 * @throws InvalidKeyException
+	 */
+	private Mac getMac() throws NoSuchAlgorithmException, InvalidKeyException {
+		Mac mac = macs.get();
+		if (mac == null) {
+			mac = Mac.getInstance(SIGNATURE_ALGORITHM);
+			mac.init(secretKey);
+			macs.set(mac);
+		}
+		return mac;
+	}
+
+	/**
+	 * Gets the date header of the second of the given time, formatting it only
+	 * when the second changes.
+	 *
+	 * @param now the time in ms
+	 * @return the formatted date
+	 */
+	static FormattedDate formatDate(long now) {
+		long second = now / 1000L;
+		FormattedDate date = currentDate;
+		if (date == null || date.second != second) {
+			SimpleDateFormat simpleDateFormat = new SimpleDateFormat(X_MS_DATE_FORMAT, Locale.US);
+			simpleDateFormat.setTimeZone(new SimpleTimeZone(0, "GMT"));
+			date = new FormattedDate(second, simpleDateFormat.format(new Date(second * 1000L)));
+			currentDate = date;
+		}
+		return date;
+	}
+
+	/**
+	 * A date header and the second it was formatted for.
+	 */
+	static class FormattedDate {
+
+		private final long second;
+		private final String value;
+		private final String lowerCase;
+
+		FormattedDate(long second, String value) {
+			this.second = second;
+			this.value = value;
+			this.lowerCase = value.toLowerCase();
+		}
+
+		String getValue() {
+			return value;
+		}
+	}
+}
@@ -0,0 +1,205 @@
+//Copyright (c) 2025 Boomi, Inc.
+
+package com.boomi.connector.cosmosdb.util;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Client side rate governor of the requests sent to a collection. It keeps the
+ * number of concurrent requests below a limit that is adapted to the
+ * throttling reported by Cosmos DB: the limit grows by one after a full round
+ * of successful requests and is halved on every HTTP 429 (additive increase,
+ * multiplicative decrease). The retry-after hint of a throttled request holds
+ * back all the requests to the collection, and an optional request unit budget
+ * paces the requests so that the request units charged in the last second stay
+ * below it. The throttles are shared by all the connections of the process
+ * with the same collection and budget.
+ *
+ * @author Abhijit Mishra
+ */
+public class RequestThrottle {
+
+	/** The throttles by collection and request unit budget. */
+	private static final ConcurrentMap<String, RequestThrottle> THROTTLES = new ConcurrentHashMap<>();
+
+	/** The upper bound of the concurrency limit. */
+	private final int maxConcurrency;
+
+	/** The request units that may be charged per second, 0 for no budget. */
+	private final double requestUnitBudget;
+
+	/** The number of requests that may be sent concurrently. */
+	private int concurrencyLimit;
+
+	/** The number of requests being sent. */
+	private int inFlight;
+
+	/** The number of successful requests since the limit was last changed. */
+	private int successCount;
+
+	/** The time in ms before which no request is sent. */
+	private long blockedUntil;
+
+	/** The number of throttled requests. */
+	private long throttleCount;
+
+	/** The request units charged in total. */
+	private double totalRequestUnits;
+
+	/** The times and request units of the requests completed within the window. */
+	private final Deque<double[]> charges = new ArrayDeque<>();
+
+	/** The request units charged within the window. */
+	private double windowRequestUnits;
+
+	/**
+	 * Instantiates a new request throttle.
+	 *
+	 * @param maxConcurrency    the upper bound of the concurrency limit
+	 * @param requestUnitBudget the request units that may be charged per second,
+	 *                          0 for no budget
+	 */
+	RequestThrottle(int maxConcurrency, double requestUnitBudget) {
+		this.maxConcurrency = Math.max(1, maxConcurrency);
+		this.requestUnitBudget = requestUnitBudget;
+		this.concurrencyLimit = this.maxConcurrency;
+	}
+
+	/**
+	 * Gets the throttle shared by the connections to the given collection with
+	 * the given budget, creating it on first use. Connections with different
+	 * budgets get different throttles, so neither overrides the other's limit.
+	 *
+	 * @param collectionKey     the key of the collection, including its account
+	 * @param requestUnitBudget the request units that may be charged per second,
+	 *                          0 for no budget
+	 * @return the throttle
+	 */
+	public static RequestThrottle forCollection(String collectionKey, double requestUnitBudget) {
+		String throttleKey = collectionKey + '#' + requestUnitBudget;
+		RequestThrottle throttle = THROTTLES.get(throttleKey);
+		if (throttle == null) {
+			RequestThrottle created = new RequestThrottle(CosmosDbConstants.HTTP_MAX_CONNECTIONS, requestUnitBudget);
+			throttle = THROTTLES.putIfAbsent(throttleKey, created);
+			if (throttle == null) {
+				throttle = created;
+			}
+		}
+		return throttle;
+	}
+
+	/**
+	 * Waits until a request may be sent and reserves it a slot. Every call must be
+	 * followed by a call to {@link #release(int, double, long)} or
+	 * {@link #cancel()}.
+	 *
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 */
+	public synchronized void acquire() throws InterruptedException {
+		while (true) {
+			long now = System.currentTimeMillis();
+			expireCharges(now);
+			if (blockedUntil > now) {
+				wait(blockedUntil - now);
+			} else if (requestUnitBudget > 0 && windowRequestUnits >= requestUnitBudget && !charges.isEmpty()) {
+				wait(Math.max(1L, (long) charges.peekFirst()[0] + CosmosDbConstants.THROTTLE_WINDOW - now));
+			} else if (inFlight >= concurrencyLimit) {
+				wait();
+			} else {
+				inFlight++;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Releases the slot of a completed request and adapts the limits to its
+	 * outcome.
+	 *
+	 * @param statusCode    the status code of the response
+	 * @param requestCharge the request units charged for the request
+	 * @param retryAfter    the time in ms Cosmos DB asked to wait before
+	 *                      retrying, or 0
+	 */
+	public synchronized void release(int statusCode, double requestCharge, long retryAfter) {
+		long now = System.currentTimeMillis();
+		inFlight--;
+		if (requestCharge > 0) {
+			charges.addLast(new double[] { now, requestCharge });
+			windowRequestUnits += requestCharge;
+			totalRequestUnits += requestCharge;
+		}
+		if (statusCode == CosmosDbConstants.STATUS_TOO_MANY_REQUESTS) {
+			throttleCount++;
+			concurrencyLimit = Math.max(1, concurrencyLimit / 2);
+			successCount = 0;
+			blockedUntil = Math.max(blockedUntil, now + Math.max(0L, retryAfter));
+		} else if (statusCode < 400 && ++successCount >= concurrencyLimit) {
+			concurrencyLimit = Math.min(maxConcurrency, concurrencyLimit + 1);
+			successCount = 0;
+		}
+		notifyAll();
+	}
+
+	/**
+	 * Releases the slot of a request that did not get any response.
+	 */
+	public synchronized void cancel() {
+		inFlight--;
+		notifyAll();
+	}
+
+	/**
+	 * Drops the charges that are older than the window.
+	 *
+	 * @param now the current time in ms
+	 */
+	private void expireCharges(long now) {
+		while (!charges.isEmpty() && charges.peekFirst()[0] + CosmosDbConstants.THROTTLE_WINDOW <= now) {
+			windowRequestUnits -= charges.removeFirst()[1];
+		}
+		if (charges.isEmpty()) {
+			windowRequestUnits = 0;
+		}
+	}
+
+	/**
+	 * Gets the request units charged in the last second.
+	 *
+	 * @return the request units per second
+	 */
+	public synchronized double getRequestUnitsPerSecond() {
+		expireCharges(System.currentTimeMillis());
+		return windowRequestUnits * 1000L / CosmosDbConstants.THROTTLE_WINDOW;
+	}
+
+	/**
+	 * Gets the request units charged in total.
+	 *
+	 * @return the total request units
+	 */
+	public synchronized double getTotalRequestUnits() {
+		return totalRequestUnits;
+	}
+
+	/**
+	 * Gets the number of throttled requests.
+	 *
+	 * @return the throttle count
+	 */
+	public synchronized long getThrottleCount() {
+		return throttleCount;
+	}
+
+	/**
+	 * Gets the number of requests that may currently be sent concurrently.
+	 *
+	 * @return the concurrency limit
+	 */
+	public synchronized int getConcurrencyLimit() {
+		return concurrencyLimit;
+	}
+}
@@ -13,6 +13,7 @@ public class CosmosDBRetryException extends Exception {
 	
 	private final String objectId;
 	private final Integer errorCode;
+	private final long retryAfter;
 
 	/**
 	 * CosmosDBRetryException Constructor
@@ -23,6 +24,7 @@ public class CosmosDBRetryException extends Exception {
 		super(message, ex);
 		this.objectId = null;
 		this.errorCode = null;
+		this.retryAfter = 0L;
 	}
 
 	/**
@@ -33,6 +35,7 @@ public class CosmosDBRetryException extends Exception {
 		super(message);
 		this.objectId = null;
 		this.errorCode = null;
+		this.retryAfter = 0L;
 	}
 
 	/**
@@ -42,9 +45,21 @@ public class CosmosDBRetryException extends Exception {
 	 * @param errorCode
 	 */
 	public CosmosDBRetryException(String message, String objectId, Integer errorCode) {
+		this(message, objectId, errorCode, 0L);
+	}
+
+	/**
+	 * CosmosDBRetryException Constructor
+	 * @param message
+	 * @param objectId
+	 * @param errorCode
+	 * @param retryAfter the time in ms Cosmos DB asked to wait before retrying
+	 */
+	public CosmosDBRetryException(String message, String objectId, Integer errorCode, long retryAfter) {
 		super(message);
 		this.objectId = objectId;
 		this.errorCode = errorCode;
+		this.retryAfter = retryAfter;
 	}
 	
 	/**
@@ -62,4 +77,13 @@ public class CosmosDBRetryException extends Exception {
 	public Integer getErrorCode() {
 		return errorCode;
 	}
+
+	/**
+	 * Returns the time in ms Cosmos DB asked to wait before retrying, or 0 if
+	 * it did not give any.
+	 * @return retryAfter
+	 */
+	public long getRetryAfter() {
+		return retryAfter;
+	}
 }
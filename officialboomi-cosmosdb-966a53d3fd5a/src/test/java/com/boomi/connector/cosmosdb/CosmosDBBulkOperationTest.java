@@ -0,0 +1,160 @@
+package com.boomi.connector.cosmosdb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.boomi.connector.api.BrowseContext;
+import com.boomi.connector.api.ObjectData;
+import com.boomi.connector.api.OperationResponse;
+import com.boomi.connector.api.OperationStatus;
+import com.boomi.connector.api.OperationType;
+import com.boomi.connector.api.Payload;
+import com.boomi.connector.api.PropertyMap;
+import com.boomi.connector.cosmosdb.action.RetryableBulkOperation;
+import com.boomi.connector.cosmosdb.util.CosmosDbConstants;
+import com.boomi.connector.exception.CosmosDBConnectorException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Runs the bulk create operation against a local HTTP stand-in of Cosmos DB
+ * that answers batch requests with the outcome of each operation.
+ */
+public class CosmosDBBulkOperationTest {
+
+	private static final String COLLECTION = "bulk_coll";
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private final AtomicInteger batchRequests = new AtomicInteger();
+	private final Set<String> partitionKeys = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+	private final Map<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
+	private final OperationResponse response = mock(OperationResponse.class);
+	private HttpServer server;
+	private CosmosDBConnection connection;
+
+	@Before
+	public void init() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/dbs/db/colls/" + COLLECTION, new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				if (exchange.getRequestURI().getPath().endsWith("/docs")) {
+					batchRequests.incrementAndGet();
+					partitionKeys.add(exchange.getRequestHeaders().getFirst(CosmosDbConstants.PARTITION_KEY_HEADER));
+					JsonNode operations = MAPPER.readTree(exchange.getRequestBody());
+					ArrayNode results = MAPPER.createArrayNode();
+					for (JsonNode operation : operations) {
+						String id = operation.path(CosmosDbConstants.BATCH_RESOURCE_BODY).path("id").asText();
+						attempts.putIfAbsent(id, new AtomicInteger());
+						int attempt = attempts.get(id).incrementAndGet();
+						ObjectNode result = results.addObject();
+						if ("2".equals(id)) {
+							result.put(CosmosDbConstants.BATCH_STATUS_CODE, 409);
+						} else if ("3".equals(id) && attempt == 1) {
+							result.put(CosmosDbConstants.BATCH_STATUS_CODE, 429);
+							result.put(CosmosDbConstants.BATCH_RETRY_AFTER, 50);
+						} else {
+							result.put(CosmosDbConstants.BATCH_STATUS_CODE, 201);
+							result.put(CosmosDbConstants.BATCH_REQUEST_CHARGE, 6.5);
+						}
+					}
+					send(exchange, 207, MAPPER.writeValueAsString(results));
+				} else {
+					send(exchange, 200,
+							"{\"id\":\"" + COLLECTION + "\",\"partitionKey\":{\"paths\":[\"/address/city\"]}}");
+				}
+			}
+		});
+		server.start();
+
+		PropertyMap properties = mock(PropertyMap.class);
+		when(properties.getProperty(CosmosDbConstants.HOST_URL))
+				.thenReturn("http://localhost:" + server.getAddress().getPort() + "/");
+		when(properties.getProperty(CosmosDbConstants.MASTER_KEY)).thenReturn("c2VjcmV0LW1hc3Rlci1rZXk=");
+		when(properties.getProperty(CosmosDbConstants.DB_NAME)).thenReturn("db");
+		when(properties.getLongProperty(CosmosDbConstants.REQUEST_UNIT_BUDGET, 0L)).thenReturn(0L);
+		BrowseContext context = mock(BrowseContext.class);
+		when(context.getConnectionProperties()).thenReturn(properties);
+		connection = new CosmosDBConnection(context);
+		connection.setOperationType(OperationType.CREATE.toString());
+		when(response.getLogger()).thenReturn(mock(Logger.class));
+	}
+
+	@After
+	public void close() {
+		server.stop(0);
+	}
+
+	private static void send(HttpExchange exchange, int statusCode, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.sendResponseHeaders(statusCode, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	private static ObjectData newDocument(String id, String city) {
+		final String document = "{\"id\":\"" + id + "\",\"address\":{\"city\":\"" + city + "\"}}";
+		ObjectData objectData = mock(ObjectData.class);
+		when(objectData.getData()).thenAnswer(new Answer<InputStream>() {
+			@Override
+			public InputStream answer(InvocationOnMock invocation) {
+				return new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8));
+			}
+		});
+		return objectData;
+	}
+
+	@Test
+	public void testGroupsDocumentsByPartitionAndRetriesThrottledOperations() throws CosmosDBConnectorException {
+		ObjectData first = newDocument("1", "Pune");
+		ObjectData second = newDocument("2", "Pune");
+		ObjectData third = newDocument("3", "Austin");
+		Map<String, Object> inputConfig = connection.prepareInputConfig();
+		inputConfig.put(CosmosDbConstants.BATCH_MODE, CosmosDbConstants.BATCH_MODE_BULK);
+		inputConfig.put(CosmosDbConstants.BATCH_CONCURRENCY, 2);
+
+		new RetryableBulkOperation(connection, COLLECTION, response, inputConfig,
+				Arrays.asList(first, second, third), CosmosDbConstants.BATCH_CREATE).execute();
+
+		verify(response).addResult(Mockito.eq(first), Mockito.eq(OperationStatus.SUCCESS), Mockito.eq("201"),
+				Mockito.anyString(), Mockito.any(Payload.class));
+		verify(response).addResult(Mockito.eq(second), Mockito.eq(OperationStatus.APPLICATION_ERROR),
+				Mockito.eq("409"), Mockito.anyString(), Mockito.any(Payload.class));
+		verify(response).addResult(Mockito.eq(third), Mockito.eq(OperationStatus.SUCCESS), Mockito.eq("201"),
+				Mockito.anyString(), Mockito.any(Payload.class));
+		assertEquals(3, batchRequests.get());
+		assertEquals(2, attempts.get("3").get());
+		assertTrue(partitionKeys.contains("[\"Pune\"]"));
+		assertTrue(partitionKeys.contains("[\"Austin\"]"));
+	}
+}
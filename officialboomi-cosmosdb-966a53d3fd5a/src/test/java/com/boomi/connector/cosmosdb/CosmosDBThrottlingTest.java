@@ -0,0 +1,275 @@
+package com.boomi.connector.cosmosdb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.boomi.connector.api.BrowseContext;
+import com.boomi.connector.api.FilterData;
+import com.boomi.connector.api.ObjectData;
+import com.boomi.connector.api.OperationResponse;
+import com.boomi.connector.api.OperationStatus;
+import com.boomi.connector.api.OperationType;
+import com.boomi.connector.api.Payload;
+import com.boomi.connector.api.PropertyMap;
+import com.boomi.connector.cosmosdb.action.RetryableCreateOperation;
+import com.boomi.connector.cosmosdb.action.RetryableQueryOperation;
+import com.boomi.connector.cosmosdb.util.CosmosDbConstants;
+import com.boomi.connector.cosmosdb.util.RequestThrottle;
+import com.boomi.connector.exception.CosmosDBConnectorException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Runs the create and query operations against a local HTTP stand-in of Cosmos
+ * DB that throttles or fails some of the requests.
+ */
+public class CosmosDBThrottlingTest {
+
+	private static final String COLLECTION = "throttled_coll";
+	private static final String QUERY_COLLECTION = "throttled_query_coll";
+	private static final String FAILING_QUERY_COLLECTION = "failing_query_coll";
+	private static final String RANGED_QUERY_COLLECTION = "ranged_query_coll";
+	private static final long RETRY_AFTER = 200L;
+	private static final String DOCUMENT = "{\"id\":\"1\",\"name\":\"first\"}";
+
+	private final AtomicInteger documentRequests = new AtomicInteger();
+	private final AtomicInteger queryRequests = new AtomicInteger();
+	private final AtomicInteger failingQueryRequests = new AtomicInteger();
+	private final AtomicInteger rangedQueryRequests = new AtomicInteger();
+	private final OperationResponse response = mock(OperationResponse.class);
+	private HttpServer server;
+	private CosmosDBConnection connection;
+
+	@Before
+	public void init() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/dbs/db/colls/" + COLLECTION, new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				if (exchange.getRequestURI().getPath().endsWith("/docs")) {
+					drain(exchange.getRequestBody());
+					if (documentRequests.incrementAndGet() % 2 == 1) {
+						exchange.getResponseHeaders().add(CosmosDbConstants.X_MS_RETRY_AFTER_MS,
+								String.valueOf(RETRY_AFTER));
+						exchange.getResponseHeaders().add(CosmosDbConstants.X_MS_REQUEST_CHARGE, "0.5");
+						send(exchange, 429, "{\"code\":\"TooManyRequests\"}");
+					} else {
+						exchange.getResponseHeaders().add(CosmosDbConstants.X_MS_REQUEST_CHARGE, "5.5");
+						send(exchange, 201, DOCUMENT);
+					}
+				} else {
+					send(exchange, 200, "{\"id\":\"" + COLLECTION + "\",\"partitionKey\":{\"paths\":[\"/id\"]}}");
+				}
+			}
+		});
+		server.createContext("/dbs/db/colls/" + QUERY_COLLECTION, new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				if (exchange.getRequestURI().getPath().endsWith("/docs")) {
+					drain(exchange.getRequestBody());
+					int request = queryRequests.incrementAndGet();
+					if (request == 2) {
+						exchange.getResponseHeaders().add(CosmosDbConstants.X_MS_RETRY_AFTER_MS,
+								String.valueOf(RETRY_AFTER));
+						send(exchange, 429, "{\"code\":\"TooManyRequests\"}");
+						return;
+					}
+					if (request == 1) {
+						exchange.getResponseHeaders().add(CosmosDbConstants.X_MS_CONTINUATION, "page2");
+					}
+					send(exchange, 200, "{\"Documents\":[{\"id\":\"" + request + "\"}]}");
+				} else {
+					send(exchange, 200, "{\"_rid\":\"rid\",\"PartitionKeyRanges\":[{\"id\":\"0\"}]}");
+				}
+			}
+		});
+		server.createContext("/dbs/db/colls/" + FAILING_QUERY_COLLECTION, new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				if (exchange.getRequestURI().getPath().endsWith("/docs")) {
+					drain(exchange.getRequestBody());
+					if (failingQueryRequests.incrementAndGet() > 1) {
+						send(exchange, 503, "{\"code\":\"ServiceUnavailable\"}");
+						return;
+					}
+					exchange.getResponseHeaders().add(CosmosDbConstants.X_MS_CONTINUATION, "page2");
+					send(exchange, 200, "{\"Documents\":[{\"id\":\"1\"}]}");
+				} else {
+					send(exchange, 200, "{\"_rid\":\"rid\",\"PartitionKeyRanges\":[{\"id\":\"0\"}]}");
+				}
+			}
+		});
+		server.createContext("/dbs/db/colls/" + RANGED_QUERY_COLLECTION, new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				if (exchange.getRequestURI().getPath().endsWith("/docs")) {
+					drain(exchange.getRequestBody());
+					rangedQueryRequests.incrementAndGet();
+					send(exchange, 200, "{\"Documents\":[{\"id\":\"1\"}]}");
+				} else {
+					send(exchange, 200,
+							"{\"_rid\":\"rid\",\"PartitionKeyRanges\":[{\"id\":\"0\"},{\"id\":\"1\"}]}");
+				}
+			}
+		});
+		server.start();
+
+		PropertyMap properties = mock(PropertyMap.class);
+		when(properties.getProperty(CosmosDbConstants.HOST_URL))
+				.thenReturn("http://localhost:" + server.getAddress().getPort() + "/");
+		when(properties.getProperty(CosmosDbConstants.MASTER_KEY)).thenReturn("c2VjcmV0LW1hc3Rlci1rZXk=");
+		when(properties.getProperty(CosmosDbConstants.DB_NAME)).thenReturn("db");
+		when(properties.getLongProperty(CosmosDbConstants.REQUEST_UNIT_BUDGET, 0L)).thenReturn(0L);
+		BrowseContext context = mock(BrowseContext.class);
+		when(context.getConnectionProperties()).thenReturn(properties);
+		connection = new CosmosDBConnection(context);
+		connection.setOperationType(OperationType.CREATE.toString());
+		when(response.getLogger()).thenReturn(mock(Logger.class));
+	}
+
+	@After
+	public void close() {
+		server.stop(0);
+	}
+
+	private static void drain(InputStream body) throws IOException {
+		byte[] buffer = new byte[1024];
+		while (body.read(buffer) != -1) {
+			// discard the request body
+		}
+	}
+
+	private static void send(HttpExchange exchange, int statusCode, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.sendResponseHeaders(statusCode, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	private static ObjectData newDocument() {
+		ObjectData objectData = mock(ObjectData.class);
+		when(objectData.getData()).thenAnswer(new Answer<InputStream>() {
+			@Override
+			public InputStream answer(InvocationOnMock invocation) {
+				return new ByteArrayInputStream(DOCUMENT.getBytes(StandardCharsets.UTF_8));
+			}
+		});
+		return objectData;
+	}
+
+	@Test
+	public void testRetriesThrottledRequestAfterRetryAfter() throws CosmosDBConnectorException {
+		ObjectData objectData = newDocument();
+
+		long start = System.currentTimeMillis();
+		new RetryableCreateOperation(connection, COLLECTION, response, connection.prepareInputConfig(),
+				Collections.singletonList(objectData)).execute();
+		long elapsed = System.currentTimeMillis() - start;
+
+		verify(response).addResult(Mockito.eq(objectData), Mockito.eq(OperationStatus.SUCCESS), Mockito.eq("201"),
+				Mockito.anyString(), Mockito.any(Payload.class));
+		assertEquals(2, documentRequests.get());
+		assertTrue("elapsed " + elapsed + "ms", elapsed >= RETRY_AFTER);
+
+		RequestThrottle throttle = connection.getThrottle(COLLECTION);
+		assertEquals(1, throttle.getThrottleCount());
+		assertEquals(6.0, throttle.getTotalRequestUnits(), 0.001);
+		assertEquals(CosmosDbConstants.HTTP_MAX_CONNECTIONS / 2, throttle.getConcurrencyLimit());
+	}
+
+	@Test
+	public void testRetriesThrottledQueryPageWithoutRepeatingPages() throws Exception {
+		FilterData filterData = mock(FilterData.class);
+		connection.setOperationType(OperationType.QUERY.toString());
+
+		long start = System.currentTimeMillis();
+		connection.doQuery(QUERY_COLLECTION, Collections.<Entry<String, String>>emptyList(), response, filterData);
+		long elapsed = System.currentTimeMillis() - start;
+
+		verify(response, times(2)).addPartialResult(Mockito.eq(filterData), Mockito.eq(OperationStatus.SUCCESS),
+				Mockito.anyString(), Mockito.any(), Mockito.any(Payload.class));
+		verify(response).finishPartialResult(filterData);
+		assertEquals(3, queryRequests.get());
+		assertTrue("elapsed " + elapsed + "ms", elapsed >= RETRY_AFTER);
+		assertEquals(1, connection.getThrottle(QUERY_COLLECTION).getThrottleCount());
+	}
+
+	@Test
+	public void testQueriesEveryPartitionKeyRange() throws Exception {
+		FilterData filterData = mock(FilterData.class);
+		connection.setOperationType(OperationType.QUERY.toString());
+
+		connection.doQuery(RANGED_QUERY_COLLECTION, Collections.<Entry<String, String>>emptyList(), response,
+				filterData);
+
+		verify(response, times(2)).addPartialResult(Mockito.eq(filterData), Mockito.eq(OperationStatus.SUCCESS),
+				Mockito.anyString(), Mockito.any(), Mockito.any(Payload.class));
+		assertEquals(2, rangedQueryRequests.get());
+	}
+
+	@Test
+	public void testFailsSortedQueryOnSeveralPartitionKeyRanges() throws Exception {
+		FilterData filterData = mock(FilterData.class);
+		connection.setOperationType(OperationType.QUERY.toString());
+		Entry<String, String> sort = new AbstractMap.SimpleEntry<>("$sort", "name");
+
+		try {
+			connection.doQuery(RANGED_QUERY_COLLECTION, Collections.singletonList(sort), response, filterData);
+			fail("a sorted query on several ranges should fail");
+		} catch (CosmosDBConnectorException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("2 Partition Key ranges"));
+		}
+
+		assertEquals(0, rangedQueryRequests.get());
+		verify(response, never()).addPartialResult(Mockito.any(FilterData.class), Mockito.any(OperationStatus.class),
+				Mockito.anyString(), Mockito.any(), Mockito.any(Payload.class));
+	}
+
+	@Test
+	public void testReportsPartialFailureInsteadOfRetryingQueryAfterPages() throws CosmosDBConnectorException {
+		FilterData filterData = mock(FilterData.class);
+		connection.setOperationType(OperationType.QUERY.toString());
+		Map<String, Object> inputConfig = connection.prepareInputConfig();
+		inputConfig.put(CosmosDbConstants.QUERY_PARALLELISM, 2);
+
+		new RetryableQueryOperation(connection, filterData, FAILING_QUERY_COLLECTION, response, inputConfig,
+				Collections.<Entry<String, String>>emptyList()).execute();
+
+		verify(response).addPartialResult(Mockito.eq(filterData), Mockito.eq(OperationStatus.SUCCESS),
+				Mockito.anyString(), Mockito.any(), Mockito.any(Payload.class));
+		verify(response).addPartialResult(Mockito.eq(filterData), Mockito.eq(OperationStatus.APPLICATION_ERROR),
+				Mockito.eq("503"), Mockito.anyString(), Mockito.any(Payload.class));
+		verify(response).finishPartialResult(filterData);
+		verify(response, never()).addResult(Mockito.any(FilterData.class), Mockito.any(OperationStatus.class),
+				Mockito.anyString(), Mockito.anyString(), Mockito.any(Payload.class));
+		assertEquals(2, failingQueryRequests.get());
+	}
+}
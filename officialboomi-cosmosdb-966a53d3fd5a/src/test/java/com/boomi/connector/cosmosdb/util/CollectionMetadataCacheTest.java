@@ -0,0 +1,89 @@
+package com.boomi.connector.cosmosdb.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.boomi.connector.exception.CosmosDBConnectorException;
+import com.boomi.connector.exception.CosmosDBRetryException;
+
+public class CollectionMetadataCacheTest {
+
+	private static final String COLLECTION_KEY = "https://account/dbs/db/colls/coll";
+
+	private static CollectionMetadataCache.Loader newLoader(final String value, final AtomicInteger loads) {
+		return new CollectionMetadataCache.Loader() {
+			@Override
+			public String load() {
+				loads.incrementAndGet();
+				return value;
+			}
+		};
+	}
+
+	@Test
+	public void testLoadsOncePerTimeToLive() throws CosmosDBConnectorException, CosmosDBRetryException {
+		CollectionMetadataCache cache = new CollectionMetadataCache(60000L);
+		AtomicInteger loads = new AtomicInteger();
+
+		assertEquals("\"/id\"", cache.get(COLLECTION_KEY, newLoader("\"/id\"", loads)));
+		assertEquals("\"/id\"", cache.get(COLLECTION_KEY, newLoader("\"/other\"", loads)));
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	public void testReloadsExpiredValue() throws CosmosDBConnectorException, CosmosDBRetryException, InterruptedException {
+		CollectionMetadataCache cache = new CollectionMetadataCache(1L);
+		AtomicInteger loads = new AtomicInteger();
+
+		cache.get(COLLECTION_KEY, newLoader("\"/id\"", loads));
+		Thread.sleep(5L);
+		assertEquals("\"/other\"", cache.get(COLLECTION_KEY, newLoader("\"/other\"", loads)));
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	public void testInvalidateRemovesCollectionEntries() throws CosmosDBConnectorException, CosmosDBRetryException {
+		CollectionMetadataCache cache = new CollectionMetadataCache(60000L);
+		AtomicInteger loads = new AtomicInteger();
+		cache.get(COLLECTION_KEY, newLoader("\"/id\"", loads));
+		cache.get(COLLECTION_KEY + "/pkranges", newLoader("rid,0", loads));
+		cache.get("https://account/dbs/db/colls/another", newLoader("\"/id\"", loads));
+
+		cache.invalidate(COLLECTION_KEY);
+
+		cache.get(COLLECTION_KEY, newLoader("\"/id\"", loads));
+		cache.get(COLLECTION_KEY + "/pkranges", newLoader("rid,0", loads));
+		cache.get("https://account/dbs/db/colls/another", newLoader("\"/id\"", loads));
+		assertEquals(5, loads.get());
+	}
+
+	@Test
+	public void testDoesNotCacheFailures() throws CosmosDBConnectorException, CosmosDBRetryException {
+		CollectionMetadataCache cache = new CollectionMetadataCache(60000L);
+		AtomicInteger loads = new AtomicInteger();
+		try {
+			cache.get(COLLECTION_KEY, new CollectionMetadataCache.Loader() {
+				@Override
+				public String load() throws CosmosDBRetryException {
+					throw new CosmosDBRetryException("Service Unavailable", null, 503);
+				}
+			});
+			fail("the failure of the loader is expected");
+		} catch (CosmosDBRetryException e) {
+			assertEquals(Integer.valueOf(503), e.getErrorCode());
+		}
+
+		assertEquals("\"/id\"", cache.get(COLLECTION_KEY, newLoader("\"/id\"", loads)));
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	public void testSharesClientPerAccount() {
+		assertSame(HttpClientPool.getClient("https://account/"), HttpClientPool.getClient("https://account/"));
+	}
+}
@@ -0,0 +1,169 @@
+package com.boomi.connector.cosmosdb.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.boomi.connector.exception.CosmosDBConnectorException;
+import com.boomi.connector.exception.CosmosDBRetryException;
+
+public class PartitionedQueryExecutorTest {
+
+	private static final int PAGES_PER_RANGE = 3;
+
+	/**
+	 * Serves {@link #PAGES_PER_RANGE} pages per range, the content of a page
+	 * being "range:page".
+	 */
+	private static class RangePages implements PartitionedQueryExecutor.PageFetcher {
+
+		final AtomicInteger fetched = new AtomicInteger();
+
+		@Override
+		public PartitionedQueryExecutor.Page fetch(String rangeId, String continuation)
+				throws CosmosDBConnectorException, CosmosDBRetryException {
+			int page = continuation == null ? 0 : Integer.parseInt(continuation);
+			fetched.incrementAndGet();
+			String next = page + 1 < PAGES_PER_RANGE ? String.valueOf(page + 1) : null;
+			return new PartitionedQueryExecutor.Page((rangeId + ":" + page).getBytes(StandardCharsets.UTF_8), next,
+					"OK");
+		}
+	}
+
+	private static class Collector implements PartitionedQueryExecutor.PageConsumer {
+
+		final List<String> pages = Collections.synchronizedList(new ArrayList<String>());
+
+		@Override
+		public void consume(PartitionedQueryExecutor.Page page) throws IOException {
+			pages.add(new String(page.getContent(), StandardCharsets.UTF_8));
+		}
+	}
+
+	@Test
+	public void testConsumesEveryPageOfEveryRangeInOrder()
+			throws CosmosDBConnectorException, CosmosDBRetryException, IOException {
+		Collector collector = new Collector();
+
+		new PartitionedQueryExecutor(2, 2).execute(Arrays.asList("a", "b", "c"), new RangePages(), collector);
+
+		assertEquals(9, collector.pages.size());
+		for (String range : Arrays.asList("a", "b", "c")) {
+			List<String> rangePages = new ArrayList<>();
+			for (String page : collector.pages) {
+				if (page.startsWith(range + ":")) {
+					rangePages.add(page);
+				}
+			}
+			assertEquals(Arrays.asList(range + ":0", range + ":1", range + ":2"), rangePages);
+		}
+	}
+
+	@Test
+	public void testQueriesRangesInParallel() throws CosmosDBConnectorException, CosmosDBRetryException, IOException {
+		final CountDownLatch bothStarted = new CountDownLatch(2);
+		final RangePages pages = new RangePages();
+		PartitionedQueryExecutor.PageFetcher fetcher = new PartitionedQueryExecutor.PageFetcher() {
+			@Override
+			public PartitionedQueryExecutor.Page fetch(String rangeId, String continuation)
+					throws CosmosDBConnectorException, CosmosDBRetryException {
+				bothStarted.countDown();
+				try {
+					if (!bothStarted.await(5, TimeUnit.SECONDS)) {
+						throw new CosmosDBConnectorException("ranges were not queried in parallel");
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return pages.fetch(rangeId, continuation);
+			}
+		};
+		Collector collector = new Collector();
+
+		new PartitionedQueryExecutor(2, 1).execute(Arrays.asList("a", "b"), fetcher, collector);
+
+		assertEquals(6, collector.pages.size());
+	}
+
+	@Test
+	public void testBoundsPagesFetchedAhead() throws CosmosDBConnectorException, CosmosDBRetryException, IOException {
+		final RangePages fetcher = new RangePages();
+		final int parallelism = 2;
+		final int prefetch = 1;
+		final int[] mostAhead = new int[1];
+		final int[] consumed = new int[1];
+		PartitionedQueryExecutor.PageConsumer consumer = new PartitionedQueryExecutor.PageConsumer() {
+			@Override
+			public void consume(PartitionedQueryExecutor.Page page) throws IOException {
+				try {
+					Thread.sleep(20L);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				consumed[0]++;
+				mostAhead[0] = Math.max(mostAhead[0], fetcher.fetched.get() - consumed[0]);
+			}
+		};
+
+		new PartitionedQueryExecutor(parallelism, prefetch).execute(Arrays.asList("a", "b", "c", "d"), fetcher,
+				consumer);
+
+		assertEquals(12, consumed[0]);
+		assertTrue("fetched ahead " + mostAhead[0], mostAhead[0] <= prefetch + parallelism);
+	}
+
+	@Test
+	public void testThrowsFirstFailure() throws IOException {
+		PartitionedQueryExecutor.PageFetcher fetcher = new PartitionedQueryExecutor.PageFetcher() {
+			private final RangePages pages = new RangePages();
+
+			@Override
+			public PartitionedQueryExecutor.Page fetch(String rangeId, String continuation)
+					throws CosmosDBConnectorException, CosmosDBRetryException {
+				if ("b".equals(rangeId) && "1".equals(continuation)) {
+					throw new CosmosDBRetryException("throttled", null, 429, 100L);
+				}
+				return pages.fetch(rangeId, continuation);
+			}
+		};
+
+		try {
+			new PartitionedQueryExecutor(2, 2).execute(Arrays.asList("a", "b"), fetcher, new Collector());
+			fail("expected the failure of range b");
+		} catch (CosmosDBRetryException e) {
+			assertEquals(100L, e.getRetryAfter());
+		} catch (CosmosDBConnectorException e) {
+			fail(e.getMessage());
+		}
+	}
+
+	@Test(timeout = 10000L)
+	public void testThrowsErrorOfRangeWrapped() throws IOException, CosmosDBRetryException {
+		final StackOverflowError error = new StackOverflowError("parsing a nested document");
+		PartitionedQueryExecutor.PageFetcher fetcher = new PartitionedQueryExecutor.PageFetcher() {
+			@Override
+			public PartitionedQueryExecutor.Page fetch(String rangeId, String continuation) {
+				throw error;
+			}
+		};
+
+		try {
+			new PartitionedQueryExecutor(2, 2).execute(Arrays.asList("a", "b"), fetcher, new Collector());
+			fail("expected the error of the ranges");
+		} catch (CosmosDBConnectorException e) {
+			assertEquals(error, e.getCause());
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package com.boomi.connector.cosmosdb.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SimpleTimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.apache.commons.codec.binary.Base64;
+import org.junit.Test;
+
+public class RequestSignerTest {
+
+	private static final String MASTER_KEY = "c2VjcmV0LW1hc3Rlci1rZXk=";
+	private static final String URI = "https://account.documents.azure.com/dbs/db/colls/coll/docs";
+	private static final long NOW = 1700000000123L;
+
+	private static String expectedDate(long now) {
+		SimpleDateFormat simpleDateFormat = new SimpleDateFormat(CosmosDbConstants.X_MS_DATE_FORMAT, Locale.US);
+		simpleDateFormat.setTimeZone(new SimpleTimeZone(0, "GMT"));
+		return simpleDateFormat.format(new Date(now));
+	}
+
+	private static String expectedToken(String payload) throws Exception {
+		Mac mac = Mac.getInstance(CosmosDbConstants.SIGNATURE_ALGORITHM);
+		mac.init(new SecretKeySpec(Base64.decodeBase64(MASTER_KEY), CosmosDbConstants.SIGNATURE_ALGORITHM));
+		String signature = Base64.encodeBase64String(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+		return URLEncoder.encode(CosmosDbConstants.SIGNATURE_PARAMS + signature, CosmosDbConstants.UTF);
+	}
+
+	@Test
+	public void testSignsDocumentFeedLikeUncachedSignature() throws Exception {
+		Map<String, String> headers = new RequestSigner(MASTER_KEY).sign(URI, "POST", NOW);
+
+		String date = expectedDate(NOW);
+		assertEquals(date, headers.get(CosmosDbConstants.RFC_TIME));
+		assertEquals(expectedToken("post\ndocs\ndbs/db/colls/coll\n" + date.toLowerCase() + "\n\n"),
+				headers.get(CosmosDbConstants.AUTH_TOKEN));
+	}
+
+	@Test
+	public void testSignsDocumentLikeUncachedSignature() throws Exception {
+		Map<String, String> headers = new RequestSigner(MASTER_KEY).sign(URI + "/1", "GET", NOW);
+
+		String date = expectedDate(NOW);
+		assertEquals(expectedToken("get\ndocs\ndbs/db/colls/coll/docs/1\n" + date.toLowerCase() + "\n\n"),
+				headers.get(CosmosDbConstants.AUTH_TOKEN));
+	}
+
+	@Test
+	public void testFormatsDateOncePerSecond() {
+		RequestSigner.FormattedDate first = RequestSigner.formatDate(NOW);
+		assertSame(first, RequestSigner.formatDate(NOW + 500L));
+		assertEquals(expectedDate(NOW + 1000L), RequestSigner.formatDate(NOW + 1000L).getValue());
+	}
+
+	@Test
+	public void testSignsConcurrently() throws Exception {
+		final RequestSigner signer = new RequestSigner(MASTER_KEY);
+		final String expected = signer.sign(URI, "POST", NOW).get(CosmosDbConstants.AUTH_TOKEN);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<String>> tokens = new ArrayList<>();
+			for (int i = 0; i < 200; i++) {
+				tokens.add(executor.submit(new Callable<String>() {
+					@Override
+					public String call() throws Exception {
+						return signer.sign(URI, "POST", NOW).get(CosmosDbConstants.AUTH_TOKEN);
+					}
+				}));
+			}
+			for (Future<String> token : tokens) {
+				assertEquals(expected, token.get());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package com.boomi.connector.cosmosdb.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class RequestThrottleTest {
+
+	@Test
+	public void testHalvesLimitOnThrottleAndGrowsAfterRound() throws InterruptedException {
+		RequestThrottle throttle = new RequestThrottle(8, 0);
+
+		throttle.acquire();
+		throttle.release(CosmosDbConstants.STATUS_TOO_MANY_REQUESTS, 1.0, 0L);
+		assertEquals(4, throttle.getConcurrencyLimit());
+		throttle.acquire();
+		throttle.release(CosmosDbConstants.STATUS_TOO_MANY_REQUESTS, 1.0, 0L);
+		assertEquals(2, throttle.getConcurrencyLimit());
+
+		for (int i = 0; i < 2; i++) {
+			throttle.acquire();
+			throttle.release(201, 5.0, 0L);
+		}
+		assertEquals(3, throttle.getConcurrencyLimit());
+		assertEquals(2, throttle.getThrottleCount());
+		assertEquals(12.0, throttle.getTotalRequestUnits(), 0.001);
+	}
+
+	@Test
+	public void testSharesThrottleByCollectionAndBudget() {
+		RequestThrottle unbounded = RequestThrottle.forCollection("account/dbs/db/colls/budgeted", 0);
+		RequestThrottle budgeted = RequestThrottle.forCollection("account/dbs/db/colls/budgeted", 400);
+
+		assertSame(unbounded, RequestThrottle.forCollection("account/dbs/db/colls/budgeted", 0));
+		assertSame(budgeted, RequestThrottle.forCollection("account/dbs/db/colls/budgeted", 400));
+		assertNotSame(unbounded, budgeted);
+	}
+
+	@Test
+	public void testHonoursRetryAfter() throws InterruptedException {
+		RequestThrottle throttle = new RequestThrottle(4, 0);
+		throttle.acquire();
+		throttle.release(CosmosDbConstants.STATUS_TOO_MANY_REQUESTS, 0, 100L);
+
+		long start = System.currentTimeMillis();
+		throttle.acquire();
+		long waited = System.currentTimeMillis() - start;
+		throttle.cancel();
+
+		assertTrue("waited " + waited + "ms", waited >= 90L);
+	}
+
+	@Test
+	public void testLimitsConcurrentRequests() throws InterruptedException {
+		final RequestThrottle throttle = new RequestThrottle(1, 0);
+		throttle.acquire();
+		final long[] acquiredAt = new long[1];
+		Thread second = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					throttle.acquire();
+					acquiredAt[0] = System.currentTimeMillis();
+					throttle.cancel();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+		second.start();
+		Thread.sleep(50L);
+		long releasedAt = System.currentTimeMillis();
+		throttle.release(201, 1.0, 0L);
+		second.join(1000L);
+
+		assertTrue(acquiredAt[0] >= releasedAt);
+	}
+
+	@Test
+	public void testPacesRequestsToBudget() throws InterruptedException {
+		RequestThrottle throttle = new RequestThrottle(4, 10);
+		throttle.acquire();
+		throttle.release(201, 10.0, 0L);
+		assertEquals(10.0, throttle.getRequestUnitsPerSecond(), 0.001);
+
+		long start = System.currentTimeMillis();
+		throttle.acquire();
+		long waited = System.currentTimeMillis() - start;
+		throttle.cancel();
+
+		assertTrue("waited " + waited + "ms", waited >= CosmosDbConstants.THROTTLE_WINDOW - 100L);
+	}
+}
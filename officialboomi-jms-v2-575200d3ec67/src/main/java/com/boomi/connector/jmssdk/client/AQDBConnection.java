@@ -7,6 +7,7 @@ import com.boomi.connector.api.ObjectDefinition;
 import com.boomi.connector.jmssdk.operations.model.TargetDestination;
 import com.boomi.connector.jmssdk.operations.model.oracleaq.AQObjectFactory;
 import com.boomi.connector.jmssdk.operations.model.oracleaq.AQStructMetaData;
+import com.boomi.connector.jmssdk.operations.model.oracleaq.AQStructMetaDataCache;
 import com.boomi.connector.jmssdk.operations.model.oracleaq.AQStructMetaDataFactory;
 import com.boomi.connector.jmssdk.operations.model.oracleaq.AQStructPayloadFactory;
 import com.boomi.connector.jmssdk.operations.model.oracleaq.AQTargetDestination;
@@ -51,11 +52,11 @@ class AQDBConnection implements Closeable {
     private final AQObjectFactory _objectFactory;
     private final AQStructMetaDataFactory _metaDataFactory;
 
-    public AQDBConnection(AdapterSettings settings) throws SQLException {
+    public AQDBConnection(AdapterSettings settings, AQStructMetaDataCache metaDataCache) throws SQLException {
         _settings = settings;
         _connection = createConnection(_settings);
         _objectFactory = AQObjectFactory.instance(_connection);
-        _metaDataFactory = BaseStructMetaDataFactory.instance(_connection);
+        _metaDataFactory = BaseStructMetaDataFactory.instance(_connection, metaDataCache);
     }
 
     private static Connection createConnection(AdapterSettings settings) throws SQLException {
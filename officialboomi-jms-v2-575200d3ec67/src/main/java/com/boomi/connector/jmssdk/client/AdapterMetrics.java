@@ -0,0 +1,88 @@
+// Copyright (c) 2023 Boomi, Inc.
+package com.boomi.connector.jmssdk.client;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the adapters, sender sessions and destination lookups of the adapters created by the same factory, shared by
+ * all of them. Used to measure how often the pooled resources are reused across executions.
+ */
+public class AdapterMetrics {
+
+    private final AtomicLong _adaptersCreated = new AtomicLong();
+    private final AtomicLong _adaptersDestroyed = new AtomicLong();
+    private final AtomicLong _sessionsCreated = new AtomicLong();
+    private final AtomicLong _sessionsReused = new AtomicLong();
+    private final AtomicLong _sessionsDiscarded = new AtomicLong();
+    private final AtomicLong _destinationLookups = new AtomicLong();
+    private final AtomicLong _destinationCacheHits = new AtomicLong();
+
+    public void recordAdapterCreated() {
+        _adaptersCreated.incrementAndGet();
+    }
+
+    public void recordAdapterDestroyed() {
+        _adaptersDestroyed.incrementAndGet();
+    }
+
+    void recordSessionCreated() {
+        _sessionsCreated.incrementAndGet();
+    }
+
+    void recordSessionReused() {
+        _sessionsReused.incrementAndGet();
+    }
+
+    void recordSessionDiscarded() {
+        _sessionsDiscarded.incrementAndGet();
+    }
+
+    /**
+     * Record a destination requested to an adapter.
+     *
+     * @param isCacheHit whether the destination was already cached by the adapter or had to be looked up
+     */
+    void recordDestinationLookup(boolean isCacheHit) {
+        _destinationLookups.incrementAndGet();
+        if (isCacheHit) {
+            _destinationCacheHits.incrementAndGet();
+        }
+    }
+
+    public long getAdaptersCreated() {
+        return _adaptersCreated.get();
+    }
+
+    public long getAdaptersDestroyed() {
+        return _adaptersDestroyed.get();
+    }
+
+    public long getSessionsCreated() {
+        return _sessionsCreated.get();
+    }
+
+    public long getSessionsReused() {
+        return _sessionsReused.get();
+    }
+
+    public long getSessionsDiscarded() {
+        return _sessionsDiscarded.get();
+    }
+
+    public long getDestinationLookups() {
+        return _destinationLookups.get();
+    }
+
+    public long getDestinationCacheHits() {
+        return _destinationCacheHits.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "adapters created: %d, destroyed: %d; sender sessions created: %d, reused: %d, discarded: %d; "
+                        + "destinations requested: %d, cached: %d", getAdaptersCreated(), getAdaptersDestroyed(),
+                getSessionsCreated(), getSessionsReused(), getSessionsDiscarded(), getDestinationLookups(),
+                getDestinationCacheHits());
+    }
+}
@@ -8,6 +8,7 @@ import com.boomi.connector.jmssdk.operations.model.GenericTargetDestination;
 import com.boomi.connector.jmssdk.operations.model.TargetDestination;
 import com.boomi.connector.jmssdk.client.settings.AdapterSettings;
 import com.boomi.connector.jmssdk.util.Utils;
+import com.boomi.util.IOUtil;
 import com.boomi.util.LogUtil;
 
 import javax.jms.BytesMessage;
@@ -22,8 +23,12 @@ import javax.naming.InitialContext;
 import javax.naming.NamingException;
 
 import java.io.Closeable;
+import java.util.Deque;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -33,13 +38,23 @@ import java.util.logging.Logger;
  * <p>
  * The {@link Context} is held by this class to be properly closed when invoking
  * {@link GenericJndiBaseAdapter#close()}.
+ * <p>
+ * As adapters are pooled and reused across executions, they also keep the resources worth reusing: the destinations
+ * already looked up, and the sender sessions and producers released by previous executions.
  */
 public abstract class GenericJndiBaseAdapter implements Closeable {
 
     private static final Logger LOG = LogUtil.getLogger(GenericJndiBaseAdapter.class);
 
+    private static final int MAX_CACHED_DESTINATIONS = 1000;
+    private static final int MAX_IDLE_SENDERS = 4;
+
     private final Context _initialContext;
     protected final AdapterSettings _settings;
+    private final ConcurrentMap<String, Destination> _destinationCache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, Deque<JMSSender>> _idleSenders = new ConcurrentHashMap<>();
+    private volatile AdapterMetrics _metrics = new AdapterMetrics();
+    private volatile boolean _isClosed;
 
     GenericJndiBaseAdapter(AdapterSettings settings) {
         _settings = settings;
@@ -93,6 +108,47 @@ public abstract class GenericJndiBaseAdapter implements Closeable {
         }
     }
 
+    /**
+     * Get the {@link Destination} with the given {@code destinationName}, looking it up with
+     * {@link #createDestination(String, int)} only the first time it is requested to this adapter.
+     *
+     * @param destinationName   the name of the desired {@link Destination}
+     * @param transactionalMode the transactional mode used if the destination has to be looked up
+     * @return the {@link Destination}
+     */
+    public Destination getDestination(String destinationName, int transactionalMode) {
+        Destination destination = _destinationCache.get(destinationName);
+        _metrics.recordDestinationLookup(destination != null);
+        if (destination != null) {
+            return destination;
+        }
+
+        destination = createDestination(destinationName, transactionalMode);
+        if (_destinationCache.size() >= MAX_CACHED_DESTINATIONS) {
+            // dynamic destinations should not grow the cache without bounds
+            _destinationCache.clear();
+        }
+        Destination cached = _destinationCache.putIfAbsent(destinationName, destination);
+        return cached == null ? destination : cached;
+    }
+
+    /**
+     * Creates the {@link Destination} consumed by a {@link JMSReceiver}. This is the hook for the adapters whose service
+     * can deliver messages ahead to a consumer, so that a receiver draining a destination finds the next messages
+     * already buffered instead of waiting for a round trip per message.
+     * <p>
+     * This default implementation returns the same destination as {@link #createDestination(String, int)}: generic
+     * JNDI services and WebLogic set the prefetch on their connection factory, through the JNDI properties of the
+     * connection or the server configuration.
+     *
+     * @param destinationName   the name of the desired {@link Destination}
+     * @param transactionalMode the transactional mode of the receiver
+     * @return the {@link Destination}
+     */
+    protected Destination createReceiveDestination(String destinationName, int transactionalMode) {
+        return getDestination(destinationName, transactionalMode);
+    }
+
     /**
      * Get the {@link DestinationType} associated with the given {@link Message}. This method throws a
      * {@link ConnectorException} if the message type is not supported
@@ -129,6 +185,57 @@ public abstract class GenericJndiBaseAdapter implements Closeable {
      */
     public abstract JMSSender createSender(int transactionalMode);
 
+    /**
+     * Get a {@link JMSSender} for the given transactional mode, reusing the session and producer released by a previous
+     * execution if there is a valid one. Closing the returned sender releases it back to this adapter.
+     *
+     * @param transactionalMode indicate whether the sender will produce the messages within a transaction or not.
+     * @return the {@link JMSSender}
+     */
+    public JMSSender acquireSender(int transactionalMode) {
+        Deque<JMSSender> idleSenders = _idleSenders.get(transactionalMode);
+        JMSSender sender;
+        while (idleSenders != null && (sender = idleSenders.pollFirst()) != null) {
+            if (sender.isValid()) {
+                _metrics.recordSessionReused();
+                return new PooledSender(sender, transactionalMode, this);
+            }
+            _metrics.recordSessionDiscarded();
+            IOUtil.closeQuietly(sender);
+        }
+
+        sender = createSender(transactionalMode);
+        _metrics.recordSessionCreated();
+        return new PooledSender(sender, transactionalMode, this);
+    }
+
+    /**
+     * Keep the given sender to be reused by a later execution, or close it if it is not healthy, there are enough idle
+     * senders already, or this adapter is closed.
+     */
+    void releaseSender(JMSSender sender, int transactionalMode, boolean isHealthy) {
+        if (isHealthy && !_isClosed) {
+            Deque<JMSSender> idleSenders = _idleSenders.computeIfAbsent(transactionalMode,
+                    key -> new ConcurrentLinkedDeque<>());
+            if (idleSenders.size() < MAX_IDLE_SENDERS) {
+                idleSenders.offerFirst(sender);
+                return;
+            }
+        }
+
+        _metrics.recordSessionDiscarded();
+        IOUtil.closeQuietly(sender);
+    }
+
+    /**
+     * Set the metrics where this adapter records the reuse of its destinations and sessions.
+     *
+     * @param metrics shared by the adapters of the same pool
+     */
+    public void setMetrics(AdapterMetrics metrics) {
+        _metrics = metrics;
+    }
+
     /**
      * Creates a concrete {@link JMSReceiver} for the JMS Version of the Adapter
      *
@@ -258,10 +365,18 @@ public abstract class GenericJndiBaseAdapter implements Closeable {
     public abstract void start();
 
     /**
-     * Close the {@link javax.naming.Context} held by this instance
+     * Close the {@link javax.naming.Context} and the idle senders held by this instance
      */
     @Override
     public void close() {
+        _isClosed = true;
+        for (Deque<JMSSender> idleSenders : _idleSenders.values()) {
+            JMSSender sender;
+            while ((sender = idleSenders.pollFirst()) != null) {
+                IOUtil.closeQuietly(sender);
+            }
+        }
+        _destinationCache.clear();
         Utils.closeQuietly(_initialContext);
     }
 }
@@ -74,7 +74,8 @@ public class GenericJndiJmsV1Adapter extends GenericJndiBaseAdapter {
     @Override
     public JMSReceiver createReceiver(TargetDestination targetDestination, String messageSelector,
             int transactionalMode) {
-        Destination destination = createDestination(targetDestination.getDestinationName(), transactionalMode);
+        Destination destination = createReceiveDestination(targetDestination.getDestinationName(),
+                transactionalMode);
         Session session = createSession(transactionalMode);
         return new JMSV1Receiver(session, destination, messageSelector);
     }
@@ -82,7 +83,8 @@ public class GenericJndiJmsV1Adapter extends GenericJndiBaseAdapter {
     @Override
     public JMSReceiver createReceiver(TargetDestination targetDestination, String subscriptionName,
             String messageSelector, int transactionalMode) {
-        Destination destination = createDestination(targetDestination.getDestinationName(), transactionalMode);
+        Destination destination = createReceiveDestination(targetDestination.getDestinationName(),
+                transactionalMode);
         Session session = createSession(transactionalMode);
         return new JMSV1Receiver(session, destination, subscriptionName, messageSelector);
     }
@@ -90,7 +92,7 @@ public class GenericJndiJmsV1Adapter extends GenericJndiBaseAdapter {
     @Override
     public JMSListener createListener(TargetDestination targetDestination, String messageSelector,
             int transactionalMode) {
-        Destination destination = createDestination(targetDestination.getDestinationName(), transactionalMode);
+        Destination destination = getDestination(targetDestination.getDestinationName(), transactionalMode);
         Session session = createSession(transactionalMode);
         return new JMSV1Listener(session, destination, messageSelector);
     }
@@ -98,7 +100,7 @@ public class GenericJndiJmsV1Adapter extends GenericJndiBaseAdapter {
     @Override
     public JMSListener createListener(TargetDestination targetDestination, String subscriptionName,
             String messageSelector, int transactionalMode) {
-        Destination destination = createDestination(targetDestination.getDestinationName(), transactionalMode);
+        Destination destination = getDestination(targetDestination.getDestinationName(), transactionalMode);
         Session session = createSession(transactionalMode);
         return new JMSV1Listener(session, destination, subscriptionName, messageSelector);
     }
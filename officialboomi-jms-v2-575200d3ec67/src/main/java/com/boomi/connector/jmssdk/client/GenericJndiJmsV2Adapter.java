@@ -61,7 +61,8 @@ public class GenericJndiJmsV2Adapter extends GenericJndiBaseAdapter {
     @Override
     public JMSReceiver createReceiver(TargetDestination targetDestination, String messageSelector,
             int transactionalMode) {
-        Destination destination = createDestination(targetDestination.getDestinationName(), transactionalMode);
+        Destination destination = createReceiveDestination(targetDestination.getDestinationName(),
+                transactionalMode);
         JMSContext context = newContext(transactionalMode);
         return new JMSV2Receiver(context, destination, messageSelector);
     }
@@ -69,7 +70,8 @@ public class GenericJndiJmsV2Adapter extends GenericJndiBaseAdapter {
     @Override
     public JMSReceiver createReceiver(TargetDestination targetDestination, String subscriptionName,
             String messageSelector, int transactionalMode) {
-        Destination destination = createDestination(targetDestination.getDestinationName(), transactionalMode);
+        Destination destination = createReceiveDestination(targetDestination.getDestinationName(),
+                transactionalMode);
         JMSContext context = newContext(transactionalMode);
         return new JMSV2Receiver(context, destination, subscriptionName, messageSelector);
     }
@@ -77,7 +79,7 @@ public class GenericJndiJmsV2Adapter extends GenericJndiBaseAdapter {
     @Override
     public JMSListener createListener(TargetDestination targetDestination, String messageSelector,
             int transactionalMode) {
-        Destination destination = createDestination(targetDestination.getDestinationName(), transactionalMode);
+        Destination destination = getDestination(targetDestination.getDestinationName(), transactionalMode);
         JMSContext context = newContext(transactionalMode);
         return new JMSV2Listener(context, destination, messageSelector);
     }
@@ -85,7 +87,7 @@ public class GenericJndiJmsV2Adapter extends GenericJndiBaseAdapter {
     @Override
     public JMSListener createListener(TargetDestination targetDestination, String subscriptionName,
             String messageSelector, int transactionalMode) {
-        Destination destination = createDestination(targetDestination.getDestinationName(), transactionalMode);
+        Destination destination = getDestination(targetDestination.getDestinationName(), transactionalMode);
         JMSContext context = newContext(transactionalMode);
         return new JMSV2Listener(context, destination, subscriptionName, messageSelector);
     }
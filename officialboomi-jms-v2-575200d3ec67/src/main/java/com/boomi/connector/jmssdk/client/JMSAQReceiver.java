@@ -1,20 +1,100 @@
 // Copyright (c) 2023 Boomi, Inc.
 package com.boomi.connector.jmssdk.client;
 
+import oracle.jms.AQjmsConsumer;
+import com.boomi.connector.api.ConnectorException;
+import com.boomi.util.LogUtil;
+
 import javax.jms.Destination;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageConsumer;
 import javax.jms.Session;
 
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Concrete implementation of {@link JMSReceiver} for Oracle AQ. The messages already available are dequeued with a
+ * single array dequeue, moving all of them from the database in one round trip.
+ */
 public class JMSAQReceiver extends JMSV1Receiver {
 
+    private static final Logger LOG = LogUtil.getLogger(JMSAQReceiver.class);
+
+    private final MessageConsumer _consumer;
+    private final RoundTripMetrics _metrics = new RoundTripMetrics();
+
     JMSAQReceiver(Session jmsSession, Destination destination, String messageSelector, boolean isProfileRequired) {
-        super(jmsSession,
+        this(jmsSession,
                 AQConsumerFactory.createConsumer(jmsSession, destination, messageSelector, isProfileRequired));
     }
 
     JMSAQReceiver(Session jmsSession, Destination destination, String subscriptionName, String messageSelector,
             boolean isProfileRequired) {
-        super(jmsSession,
+        this(jmsSession,
                 AQConsumerFactory.createDurableConsumer(jmsSession, destination, subscriptionName, messageSelector,
                         isProfileRequired));
     }
+
+    private JMSAQReceiver(Session jmsSession, MessageConsumer consumer) {
+        super(jmsSession, consumer);
+        _consumer = consumer;
+    }
+
+    @Override
+    public Message receiveNoWait() {
+        return record(super.receiveNoWait());
+    }
+
+    @Override
+    public Message receive() {
+        return record(super.receive());
+    }
+
+    @Override
+    public Message receive(long timeout) {
+        return record(super.receive(timeout));
+    }
+
+    @Override
+    public List<Message> receiveAvailable(int maxMessages) {
+        if (maxMessages <= 1) {
+            return super.receiveAvailable(maxMessages);
+        }
+
+        try {
+            Message[] messages = ((AQjmsConsumer) _consumer).bulkReceiveNoWait(maxMessages);
+            if (messages == null || messages.length == 0) {
+                return Collections.emptyList();
+            }
+            _metrics.recordRoundTrip(messages.length);
+            return Arrays.asList(messages);
+        } catch (JMSException e) {
+            throw new ConnectorException("error receiving up to " + maxMessages + " messages without waiting", e);
+        }
+    }
+
+    private Message record(Message message) {
+        if (message != null) {
+            _metrics.recordRoundTrip(1);
+        }
+        return message;
+    }
+
+    public RoundTripMetrics getMetrics() {
+        return _metrics;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (LOG.isLoggable(Level.FINE)) {
+            LOG.log(Level.FINE, "Oracle AQ dequeue: {0}", _metrics);
+        }
+        super.close();
+    }
 }
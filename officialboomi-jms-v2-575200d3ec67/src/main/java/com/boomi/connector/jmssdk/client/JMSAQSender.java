@@ -0,0 +1,69 @@
+// Copyright (c) 2023 Boomi, Inc.
+package com.boomi.connector.jmssdk.client;
+
+import oracle.jms.AQjmsProducer;
+import com.boomi.connector.api.ConnectorException;
+import com.boomi.util.LogUtil;
+
+import javax.jms.Destination;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.Session;
+
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Concrete implementation of {@link JMSSender} for Oracle AQ. Batches of messages are enqueued with a single array
+ * enqueue, moving all of them to the database in one round trip.
+ */
+public class JMSAQSender extends JMSV1Sender {
+
+    private static final Logger LOG = LogUtil.getLogger(JMSAQSender.class);
+
+    private final RoundTripMetrics _metrics = new RoundTripMetrics();
+
+    JMSAQSender(Session jmsSession) {
+        super(jmsSession);
+    }
+
+    @Override
+    public void send(Destination destination, Message message, Long timeToLive) {
+        super.send(destination, message, timeToLive);
+        _metrics.recordRoundTrip(1);
+    }
+
+    @Override
+    public void sendBatch(Destination destination, List<Message> messages, Long timeToLive) {
+        if (messages.size() == 1) {
+            send(destination, messages.get(0), timeToLive);
+            return;
+        }
+
+        try {
+            _jmsProducer.setTimeToLive(timeToLive);
+            ((AQjmsProducer) _jmsProducer).bulkSend(destination, messages.toArray(new Message[0]));
+            _metrics.recordRoundTrip(messages.size());
+        } catch (JMSException e) {
+            throw new ConnectorException("cannot send " + messages.size() + " messages", e);
+        }
+    }
+
+    @Override
+    public boolean isBatchSendSupported() {
+        return true;
+    }
+
+    public RoundTripMetrics getMetrics() {
+        return _metrics;
+    }
+
+    @Override
+    public void close() {
+        if (LOG.isLoggable(Level.FINE)) {
+            LOG.log(Level.FINE, "Oracle AQ enqueue: {0}", _metrics);
+        }
+        super.close();
+    }
+}
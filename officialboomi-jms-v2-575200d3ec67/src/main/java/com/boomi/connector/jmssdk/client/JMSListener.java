@@ -16,6 +16,15 @@ public interface JMSListener extends Closeable {
      */
     void subscribeConsumer(MessageListenerStrategy messageListenOperation);
 
+    /**
+     * Get a message from the destination, for listeners consuming batches rather than subscribing a message listener.
+     * If the timeout is exhausted before receiving a message, {@code null} is returned.
+     *
+     * @param timeout how long this method will block attempting to retrieve a {@link Message}
+     * @return a {@link Message} or {@code null} if the timeout is exhausted before receiving one
+     */
+    Message receive(long timeout);
+
     /**
      * return true if the transaction mode is enabled
      *
@@ -4,6 +4,8 @@ package com.boomi.connector.jmssdk.client;
 import javax.jms.Message;
 
 import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Common abstraction for receiving messages from a JMS Service regardless of the underling JMS version
@@ -34,6 +36,28 @@ public interface JMSReceiver extends Closeable {
      */
     Message receive(long timeout);
 
+    /**
+     * Get the messages already available in the configured destination, up to the given maximum, without waiting for
+     * more. If no message is available at this time, an empty list is immediately returned.
+     * <p>
+     * This default implementation receives the messages one at a time; receivers able to move several messages on a
+     * single call to the JMS Service override it.
+     *
+     * @param maxMessages the maximum number of messages to receive
+     * @return the received messages, empty if the destination is empty at this time
+     */
+    default List<Message> receiveAvailable(int maxMessages) {
+        List<Message> messages = new ArrayList<>();
+        while (messages.size() < maxMessages) {
+            Message message = receiveNoWait();
+            if (message == null) {
+                break;
+            }
+            messages.add(message);
+        }
+        return messages;
+    }
+
     /**
      * Commit the session or context used to retrieve the messages. If transactions are disabled, this method does not
      * perform a commit.
@@ -2,12 +2,14 @@
 package com.boomi.connector.jmssdk.client;
 
 import javax.jms.BytesMessage;
+import javax.jms.CompletionListener;
 import javax.jms.Destination;
 import javax.jms.MapMessage;
 import javax.jms.Message;
 import javax.jms.TextMessage;
 
 import java.io.Closeable;
+import java.util.List;
 
 /**
  * Common abstraction for sending messages to a JMS Service regardless of the underling JMS version
@@ -24,6 +26,60 @@ public interface JMSSender extends Closeable {
      */
     void send(Destination destination, Message message, Long timeToLive);
 
+    /**
+     * Send the given {@link Message} to the indicated {@link Destination} without waiting for the JMS Service to
+     * confirm it. The listener is notified once the message is confirmed or fails to be sent, possibly from another
+     * thread. If this method throws an exception, the listener is not notified.
+     * <p>
+     * This default implementation sends the message synchronously and notifies the listener before returning, for the
+     * JMS versions that do not support asynchronous sends.
+     *
+     * @param destination where the message will be sent
+     * @param message     the message to be sent
+     * @param timeToLive  the time to live of the message in milliseconds
+     * @param listener    notified when the message is confirmed or fails to be sent
+     */
+    default void sendAsync(Destination destination, Message message, Long timeToLive, CompletionListener listener) {
+        send(destination, message, timeToLive);
+        listener.onCompletion(message);
+    }
+
+    /**
+     * Send the given {@link Message}s to the indicated {@link Destination}, in order and with the same time to live.
+     * <p>
+     * This default implementation sends the messages one at a time; senders able to move several messages on a single
+     * call to the JMS Service override it.
+     *
+     * @param destination where the messages will be sent
+     * @param messages    the messages to be sent
+     * @param timeToLive  the time to live of the messages in milliseconds
+     */
+    default void sendBatch(Destination destination, List<Message> messages, Long timeToLive) {
+        for (Message message : messages) {
+            send(destination, message, timeToLive);
+        }
+    }
+
+    /**
+     * Indicates whether {@link #sendBatch(Destination, List, Long)} moves all the messages on a single call to the JMS
+     * Service. When it does not, the messages are better sent one at a time, so the failed one is known.
+     *
+     * @return {@code true} if batches of messages are sent on a single call, {@code false} otherwise
+     */
+    default boolean isBatchSendSupported() {
+        return false;
+    }
+
+    /**
+     * Indicates whether this sender can still be used, without a round trip to the JMS Service. Used to validate a
+     * sender before reusing it across executions.
+     *
+     * @return {@code true} if the session or context of this sender is still open, {@code false} otherwise
+     */
+    default boolean isValid() {
+        return true;
+    }
+
     /**
      * Commit the current transaction
      */
@@ -75,6 +75,15 @@ public class JMSV1Listener implements JMSListener {
         }
     }
 
+    @Override
+    public Message receive(long timeout) {
+        try {
+            return _consumer.receive(timeout);
+        } catch (JMSException e) {
+            throw new ConnectorException("error receiving message", e);
+        }
+    }
+
     @Override
     public boolean isTransacted() {
         return _isTransacted;
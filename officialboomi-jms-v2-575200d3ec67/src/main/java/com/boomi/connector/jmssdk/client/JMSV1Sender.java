@@ -54,6 +54,18 @@ public class JMSV1Sender implements JMSSender {
         }
     }
 
+    @Override
+    public boolean isValid() {
+        try {
+            // fails once the session or its connection is closed
+            _jmsSession.getTransacted();
+            return true;
+        } catch (Exception e) {
+            LOG.log(Level.FINE, "the JMS session is no longer valid", e);
+            return false;
+        }
+    }
+
     @Override
     public void commit() {
         try {
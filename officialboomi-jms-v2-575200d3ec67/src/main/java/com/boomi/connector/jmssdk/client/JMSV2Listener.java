@@ -48,6 +48,11 @@ public class JMSV2Listener implements JMSListener {
         _consumer.setMessageListener(messageListenOperation);
     }
 
+    @Override
+    public Message receive(long timeout) {
+        return _consumer.receive(timeout);
+    }
+
     @Override
     public boolean isTransacted() {
         return _transactionsEnabled;
@@ -5,6 +5,7 @@ import com.boomi.util.IOUtil;
 import com.boomi.util.LogUtil;
 
 import javax.jms.BytesMessage;
+import javax.jms.CompletionListener;
 import javax.jms.Destination;
 import javax.jms.JMSContext;
 import javax.jms.JMSProducer;
@@ -44,6 +45,30 @@ public class JMSV2Sender implements JMSSender {
         _jmsProducer.send(destination, message);
     }
 
+    @Override
+    public void sendAsync(Destination destination, Message message, Long timeToLive, CompletionListener listener) {
+        _jmsProducer.setTimeToLive(timeToLive);
+        _jmsProducer.setAsync(listener);
+        try {
+            _jmsProducer.send(destination, message);
+        } finally {
+            // the producer is shared with the synchronous sends
+            _jmsProducer.setAsync(null);
+        }
+    }
+
+    @Override
+    public boolean isValid() {
+        try {
+            // fails once the context or its connection is closed
+            _jmsContext.getTransacted();
+            return true;
+        } catch (Exception e) {
+            LOG.log(Level.FINE, "the JMS context is no longer valid", e);
+            return false;
+        }
+    }
+
     @Override
     public void commit() {
         _jmsContext.commit();
@@ -11,6 +11,7 @@ import com.boomi.connector.api.ObjectData;
 import com.boomi.connector.api.ObjectDefinition;
 import com.boomi.connector.jmssdk.operations.model.TargetDestination;
 import com.boomi.connector.jmssdk.operations.model.oracleaq.AQObjectFactory;
+import com.boomi.connector.jmssdk.operations.model.oracleaq.AQStructMetaDataCache;
 import com.boomi.connector.jmssdk.operations.model.oracleaq.AQTargetDestination;
 import com.boomi.connector.jmssdk.operations.model.oracleaq.BaseStructMetaDataFactory;
 import com.boomi.connector.jmssdk.client.settings.AdapterSettings;
@@ -38,6 +39,7 @@ public class OracleAQAdapter extends GenericJndiJmsV1Adapter {
     private static final String QUEUE_PREFIX = "queue:";
     private static final String TOPIC_PREFIX = "topic:";
     private static final int DESTINATION_SECTION_NUMBERS = 2;
+    private final AQStructMetaDataCache _metaDataCache = new AQStructMetaDataCache();
     private AQDBConnection _aqDBConnection;
 
     public OracleAQAdapter(AdapterSettings settings) {
@@ -52,7 +54,7 @@ public class OracleAQAdapter extends GenericJndiJmsV1Adapter {
      */
     private AQDBConnection getAqDBConnection() throws SQLException {
         if (_aqDBConnection == null) {
-            _aqDBConnection = new AQDBConnection(_settings);
+            _aqDBConnection = new AQDBConnection(_settings, _metaDataCache);
         }
         return _aqDBConnection;
     }
@@ -71,7 +73,7 @@ public class OracleAQAdapter extends GenericJndiJmsV1Adapter {
         }
     }
 
-    private TargetDestination getDestination(String name) {
+    private TargetDestination loadDestination(String name) {
         return CollectionUtil.getFirst(getAllDestinations(name));
     }
 
@@ -155,7 +157,7 @@ public class OracleAQAdapter extends GenericJndiJmsV1Adapter {
     @Override
     public TargetDestination createAndLoadTargetDestination(String destinationName) {
         TargetDestination targetDestination = createTargetDestination(destinationName, null);
-        return getDestination(targetDestination.getName());
+        return loadDestination(targetDestination.getName());
     }
 
     private static String getQueueName(String destName) {
@@ -173,8 +175,8 @@ public class OracleAQAdapter extends GenericJndiJmsV1Adapter {
             session = createSession(Session.CLIENT_ACKNOWLEDGE);
             ORAData createORAData = connection -> {
                 AQObjectFactory factory = AQObjectFactory.instance(connection);
-                return (Datum) factory.createStruct(stream, BaseStructMetaDataFactory.instance(connection),
-                        targetDestination);
+                return (Datum) factory.createStruct(stream,
+                        BaseStructMetaDataFactory.instance(connection, _metaDataCache), targetDestination);
             };
             return ((AQjmsSession) session).createORAMessage(createORAData);
         } catch (Exception e) {
@@ -185,10 +187,16 @@ public class OracleAQAdapter extends GenericJndiJmsV1Adapter {
         }
     }
 
+    @Override
+    public JMSSender createSender(int transactionalMode) {
+        Session session = createSession(transactionalMode);
+        return new JMSAQSender(session);
+    }
+
     @Override
     public JMSReceiver createReceiver(TargetDestination targetDestination, String messageSelector,
             int transactionalMode) {
-        Destination destination = createDestination(targetDestination.getDestinationName(), transactionalMode);
+        Destination destination = getDestination(targetDestination.getDestinationName(), transactionalMode);
         Session session = createSession(transactionalMode);
         return new JMSAQReceiver(session, destination, messageSelector, targetDestination.isProfileRequired());
     }
@@ -196,7 +204,7 @@ public class OracleAQAdapter extends GenericJndiJmsV1Adapter {
     @Override
     public JMSReceiver createReceiver(TargetDestination targetDestination, String subscriptionName,
             String messageSelector, int transactionalMode) {
-        Destination destination = createDestination(targetDestination.getDestinationName(), transactionalMode);
+        Destination destination = getDestination(targetDestination.getDestinationName(), transactionalMode);
         Session session = createSession(transactionalMode);
         return new JMSAQReceiver(session, destination, subscriptionName, messageSelector,
                 targetDestination.isProfileRequired());
@@ -205,7 +213,7 @@ public class OracleAQAdapter extends GenericJndiJmsV1Adapter {
     @Override
     public JMSListener createListener(TargetDestination targetDestination, String messageSelector,
             int transactionalMode) {
-        Destination destination = createDestination(targetDestination.getDestinationName(), transactionalMode);
+        Destination destination = getDestination(targetDestination.getDestinationName(), transactionalMode);
         Session session = createSession(transactionalMode);
         return new JMSAQListener(session, destination, messageSelector, targetDestination.isProfileRequired());
     }
@@ -213,7 +221,7 @@ public class OracleAQAdapter extends GenericJndiJmsV1Adapter {
     @Override
     public JMSListener createListener(TargetDestination targetDestination, String subscriptionName,
             String messageSelector, int transactionalMode) {
-        Destination destination = createDestination(targetDestination.getDestinationName(), transactionalMode);
+        Destination destination = getDestination(targetDestination.getDestinationName(), transactionalMode);
         Session session = createSession(transactionalMode);
         return new JMSAQListener(session, destination, subscriptionName, messageSelector,
                 targetDestination.isProfileRequired());
@@ -231,5 +239,6 @@ public class OracleAQAdapter extends GenericJndiJmsV1Adapter {
     public void close() {
         super.close();
         IOUtil.closeQuietly(_aqDBConnection);
+        _metaDataCache.clear();
     }
 }
@@ -0,0 +1,119 @@
+// Copyright (c) 2023 Boomi, Inc.
+package com.boomi.connector.jmssdk.client;
+
+import javax.jms.BytesMessage;
+import javax.jms.CompletionListener;
+import javax.jms.Destination;
+import javax.jms.MapMessage;
+import javax.jms.Message;
+import javax.jms.Session;
+import javax.jms.TextMessage;
+
+import java.util.List;
+
+/**
+ * {@link JMSSender} handed out by {@link GenericJndiBaseAdapter#acquireSender(int)}. Closing it returns the underlying
+ * sender, with its session and producer, to the adapter to be reused by a later execution instead of closing them. A
+ * sender that failed to send or commit is not reused.
+ */
+class PooledSender implements JMSSender {
+
+    private final JMSSender _sender;
+    private final int _transactionalMode;
+    private final GenericJndiBaseAdapter _adapter;
+    private boolean _isHealthy = true;
+    private boolean _isReleased;
+
+    PooledSender(JMSSender sender, int transactionalMode, GenericJndiBaseAdapter adapter) {
+        _sender = sender;
+        _transactionalMode = transactionalMode;
+        _adapter = adapter;
+    }
+
+    @Override
+    public void send(Destination destination, Message message, Long timeToLive) {
+        try {
+            _sender.send(destination, message, timeToLive);
+        } catch (RuntimeException e) {
+            _isHealthy = false;
+            throw e;
+        }
+    }
+
+    @Override
+    public void sendAsync(Destination destination, Message message, Long timeToLive, CompletionListener listener) {
+        try {
+            _sender.sendAsync(destination, message, timeToLive, listener);
+        } catch (RuntimeException e) {
+            _isHealthy = false;
+            throw e;
+        }
+    }
+
+    @Override
+    public void sendBatch(Destination destination, List<Message> messages, Long timeToLive) {
+        try {
+            _sender.sendBatch(destination, messages, timeToLive);
+        } catch (RuntimeException e) {
+            _isHealthy = false;
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean isBatchSendSupported() {
+        return _sender.isBatchSendSupported();
+    }
+
+    @Override
+    public void commit() {
+        try {
+            _sender.commit();
+        } catch (RuntimeException e) {
+            _isHealthy = false;
+            throw e;
+        }
+    }
+
+    @Override
+    public void rollback() {
+        _sender.rollback();
+    }
+
+    @Override
+    public TextMessage createTextMessage() {
+        return _sender.createTextMessage();
+    }
+
+    @Override
+    public MapMessage createMapMessage() {
+        return _sender.createMapMessage();
+    }
+
+    @Override
+    public BytesMessage createBytesMessage() {
+        return _sender.createBytesMessage();
+    }
+
+    @Override
+    public boolean isValid() {
+        return _isHealthy && _sender.isValid();
+    }
+
+    /**
+     * Return the underlying sender to the adapter. A transacted session is rolled back first, so the messages of a
+     * transaction left open by a failed execution are never committed by the next one.
+     */
+    @Override
+    public void close() {
+        if (_isReleased) {
+            return;
+        }
+        _isReleased = true;
+
+        if (_isHealthy && (Session.SESSION_TRANSACTED == _transactionalMode)) {
+            _sender.rollback();
+        }
+        _adapter.releaseSender(_sender, _transactionalMode, _isHealthy);
+    }
+}
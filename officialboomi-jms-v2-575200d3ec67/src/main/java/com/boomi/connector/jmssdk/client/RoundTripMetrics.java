@@ -0,0 +1,46 @@
+// Copyright (c) 2023 Boomi, Inc.
+package com.boomi.connector.jmssdk.client;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the messages moved by a sender or a receiver and the calls to the JMS Service needed to move them, to measure
+ * how many messages travel on each round trip.
+ */
+public class RoundTripMetrics {
+
+    private final AtomicLong _messages = new AtomicLong();
+    private final AtomicLong _roundTrips = new AtomicLong();
+
+    /**
+     * Record a call to the JMS Service.
+     *
+     * @param messages the number of messages moved by the call
+     */
+    public void recordRoundTrip(int messages) {
+        _messages.addAndGet(messages);
+        _roundTrips.incrementAndGet();
+    }
+
+    public long getMessages() {
+        return _messages.get();
+    }
+
+    public long getRoundTrips() {
+        return _roundTrips.get();
+    }
+
+    /**
+     * @return the average number of messages moved per round trip, {@code 0} if no round trip was recorded
+     */
+    public double getMessagesPerRoundTrip() {
+        long roundTrips = _roundTrips.get();
+        return roundTrips == 0L ? 0D : (double) _messages.get() / roundTrips;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d messages in %d round trips, %.1f messages per round trip", getMessages(),
+                getRoundTrips(), getMessagesPerRoundTrip());
+    }
+}
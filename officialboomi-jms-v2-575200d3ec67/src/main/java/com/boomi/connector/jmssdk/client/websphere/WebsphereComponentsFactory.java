@@ -5,6 +5,7 @@ import com.boomi.connector.api.ConnectorException;
 import com.boomi.connector.jmssdk.client.settings.AdapterSettings;
 import com.boomi.util.LogUtil;
 import com.ibm.mq.jms.MQConnectionFactory;
+import com.ibm.mq.jms.MQDestination;
 import com.ibm.msg.client.wmq.common.CommonConstants;
 
 import javax.jms.ConnectionFactory;
@@ -105,6 +106,28 @@ public class WebsphereComponentsFactory {
         }
     }
 
+    /**
+     * Allow the queue manager to send the messages of the given destination ahead to its consumers, when read ahead is
+     * enabled in the connection settings. The messages sent ahead are buffered by the client, so that a receiver
+     * draining the destination does not wait for a round trip per message. Read ahead only applies to non-persistent
+     * messages.
+     *
+     * @param destination     the destination to be consumed
+     * @param adapterSettings the adapter configuration
+     * @return the destination
+     */
+    public static Destination configureReadAhead(Destination destination, AdapterSettings adapterSettings) {
+        if (!adapterSettings.getWebsphereSettings().isReadAhead() || !(destination instanceof MQDestination)) {
+            return destination;
+        }
+        try {
+            ((MQDestination) destination).setReadAheadAllowed(CommonConstants.WMQ_READ_AHEAD_ALLOWED_ENABLED);
+            return destination;
+        } catch (JMSException e) {
+            throw new ConnectorException("cannot enable read ahead for " + destination, e);
+        }
+    }
+
     /**
      * Remove the prefix from the given destination name
      *
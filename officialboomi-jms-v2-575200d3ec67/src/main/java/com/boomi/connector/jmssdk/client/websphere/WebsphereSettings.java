@@ -23,6 +23,7 @@ public class WebsphereSettings {
     private final boolean _isMultiInstance;
     private final boolean _useSsl;
     private final String _sSLCipherSuite;
+    private final boolean _readAhead;
 
     /**
      * Construct a WebsphereSettings instance from the given connection properties and server type.
@@ -39,6 +40,7 @@ public class WebsphereSettings {
         _hostList = properties.getProperty(JMSConstants.WEBSPHERE_HOST_LIST);
         _useSsl = properties.getBooleanProperty(JMSConstants.WEBSPHERE_USE_SSL, false);
         _sSLCipherSuite = getSslCipherSuiteValue(properties);
+        _readAhead = properties.getBooleanProperty(JMSConstants.WEBSPHERE_READ_AHEAD, false);
     }
 
     /**
@@ -126,10 +128,20 @@ public class WebsphereSettings {
         return _sSLCipherSuite;
     }
 
+    /**
+     * Check if the queue manager is allowed to send messages ahead to the receivers
+     *
+     * @return true if read ahead is enabled, false otherwise
+     */
+    public boolean isReadAhead() {
+        return _readAhead;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder().append(_hostName).append(_hostList).append(_hostPort).append(_queueManager).append(
-                _channel).append(_isMultiInstance).append(_useSsl).append(_sSLCipherSuite).hashCode();
+                _channel).append(_isMultiInstance).append(_useSsl).append(_sSLCipherSuite).append(_readAhead)
+                .hashCode();
     }
 
     @Override
@@ -147,6 +159,6 @@ public class WebsphereSettings {
                         _hostPort, other._hostPort).append(_queueManager, other._queueManager).append(_channel,
                         other._channel)
                 .append(_isMultiInstance, other._isMultiInstance).append(_useSsl, other._useSsl).append(_sSLCipherSuite,
-                        other._sSLCipherSuite).isEquals();
+                        other._sSLCipherSuite).append(_readAhead, other._readAhead).isEquals();
     }
 }
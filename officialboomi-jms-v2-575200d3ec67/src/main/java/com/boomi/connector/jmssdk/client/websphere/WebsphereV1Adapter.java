@@ -51,6 +51,12 @@ public class WebsphereV1Adapter extends GenericJndiJmsV1Adapter {
         }
     }
 
+    @Override
+    protected Destination createReceiveDestination(String destinationName, int transactionalMode) {
+        return WebsphereComponentsFactory.configureReadAhead(createDestination(destinationName, transactionalMode),
+                _settings);
+    }
+
     @Override
     public JMSSender createSender(int transactionalMode) {
         Session session = createSession(transactionalMode);
@@ -51,6 +51,12 @@ public class WebsphereV2Adapter extends GenericJndiJmsV2Adapter {
         }
     }
 
+    @Override
+    protected Destination createReceiveDestination(String destinationName, int transactionalMode) {
+        return WebsphereComponentsFactory.configureReadAhead(createDestination(destinationName, transactionalMode),
+                _settings);
+    }
+
     @Override
     public JMSSender createSender(int transactionalMode) {
         JMSContext context = newContext(transactionalMode);
@@ -4,6 +4,7 @@ package com.boomi.connector.jmssdk.client.websphere;
 import com.boomi.connector.jmssdk.client.JMSV2Sender;
 import com.boomi.connector.jmssdk.util.Utils;
 
+import javax.jms.CompletionListener;
 import javax.jms.Destination;
 import javax.jms.JMSContext;
 import javax.jms.Message;
@@ -23,4 +24,10 @@ public class WebsphereV2Sender extends JMSV2Sender {
         _jmsProducer.setPriority(Utils.getMessagePriority(message));
         super.send(destination, message, timeToLive);
     }
+
+    @Override
+    public void sendAsync(Destination destination, Message message, Long timeToLive, CompletionListener listener) {
+        _jmsProducer.setPriority(Utils.getMessagePriority(message));
+        super.sendAsync(destination, message, timeToLive, listener);
+    }
 }
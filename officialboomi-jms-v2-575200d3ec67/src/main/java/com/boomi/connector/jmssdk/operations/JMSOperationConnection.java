@@ -65,6 +65,15 @@ public class JMSOperationConnection extends JMSConnection<OperationContext> {
         return toInt(getOperationProperties().getLongProperty(JMSConstants.PROPERTY_TRANSACTION_BATCH_SIZE, 1L));
     }
 
+    /**
+     * Get the maximum number of messages the Send operation sends without waiting for them to be confirmed.
+     *
+     * @return the maximum in-flight messages configured in the operation, or 1 if the value is not defined.
+     */
+    public int getMaxInFlightMessages() {
+        return toInt(getOperationProperties().getLongProperty(JMSConstants.PROPERTY_MAX_IN_FLIGHT_MESSAGES, 1L));
+    }
+
     /**
      * Get the maximum document size supported by the container for send messages.
      *
@@ -130,6 +139,15 @@ public class JMSOperationConnection extends JMSConnection<OperationContext> {
         return getOperationProperties().getLongProperty(JMSConstants.PROPERTY_MAXIMUM_NUMBER_OF_MESSAGES);
     }
 
+    /**
+     * Get the maximum number of messages the Get operation receives within a single transaction.
+     *
+     * @return the batch size configured in the operation, or 1 if the value is not defined.
+     */
+    public int getReceiveBatchSize() {
+        return toInt(getOperationProperties().getLongProperty(JMSConstants.PROPERTY_RECEIVE_BATCH_SIZE, 1L));
+    }
+
     public String getDestination() {
         return getOperationProperties().getProperty(JMSConstants.PROPERTY_DESTINATION);
     }
@@ -142,6 +160,24 @@ public class JMSOperationConnection extends JMSConnection<OperationContext> {
         return toInt(getOperationProperties().getLongProperty(JMSConstants.PROPERTY_MAX_CONCURRENT_EXECUTIONS, 1L));
     }
 
+    /**
+     * Get the maximum number of messages the Listen operation submits to a single process execution.
+     *
+     * @return the batch size configured in the operation, or 1 if the value is not defined.
+     */
+    public int getListenBatchSize() {
+        return toInt(getOperationProperties().getLongProperty(JMSConstants.PROPERTY_LISTEN_BATCH_SIZE, 1L));
+    }
+
+    /**
+     * Get how long the Listen operation waits for a batch to fill after receiving its first message.
+     *
+     * @return the batch timeout in milliseconds, or 1000 if the value is not defined.
+     */
+    public long getListenBatchTimeout() {
+        return getOperationProperties().getLongProperty(JMSConstants.PROPERTY_LISTEN_BATCH_TIMEOUT, 1000L);
+    }
+
     private static int toInt(Long value) {
         if (value > Integer.MAX_VALUE || value < 1) {
             throw new ConnectorException(String.format("exceeded max value: %s ", value));
@@ -9,11 +9,18 @@ import java.io.InputStream;
 
 /**
  * This class acts as facade for reading a {@link BytesMessage} as an {@link InputStream}
+ * <p>
+ * Bulk reads are delegated to {@link BytesMessage#readBytes(byte[], int)}, so that copying the body takes one JMS call
+ * per buffer instead of one per byte. Providers delivering large messages in chunks, such as ActiveMQ Artemis, fetch
+ * the body as it is read.
  */
 public class BytesMessageInputStream extends InputStream {
 
+    private static final int MAX_SCRATCH_SIZE = 64 * 1024;
+
     private final BytesMessage _message;
     private long _pendingBytes;
+    private byte[] _scratch;
 
     public BytesMessageInputStream(BytesMessage message) throws JMSException {
         _message = message;
@@ -39,4 +46,67 @@ public class BytesMessageInputStream extends InputStream {
             throw new IOException(e);
         }
     }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || length > buffer.length - offset) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (length == 0) {
+            return 0;
+        }
+        if (_pendingBytes <= 0) {
+            return -1;
+        }
+
+        int toRead = (int) Math.min(length, _pendingBytes);
+        try {
+            int read;
+            if (offset == 0) {
+                read = _message.readBytes(buffer, toRead);
+            } else {
+                // readBytes always fills the array from its start
+                byte[] scratch = getScratch(toRead);
+                read = _message.readBytes(scratch, Math.min(toRead, scratch.length));
+                if (read > 0) {
+                    System.arraycopy(scratch, 0, buffer, offset, read);
+                }
+            }
+
+            if (read < 0) {
+                _pendingBytes = 0;
+                return -1;
+            }
+            _pendingBytes -= read;
+            return read;
+        } catch (JMSException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (n <= 0 || _pendingBytes <= 0) {
+            return 0;
+        }
+
+        byte[] scratch = getScratch((int) Math.min(n, MAX_SCRATCH_SIZE));
+        long skipped = 0;
+        while (skipped < n) {
+            int read = read(scratch, 0, (int) Math.min(n - skipped, scratch.length));
+            if (read < 0) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    private byte[] getScratch(int size) {
+        int scratchSize = Math.min(size, MAX_SCRATCH_SIZE);
+        if (_scratch == null || _scratch.length < scratchSize) {
+            _scratch = new byte[scratchSize];
+        }
+        return _scratch;
+    }
 }
@@ -20,6 +20,8 @@ import com.boomi.connector.util.BaseQueryOperation;
 import com.boomi.util.IOUtil;
 import com.boomi.util.LogUtil;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -30,12 +32,14 @@ public class JMSGetOperation extends BaseQueryOperation {
     private final boolean _useDurableSubscription;
     private final String _subscriptionName;
     private final int _transactionalMode;
+    private final int _batchSize;
 
     public JMSGetOperation(JMSOperationConnection connection) {
         super(connection);
         _useDurableSubscription = connection.useSubscription();
         _subscriptionName = connection.getSubscriptionName();
         _transactionalMode = connection.getTransactionMode();
+        _batchSize = Math.max(1, connection.getReceiveBatchSize());
     }
 
     private JMSReceiver createReceiver(GenericJndiBaseAdapter adapter, TargetDestination targetDestination,
@@ -90,22 +94,44 @@ public class JMSGetOperation extends BaseQueryOperation {
     private void receiveMessages(GenericJndiBaseAdapter adapter, JMSReceiver receiver,
             GetResponseHandler responseHandler, ReceiveStrategy receiveStrategy, TargetDestination targetDestination) {
 
+        List<Payload> batch = new ArrayList<>(_batchSize);
         do {
             ReceivedMessage message = receiveStrategy.receive(adapter, receiver, targetDestination);
             if (!message.hasMessage()) {
                 continue;
             }
+            batch.add(message.toPayload(getContext().createMetadata()));
 
-            Payload payload = message.toPayload(getContext().createMetadata());
-            try {
-                receiver.commit();
+            // filling the batch with the messages already delivered, without waiting for more
+            while (batch.size() < _batchSize && receiveStrategy.shouldContinue()) {
+                List<ReceivedMessage> available = receiveStrategy.receiveAvailable(adapter, receiver,
+                        targetDestination, _batchSize - batch.size());
+                if (available.isEmpty()) {
+                    break;
+                }
+                for (ReceivedMessage next : available) {
+                    batch.add(next.toPayload(getContext().createMetadata()));
+                }
+            }
+
+            commitBatch(receiver, responseHandler, batch);
+            batch.clear();
+        } while (receiveStrategy.shouldContinue());
+    }
+
+    private static void commitBatch(JMSReceiver receiver, GetResponseHandler responseHandler, List<Payload> batch) {
+        try {
+            receiver.commit();
+            for (Payload payload : batch) {
                 responseHandler.addSuccess(payload);
-            } catch (RuntimeException e) {
-                String errorMessage = "Failed to commit message: " + e.getMessage();
-                LOG.log(Level.WARNING, errorMessage, e);
+            }
+        } catch (RuntimeException e) {
+            String errorMessage = "Failed to commit message: " + e.getMessage();
+            LOG.log(Level.WARNING, errorMessage, e);
+            for (Payload payload : batch) {
                 responseHandler.addError(payload, errorMessage);
             }
-        } while (receiveStrategy.shouldContinue());
+        }
     }
 
     @Override
@@ -5,6 +5,8 @@ import com.boomi.connector.jmssdk.client.JMSReceiver;
 
 import javax.jms.Message;
 
+import java.util.List;
+
 /**
  * Concrete implementation of {@link ReceiveStrategy} for retrieving a fixed amount of messages from JMS. Each
  * invocation of {@link #receiveMessage(JMSReceiver)} blocks for an unbound amount of time until returning a {@link Message}.
@@ -28,6 +30,14 @@ class ReceiveLimitedStrategy implements ReceiveStrategy {
         return message;
     }
 
+    @Override
+    public List<Message> receiveAvailableMessages(JMSReceiver receiver, int maxMessages) {
+        int remaining = (int) Math.min(maxMessages, _numberOfMessages - _messageCount);
+        List<Message> messages = receiver.receiveAvailable(remaining);
+        _messageCount += messages.size();
+        return messages;
+    }
+
     @Override
     public boolean shouldContinue() {
         return _messageCount < _numberOfMessages;
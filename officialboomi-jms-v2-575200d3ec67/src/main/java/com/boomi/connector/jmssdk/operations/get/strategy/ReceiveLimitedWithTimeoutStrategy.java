@@ -5,6 +5,8 @@ import com.boomi.connector.jmssdk.client.JMSReceiver;
 
 import javax.jms.Message;
 
+import java.util.List;
+
 /**
  * Concrete implementation of {@link ReceiveStrategy} for retrieving messages from JMS until a timeout is exhausted or a
  * message count is reached. Each invocation of {@link #receiveMessage(JMSReceiver)} blocks until getting a {@link Message} or
@@ -33,6 +35,14 @@ class ReceiveLimitedWithTimeoutStrategy implements ReceiveStrategy {
         return message;
     }
 
+    @Override
+    public List<Message> receiveAvailableMessages(JMSReceiver receiver, int maxMessages) {
+        int remaining = (int) Math.min(maxMessages, _maxNumberOfMessages - _messageCount);
+        List<Message> messages = receiver.receiveAvailable(remaining);
+        _messageCount += messages.size();
+        return messages;
+    }
+
     @Override
     public boolean shouldContinue() {
         return (_messageCount < _maxNumberOfMessages) && (System.currentTimeMillis() < _endTime);
@@ -10,6 +10,9 @@ import com.boomi.connector.jmssdk.operations.model.TargetDestination;
 
 import javax.jms.Message;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Base strategy for Receiving messages from JMS. This abstract class provides a factory method to get a concrete
  * instance depending on the Receive Mode configured for the operation.
@@ -67,6 +70,37 @@ public interface ReceiveStrategy {
         return ReceivedMessage.wrapMessage(message, destinationType, adapter, targetDestination);
     }
 
+    /**
+     * Fetch the {@link Message}s already available in JMS using the provided {@link JMSReceiver}, without blocking. The
+     * messages count towards the limits of this strategy. Used to fill a batch once a message has been received.
+     *
+     * @param receiver    to retrieve the {@link Message}s.
+     * @param maxMessages the maximum number of messages to retrieve.
+     * @return the retrieved {@link Message}s, empty if none is available at the moment.
+     */
+    default List<Message> receiveAvailableMessages(JMSReceiver receiver, int maxMessages) {
+        return receiver.receiveAvailable(maxMessages);
+    }
+
+    /**
+     * Fetch the messages already available in JMS using the provided {@link JMSReceiver}, without blocking
+     *
+     * @param adapter     to determine the message type
+     * @param receiver    to retrieve the messages
+     * @param maxMessages the maximum number of messages to retrieve
+     * @return the {@link ReceivedMessage}s from JMS, empty if none is available at the moment
+     */
+    default List<ReceivedMessage> receiveAvailable(GenericJndiBaseAdapter adapter, JMSReceiver receiver,
+            TargetDestination targetDestination, int maxMessages) {
+        List<Message> messages = receiveAvailableMessages(receiver, maxMessages);
+        List<ReceivedMessage> receivedMessages = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            DestinationType destinationType = adapter.getDestinationType(message);
+            receivedMessages.add(ReceivedMessage.wrapMessage(message, destinationType, adapter, targetDestination));
+        }
+        return receivedMessages;
+    }
+
     /**
      * Indicates whether the consumer of this strategy should continue invoking {@link #receiveMessage(JMSReceiver)} for
      * fetching messages or not.
@@ -8,6 +8,8 @@ import com.boomi.connector.api.listen.SingletonListenOperation;
 import com.boomi.connector.jmssdk.client.GenericJndiBaseAdapter;
 import com.boomi.connector.jmssdk.client.JMSListener;
 import com.boomi.connector.jmssdk.operations.JMSOperationConnection;
+import com.boomi.connector.jmssdk.operations.listen.strategy.ListenMetrics;
+import com.boomi.connector.jmssdk.operations.listen.strategy.MessageBatchConsumer;
 import com.boomi.connector.jmssdk.operations.listen.strategy.MessageListenerStrategy;
 import com.boomi.connector.jmssdk.operations.model.TargetDestination;
 import com.boomi.connector.jmssdk.pool.AdapterPool;
@@ -22,6 +24,9 @@ import javax.jms.JMSException;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -30,6 +35,7 @@ public class JMSListenOperation extends UnmanagedListenOperation
 
     private static final Logger LOG = LogUtil.getLogger(JMSListenOperation.class);
     private static final String ERROR_JMS_LISTENER_CANNOT_START = "JMS Listener cannot start";
+    private static final long CONSUMER_STOP_TIMEOUT_SECONDS = 30L;
     private GenericJndiBaseAdapter _adapter;
     private final List<JMSListener> _instances;
     private final int _maxConcurrentExecutions;
@@ -39,6 +45,11 @@ public class JMSListenOperation extends UnmanagedListenOperation
     private final String _subscriptionName;
     private final String _messageSelector;
     private final int _transactionalMode;
+    private final int _batchSize;
+    private final long _batchTimeout;
+    private final List<MessageBatchConsumer> _consumers;
+    private final ListenMetrics _metrics;
+    private ExecutorService _consumerExecutor;
     private Listener _listener;
 
     public JMSListenOperation(JMSOperationConnection connection) {
@@ -51,10 +62,16 @@ public class JMSListenOperation extends UnmanagedListenOperation
         _subscriptionName = connection.getSubscriptionName();
         _messageSelector = connection.getMessageSelector();
         _transactionalMode = connection.getTransactionMode();
+        _batchSize = connection.getListenBatchSize();
+        _batchTimeout = connection.getListenBatchTimeout();
+        _consumers = new LinkedList<>();
+        _metrics = new ListenMetrics();
     }
 
     /**
-     * Start the listener and create the jms client according to max concurrent executions.
+     * Start the listener and create the jms client according to max concurrent executions. When the batch size is
+     * greater than 1, each client session is consumed by its own thread submitting batches of messages instead of
+     * subscribing a message listener.
      *
      * @param listener
      */
@@ -74,9 +91,14 @@ public class JMSListenOperation extends UnmanagedListenOperation
                 } else {
                     client = _adapter.createListener(targetDestination, _messageSelector, _transactionalMode);
                 }
-                client.subscribeConsumer(
-                        MessageListenerStrategy.getInstance(_deliveryPolicy, listener, client, _adapter, isSingleton(),
-                                targetDestination));
+                if (_batchSize > 1) {
+                    _consumers.add(new MessageBatchConsumer(_deliveryPolicy, listener, client, _adapter, isSingleton(),
+                            targetDestination, _batchSize, _batchTimeout, _metrics));
+                } else {
+                    client.subscribeConsumer(
+                            MessageListenerStrategy.getInstance(_deliveryPolicy, listener, client, _adapter,
+                                    isSingleton(), targetDestination));
+                }
                 _instances.add(client);
                 //JMSV1 just supports a single consumer when the destination is a topic.
                 if (client.isListeningFromTopic() && _isJmsV1) {
@@ -87,6 +109,7 @@ public class JMSListenOperation extends UnmanagedListenOperation
                 }
             }
             _adapter.start();
+            startConsumers();
         } catch (Exception e) {
             LOG.log(Level.SEVERE, ERROR_JMS_LISTENER_CANNOT_START, e);
             IOUtil.closeQuietly(client);
@@ -100,12 +123,48 @@ public class JMSListenOperation extends UnmanagedListenOperation
      */
     @Override
     public void stop() {
+        stopConsumers();
         IOUtil.closeQuietly(_instances);
         _instances.clear();
         AdapterPool adapterPool = AdapterPoolManager.getPool(getConnection());
         adapterPool.releaseAdapter(_adapter);
     }
 
+    private void startConsumers() {
+        if (_consumers.isEmpty()) {
+            return;
+        }
+        _consumerExecutor = Executors.newFixedThreadPool(_consumers.size());
+        for (MessageBatchConsumer consumer : _consumers) {
+            _consumerExecutor.execute(consumer);
+        }
+    }
+
+    /**
+     * Stop the batch consumers, waiting for the batches in progress to be processed and committed before the clients
+     * are closed.
+     */
+    private void stopConsumers() {
+        for (MessageBatchConsumer consumer : _consumers) {
+            consumer.stop();
+        }
+        _consumers.clear();
+        if (_consumerExecutor == null) {
+            return;
+        }
+        _consumerExecutor.shutdown();
+        try {
+            if (!_consumerExecutor.awaitTermination(CONSUMER_STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                _consumerExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            _consumerExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        _consumerExecutor = null;
+        LOG.log(Level.INFO, "JMS Listener processed {0}", _metrics);
+    }
+
     @Override
     public JMSOperationConnection getConnection() {
         return (JMSOperationConnection) super.getConnection();
@@ -0,0 +1,57 @@
+// Copyright (c) 2023 Boomi, Inc.
+package com.boomi.connector.jmssdk.operations.listen.strategy;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the messages and batches processed by the consumers of a listener, shared by all of them.
+ */
+public class ListenMetrics {
+
+    private final AtomicLong _messages = new AtomicLong();
+    private final AtomicLong _batches = new AtomicLong();
+    private final AtomicLong _failedBatches = new AtomicLong();
+    private final long _startTime = System.currentTimeMillis();
+
+    /**
+     * Record a processed batch.
+     *
+     * @param size    the number of messages in the batch
+     * @param success whether the batch was processed successfully
+     */
+    public void recordBatch(int size, boolean success) {
+        _messages.addAndGet(size);
+        _batches.incrementAndGet();
+        if (!success) {
+            _failedBatches.incrementAndGet();
+        }
+    }
+
+    public long getMessages() {
+        return _messages.get();
+    }
+
+    public long getBatches() {
+        return _batches.get();
+    }
+
+    public long getFailedBatches() {
+        return _failedBatches.get();
+    }
+
+    /**
+     * Get the number of messages processed per second since the listener started.
+     *
+     * @return the throughput in messages per second
+     */
+    public double getMessagesPerSecond() {
+        long elapsed = Math.max(1L, System.currentTimeMillis() - _startTime);
+        return _messages.get() * 1000D / elapsed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d messages in %d batches (%d failed), %.1f msg/s", getMessages(), getBatches(),
+                getFailedBatches(), getMessagesPerSecond());
+    }
+}
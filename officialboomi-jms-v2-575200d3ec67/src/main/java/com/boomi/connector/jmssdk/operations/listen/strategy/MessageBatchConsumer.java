@@ -0,0 +1,188 @@
+// Copyright (c) 2023 Boomi, Inc.
+package com.boomi.connector.jmssdk.operations.listen.strategy;
+
+import com.boomi.connector.api.ConnectorException;
+import com.boomi.connector.api.listen.Listener;
+import com.boomi.connector.api.listen.ListenerExecutionResult;
+import com.boomi.connector.api.listen.PayloadBatch;
+import com.boomi.connector.api.listen.SubmitOptions;
+import com.boomi.connector.api.listen.options.DistributionMode;
+import com.boomi.connector.api.listen.options.WaitMode;
+import com.boomi.connector.jmssdk.client.GenericJndiBaseAdapter;
+import com.boomi.connector.jmssdk.client.JMSListener;
+import com.boomi.connector.jmssdk.operations.get.message.ReceivedMessage;
+import com.boomi.connector.jmssdk.operations.model.TargetDestination;
+import com.boomi.connector.jmssdk.util.JMSConstants;
+import com.boomi.util.LogUtil;
+
+import javax.jms.Message;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Consumes the messages of one JMS session in batches: up to the batch size messages, or as many as arrive within the
+ * batch timeout after the first one, are submitted to a single process execution. The batch is committed or
+ * acknowledged as a unit, acknowledging the last message of a session acknowledges every message received before it.
+ * With the At least once delivery policy the batch is committed once the execution succeeds and rolled back otherwise,
+ * with At most once it is committed as soon as it is submitted.
+ */
+public class MessageBatchConsumer implements Runnable {
+
+    private static final Logger LOG = LogUtil.getLogger(MessageBatchConsumer.class);
+    private static final long POLL_TIMEOUT = 1000L;
+
+    private final Listener _listener;
+    private final GenericJndiBaseAdapter _adapter;
+    private final JMSListener _client;
+    private final TargetDestination _targetDestination;
+    private final SubmitOptions _processSubmitOptions;
+    private final boolean _commitAfterProcessing;
+    private final int _batchSize;
+    private final long _batchTimeout;
+    private final ListenMetrics _metrics;
+    private volatile boolean _running = true;
+
+    /**
+     * Constructor of MessageBatchConsumer
+     *
+     * @param deliveryPolicy    AT_LEAST_ONCE | AT_MOST_ONCE
+     * @param listener          the listener submitting the batches
+     * @param client            the client owning the session consumed
+     * @param adapter           the adapter
+     * @param isSingleton       whether the processes are preferably executed on the remaining nodes
+     * @param targetDestination the destination consumed
+     * @param batchSize         the maximum number of messages in a batch
+     * @param batchTimeout      how long to wait for a batch to fill after its first message, in milliseconds
+     * @param metrics           the metrics shared by the consumers of the listener
+     */
+    public MessageBatchConsumer(String deliveryPolicy, Listener listener, JMSListener client,
+            GenericJndiBaseAdapter adapter, boolean isSingleton, TargetDestination targetDestination, int batchSize,
+            long batchTimeout, ListenMetrics metrics) {
+        if (JMSConstants.DELIVERY_POLICY_AT_LEAST_ONCE.equals(deliveryPolicy)) {
+            _commitAfterProcessing = true;
+        } else if (JMSConstants.DELIVERY_POLICY_AT_MOST_ONCE.equals(deliveryPolicy)) {
+            _commitAfterProcessing = false;
+        } else {
+            throw new ConnectorException(String.format("Delivery Policy %s is not supported", deliveryPolicy));
+        }
+        _listener = listener;
+        _client = client;
+        _adapter = adapter;
+        _targetDestination = targetDestination;
+        _processSubmitOptions = new SubmitOptions().withWaitMode(WaitMode.PROCESS_COMPLETION);
+        if (isSingleton) {
+            _processSubmitOptions.withDistributionMode(DistributionMode.PREFER_REMOTE);
+        }
+        _batchSize = batchSize;
+        _batchTimeout = batchTimeout;
+        _metrics = metrics;
+    }
+
+    /**
+     * Consume batches until stopped.
+     */
+    @Override
+    public void run() {
+        while (_running && !Thread.currentThread().isInterrupted()) {
+            try {
+                List<Message> batch = receiveBatch();
+                if (!batch.isEmpty()) {
+                    processBatch(batch);
+                }
+            } catch (InterruptedException e) {
+                LOG.log(Level.WARNING, "Interruption detected processing messages", e);
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                if (_running) {
+                    LOG.log(Level.WARNING, "Failed to process messages", e);
+                    pause();
+                }
+            }
+        }
+    }
+
+    /**
+     * Stop consuming once the current batch is processed.
+     */
+    public void stop() {
+        _running = false;
+    }
+
+    /**
+     * Receive the next batch, waiting for its first message for up to a second so that the consumer notices when it is
+     * stopped.
+     *
+     * @return the batch, empty if no message arrived
+     */
+    List<Message> receiveBatch() {
+        List<Message> batch = new ArrayList<>(_batchSize);
+        Message message = _client.receive(POLL_TIMEOUT);
+        if (message == null) {
+            return batch;
+        }
+        batch.add(message);
+        long deadline = System.currentTimeMillis() + _batchTimeout;
+        while (batch.size() < _batchSize && _running) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0L) {
+                break;
+            }
+            message = _client.receive(remaining);
+            if (message == null) {
+                break;
+            }
+            batch.add(message);
+        }
+        return batch;
+    }
+
+    /**
+     * Submit a batch to one process execution, then commit or roll it back according to the delivery policy.
+     *
+     * @param batch the messages
+     * @throws Exception if the batch cannot be submitted
+     */
+    void processBatch(List<Message> batch) throws Exception {
+        Message last = batch.get(batch.size() - 1);
+        boolean success = false;
+        try {
+            PayloadBatch payloadBatch = _listener.getBatch();
+            for (Message message : batch) {
+                ReceivedMessage receivedMessage = ReceivedMessage.wrapMessage(message,
+                        _adapter.getDestinationType(message), _adapter, _targetDestination);
+                payloadBatch.add(receivedMessage.toPayload(_listener.createMetadata()));
+            }
+            Future<ListenerExecutionResult> execution = payloadBatch.submit(_processSubmitOptions);
+            if (!_commitAfterProcessing) {
+                _client.commit(last);
+            }
+            // waiting to finish in order to avoid taking another batch with the same consumer
+            success = execution.get().isSuccess();
+        } finally {
+            _metrics.recordBatch(batch.size(), success);
+            if (_commitAfterProcessing) {
+                if (success) {
+                    _client.commit(last);
+                } else {
+                    _client.rollbackIfNeeded();
+                }
+            }
+            if (LOG.isLoggable(Level.FINE)) {
+                LOG.log(Level.FINE, "Batch of {0} messages processed, success: {1}. Listener totals: {2}",
+                        new Object[] { batch.size(), success, _metrics });
+            }
+        }
+    }
+
+    private static void pause() {
+        try {
+            Thread.sleep(POLL_TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
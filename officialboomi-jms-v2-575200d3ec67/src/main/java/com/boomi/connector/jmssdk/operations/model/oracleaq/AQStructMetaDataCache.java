@@ -0,0 +1,59 @@
+// Copyright (c) 2023 Boomi, Inc.
+package com.boomi.connector.jmssdk.operations.model.oracleaq;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache of the Oracle type metadata shared by the {@link AQStructMetaDataFactory} instances created for the same
+ * database. Describing a type takes several database round trips, so the attributes of each type and the driver version
+ * are looked up once and reused for every message of that type.
+ * <p>
+ * The cached values do not hold any reference to the {@link java.sql.Connection} used to look them up.
+ */
+public class AQStructMetaDataCache {
+
+    private final ConcurrentMap<String, List<AQStructMetaData>> _attributes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AQStructMetaData> _arrayItems = new ConcurrentHashMap<>();
+    private volatile Boolean _isLegacyDriver;
+
+    List<AQStructMetaData> getAttributes(String typeName) {
+        return _attributes.get(typeName);
+    }
+
+    void putAttributes(String typeName, List<AQStructMetaData> attributes) {
+        _attributes.putIfAbsent(typeName, attributes);
+    }
+
+    AQStructMetaData getArrayItem(String typeName) {
+        return _arrayItems.get(typeName);
+    }
+
+    void putArrayItem(String typeName, AQStructMetaData arrayItem) {
+        _arrayItems.putIfAbsent(typeName, arrayItem);
+    }
+
+    Boolean isLegacyDriver() {
+        return _isLegacyDriver;
+    }
+
+    void setLegacyDriver(boolean isLegacyDriver) {
+        _isLegacyDriver = isLegacyDriver;
+    }
+
+    /**
+     * @return the number of types whose metadata is cached
+     */
+    public int size() {
+        return _attributes.size() + _arrayItems.size();
+    }
+
+    /**
+     * Discard the cached metadata, so the types are described again the next time they are used
+     */
+    public void clear() {
+        _attributes.clear();
+        _arrayItems.clear();
+    }
+}
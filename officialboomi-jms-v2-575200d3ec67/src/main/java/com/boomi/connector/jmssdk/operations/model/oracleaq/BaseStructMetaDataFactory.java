@@ -9,6 +9,7 @@ import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Struct;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,9 +29,15 @@ public abstract class BaseStructMetaDataFactory implements AQStructMetaDataFacto
     private static final double LEGACY_VERSION_CUTOFF = 11.3;
     public static final int VERSION_DENOMINATOR = 10;
     protected final Connection _conn;
+    private final AQStructMetaDataCache _cache;
 
     protected BaseStructMetaDataFactory(Connection conn) {
+        this(conn, new AQStructMetaDataCache());
+    }
+
+    protected BaseStructMetaDataFactory(Connection conn, AQStructMetaDataCache cache) {
         this._conn = conn;
+        this._cache = cache;
     }
 
     /**
@@ -43,15 +50,34 @@ public abstract class BaseStructMetaDataFactory implements AQStructMetaDataFacto
      * @throws SQLException
      */
     public static AQStructMetaDataFactory instance(Connection conn) throws SQLException {
+        return instance(conn, new AQStructMetaDataCache());
+    }
+
+    /**
+     * Create a new instance of {@link AQStructMetaDataFactory} based on the connection's driver version, sharing the
+     * type metadata held by the given cache. The driver version is only looked up the first time the cache is used.
+     *
+     * @param conn  the connection used to describe the types missing from the cache
+     * @param cache the type metadata already described for the database of the connection
+     * @return StructMetaData instance appropriate for the current connection
+     * @throws SQLException
+     */
+    public static AQStructMetaDataFactory instance(Connection conn, AQStructMetaDataCache cache) throws SQLException {
         if (conn == null) {
             throw new ConnectorException("null connection");
         }
-        float driverVersion = conn.getMetaData().getDriverMajorVersion()
-                + (float) conn.getMetaData().getDriverMinorVersion() / VERSION_DENOMINATOR;
-        if (driverVersion >= LEGACY_VERSION_CUTOFF) {
-            return new CurrentStructMetaDataFactory(conn);
+        Boolean isLegacyDriver = cache.isLegacyDriver();
+        if (isLegacyDriver == null) {
+            float driverVersion = conn.getMetaData().getDriverMajorVersion()
+                    + (float) conn.getMetaData().getDriverMinorVersion() / VERSION_DENOMINATOR;
+            isLegacyDriver = driverVersion < LEGACY_VERSION_CUTOFF;
+            cache.setLegacyDriver(isLegacyDriver);
+        }
+
+        if (isLegacyDriver) {
+            return new LegacyStructMetaDataFactory(conn, cache);
         } else {
-            return new LegacyStructMetaDataFactory(conn);
+            return new CurrentStructMetaDataFactory(conn, cache);
         }
     }
 
@@ -60,7 +86,7 @@ public abstract class BaseStructMetaDataFactory implements AQStructMetaDataFacto
         if (typeName == null) {
             throw new ConnectorException("null typeName");
         }
-        return createStructMetaData(name, typeName, getOracleMetaData(typeName));
+        return new AQComplexStruct(format(name), typeName, getAttributes(typeName));
     }
 
     @Override
@@ -68,7 +94,18 @@ public abstract class BaseStructMetaDataFactory implements AQStructMetaDataFacto
         if (struct == null) {
             return new AQComplexStruct(name);
         }
-        return createStructMetaData(name, struct.getSQLTypeName(), getOracleMetaData(struct));
+        String typeName = struct.getSQLTypeName();
+        if (typeName == null) {
+            return new AQComplexStruct(format(name), null, Collections.<AQStructMetaData>emptyList());
+        }
+
+        List<AQStructMetaData> attributes = _cache.getAttributes(typeName);
+        if (attributes == null) {
+            // the struct already carries its descriptor, no need to look the type up by name
+            attributes = createAttributes(getOracleMetaData(struct));
+            _cache.putAttributes(typeName, attributes);
+        }
+        return new AQComplexStruct(format(name), typeName, attributes);
     }
 
     /**
@@ -99,31 +136,40 @@ public abstract class BaseStructMetaDataFactory implements AQStructMetaDataFacto
      */
     protected abstract AQStructMetaData getBaseArrayMetaData(String typeName) throws SQLException;
 
-    private AQStructMetaData createStructMetaData(String name, String type, ResultSetMetaData rsMetaData)
-            throws SQLException {
-        List<AQStructMetaData> attributes = new ArrayList<>();
+    /**
+     * Get the attributes of the specified type from the cache, describing the type if it is not cached yet
+     */
+    private List<AQStructMetaData> getAttributes(String typeName) throws SQLException {
+        List<AQStructMetaData> attributes = _cache.getAttributes(typeName);
+        if (attributes == null) {
+            attributes = createAttributes(getOracleMetaData(typeName));
+            _cache.putAttributes(typeName, attributes);
+        }
+        return attributes;
+    }
 
-        if (type != null) {
-            Map<String, Integer> columnCounts = new HashMap<>();
+    private List<AQStructMetaData> createAttributes(ResultSetMetaData rsMetaData) throws SQLException {
+        List<AQStructMetaData> attributes = new ArrayList<>();
+        Map<String, Integer> columnCounts = new HashMap<>();
 
-            int count = rsMetaData.getColumnCount();
-            for (int i = 1; i <= count; i++) {
-                String attrName = format(rsMetaData.getColumnName(i), columnCounts);
-                String attrTypeName = rsMetaData.getColumnTypeName(i);
-                int attrType = rsMetaData.getColumnType(i);
+        int count = rsMetaData.getColumnCount();
+        for (int i = 1; i <= count; i++) {
+            String attrName = format(rsMetaData.getColumnName(i), columnCounts);
+            String attrTypeName = rsMetaData.getColumnTypeName(i);
+            int attrType = rsMetaData.getColumnType(i);
 
-                attributes.add(createStructMetaData(attrName, attrTypeName, attrType));
-            }
+            attributes.add(createStructMetaData(attrName, attrTypeName, attrType));
         }
 
-        return new AQComplexStruct(format(name), type, attributes);
+        return Collections.unmodifiableList(attributes);
     }
 
     private AQStructMetaData createStructMetaData(String name, String typeName, int type) throws SQLException {
         AQStructMetaData arrayMetaData;
 
         if (type == OracleTypes.STRUCT) {
-            arrayMetaData = createStructMetaData(name, typeName, getOracleMetaData(typeName));
+            arrayMetaData = new AQComplexStruct(format(name), typeName,
+                    typeName == null ? Collections.<AQStructMetaData>emptyList() : getAttributes(typeName));
         } else if (type == OracleTypes.ARRAY) {
             arrayMetaData = createArrayMetaData(name, typeName);
         } else {
@@ -134,9 +180,12 @@ public abstract class BaseStructMetaDataFactory implements AQStructMetaDataFacto
     }
 
     private AQStructMetaData createArrayMetaData(String attrName, String attrType) throws SQLException {
-        AQStructMetaData baseMetaData = getBaseArrayMetaData(attrType);
-        AQStructMetaData arrayMetaData = createStructMetaData(ARRAY_ITEM_NAME, baseMetaData.getTypeName(),
-                baseMetaData.getType());
+        AQStructMetaData arrayMetaData = _cache.getArrayItem(attrType);
+        if (arrayMetaData == null) {
+            AQStructMetaData baseMetaData = getBaseArrayMetaData(attrType);
+            arrayMetaData = createStructMetaData(ARRAY_ITEM_NAME, baseMetaData.getTypeName(), baseMetaData.getType());
+            _cache.putArrayItem(attrType, arrayMetaData);
+        }
         return new AQArrayStruct(attrName, attrType, arrayMetaData);
     }
 
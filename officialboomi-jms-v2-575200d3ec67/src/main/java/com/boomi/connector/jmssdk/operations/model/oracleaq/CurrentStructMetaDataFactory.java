@@ -26,6 +26,16 @@ public class CurrentStructMetaDataFactory extends BaseStructMetaDataFactory {
         super(conn);
     }
 
+    /**
+     * Creates a new instance with the specified connection, sharing the type metadata held by the given cache
+     *
+     * @param conn
+     * @param cache
+     */
+    public CurrentStructMetaDataFactory(Connection conn, AQStructMetaDataCache cache) {
+        super(conn, cache);
+    }
+
     /*
      * (non-Javadoc)
      *
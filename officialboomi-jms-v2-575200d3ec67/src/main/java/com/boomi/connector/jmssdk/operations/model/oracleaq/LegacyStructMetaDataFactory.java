@@ -27,6 +27,16 @@ public class LegacyStructMetaDataFactory extends BaseStructMetaDataFactory {
         super(conn);
     }
 
+    /**
+     * Creates a new instance with the specified connection, sharing the type metadata held by the given cache
+     *
+     * @param conn
+     * @param cache
+     */
+    public LegacyStructMetaDataFactory(Connection conn, AQStructMetaDataCache cache) {
+        super(conn, cache);
+    }
+
     /*
      * (non-Javadoc)
      *
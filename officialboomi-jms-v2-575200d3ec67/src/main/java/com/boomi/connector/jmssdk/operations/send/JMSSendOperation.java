@@ -22,12 +22,14 @@ public class JMSSendOperation extends BaseUpdateOperation {
     private final int _transactionalMode;
     private final int _transactionBatchSize;
     private final long _documentSizeThreshold;
+    private final int _maxInFlightMessages;
 
     public JMSSendOperation(JMSOperationConnection conn) {
         super(conn);
         _transactionalMode = conn.getTransactionMode();
         _transactionBatchSize = conn.getTransactionBatchSize();
         _documentSizeThreshold = conn.getDocumentSizeThreshold();
+        _maxInFlightMessages = conn.getMaxInFlightMessages();
     }
 
     @Override
@@ -38,7 +40,7 @@ public class JMSSendOperation extends BaseUpdateOperation {
         JMSSender sender = null;
         try {
             adapter = adapterPool.createAdapter();
-            sender = adapter.createSender(_transactionalMode);
+            sender = adapter.acquireSender(_transactionalMode);
             SendStrategy sendStrategy = getSendStrategy(adapter, sender);
             sendStrategy.send(request, response, getContext().getObjectTypeId());
         } finally {
@@ -50,6 +52,8 @@ public class JMSSendOperation extends BaseUpdateOperation {
     private SendStrategy getSendStrategy(GenericJndiBaseAdapter adapter, JMSSender sender) {
         if (Session.SESSION_TRANSACTED == _transactionalMode) {
             return SendStrategy.transactedStrategy(adapter, sender, _documentSizeThreshold, _transactionBatchSize);
+        } else if (_maxInFlightMessages > 1) {
+            return SendStrategy.asyncStrategy(adapter, sender, _documentSizeThreshold, _maxInFlightMessages);
         } else {
             return SendStrategy.simpleStrategy(adapter, sender, _documentSizeThreshold);
         }
@@ -0,0 +1,85 @@
+// Copyright (c) 2023 Boomi, Inc.
+package com.boomi.connector.jmssdk.operations.send.strategy;
+
+import com.boomi.connector.api.ConnectorException;
+import com.boomi.connector.api.ObjectData;
+import com.boomi.connector.api.OperationResponse;
+import com.boomi.connector.jmssdk.client.GenericJndiBaseAdapter;
+import com.boomi.connector.jmssdk.client.JMSSender;
+import com.boomi.util.LogUtil;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Concrete implementation of {@link SendStrategy} for sending standalone messages asynchronously. Up to the maximum
+ * in-flight messages are sent without waiting for the JMS provider to confirm them, and the result of each document is
+ * added to the response once its message is confirmed or fails. The results are added from the calling thread, as the
+ * {@link OperationResponse} is not meant to be used concurrently.
+ */
+class AsyncSendStrategy extends SendStrategy {
+
+    private static final Logger LOG = LogUtil.getLogger(AsyncSendStrategy.class);
+
+    private final int _maxInFlightMessages;
+
+    AsyncSendStrategy(GenericJndiBaseAdapter adapter, JMSSender sender, long documentSizeThreshold,
+            int maxInFlightMessages) {
+        super(adapter, sender, documentSizeThreshold);
+
+        _maxInFlightMessages = maxInFlightMessages;
+    }
+
+    @Override
+    public void send(Iterable<ObjectData> documents, OperationResponse response, String objectTypeId) {
+        Semaphore inFlight = new Semaphore(_maxInFlightMessages);
+        Queue<SendResult> completed = new ConcurrentLinkedQueue<>();
+        long start = System.currentTimeMillis();
+        int count = 0;
+
+        try {
+            for (ObjectData document : documents) {
+                acquire(inFlight, 1);
+                sendAsync(document, objectTypeId, result -> {
+                    completed.add(result);
+                    inFlight.release();
+                });
+                addResults(completed, response);
+                count++;
+            }
+        } finally {
+            // waiting for every message sent to be confirmed, even when the loop fails, so none is left in flight
+            acquire(inFlight, _maxInFlightMessages);
+            addResults(completed, response);
+        }
+
+        if (LOG.isLoggable(Level.FINE)) {
+            long elapsed = Math.max(1L, System.currentTimeMillis() - start);
+            LOG.log(Level.FINE, "{0} messages sent in {1} ms, {2} msg/s",
+                    new Object[] { count, elapsed, count * 1000L / elapsed });
+        }
+    }
+
+    private static void acquire(Semaphore inFlight, int permits) {
+        try {
+            inFlight.acquire(permits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectorException("interrupted while waiting for the messages to be confirmed", e);
+        }
+    }
+
+    private static void addResults(Queue<SendResult> completed, OperationResponse response) {
+        SendResult sendResult;
+        while ((sendResult = completed.poll()) != null) {
+            if (sendResult.isSuccess()) {
+                ResponseHelper.addSuccess(sendResult, response);
+            } else {
+                ResponseHelper.addError(sendResult.getDocument(), sendResult.getErrorMessage(), response);
+            }
+        }
+    }
+}
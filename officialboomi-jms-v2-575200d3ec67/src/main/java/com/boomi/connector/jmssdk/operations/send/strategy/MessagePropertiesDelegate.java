@@ -102,7 +102,7 @@ class MessagePropertiesDelegate {
         }
 
         try {
-            Destination destination = adapter.createDestination(replyTo, Session.AUTO_ACKNOWLEDGE);
+            Destination destination = adapter.getDestination(replyTo, Session.AUTO_ACKNOWLEDGE);
             _message.setJMSReplyTo(destination);
         } catch (Exception e) {
             LOG.log(Level.WARNING, "cannot set reply to", e);
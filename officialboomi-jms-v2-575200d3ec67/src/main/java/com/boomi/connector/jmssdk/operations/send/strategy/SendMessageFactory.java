@@ -13,7 +13,6 @@ import com.boomi.connector.jmssdk.operations.model.TargetDestination;
 import com.boomi.connector.jmssdk.util.JMSConstants;
 import com.boomi.connector.jmssdk.util.TextXMLPayloadValidator;
 import com.boomi.util.IOUtil;
-import com.boomi.util.StreamUtil;
 import com.boomi.util.StringUtil;
 
 import javax.jms.BytesMessage;
@@ -24,12 +23,21 @@ import javax.jms.TextMessage;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 
 /**
  * Static Factory to build an instance of the appropriate {@link Message} subtype needed.
  */
 final class SendMessageFactory {
 
+    /**
+     * Size of the chunks copied from the documents into the messages, so that no buffer of the full document size is
+     * allocated on top of the body held by the message
+     */
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
     private SendMessageFactory() {
     }
 
@@ -103,14 +111,11 @@ final class SendMessageFactory {
             stream = document.getData();
             long size = document.getDataSize();
 
-            if (size > Integer.MAX_VALUE) {
-                throw new ConnectorException("cannot process document, data too large");
+            byte[] chunk = new byte[(int) Math.max(1L, Math.min(size, CHUNK_SIZE))];
+            int read;
+            while ((read = stream.read(chunk)) != -1) {
+                message.writeBytes(chunk, 0, read);
             }
-
-            byte[] bytes = new byte[(int) size];
-            StreamUtil.readFully(stream, bytes);
-
-            message.writeBytes(bytes);
         } catch (IOException | JMSException e) {
             throw new ConnectorException("error building byte message", e);
         } finally {
@@ -122,7 +127,7 @@ final class SendMessageFactory {
 
     private static Message buildTextMessage(TextMessage message, ObjectData document) {
         try {
-            message.setText(writeToString(document.getData()));
+            message.setText(writeToString(document.getData(), getDataSize(document)));
         } catch (JMSException e) {
             throw new ConnectorException("error building text message", e);
         }
@@ -135,7 +140,7 @@ final class SendMessageFactory {
         InputStream stream = null;
         try {
             stream = TextXMLPayloadValidator.assertXMLContent(document.getData());
-            String payload = writeToString(stream);
+            String payload = writeToString(stream, getDataSize(document));
 
             message.setText(payload);
         } catch (JMSException e) {
@@ -147,13 +152,32 @@ final class SendMessageFactory {
         return message;
     }
 
-    private static String writeToString(InputStream stream) {
+    private static long getDataSize(ObjectData document) {
         try {
-            return StreamUtil.toString(stream, StringUtil.UTF8_CHARSET);
+            return document.getDataSize();
+        } catch (IOException e) {
+            throw new ConnectorException("error parsing document", e);
+        }
+    }
+
+    /**
+     * Decode the stream into a {@link String}, presizing the builder from the document size: UTF-8 decodes at most one
+     * char per byte, so the builder is never copied to grow.
+     */
+    private static String writeToString(InputStream stream, long size) {
+        Reader reader = new InputStreamReader(stream, StringUtil.UTF8_CHARSET);
+        try {
+            StringBuilder builder = new StringBuilder((int) Math.max(16L, Math.min(size, MAX_ARRAY_SIZE)));
+            char[] chunk = new char[(int) Math.max(1L, Math.min(size, CHUNK_SIZE))];
+            int read;
+            while ((read = reader.read(chunk)) != -1) {
+                builder.append(chunk, 0, read);
+            }
+            return builder.toString();
         } catch (IOException e) {
             throw new ConnectorException("error parsing document", e);
         } finally {
-            IOUtil.closeQuietly(stream);
+            IOUtil.closeQuietly(reader, stream);
         }
     }
 }
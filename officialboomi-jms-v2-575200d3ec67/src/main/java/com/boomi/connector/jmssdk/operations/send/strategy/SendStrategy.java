@@ -13,13 +13,19 @@ import com.boomi.connector.jmssdk.util.JMSConstants;
 import com.boomi.util.LogUtil;
 import com.boomi.util.StringUtil;
 
+import javax.jms.CompletionListener;
 import javax.jms.Destination;
+import javax.jms.JMSException;
 import javax.jms.Message;
 import javax.jms.Session;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -35,7 +41,6 @@ public abstract class SendStrategy {
 
     private final GenericJndiBaseAdapter _adapter;
     private final long _documentSizeThreshold;
-    private final Map<String, Destination> _destinationCache = new HashMap<>();
 
     SendStrategy(GenericJndiBaseAdapter adapter, JMSSender sender, long documentSizeThreshold) {
         _adapter = adapter;
@@ -71,6 +76,21 @@ public abstract class SendStrategy {
         return new SimpleSendStrategy(adapter, sender, documentSizeThreshold);
     }
 
+    /**
+     * Static factory method to get a {@link SendStrategy} that send standalone messages asynchronously, without waiting
+     * for the JMS provider to confirm a message before sending the next one
+     *
+     * @param adapter               the JMS Adapter
+     * @param sender                the JMS Sender
+     * @param documentSizeThreshold the maximum allowed size for a message payload
+     * @param maxInFlightMessages   the maximum number of messages sent and not confirmed yet
+     * @return an instance of {@link SendStrategy}
+     */
+    public static SendStrategy asyncStrategy(GenericJndiBaseAdapter adapter, JMSSender sender,
+            long documentSizeThreshold, int maxInFlightMessages) {
+        return new AsyncSendStrategy(adapter, sender, documentSizeThreshold, maxInFlightMessages);
+    }
+
     /**
      * Send the given documents and add the results to the provided {@link OperationResponse}
      *
@@ -88,7 +108,7 @@ public abstract class SendStrategy {
         }
     }
 
-    SendResult send(ObjectData document, String objectTypeId) {
+    private SendResult checkDocumentSize(ObjectData document) {
         try {
             if (!isValidDocumentSize(document)) {
                 return SendResult.error(document, "document larger than expected");
@@ -97,6 +117,120 @@ public abstract class SendStrategy {
             LOG.log(Level.SEVERE, "cannot get object data size, discarding message", e);
             return SendResult.error(document, e);
         }
+        return null;
+    }
+
+    SendResult send(ObjectData document, String objectTypeId) {
+        PreparedMessage prepared = prepare(document, objectTypeId);
+        if (prepared.getError() != null) {
+            return prepared.getError();
+        }
+
+        try {
+            _sender.send(prepared._destination, prepared._message, prepared._timeToLive);
+
+            return sentResult(document, prepared._destination, prepared._targetDestination, prepared._message);
+        } catch (Exception e) {
+            return errorResult(document, prepared._targetDestination, e);
+        }
+    }
+
+    /**
+     * Validate the given document and create its {@link Message}, without sending it. If the message cannot be created,
+     * the returned {@link PreparedMessage} holds the error result of the document.
+     *
+     * @param document     to be sent
+     * @param objectTypeId the destination of the operation
+     * @return the message ready to be sent
+     */
+    PreparedMessage prepare(ObjectData document, String objectTypeId) {
+        SendResult invalidResult = checkDocumentSize(document);
+        if (invalidResult != null) {
+            return PreparedMessage.error(invalidResult);
+        }
+        TargetDestination targetDestination = getTargetDestination(document, objectTypeId);
+
+        try {
+            Destination destination = getDestination(_adapter, targetDestination.getDestinationName());
+
+            Message message = SendMessageFactory.createMessage(_adapter, _sender,
+                    targetDestination.getDestinationType(), document, targetDestination);
+            long timeToLive = getTimeToLive(document.getDynamicOperationProperties());
+            return new PreparedMessage(document, destination, targetDestination, message, timeToLive);
+        } catch (Exception e) {
+            return PreparedMessage.error(errorResult(document, targetDestination, e));
+        }
+    }
+
+    /**
+     * Send the given prepared messages, all of them for the same destination and time to live, on a single call to the
+     * {@link JMSSender}. The results of the sent documents are added to the given collection.
+     *
+     * @param messages the messages to be sent
+     * @param results  where the results of the sent documents will be added
+     * @return the error result if the messages could not be sent, {@code null} otherwise
+     */
+    SendResult sendBatch(List<PreparedMessage> messages, Collection<SendResult> results) {
+        if (messages.isEmpty()) {
+            return null;
+        }
+        PreparedMessage first = messages.get(0);
+        List<Message> jmsMessages = new ArrayList<>(messages.size());
+        for (PreparedMessage message : messages) {
+            jmsMessages.add(message._message);
+        }
+
+        try {
+            _sender.sendBatch(first._destination, jmsMessages, first._timeToLive);
+            List<SendResult> sentResults = new ArrayList<>(messages.size());
+            for (PreparedMessage message : messages) {
+                sentResults.add(sentResult(message._document, message._destination, message._targetDestination,
+                        message._message));
+            }
+            results.addAll(sentResults);
+            return null;
+        } catch (Exception e) {
+            return errorResult(first._document, first._targetDestination, e);
+        }
+    }
+
+    /**
+     * Send the given document without waiting for the JMS provider to confirm the message. The result is handed to the
+     * callback once the message is confirmed, or as soon as it fails. The callback can be invoked from a thread of the
+     * JMS provider, and it is invoked exactly once.
+     *
+     * @param document     to be sent
+     * @param objectTypeId the destination of the operation
+     * @param callback     receiving the result of the send
+     */
+    void sendAsync(ObjectData document, String objectTypeId, Consumer<SendResult> callback) {
+        SendResult invalidResult = checkDocumentSize(document);
+        if (invalidResult != null) {
+            callback.accept(invalidResult);
+            return;
+        }
+
+        TargetDestination targetDestination = null;
+        DocumentCompletionListener listener = null;
+        try {
+            targetDestination = getTargetDestination(document, objectTypeId);
+            Destination destination = getDestination(_adapter, targetDestination.getDestinationName());
+            listener = new DocumentCompletionListener(document, destination, targetDestination, callback);
+
+            Message message = SendMessageFactory.createMessage(_adapter, _sender,
+                    targetDestination.getDestinationType(), document, targetDestination);
+            _sender.sendAsync(destination, message, getTimeToLive(document.getDynamicOperationProperties()),
+                    listener);
+        } catch (Exception e) {
+            if (listener == null) {
+                callback.accept(errorResult(document, targetDestination, e));
+            } else {
+                listener.onException(null, e);
+            }
+        }
+    }
+
+    private TargetDestination getTargetDestination(ObjectData document, String objectTypeId) {
         TargetDestination targetDestination;
         if (JMSConstants.DYNAMIC_DESTINATION_ID.equals(objectTypeId)) {
             DynamicPropertyMap dynamicOperationProperties = document.getDynamicOperationProperties();
@@ -107,29 +241,29 @@ public abstract class SendStrategy {
         } else {
             targetDestination = _adapter.createTargetDestination(objectTypeId);
         }
+        return targetDestination;
+    }
 
-        try {
-            Destination destination = getDestination(_adapter, targetDestination.getDestinationName());
-
-            Message message = SendMessageFactory.createMessage(_adapter, _sender,
-                    targetDestination.getDestinationType(), document, targetDestination);
-            _sender.send(destination, message, getTimeToLive(document.getDynamicOperationProperties()));
+    private static SendResult sentResult(ObjectData document, Destination destination,
+            TargetDestination targetDestination, Message message) throws JMSException {
+        String messageID = message.getJMSMessageID();
+        SendMessageMetadata messageMetadata = new SendMessageMetadata(messageID, destination.toString(),
+                targetDestination.getDestinationType());
 
-            String messageID = message.getJMSMessageID();
-            SendMessageMetadata messageMetadata = new SendMessageMetadata(messageID, destination.toString(),
-                    targetDestination.getDestinationType());
+        return SendResult.success(document, messageMetadata);
+    }
 
-            return SendResult.success(document, messageMetadata);
-        } catch (Exception e) {
-            String message = "error sending message to " + targetDestination.getDestinationName();
-            LOG.log(Level.WARNING, message, e);
-            return SendResult.error(document, e);
-        }
+    private static SendResult errorResult(ObjectData document, TargetDestination targetDestination, Exception e) {
+        // the target destination is unknown when the dynamic destination properties are invalid
+        String message = (targetDestination == null) ? "error sending message"
+                : "error sending message to " + targetDestination.getDestinationName();
+        LOG.log(Level.WARNING, message, e);
+        return SendResult.error(document, e);
     }
 
-    private Destination getDestination(GenericJndiBaseAdapter adapter, String destinationName) {
-        return _destinationCache.computeIfAbsent(destinationName,
-                key -> adapter.createDestination(key, Session.CLIENT_ACKNOWLEDGE));
+    private static Destination getDestination(GenericJndiBaseAdapter adapter, String destinationName) {
+        // the adapter caches the destination across executions
+        return adapter.getDestination(destinationName, Session.CLIENT_ACKNOWLEDGE);
     }
 
     private static long getTimeToLive(DynamicPropertyMap property) {
@@ -148,4 +282,94 @@ public abstract class SendStrategy {
         }
         return timeToLiveLong;
     }
+
+    /**
+     * A document whose {@link Message} has been created and is ready to be sent, or the error result of the document if
+     * the message could not be created.
+     */
+    static final class PreparedMessage {
+
+        private final ObjectData _document;
+        private final Destination _destination;
+        private final TargetDestination _targetDestination;
+        private final Message _message;
+        private final long _timeToLive;
+        private final SendResult _error;
+
+        private PreparedMessage(ObjectData document, Destination destination, TargetDestination targetDestination,
+                Message message, long timeToLive) {
+            _document = document;
+            _destination = destination;
+            _targetDestination = targetDestination;
+            _message = message;
+            _timeToLive = timeToLive;
+            _error = null;
+        }
+
+        private PreparedMessage(SendResult error) {
+            _document = null;
+            _destination = null;
+            _targetDestination = null;
+            _message = null;
+            _timeToLive = TIME_TO_LIVE_ZERO;
+            _error = error;
+        }
+
+        private static PreparedMessage error(SendResult error) {
+            return new PreparedMessage(error);
+        }
+
+        SendResult getError() {
+            return _error;
+        }
+
+        /**
+         * Indicates whether this message can be sent on the same call as the given one, that is, whether both messages
+         * go to the same destination with the same time to live.
+         */
+        boolean canBeSentWith(PreparedMessage other) {
+            return Objects.equals(_destination, other._destination) && _timeToLive == other._timeToLive;
+        }
+    }
+
+    /**
+     * {@link CompletionListener} mapping the confirmation or the failure of an asynchronous send to the
+     * {@link SendResult} of its document. Only the first notification is handed to the callback.
+     */
+    private static class DocumentCompletionListener implements CompletionListener {
+
+        private final ObjectData _document;
+        private final Destination _destination;
+        private final TargetDestination _targetDestination;
+        private final Consumer<SendResult> _callback;
+        private final AtomicBoolean _isCompleted = new AtomicBoolean();
+
+        DocumentCompletionListener(ObjectData document, Destination destination,
+                TargetDestination targetDestination, Consumer<SendResult> callback) {
+            _document = document;
+            _destination = destination;
+            _targetDestination = targetDestination;
+            _callback = callback;
+        }
+
+        @Override
+        public void onCompletion(Message message) {
+            if (_isCompleted.compareAndSet(false, true)) {
+                SendResult result;
+                try {
+                    result = sentResult(_document, _destination, _targetDestination, message);
+                } catch (Exception e) {
+                    result = errorResult(_document, _targetDestination, e);
+                }
+                _callback.accept(result);
+            }
+        }
+
+        @Override
+        public void onException(Message message, Exception exception) {
+            if (_isCompleted.compareAndSet(false, true)) {
+                _callback.accept(errorResult(_document, _targetDestination, exception));
+            }
+        }
+    }
 }
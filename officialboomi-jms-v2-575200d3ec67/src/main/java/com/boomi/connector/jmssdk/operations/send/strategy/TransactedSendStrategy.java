@@ -16,19 +16,23 @@ import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 /**
- * Concrete implementation of {@link SendStrategy} for sending batches of messages within transactions
+ * Concrete implementation of {@link SendStrategy} for sending batches of messages within transactions. When the
+ * {@link JMSSender} can move several messages on a single call (like the Oracle AQ array enqueue), the messages of a
+ * batch going consecutively to the same destination are handed to it together. Otherwise they are sent one at a time.
  */
 class TransactedSendStrategy extends SendStrategy {
 
     private static final Logger LOG = LogUtil.getLogger(TransactedSendStrategy.class);
 
     private final int _transactionBatchSize;
+    private final boolean _isBatchSendSupported;
 
     TransactedSendStrategy(GenericJndiBaseAdapter adapter, JMSSender sender, long documentSizeThreshold,
             int transactionBatchSize) {
         super(adapter, sender, documentSizeThreshold);
 
         _transactionBatchSize = transactionBatchSize;
+        _isBatchSendSupported = sender.isBatchSendSupported();
     }
 
     @Override
@@ -41,18 +45,42 @@ class TransactedSendStrategy extends SendStrategy {
 
     private void processBatch(Collection<ObjectData> batch, OperationResponse response, String objectTypeId) {
         Collection<SendResult> processedResults = new ArrayList<>();
+        List<PreparedMessage> pending = new ArrayList<>();
 
         for (ObjectData document : batch) {
-            SendResult sendResult = send(document, objectTypeId);
-            processedResults.add(sendResult);
-            if (!sendResult.isSuccess()) {
+            PreparedMessage message = prepare(document, objectTypeId);
+            if (message.getError() != null) {
                 // transaction failed, rolling back and terminate batch processing
-                rollback(sendResult, batch, processedResults.size(), response);
+                rollback(message.getError(), batch, processedResults.size() + pending.size() + 1, response);
                 return;
             }
+
+            if (!pending.isEmpty() && !canBeSentTogether(pending.get(0), message) && !sendPending(pending,
+                    processedResults, batch, response)) {
+                return;
+            }
+            pending.add(message);
         }
 
-        commit(processedResults, response);
+        if (sendPending(pending, processedResults, batch, response)) {
+            commit(processedResults, response);
+        }
+    }
+
+    private boolean canBeSentTogether(PreparedMessage pending, PreparedMessage message) {
+        return _isBatchSendSupported && pending.canBeSentWith(message);
+    }
+
+    private boolean sendPending(List<PreparedMessage> pending, Collection<SendResult> processedResults,
+            Collection<ObjectData> batch, OperationResponse response) {
+        SendResult failure = sendBatch(pending, processedResults);
+        if (failure != null) {
+            // a group is only pending when it is sent on a single call, so its first message is reported as failed
+            rollback(failure, batch, processedResults.size() + 1, response);
+            return false;
+        }
+        pending.clear();
+        return true;
     }
 
     private void commit(Collection<SendResult> processedResults, OperationResponse response) {
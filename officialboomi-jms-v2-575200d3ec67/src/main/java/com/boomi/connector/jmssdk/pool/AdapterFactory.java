@@ -1,6 +1,7 @@
 // Copyright (c) 2023 Boomi, Inc.
 package com.boomi.connector.jmssdk.pool;
 
+import com.boomi.connector.jmssdk.client.AdapterMetrics;
 import com.boomi.connector.jmssdk.client.GenericJndiBaseAdapter;
 import com.boomi.connector.jmssdk.client.GenericJndiJmsV1Adapter;
 import com.boomi.connector.jmssdk.client.GenericJndiJmsV2Adapter;
@@ -21,6 +22,7 @@ import org.apache.commons.pool.PoolableObjectFactory;
 public class AdapterFactory implements PoolableObjectFactory<GenericJndiBaseAdapter> {
 
     private final AdapterSettings _settings;
+    private final AdapterMetrics _metrics = new AdapterMetrics();
 
     public AdapterFactory(AdapterSettings settings) {
         _settings = settings;
@@ -33,14 +35,27 @@ public class AdapterFactory implements PoolableObjectFactory<GenericJndiBaseAdap
      */
     @Override
     public GenericJndiBaseAdapter makeObject() {
+        GenericJndiBaseAdapter adapter;
         switch (_settings.getJmsVersion()) {
             case V2_0:
-                return createV2Adapter();
+                adapter = createV2Adapter();
+                break;
             case V1_1:
-                return createV1Adapter();
+                adapter = createV1Adapter();
+                break;
             default:
                 throw new UnsupportedOperationException();
         }
+        adapter.setMetrics(_metrics);
+        _metrics.recordAdapterCreated();
+        return adapter;
+    }
+
+    /**
+     * @return the metrics shared by the adapters built by this factory
+     */
+    public AdapterMetrics getMetrics() {
+        return _metrics;
     }
 
     private GenericJndiJmsV2Adapter createV2Adapter() {
@@ -89,6 +104,7 @@ public class AdapterFactory implements PoolableObjectFactory<GenericJndiBaseAdap
     @Override
     public void destroyObject(GenericJndiBaseAdapter adapter) {
         IOUtil.closeQuietly(adapter);
+        _metrics.recordAdapterDestroyed();
     }
 
     /**
@@ -2,6 +2,7 @@
 package com.boomi.connector.jmssdk.pool;
 
 import com.boomi.connector.api.ConnectorException;
+import com.boomi.connector.jmssdk.client.AdapterMetrics;
 import com.boomi.connector.jmssdk.client.GenericJndiBaseAdapter;
 import com.boomi.connector.jmssdk.client.settings.AdapterSettings;
 import com.boomi.util.LogUtil;
@@ -29,11 +30,18 @@ final class AdapterPoolImpl extends GenericObjectPool<GenericJndiBaseAdapter> im
      */
     private static final long POOL_EXPIRATION_INTERVAL = TimeIntervalUnit.H(6);
 
+    private final AdapterMetrics _metrics;
     private volatile long _lastAccessTime = System.currentTimeMillis();
 
     AdapterPoolImpl(AdapterSettings settings, PoolableObjectFactory<GenericJndiBaseAdapter> factory) {
+        this(settings, factory, new AdapterMetrics());
+    }
+
+    AdapterPoolImpl(AdapterSettings settings, PoolableObjectFactory<GenericJndiBaseAdapter> factory,
+            AdapterMetrics metrics) {
         super(factory);
         setConfig(settings.getPoolConfig());
+        _metrics = metrics;
     }
 
     @Override
@@ -60,6 +68,15 @@ final class AdapterPoolImpl extends GenericObjectPool<GenericJndiBaseAdapter> im
         }
     }
 
+    /**
+     * Take a snapshot of the state of this pool and of the reuse of the adapters it holds
+     *
+     * @return the {@link AdapterPoolMetrics}
+     */
+    AdapterPoolMetrics getMetrics() {
+        return new AdapterPoolMetrics(getNumActive(), getNumIdle(), _metrics);
+    }
+
     /**
      * This pool is considered expired if it does not hold any active adapter and it has not been used in the last 6
      * hours
@@ -6,6 +6,8 @@ import com.boomi.connector.jmssdk.client.settings.AdapterSettings;
 import com.boomi.util.ExecutorUtil;
 import com.boomi.util.LogUtil;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -35,6 +37,10 @@ public final class AdapterPoolManager {
         Runnable evictor = () -> {
             for (Map.Entry<AdapterSettings, AdapterPoolImpl> poolAndConfig : ACTIVE_POOLS.entrySet()) {
                 AdapterPoolImpl pool = poolAndConfig.getValue();
+                if (LOG.isLoggable(Level.FINE)) {
+                    LOG.log(Level.FINE, "JMS adapter pool for {0}: {1}",
+                            new Object[] { poolAndConfig.getKey().getServerType(), pool.getMetrics() });
+                }
                 synchronized (pool) {
                     try {
                         if (pool.isExpired(System.currentTimeMillis()) && !pool.isClosed()) {
@@ -88,10 +94,36 @@ public final class AdapterPoolManager {
                 return pool;
             }
 
-            pool = new AdapterPoolImpl(settings, new AdapterFactory(settings));
+            AdapterFactory factory = new AdapterFactory(settings);
+            pool = new AdapterPoolImpl(settings, factory, factory.getMetrics());
             ACTIVE_POOLS.put(settings, pool);
         }
 
         return pool;
     }
+
+    /**
+     * Get the metrics of the pool associated with the given {@link JMSConnection}: the adapters active and idle in the
+     * pool, and how often their sessions and destinations are reused.
+     *
+     * @param connection containing the connection settings
+     * @return the {@link AdapterPoolMetrics}, or {@code null} if there is no active pool for the given connection
+     */
+    public static AdapterPoolMetrics getPoolMetrics(JMSConnection<?> connection) {
+        AdapterPoolImpl pool = ACTIVE_POOLS.get(connection.getAdapterSettings());
+        return pool == null ? null : pool.getMetrics();
+    }
+
+    /**
+     * Get the metrics of every active pool
+     *
+     * @return the {@link AdapterPoolMetrics} of the active pools
+     */
+    public static List<AdapterPoolMetrics> getPoolMetrics() {
+        List<AdapterPoolMetrics> metrics = new ArrayList<>(ACTIVE_POOLS.size());
+        for (AdapterPoolImpl pool : ACTIVE_POOLS.values()) {
+            metrics.add(pool.getMetrics());
+        }
+        return metrics;
+    }
 }
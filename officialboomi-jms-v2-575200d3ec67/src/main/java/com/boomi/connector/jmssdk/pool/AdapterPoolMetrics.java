@@ -0,0 +1,94 @@
+// Copyright (c) 2023 Boomi, Inc.
+package com.boomi.connector.jmssdk.pool;
+
+import com.boomi.connector.jmssdk.client.AdapterMetrics;
+
+/**
+ * Snapshot of the state of an {@link AdapterPool}, along with the counters of how often the adapters it holds reuse
+ * their sender sessions and destinations across executions.
+ */
+public final class AdapterPoolMetrics {
+
+    private final int _activeAdapters;
+    private final int _idleAdapters;
+    private final long _adaptersCreated;
+    private final long _adaptersDestroyed;
+    private final long _sessionsCreated;
+    private final long _sessionsReused;
+    private final long _sessionsDiscarded;
+    private final long _destinationLookups;
+    private final long _destinationCacheHits;
+
+    AdapterPoolMetrics(int activeAdapters, int idleAdapters, AdapterMetrics metrics) {
+        _activeAdapters = activeAdapters;
+        _idleAdapters = idleAdapters;
+        _adaptersCreated = metrics.getAdaptersCreated();
+        _adaptersDestroyed = metrics.getAdaptersDestroyed();
+        _sessionsCreated = metrics.getSessionsCreated();
+        _sessionsReused = metrics.getSessionsReused();
+        _sessionsDiscarded = metrics.getSessionsDiscarded();
+        _destinationLookups = metrics.getDestinationLookups();
+        _destinationCacheHits = metrics.getDestinationCacheHits();
+    }
+
+    public int getActiveAdapters() {
+        return _activeAdapters;
+    }
+
+    public int getIdleAdapters() {
+        return _idleAdapters;
+    }
+
+    public long getAdaptersCreated() {
+        return _adaptersCreated;
+    }
+
+    public long getAdaptersDestroyed() {
+        return _adaptersDestroyed;
+    }
+
+    public long getSessionsCreated() {
+        return _sessionsCreated;
+    }
+
+    public long getSessionsReused() {
+        return _sessionsReused;
+    }
+
+    public long getSessionsDiscarded() {
+        return _sessionsDiscarded;
+    }
+
+    public long getDestinationLookups() {
+        return _destinationLookups;
+    }
+
+    public long getDestinationCacheHits() {
+        return _destinationCacheHits;
+    }
+
+    /**
+     * @return the ratio of sender sessions reused instead of created, {@code 0} if no sender was requested
+     */
+    public double getSessionReuseRatio() {
+        long requested = _sessionsCreated + _sessionsReused;
+        return requested == 0L ? 0D : (double) _sessionsReused / requested;
+    }
+
+    /**
+     * @return the ratio of destinations served from the cache instead of looked up, {@code 0} if none was requested
+     */
+    public double getDestinationCacheHitRatio() {
+        return _destinationLookups == 0L ? 0D : (double) _destinationCacheHits / _destinationLookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "active adapters: %d, idle: %d, created: %d, destroyed: %d; sender sessions created: %d, reused: %d "
+                        + "(%.0f%%), discarded: %d; destinations requested: %d, cached: %d (%.0f%%)", _activeAdapters,
+                _idleAdapters, _adaptersCreated, _adaptersDestroyed, _sessionsCreated, _sessionsReused,
+                getSessionReuseRatio() * 100D, _sessionsDiscarded, _destinationLookups, _destinationCacheHits,
+                getDestinationCacheHitRatio() * 100D);
+    }
+}
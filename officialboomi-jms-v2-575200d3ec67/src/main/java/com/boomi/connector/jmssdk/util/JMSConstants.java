@@ -36,6 +36,7 @@ public final class JMSConstants {
     public static final String PROPERTY_REPLY_TO = "reply_to";
     public static final String PROPERTY_CUSTOM_OPERATION_PROPERTIES = "jms_operation_properties";
     public static final String PROPERTY_TIME_TO_LIVE = "time_to_live";
+    public static final String PROPERTY_MAX_IN_FLIGHT_MESSAGES = "max_in_flight_messages";
 
     // Get Operation
     public static final String PROPERTY_USE_DURABLE_SUBSCRIPTION = "use_durable_subscription";
@@ -45,6 +46,7 @@ public final class JMSConstants {
     public static final String PROPERTY_MAXIMUM_NUMBER_OF_MESSAGES = "maximum_number_of_messages";
     public static final String PROPERTY_RECEIVE_TIMEOUT = "receive_timeout";
     public static final String PROPERTY_MESSAGE_SELECTOR = "message_selector";
+    public static final String PROPERTY_RECEIVE_BATCH_SIZE = "receive_batch_size";
 
     // Listen Operation
     public static final String PROPERTY_MAX_CONCURRENT_EXECUTIONS = "max_concurrent_executions";
@@ -52,6 +54,8 @@ public final class JMSConstants {
     public static final String PROPERTY_DELIVERY_POLICY = "delivery_policy";
     public static final String DELIVERY_POLICY_AT_LEAST_ONCE = "AT_LEAST_ONCE";
     public static final String DELIVERY_POLICY_AT_MOST_ONCE = "AT_MOST_ONCE";
+    public static final String PROPERTY_LISTEN_BATCH_SIZE = "listen_batch_size";
+    public static final String PROPERTY_LISTEN_BATCH_TIMEOUT = "listen_batch_timeout";
 
     // Tracked Properties
     public static final String TRACKED_PROPERTY_CORRELATION_ID = "correlation_id";
@@ -74,6 +78,7 @@ public final class JMSConstants {
     public static final String WEBSPHERE_USE_SSL = "websphere_use_ssl";
     public static final String WEBSPHERE_SSL_SUITE_OPTION = "websphere_ssl_suite_option";
     public static final String WEBSPHERE_SSL_SUITE_TEXT = "websphere_ssl_suite_text";
+    public static final String WEBSPHERE_READ_AHEAD = "websphere_read_ahead";
 
     private JMSConstants() {
     }
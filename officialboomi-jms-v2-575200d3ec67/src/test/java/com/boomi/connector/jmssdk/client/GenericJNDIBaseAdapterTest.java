@@ -1,6 +1,8 @@
 // Copyright (c) 2023 Boomi, Inc.
 package com.boomi.connector.jmssdk.client;
 
+import com.boomi.connector.jmssdk.client.settings.AdapterSettings;
+import com.boomi.connector.jmssdk.operations.model.TargetDestination;
 import com.boomi.connector.testutil.doubles.BytesMessageDouble;
 import com.boomi.connector.testutil.doubles.MapMessageDouble;
 
@@ -8,10 +10,19 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import javax.jms.Destination;
+import javax.jms.ExceptionListener;
 import javax.jms.Message;
+import javax.jms.Session;
 import javax.jms.TextMessage;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 public class GenericJNDIBaseAdapterTest {
 
@@ -30,4 +41,176 @@ public class GenericJNDIBaseAdapterTest {
         Assert.assertThat(DestinationType.MAP_MESSAGE, is(mapDestinationType));
         Assert.assertThat(DestinationType.TEXT_MESSAGE, is(textDestinationType));
     }
+
+    @Test
+    public void destinationIsLookedUpOnceTest() {
+        StubAdapter adapter = new StubAdapter();
+
+        Destination first = adapter.getDestination("queue", Session.AUTO_ACKNOWLEDGE);
+        Destination second = adapter.getDestination("queue", Session.AUTO_ACKNOWLEDGE);
+
+        assertSame(first, second);
+        assertEquals(1, adapter._destinationLookups);
+        assertEquals(2L, adapter._metrics.getDestinationLookups());
+        assertEquals(1L, adapter._metrics.getDestinationCacheHits());
+    }
+
+    @Test
+    public void releasedSenderIsReusedTest() {
+        StubAdapter adapter = new StubAdapter();
+
+        adapter.acquireSender(Session.AUTO_ACKNOWLEDGE).close();
+        adapter.acquireSender(Session.AUTO_ACKNOWLEDGE).close();
+
+        assertEquals(1, adapter._senders.size());
+        Mockito.verify(adapter._senders.get(0), Mockito.never()).close();
+        assertEquals(1L, adapter._metrics.getSessionsCreated());
+        assertEquals(1L, adapter._metrics.getSessionsReused());
+    }
+
+    @Test
+    public void sendersAreNotSharedAcrossTransactionalModesTest() {
+        StubAdapter adapter = new StubAdapter();
+
+        adapter.acquireSender(Session.AUTO_ACKNOWLEDGE).close();
+        adapter.acquireSender(Session.SESSION_TRANSACTED).close();
+
+        assertEquals(2, adapter._senders.size());
+        assertEquals(0L, adapter._metrics.getSessionsReused());
+    }
+
+    @Test
+    public void transactedSenderIsRolledBackOnReleaseTest() {
+        StubAdapter adapter = new StubAdapter();
+
+        adapter.acquireSender(Session.SESSION_TRANSACTED).close();
+
+        Mockito.verify(adapter._senders.get(0)).rollback();
+    }
+
+    @Test
+    public void failedSenderIsNotReusedTest() {
+        StubAdapter adapter = new StubAdapter();
+        JMSSender sender = adapter.acquireSender(Session.AUTO_ACKNOWLEDGE);
+        Mockito.doThrow(new IllegalStateException("connection lost")).when(adapter._senders.get(0)).send(
+                Mockito.any(Destination.class), Mockito.any(Message.class), Mockito.anyLong());
+
+        try {
+            sender.send(Mockito.mock(Destination.class), Mockito.mock(Message.class), 0L);
+            Assert.fail("expected the send to fail");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        sender.close();
+        adapter.acquireSender(Session.AUTO_ACKNOWLEDGE).close();
+
+        assertEquals(2, adapter._senders.size());
+        Mockito.verify(adapter._senders.get(0)).close();
+        assertEquals(1L, adapter._metrics.getSessionsDiscarded());
+    }
+
+    @Test
+    public void invalidIdleSenderIsDiscardedTest() {
+        StubAdapter adapter = new StubAdapter();
+        adapter.acquireSender(Session.AUTO_ACKNOWLEDGE).close();
+        Mockito.when(adapter._senders.get(0).isValid()).thenReturn(false);
+
+        JMSSender sender = adapter.acquireSender(Session.AUTO_ACKNOWLEDGE);
+
+        assertEquals(2, adapter._senders.size());
+        Mockito.verify(adapter._senders.get(0)).close();
+        sender.close();
+        Mockito.verify(adapter._senders.get(1), Mockito.never()).close();
+    }
+
+    @Test
+    public void closingAdapterClosesIdleSendersTest() {
+        StubAdapter adapter = new StubAdapter();
+        JMSSender inUse = adapter.acquireSender(Session.AUTO_ACKNOWLEDGE);
+        adapter.acquireSender(Session.AUTO_ACKNOWLEDGE).close();
+
+        adapter.close();
+        inUse.close();
+
+        Mockito.verify(adapter._senders.get(0)).close();
+        Mockito.verify(adapter._senders.get(1)).close();
+    }
+
+    /**
+     * Adapter creating mocked senders and destinations, keeping track of them.
+     */
+    private static class StubAdapter extends GenericJndiBaseAdapter {
+
+        private final AdapterMetrics _metrics = new AdapterMetrics();
+        private final List<JMSSender> _senders = new ArrayList<>();
+        private int _destinationLookups;
+
+        StubAdapter() {
+            super(Mockito.mock(AdapterSettings.class));
+            setMetrics(_metrics);
+        }
+
+        @Override
+        protected Properties createJMSProperties(AdapterSettings settings) {
+            return new Properties();
+        }
+
+        @Override
+        public Destination createDestination(String destinationName, int transactionalMode) {
+            _destinationLookups++;
+            return Mockito.mock(Destination.class);
+        }
+
+        @Override
+        public JMSSender createSender(int transactionalMode) {
+            JMSSender sender = Mockito.mock(JMSSender.class);
+            Mockito.when(sender.isValid()).thenReturn(true);
+            _senders.add(sender);
+            return sender;
+        }
+
+        @Override
+        public JMSReceiver createReceiver(TargetDestination targetDestination, String messageSelector,
+                int transactionalMode) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public JMSReceiver createReceiver(TargetDestination targetDestination, String subscriptionName,
+                String messageSelector, int transactionalMode) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public JMSListener createListener(TargetDestination targetDestination, String messageSelector,
+                int transactionalMode) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public JMSListener createListener(TargetDestination targetDestination, String subscriptionName,
+                String messageSelector, int transactionalMode) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setExceptionListener(ExceptionListener exceptionListener) {
+            // not needed
+        }
+
+        @Override
+        public boolean validate() {
+            return true;
+        }
+
+        @Override
+        public void deactivate() {
+            // not needed
+        }
+
+        @Override
+        public void start() {
+            // not needed
+        }
+    }
 }
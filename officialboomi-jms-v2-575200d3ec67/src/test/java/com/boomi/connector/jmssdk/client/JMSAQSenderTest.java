@@ -0,0 +1,63 @@
+// Copyright (c) 2023 Boomi, Inc.
+package com.boomi.connector.jmssdk.client;
+
+import oracle.jms.AQjmsProducer;
+import com.boomi.connector.testutil.doubles.TextMessageDouble;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import javax.jms.Destination;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.Session;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class JMSAQSenderTest {
+
+    private final Destination _destination = mock(Destination.class);
+
+    @Test
+    public void sendBatchUsesArrayEnqueueTest() throws JMSException {
+        AQjmsProducer producer = mock(AQjmsProducer.class);
+        JMSAQSender sender = new JMSAQSender(mockSession(producer));
+        List<Message> messages = Arrays.<Message>asList(new TextMessageDouble(), new TextMessageDouble(),
+                new TextMessageDouble());
+
+        sender.sendBatch(_destination, messages, 42L);
+
+        verify(producer).setTimeToLive(42L);
+        verify(producer).bulkSend(_destination, messages.toArray(new Message[0]));
+        verify(producer, never()).send(Mockito.any(Destination.class), Mockito.any(Message.class));
+        assertEquals(3L, sender.getMetrics().getMessages());
+        assertEquals(1L, sender.getMetrics().getRoundTrips());
+    }
+
+    @Test
+    public void sendBatchOfOneMessageUsesRegularSendTest() throws JMSException {
+        AQjmsProducer producer = mock(AQjmsProducer.class);
+        JMSAQSender sender = new JMSAQSender(mockSession(producer));
+        Message message = new TextMessageDouble();
+
+        sender.sendBatch(_destination, Collections.singletonList(message), 0L);
+
+        verify(producer).send(_destination, message);
+        verify(producer, never()).bulkSend(Mockito.any(Destination.class), Mockito.any(Message[].class));
+        assertEquals(1D, sender.getMetrics().getMessagesPerRoundTrip(), 0D);
+    }
+
+    private static Session mockSession(AQjmsProducer producer) throws JMSException {
+        Session session = mock(Session.class);
+        when(session.createProducer(null)).thenReturn(producer);
+        return session;
+    }
+}
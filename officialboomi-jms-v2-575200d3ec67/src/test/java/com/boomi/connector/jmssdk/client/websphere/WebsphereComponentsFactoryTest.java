@@ -7,6 +7,8 @@ import com.boomi.connector.jmssdk.client.websphere.WebsphereComponentsFactory.De
 import com.boomi.connector.jmssdk.pool.AdapterPoolSettings;
 import com.boomi.connector.testutil.MutablePropertyMap;
 import com.ibm.mq.jms.MQConnectionFactory;
+import com.ibm.mq.jms.MQQueue;
+import com.ibm.msg.client.wmq.common.CommonConstants;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -114,6 +116,35 @@ public class WebsphereComponentsFactoryTest {
                 () -> WebsphereComponentsFactory.createDestination("invalidDestination", null, null));
     }
 
+    @Test
+    public void configureReadAheadTest() throws JMSException {
+        MutablePropertyMap properties = buildCommonProperties();
+        properties.put("websphere_read_ahead", true);
+        properties.put("version", "V2_0");
+        properties.put("server_type", "WEBSPHERE_MQ_SINGLE");
+        AdapterSettings settings = new AdapterSettings(properties, new AdapterPoolSettings(properties));
+        MQQueue queue = new MQQueue("theQueue");
+
+        Destination destination = WebsphereComponentsFactory.configureReadAhead(queue, settings);
+
+        assertEquals(queue, destination);
+        assertEquals(CommonConstants.WMQ_READ_AHEAD_ALLOWED_ENABLED, queue.getReadAheadAllowed());
+    }
+
+    @Test
+    public void configureReadAheadDisabledTest() throws JMSException {
+        MutablePropertyMap properties = buildCommonProperties();
+        properties.put("version", "V2_0");
+        properties.put("server_type", "WEBSPHERE_MQ_SINGLE");
+        AdapterSettings settings = new AdapterSettings(properties, new AdapterPoolSettings(properties));
+        MQQueue queue = new MQQueue("theQueue");
+        int defaultReadAhead = queue.getReadAheadAllowed();
+
+        WebsphereComponentsFactory.configureReadAhead(queue, settings);
+
+        assertEquals(defaultReadAhead, queue.getReadAheadAllowed());
+    }
+
     @Test
     public void createJMSPropertiesWithAuthenticationEnabledTest() {
         MutablePropertyMap propertyMap = new MutablePropertyMap();
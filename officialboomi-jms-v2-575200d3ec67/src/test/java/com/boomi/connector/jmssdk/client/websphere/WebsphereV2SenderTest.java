@@ -4,8 +4,10 @@ package com.boomi.connector.jmssdk.client.websphere;
 import com.boomi.connector.testutil.doubles.TextMessageDouble;
 
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 
+import javax.jms.CompletionListener;
 import javax.jms.Destination;
 import javax.jms.JMSContext;
 import javax.jms.JMSException;
@@ -42,4 +44,29 @@ public class WebsphereV2SenderTest {
         verify(producerMock, times(1)).setTimeToLive(timeToLive);
         verify(producerMock, times(1)).send(destination, message);
     }
+
+    @Test
+    public void sendAsyncRestoresSynchronousProducerTest() throws JMSException {
+        JMSContext contextMock = mock(JMSContext.class, Mockito.RETURNS_DEEP_STUBS);
+        JMSProducer producerMock = mock(JMSProducer.class, RETURNS_DEEP_STUBS);
+        when(contextMock.createProducer()).thenReturn(producerMock);
+
+        WebsphereV2Sender sender = new WebsphereV2Sender(contextMock);
+
+        Destination destination = new Destination() {
+        };
+        Message message = new TextMessageDouble();
+        CompletionListener listener = mock(CompletionListener.class);
+
+        int expectedPriority = 7;
+        message.setJMSPriority(expectedPriority);
+
+        sender.sendAsync(destination, message, 0L, listener);
+
+        InOrder inOrder = Mockito.inOrder(producerMock);
+        inOrder.verify(producerMock).setPriority(expectedPriority);
+        inOrder.verify(producerMock).setAsync(listener);
+        inOrder.verify(producerMock).send(destination, message);
+        inOrder.verify(producerMock).setAsync(null);
+    }
 }
@@ -0,0 +1,119 @@
+// Copyright (c) 2023 Boomi, Inc.
+package com.boomi.connector.jmssdk.operations.get;
+
+import com.boomi.connector.testutil.doubles.BytesMessageDouble;
+import com.boomi.util.StreamUtil;
+
+import org.junit.Test;
+
+import javax.jms.JMSException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BytesMessageInputStreamTest {
+
+    @Test
+    public void bulkReadTest() throws JMSException, IOException {
+        byte[] payload = createPayload(100_000);
+        InputStream stream = new BytesMessageInputStream(new BytesMessageDouble("destination", payload));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        StreamUtil.copy(stream, output);
+
+        assertArrayEquals(payload, output.toByteArray());
+        assertEquals(-1, stream.read());
+    }
+
+    @Test
+    public void readWithOffsetTest() throws JMSException, IOException {
+        byte[] payload = createPayload(10);
+        InputStream stream = new BytesMessageInputStream(new BytesMessageDouble("destination", payload));
+        byte[] buffer = new byte[20];
+
+        int read = stream.read(buffer, 5, 15);
+
+        assertEquals(10, read);
+        assertArrayEquals(payload, Arrays.copyOfRange(buffer, 5, 15));
+        assertEquals(-1, stream.read(buffer, 0, 1));
+    }
+
+    @Test
+    public void skipTest() throws JMSException, IOException {
+        byte[] payload = createPayload(200_000);
+        InputStream stream = new BytesMessageInputStream(new BytesMessageDouble("destination", payload));
+
+        long skipped = stream.skip(150_000);
+
+        assertEquals(150_000, skipped);
+        assertEquals(50_000, stream.available());
+        assertEquals(payload[150_000] & 0xFF, stream.read());
+    }
+
+    /**
+     * Copy a large message the way its payload is consumed, counting the JMS calls.
+     */
+    @Test
+    public void largeMessageBulkReadsTest() throws JMSException, IOException {
+        int size = 1024 * 1024;
+        CountingBytesMessage message = new CountingBytesMessage(createPayload(size));
+        InputStream stream = new BytesMessageInputStream(message);
+        CountingOutputStream output = new CountingOutputStream();
+
+        StreamUtil.copy(stream, output);
+
+        assertEquals(size, output._count);
+        assertTrue("bulk reads should take one JMS call per buffer, took " + message._calls,
+                message._calls <= size / 1024);
+    }
+
+    private static byte[] createPayload(int size) {
+        byte[] payload = new byte[size];
+        new Random(42L).nextBytes(payload);
+        return payload;
+    }
+
+    private static class CountingBytesMessage extends BytesMessageDouble {
+
+        private int _calls;
+
+        CountingBytesMessage(byte[] payload) {
+            super("destination", payload);
+        }
+
+        @Override
+        public int readUnsignedByte() {
+            _calls++;
+            return super.readUnsignedByte();
+        }
+
+        @Override
+        public int readBytes(byte[] value, int length) {
+            _calls++;
+            return super.readBytes(value, length);
+        }
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+
+        private long _count;
+
+        @Override
+        public void write(int b) {
+            _count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            _count += len;
+        }
+    }
+}
@@ -129,6 +129,34 @@ public class JMSGetOperationTest {
         assertThat(trackedProps.get("message_type"), is("BYTE_MESSAGE"));
     }
 
+    @Test
+    public void receiveBatchCommitsOnceTest() {
+        Message first = new BytesMessageDouble("the destination", "first".getBytes(StandardCharsets.UTF_8));
+        Message second = new BytesMessageDouble("the destination", "second".getBytes(StandardCharsets.UTF_8));
+        JMSReceiver mockedReceiver = mock(JMSReceiver.class, Mockito.RETURNS_MOCKS);
+        mockAdapterPoolManager(first, mockedReceiver);
+        when(mockedReceiver.receive()).thenReturn(first);
+        when(mockedReceiver.receiveAvailable(anyInt())).thenReturn(Collections.singletonList(second));
+
+        JMSOperationConnection mockedConnection = mockConnection();
+        when(mockedConnection.getReceiveMode()).thenReturn(ReceiveMode.LIMITED_NUMBER_OF_MESSAGES);
+        when(mockedConnection.getNumberOfMessages()).thenReturn(2L);
+        when(mockedConnection.getReceiveBatchSize()).thenReturn(10);
+
+        SimpleTrackedData document = new SimpleTrackedData(1, null);
+        QueryRequest mockedRequest = mockRequest(document);
+        SimpleOperationResponse response = ResponseUtil.getResponse(Collections.singleton(document));
+        JMSGetOperation operation = new JMSGetOperation(mockedConnection);
+
+        operation.executeQuery(mockedRequest, response);
+
+        assertResultsQuantity(1, response);
+        SimpleOperationResult result = getResult(response);
+        assertThat(OperationStatus.SUCCESS, is(result.getStatus()));
+        assertThat(2, is(result.getPayloads().size()));
+        Mockito.verify(mockedReceiver, Mockito.times(1)).commit();
+    }
+
     private static void assertPayload(byte[] expected, SimpleOperationResult actualResult) {
         List<byte[]> payloads = actualResult.getPayloads();
         assertThat(1, is(payloads.size()));
@@ -159,7 +187,7 @@ public class JMSGetOperationTest {
         PowerMockito.when(AdapterPoolManager.getPool(Mockito.any())).thenReturn(mockedPool);
         when(mockedPool.createAdapter()).thenReturn(mockedAdapter);
         when(mockedAdapter.createReceiver(anyObject(), anyString(), anyInt())).thenReturn(mockedReceiver);
-        when(mockedAdapter.getDestinationType(message)).thenReturn(DestinationType.BYTE_MESSAGE);
+        when(mockedAdapter.getDestinationType(Mockito.any(Message.class))).thenReturn(DestinationType.BYTE_MESSAGE);
         when(mockedReceiver.receiveNoWait()).thenReturn(message);
     }
 
@@ -7,6 +7,9 @@ import org.junit.Test;
 
 import javax.jms.Message;
 
+import java.util.Collections;
+import java.util.List;
+
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
@@ -40,4 +43,39 @@ public class ReceiveLimitedStrategyTest {
                 secondShouldContinue);
         verify(mockedReceiver, times(2)).receive();
     }
+
+    @Test
+    public void availableMessagesCountTowardsLimitTest() {
+        JMSReceiver mockedReceiver = mock(JMSReceiver.class);
+        Message mockedMessage = mock(Message.class);
+        when(mockedReceiver.receive()).thenReturn(mockedMessage);
+        when(mockedReceiver.receiveAvailable(1)).thenReturn(Collections.singletonList(mockedMessage),
+                Collections.<Message>emptyList());
+        ReceiveLimitedStrategy strategy = new ReceiveLimitedStrategy(3L);
+
+        strategy.receiveMessage(mockedReceiver);
+        List<Message> availableMessages = strategy.receiveAvailableMessages(mockedReceiver, 1);
+        List<Message> noMessages = strategy.receiveAvailableMessages(mockedReceiver, 1);
+        boolean shouldContinue = strategy.shouldContinue();
+        strategy.receiveMessage(mockedReceiver);
+
+        assertThat(Collections.singletonList(mockedMessage), equalTo(availableMessages));
+        assertTrue(noMessages.isEmpty());
+        assertTrue("only two messages were retrieved so far, the empty receive should not be counted",
+                shouldContinue);
+        assertFalse("the strategy reached the target amount of messages", strategy.shouldContinue());
+    }
+
+    @Test
+    public void availableMessagesAreLimitedToRemainingTest() {
+        JMSReceiver mockedReceiver = mock(JMSReceiver.class);
+        Message mockedMessage = mock(Message.class);
+        when(mockedReceiver.receive()).thenReturn(mockedMessage);
+        ReceiveLimitedStrategy strategy = new ReceiveLimitedStrategy(5L);
+
+        strategy.receiveMessage(mockedReceiver);
+        strategy.receiveAvailableMessages(mockedReceiver, 100);
+
+        verify(mockedReceiver).receiveAvailable(4);
+    }
 }
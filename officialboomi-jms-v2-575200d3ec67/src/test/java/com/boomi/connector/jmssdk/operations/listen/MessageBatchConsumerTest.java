@@ -0,0 +1,223 @@
+// Copyright (c) 2023 Boomi, Inc.
+package com.boomi.connector.jmssdk.operations.listen;
+
+import com.boomi.connector.api.PayloadMetadata;
+import com.boomi.connector.api.listen.Listener;
+import com.boomi.connector.api.listen.ListenerExecutionResult;
+import com.boomi.connector.api.listen.PayloadBatch;
+import com.boomi.connector.api.listen.SubmitOptions;
+import com.boomi.connector.jmssdk.client.DestinationType;
+import com.boomi.connector.jmssdk.client.GenericJndiBaseAdapter;
+import com.boomi.connector.jmssdk.client.JMSListener;
+import com.boomi.connector.jmssdk.operations.listen.strategy.ListenMetrics;
+import com.boomi.connector.jmssdk.operations.listen.strategy.MessageBatchConsumer;
+import com.boomi.connector.jmssdk.operations.listen.strategy.MessageListenerStrategy;
+import com.boomi.connector.jmssdk.operations.model.TargetDestination;
+import com.boomi.connector.jmssdk.util.JMSConstants;
+import com.boomi.connector.testutil.doubles.TextMessageDouble;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import javax.jms.Message;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MessageBatchConsumerTest {
+
+    private final Listener _listener = Mockito.mock(Listener.class);
+    private final PayloadBatch _payloadBatch = Mockito.mock(PayloadBatch.class);
+    private final GenericJndiBaseAdapter _adapter = Mockito.mock(GenericJndiBaseAdapter.class);
+    private final ListenMetrics _metrics = new ListenMetrics();
+    private final QueueListener _client = new QueueListener();
+
+    @Before
+    public void setup() {
+        Mockito.when(_adapter.getDestinationType(Mockito.any(Message.class))).thenReturn(
+                DestinationType.TEXT_MESSAGE);
+        Mockito.when(_listener.createMetadata()).thenReturn(Mockito.mock(PayloadMetadata.class));
+        Mockito.when(_listener.getBatch()).thenReturn(_payloadBatch);
+        Mockito.when(_payloadBatch.submit(Mockito.any(SubmitOptions.class))).thenReturn(completed(true));
+    }
+
+    @Test
+    public void atLeastOnceCommitsBatchOnceAfterProcessingTest() throws Exception {
+        List<Message> messages = publish(3);
+        MessageBatchConsumer consumer = consumer(JMSConstants.DELIVERY_POLICY_AT_LEAST_ONCE, 10, 50L);
+
+        runOnce(consumer);
+
+        Mockito.verify(_payloadBatch, Mockito.times(3)).add(Mockito.any());
+        Mockito.verify(_payloadBatch).submit(Mockito.any(SubmitOptions.class));
+        assertEquals(1, _client._commits.size());
+        assertSame(messages.get(2), _client._commits.get(0));
+        assertEquals(3L, _metrics.getMessages());
+        assertEquals(1L, _metrics.getBatches());
+    }
+
+    @Test
+    public void atLeastOnceRollsBackFailedBatchTest() throws Exception {
+        Mockito.when(_payloadBatch.submit(Mockito.any(SubmitOptions.class))).thenReturn(completed(false));
+        publish(2);
+        MessageBatchConsumer consumer = consumer(JMSConstants.DELIVERY_POLICY_AT_LEAST_ONCE, 10, 50L);
+
+        runOnce(consumer);
+
+        assertTrue(_client._commits.isEmpty());
+        assertEquals(1, _client._rollbacks);
+        assertEquals(1L, _metrics.getFailedBatches());
+    }
+
+    @Test
+    public void atMostOnceCommitsBeforeProcessingTest() throws Exception {
+        CompletableFuture<ListenerExecutionResult> execution = new CompletableFuture<>();
+        Mockito.when(_payloadBatch.submit(Mockito.any(SubmitOptions.class))).thenReturn(execution);
+        publish(1);
+        MessageBatchConsumer consumer = consumer(JMSConstants.DELIVERY_POLICY_AT_MOST_ONCE, 10, 50L);
+        List<Message> batch = consumer.receiveBatch();
+        Thread processing = new Thread(() -> {
+            try {
+                consumer.processBatch(batch);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        processing.start();
+        assertSame(batch.get(0), _client._committed.poll(5, TimeUnit.SECONDS));
+        execution.complete(MessageListenerStrategyTest.createListenerResult(true));
+        processing.join(5000L);
+
+        assertEquals(1, _client._commits.size());
+    }
+
+    @Test
+    public void batchIsLimitedBySizeTest() {
+        publish(5);
+        MessageBatchConsumer consumer = consumer(JMSConstants.DELIVERY_POLICY_AT_LEAST_ONCE, 2, 5000L);
+
+        assertEquals(2, consumer.receiveBatch().size());
+        assertEquals(2, consumer.receiveBatch().size());
+        assertEquals(1, _client._queue.size());
+    }
+
+    @Test
+    public void partialBatchIsSubmittedAfterTimeoutTest() {
+        publish(1);
+        MessageBatchConsumer consumer = consumer(JMSConstants.DELIVERY_POLICY_AT_LEAST_ONCE, 100, 20L);
+
+        long start = System.currentTimeMillis();
+        assertEquals(1, consumer.receiveBatch().size());
+        assertTrue(System.currentTimeMillis() - start < 1000L);
+    }
+
+    @Test
+    public void runConsumesEveryMessageInBatchesTest() throws Exception {
+        publish(100);
+        MessageBatchConsumer consumer = consumer(JMSConstants.DELIVERY_POLICY_AT_LEAST_ONCE, 10, 50L);
+        Thread thread = new Thread(consumer);
+
+        thread.start();
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (_metrics.getMessages() < 100L && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        consumer.stop();
+        thread.join(5000L);
+
+        assertEquals(100L, _metrics.getMessages());
+        assertEquals(10L, _metrics.getBatches());
+        assertEquals(10, _client._commits.size());
+        assertNull(_client._queue.peek());
+    }
+
+    private MessageBatchConsumer consumer(String deliveryPolicy, int batchSize, long batchTimeout) {
+        return new MessageBatchConsumer(deliveryPolicy, _listener, _client, _adapter, false,
+                Mockito.mock(TargetDestination.class), batchSize, batchTimeout, _metrics);
+    }
+
+    private void runOnce(MessageBatchConsumer consumer) throws Exception {
+        consumer.processBatch(consumer.receiveBatch());
+        InOrder inOrder = Mockito.inOrder(_listener, _payloadBatch);
+        inOrder.verify(_listener).getBatch();
+        inOrder.verify(_payloadBatch).submit(Mockito.any(SubmitOptions.class));
+    }
+
+    private List<Message> publish(int count) {
+        List<Message> messages = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Message message = new TextMessageDouble("queue", "message " + i);
+            messages.add(message);
+            _client._queue.add(message);
+        }
+        return messages;
+    }
+
+    private static CompletableFuture<ListenerExecutionResult> completed(boolean success) {
+        return CompletableFuture.completedFuture(MessageListenerStrategyTest.createListenerResult(success));
+    }
+
+    /**
+     * In memory stand-in for a broker session: messages are received from a queue and the commits are recorded.
+     */
+    private static class QueueListener implements JMSListener {
+
+        private final BlockingQueue<Message> _queue = new LinkedBlockingQueue<>();
+        private final BlockingQueue<Message> _committed = new LinkedBlockingQueue<>();
+        private final List<Message> _commits = new ArrayList<>();
+        private int _rollbacks;
+
+        @Override
+        public void subscribeConsumer(MessageListenerStrategy messageListenOperation) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Message receive(long timeout) {
+            try {
+                return _queue.poll(timeout, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+
+        @Override
+        public boolean isTransacted() {
+            return true;
+        }
+
+        @Override
+        public synchronized void commit(Message message) {
+            _commits.add(message);
+            _committed.add(message);
+        }
+
+        @Override
+        public synchronized void rollbackIfNeeded() {
+            _rollbacks++;
+        }
+
+        @Override
+        public boolean isListeningFromTopic() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+            // nothing to close
+        }
+    }
+}
@@ -0,0 +1,124 @@
+// Copyright (c) 2023 Boomi, Inc.
+package com.boomi.connector.jmssdk.operations.model.oracleaq;
+
+import oracle.jdbc.OracleTypes;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Struct;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BaseStructMetaDataFactoryTest {
+
+    private static final String MESSAGE_TYPE = "MESSAGE_TYPE";
+    private static final String ADDRESS_TYPE = "ADDRESS_TYPE";
+
+    @Test
+    public void typeIsDescribedOnceTest() throws SQLException {
+        CountingStructMetaDataFactory factory = new CountingStructMetaDataFactory(new AQStructMetaDataCache());
+
+        AQStructMetaData first = factory.getTypeMetaData("queue:MESSAGES", MESSAGE_TYPE);
+        AQStructMetaData second = factory.getTypeMetaData("queue:MESSAGES", MESSAGE_TYPE);
+
+        assertEquals(first.toJson(), second.toJson());
+        assertEquals("MESSAGES", second.getName());
+        assertEquals(2, second.getCount());
+        assertTrue(second.get(1).isStruct());
+        assertEquals(2, factory._typeLookups);
+    }
+
+    @Test
+    public void structUsesTypeDescribedByNameTest() throws SQLException {
+        CountingStructMetaDataFactory factory = new CountingStructMetaDataFactory(new AQStructMetaDataCache());
+        factory.getTypeMetaData("queue:MESSAGES", MESSAGE_TYPE);
+        Struct struct = Mockito.mock(Struct.class);
+        Mockito.when(struct.getSQLTypeName()).thenReturn(MESSAGE_TYPE);
+
+        AQStructMetaData metaData = factory.getStructMetaData("queue:MESSAGES", struct);
+
+        assertEquals(2, metaData.getCount());
+        assertEquals(0, factory._structLookups);
+    }
+
+    @Test
+    public void cacheIsSharedAcrossConnectionsTest() throws SQLException {
+        AQStructMetaDataCache cache = new AQStructMetaDataCache();
+        CountingStructMetaDataFactory first = new CountingStructMetaDataFactory(cache);
+        CountingStructMetaDataFactory second = new CountingStructMetaDataFactory(cache);
+
+        first.getTypeMetaData("queue:MESSAGES", MESSAGE_TYPE);
+        second.getTypeMetaData("queue:MESSAGES", MESSAGE_TYPE);
+
+        assertEquals(0, second._typeLookups);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void driverVersionIsLookedUpOnceTest() throws SQLException {
+        Connection connection = Mockito.mock(Connection.class);
+        DatabaseMetaData databaseMetaData = Mockito.mock(DatabaseMetaData.class);
+        Mockito.when(connection.getMetaData()).thenReturn(databaseMetaData);
+        Mockito.when(databaseMetaData.getDriverMajorVersion()).thenReturn(19);
+        AQStructMetaDataCache cache = new AQStructMetaDataCache();
+
+        AQStructMetaDataFactory first = BaseStructMetaDataFactory.instance(connection, cache);
+        AQStructMetaDataFactory second = BaseStructMetaDataFactory.instance(connection, cache);
+
+        assertTrue(first instanceof CurrentStructMetaDataFactory);
+        assertTrue(second instanceof CurrentStructMetaDataFactory);
+        Mockito.verify(databaseMetaData, Mockito.times(1)).getDriverMajorVersion();
+    }
+
+    private static ResultSetMetaData describe(String[] names, String[] typeNames, int[] types) throws SQLException {
+        ResultSetMetaData metaData = Mockito.mock(ResultSetMetaData.class);
+        Mockito.when(metaData.getColumnCount()).thenReturn(names.length);
+        for (int i = 0; i < names.length; i++) {
+            Mockito.when(metaData.getColumnName(i + 1)).thenReturn(names[i]);
+            Mockito.when(metaData.getColumnTypeName(i + 1)).thenReturn(typeNames[i]);
+            Mockito.when(metaData.getColumnType(i + 1)).thenReturn(types[i]);
+        }
+        return metaData;
+    }
+
+    /**
+     * Factory describing a message type with a nested address type, counting how many times the types are looked up.
+     */
+    private static class CountingStructMetaDataFactory extends BaseStructMetaDataFactory {
+
+        private int _typeLookups;
+        private int _structLookups;
+
+        CountingStructMetaDataFactory(AQStructMetaDataCache cache) {
+            super(Mockito.mock(Connection.class), cache);
+        }
+
+        @Override
+        protected ResultSetMetaData getOracleMetaData(String typeName) throws SQLException {
+            _typeLookups++;
+            if (MESSAGE_TYPE.equals(typeName)) {
+                return describe(new String[] { "ID", "ADDRESS" }, new String[] { "NUMBER", ADDRESS_TYPE },
+                        new int[] { OracleTypes.NUMBER, OracleTypes.STRUCT });
+            }
+            return describe(new String[] { "STREET" }, new String[] { "VARCHAR2" },
+                    new int[] { OracleTypes.VARCHAR });
+        }
+
+        @Override
+        protected ResultSetMetaData getOracleMetaData(Struct struct) throws SQLException {
+            _structLookups++;
+            return getOracleMetaData(struct.getSQLTypeName());
+        }
+
+        @Override
+        protected AQStructMetaData getBaseArrayMetaData(String typeName) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,278 @@
+// Copyright (c) 2023 Boomi, Inc.
+package com.boomi.connector.jmssdk.operations.send.strategy;
+
+import com.boomi.connector.api.ObjectData;
+import com.boomi.connector.api.OperationStatus;
+import com.boomi.connector.jmssdk.client.DestinationType;
+import com.boomi.connector.jmssdk.client.GenericJndiBaseAdapter;
+import com.boomi.connector.jmssdk.client.JMSSender;
+import com.boomi.connector.jmssdk.operations.model.TargetDestination;
+import com.boomi.connector.jmssdk.util.JMSConstants;
+import com.boomi.connector.testutil.MutableDynamicPropertyMap;
+import com.boomi.connector.testutil.ResponseUtil;
+import com.boomi.connector.testutil.SimpleOperationResponse;
+import com.boomi.connector.testutil.SimpleOperationResult;
+import com.boomi.connector.testutil.SimpleTrackedData;
+import com.boomi.connector.testutil.doubles.BytesMessageDouble;
+import com.boomi.connector.testutil.doubles.MapMessageDouble;
+import com.boomi.connector.testutil.doubles.TextMessageDouble;
+import com.boomi.util.StringUtil;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import javax.jms.BytesMessage;
+import javax.jms.CompletionListener;
+import javax.jms.Destination;
+import javax.jms.JMSException;
+import javax.jms.MapMessage;
+import javax.jms.Message;
+import javax.jms.TextMessage;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AsyncSendStrategyTest {
+
+    private static final String DESTINATION_NAME = "queue";
+    private static final long DOCUMENT_SIZE_THRESHOLD = 1024L;
+    private static final long ROUND_TRIP_MILLIS = 5L;
+
+    private final GenericJndiBaseAdapter _adapter = Mockito.mock(GenericJndiBaseAdapter.class);
+    private BrokerSender _sender;
+
+    @Before
+    public void setup() {
+        TargetDestination targetDestination = Mockito.mock(TargetDestination.class);
+        Mockito.when(targetDestination.getDestinationName()).thenReturn(DESTINATION_NAME);
+        Mockito.when(targetDestination.getDestinationType()).thenReturn(DestinationType.TEXT_MESSAGE);
+        Mockito.when(_adapter.createTargetDestination(DESTINATION_NAME)).thenReturn(targetDestination);
+        Mockito.when(_adapter.createTargetDestination(DESTINATION_NAME, DestinationType.TEXT_MESSAGE)).thenReturn(
+                targetDestination);
+        Mockito.when(_adapter.getDestination(Mockito.eq(DESTINATION_NAME), Mockito.anyInt())).thenReturn(
+                Mockito.mock(Destination.class));
+        _sender = new BrokerSender(ROUND_TRIP_MILLIS);
+    }
+
+    @After
+    public void close() {
+        _sender.close();
+    }
+
+    @Test
+    public void sendAddsResultForEveryDocumentTest() {
+        List<ObjectData> documents = createDocuments(50);
+        SimpleOperationResponse response = ResponseUtil.getResponse(documents);
+
+        SendStrategy.asyncStrategy(_adapter, _sender, DOCUMENT_SIZE_THRESHOLD, 10).send(documents, response,
+                DESTINATION_NAME);
+
+        assertEquals(50, response.getResults().size());
+        for (SimpleOperationResult result : response.getResults()) {
+            assertEquals(OperationStatus.SUCCESS, result.getStatus());
+        }
+        assertEquals(50, _sender._confirmed.get());
+    }
+
+    @Test
+    public void sendKeepsInFlightMessagesWithinLimitTest() {
+        List<ObjectData> documents = createDocuments(50);
+        SimpleOperationResponse response = ResponseUtil.getResponse(documents);
+
+        SendStrategy.asyncStrategy(_adapter, _sender, DOCUMENT_SIZE_THRESHOLD, 4).send(documents, response,
+                DESTINATION_NAME);
+
+        assertEquals(50, response.getResults().size());
+        assertTrue(_sender._maxInFlight.get() <= 4);
+        assertTrue(_sender._maxInFlight.get() > 1);
+    }
+
+    @Test
+    public void sendMapsFailedMessageToItsDocumentTest() {
+        _sender._failEvery = 3;
+        List<ObjectData> documents = createDocuments(9);
+        SimpleOperationResponse response = ResponseUtil.getResponse(documents);
+
+        SendStrategy.asyncStrategy(_adapter, _sender, DOCUMENT_SIZE_THRESHOLD, 5).send(documents, response,
+                DESTINATION_NAME);
+
+        int errors = 0;
+        for (SimpleOperationResult result : response.getResults()) {
+            if (OperationStatus.APPLICATION_ERROR == result.getStatus()) {
+                assertEquals("broker rejected the message", result.getMessage());
+                errors++;
+            }
+        }
+        assertEquals(9, response.getResults().size());
+        assertEquals(3, errors);
+    }
+
+    @Test
+    public void sendRejectsLargeDocumentWithoutSendingTest() {
+        List<ObjectData> documents = new ArrayList<>();
+        documents.add(createDocument(0, new String(new char[2048])));
+        SimpleOperationResponse response = ResponseUtil.getResponse(documents);
+
+        SendStrategy.asyncStrategy(_adapter, _sender, DOCUMENT_SIZE_THRESHOLD, 5).send(documents, response,
+                DESTINATION_NAME);
+
+        assertEquals(OperationStatus.APPLICATION_ERROR, response.getResults().get(0).getStatus());
+        assertEquals(0, _sender._confirmed.get());
+    }
+
+    @Test
+    public void sendAddsErrorForInvalidDynamicDestinationTest() {
+        List<ObjectData> documents = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            String destinationType = (i == 2) ? "NOT_A_TYPE" : DestinationType.TEXT_MESSAGE.name();
+            documents.add(createDynamicDocument(i, destinationType));
+        }
+        SimpleOperationResponse response = ResponseUtil.getResponse(documents);
+
+        SendStrategy.asyncStrategy(_adapter, _sender, DOCUMENT_SIZE_THRESHOLD, 5).send(documents, response,
+                JMSConstants.DYNAMIC_DESTINATION_ID);
+
+        assertEquals(5, response.getResults().size());
+        int errors = 0;
+        for (SimpleOperationResult result : response.getResults()) {
+            if (OperationStatus.APPLICATION_ERROR == result.getStatus()) {
+                errors++;
+            }
+        }
+        assertEquals(1, errors);
+        assertEquals(4, _sender._confirmed.get());
+    }
+
+    /**
+     * Compare the throughput of the synchronous and asynchronous strategies against a broker stand-in confirming each
+     * message after a fixed round trip.
+     */
+    @Test
+    public void asyncSendThroughputTest() {
+        int count = 100;
+
+        List<ObjectData> syncDocuments = createDocuments(count);
+        long start = System.nanoTime();
+        SendStrategy.simpleStrategy(_adapter, _sender, DOCUMENT_SIZE_THRESHOLD).send(syncDocuments,
+                ResponseUtil.getResponse(syncDocuments), DESTINATION_NAME);
+        long syncMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        List<ObjectData> asyncDocuments = createDocuments(count);
+        SimpleOperationResponse response = ResponseUtil.getResponse(asyncDocuments);
+        start = System.nanoTime();
+        SendStrategy.asyncStrategy(_adapter, _sender, DOCUMENT_SIZE_THRESHOLD, 20).send(asyncDocuments, response,
+                DESTINATION_NAME);
+        long asyncMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(count, response.getResults().size());
+        assertTrue(syncMillis >= count * ROUND_TRIP_MILLIS);
+        assertTrue(asyncMillis < syncMillis);
+    }
+
+    private static List<ObjectData> createDocuments(int count) {
+        List<ObjectData> documents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            documents.add(createDocument(i, "message " + i));
+        }
+        return documents;
+    }
+
+    private static ObjectData createDocument(int id, String payload) {
+        return new SimpleTrackedData(id, new ByteArrayInputStream(payload.getBytes(StringUtil.UTF8_CHARSET)), null,
+                null, new MutableDynamicPropertyMap());
+    }
+
+    private static ObjectData createDynamicDocument(int id, String destinationType) {
+        MutableDynamicPropertyMap properties = new MutableDynamicPropertyMap();
+        properties.addProperty(JMSConstants.PROPERTY_DESTINATION, DESTINATION_NAME);
+        properties.addProperty(JMSConstants.PROPERTY_DESTINATION_TYPE, destinationType);
+        return new SimpleTrackedData(id, new ByteArrayInputStream(("message " + id).getBytes(StringUtil.UTF8_CHARSET)),
+                null, null, properties);
+    }
+
+    /**
+     * Stand-in for a broker connection: every message is confirmed after a fixed round trip, synchronous sends wait for
+     * it and asynchronous sends are confirmed from another thread.
+     */
+    private static class BrokerSender implements JMSSender {
+
+        private final ScheduledExecutorService _broker = Executors.newSingleThreadScheduledExecutor();
+        private final long _roundTripMillis;
+        private final AtomicInteger _inFlight = new AtomicInteger();
+        private final AtomicInteger _maxInFlight = new AtomicInteger();
+        private final AtomicInteger _confirmed = new AtomicInteger();
+        private final AtomicInteger _sent = new AtomicInteger();
+        private int _failEvery;
+
+        BrokerSender(long roundTripMillis) {
+            _roundTripMillis = roundTripMillis;
+        }
+
+        @Override
+        public void send(Destination destination, Message message, Long timeToLive) {
+            try {
+                Thread.sleep(_roundTripMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            _confirmed.incrementAndGet();
+        }
+
+        @Override
+        public void sendAsync(Destination destination, Message message, Long timeToLive,
+                CompletionListener listener) {
+            int inFlight = _inFlight.incrementAndGet();
+            _maxInFlight.accumulateAndGet(inFlight, Math::max);
+            boolean isFailure = _failEvery > 0 && _sent.incrementAndGet() % _failEvery == 0;
+            _broker.schedule(() -> {
+                _inFlight.decrementAndGet();
+                if (isFailure) {
+                    listener.onException(message, new JMSException("broker rejected the message"));
+                } else {
+                    _confirmed.incrementAndGet();
+                    listener.onCompletion(message);
+                }
+            }, _roundTripMillis, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void commit() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void rollback() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public TextMessage createTextMessage() {
+            return new TextMessageDouble();
+        }
+
+        @Override
+        public MapMessage createMapMessage() {
+            return new MapMessageDouble();
+        }
+
+        @Override
+        public BytesMessage createBytesMessage() {
+            return new BytesMessageDouble();
+        }
+
+        @Override
+        public void close() {
+            _broker.shutdownNow();
+        }
+    }
+}
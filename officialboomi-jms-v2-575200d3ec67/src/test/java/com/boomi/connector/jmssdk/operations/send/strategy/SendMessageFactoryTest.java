@@ -0,0 +1,87 @@
+// Copyright (c) 2023 Boomi, Inc.
+package com.boomi.connector.jmssdk.operations.send.strategy;
+
+import com.boomi.connector.api.ObjectData;
+import com.boomi.connector.jmssdk.client.DestinationType;
+import com.boomi.connector.jmssdk.client.GenericJndiBaseAdapter;
+import com.boomi.connector.jmssdk.client.JMSSender;
+import com.boomi.connector.jmssdk.operations.model.TargetDestination;
+import com.boomi.connector.testutil.MutableDynamicPropertyMap;
+import com.boomi.connector.testutil.SimpleTrackedData;
+import com.boomi.connector.testutil.doubles.BytesMessageDouble;
+import com.boomi.connector.testutil.doubles.TextMessageDouble;
+import com.boomi.util.StringUtil;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayInputStream;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SendMessageFactoryTest {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final GenericJndiBaseAdapter _adapter = Mockito.mock(GenericJndiBaseAdapter.class);
+    private final JMSSender _sender = Mockito.mock(JMSSender.class);
+
+    @Test
+    public void bytesMessageIsWrittenInChunksTest() {
+        byte[] payload = new byte[5 * CHUNK_SIZE + 42];
+        new Random(42L).nextBytes(payload);
+        ChunkRecordingBytesMessage message = new ChunkRecordingBytesMessage();
+        Mockito.when(_sender.createBytesMessage()).thenReturn(message);
+
+        SendMessageFactory.createMessage(_adapter, _sender, DestinationType.BYTE_MESSAGE, createDocument(payload),
+                Mockito.mock(TargetDestination.class));
+
+        assertArrayEquals(payload, message.getWrittenBytes());
+        assertTrue("chunks should not exceed " + CHUNK_SIZE + " bytes", message._largestChunk <= CHUNK_SIZE);
+        assertTrue(message._chunks > 1);
+    }
+
+    @Test
+    public void emptyBytesMessageTest() {
+        BytesMessageDouble message = new BytesMessageDouble();
+        Mockito.when(_sender.createBytesMessage()).thenReturn(message);
+
+        SendMessageFactory.createMessage(_adapter, _sender, DestinationType.BYTE_MESSAGE, createDocument(new byte[0]),
+                Mockito.mock(TargetDestination.class));
+
+        assertEquals(0, message.getWrittenBytes().length);
+    }
+
+    @Test
+    public void textMessageTest() {
+        String text = "multi-byte text \u00e1\u00e9\u00ed \u4e2d\u6587";
+        TextMessageDouble message = new TextMessageDouble();
+        Mockito.when(_sender.createTextMessage()).thenReturn(message);
+
+        SendMessageFactory.createMessage(_adapter, _sender, DestinationType.TEXT_MESSAGE,
+                createDocument(text.getBytes(StringUtil.UTF8_CHARSET)), Mockito.mock(TargetDestination.class));
+
+        assertEquals(text, message.getText());
+    }
+
+    private static ObjectData createDocument(byte[] payload) {
+        return new SimpleTrackedData(1, new ByteArrayInputStream(payload), null, null,
+                new MutableDynamicPropertyMap());
+    }
+
+    private static class ChunkRecordingBytesMessage extends BytesMessageDouble {
+
+        private int _chunks;
+        private int _largestChunk;
+
+        @Override
+        public void writeBytes(byte[] value, int offset, int length) {
+            _chunks++;
+            _largestChunk = Math.max(_largestChunk, length);
+            super.writeBytes(value, offset, length);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+// Copyright (c) 2023 Boomi, Inc.
+package com.boomi.connector.jmssdk.operations.send.strategy;
+
+import com.boomi.connector.api.ObjectData;
+import com.boomi.connector.api.OperationStatus;
+import com.boomi.connector.jmssdk.client.DestinationType;
+import com.boomi.connector.jmssdk.client.GenericJndiBaseAdapter;
+import com.boomi.connector.jmssdk.client.JMSSender;
+import com.boomi.connector.jmssdk.operations.model.TargetDestination;
+import com.boomi.connector.jmssdk.util.JMSConstants;
+import com.boomi.connector.testutil.MutableDynamicPropertyMap;
+import com.boomi.connector.testutil.ResponseUtil;
+import com.boomi.connector.testutil.SimpleOperationResponse;
+import com.boomi.connector.testutil.SimpleOperationResult;
+import com.boomi.connector.testutil.SimpleTrackedData;
+import com.boomi.connector.testutil.doubles.TextMessageDouble;
+import com.boomi.util.StringUtil;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import javax.jms.Destination;
+import javax.jms.Message;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TransactedSendStrategyTest {
+
+    private static final String FIRST_DESTINATION = "first";
+    private static final String SECOND_DESTINATION = "second";
+    private static final long DOCUMENT_SIZE_THRESHOLD = 1024L;
+
+    private final GenericJndiBaseAdapter _adapter = Mockito.mock(GenericJndiBaseAdapter.class);
+    private final JMSSender _sender = Mockito.mock(JMSSender.class);
+    private final List<Integer> _sendBatchSizes = new ArrayList<>();
+
+    @Before
+    public void setup() {
+        mockDestination(FIRST_DESTINATION);
+        mockDestination(SECOND_DESTINATION);
+        Mockito.when(_sender.createTextMessage()).thenAnswer(invocation -> new TextMessageDouble());
+        Mockito.when(_sender.isBatchSendSupported()).thenReturn(true);
+        Mockito.doAnswer(invocation -> {
+            _sendBatchSizes.add(((List<?>) invocation.getArguments()[1]).size());
+            return null;
+        }).when(_sender).sendBatch(Mockito.any(Destination.class), Mockito.anyListOf(Message.class),
+                Mockito.anyLong());
+    }
+
+    @Test
+    public void consecutiveMessagesToSameDestinationAreSentTogetherTest() {
+        List<ObjectData> documents = new ArrayList<>();
+        documents.add(createDocument(0, FIRST_DESTINATION));
+        documents.add(createDocument(1, FIRST_DESTINATION));
+        documents.add(createDocument(2, FIRST_DESTINATION));
+        documents.add(createDocument(3, SECOND_DESTINATION));
+        documents.add(createDocument(4, SECOND_DESTINATION));
+        SimpleOperationResponse response = ResponseUtil.getResponse(documents);
+
+        SendStrategy.transactedStrategy(_adapter, _sender, DOCUMENT_SIZE_THRESHOLD, 10).send(documents, response,
+                JMSConstants.DYNAMIC_DESTINATION_ID);
+
+        assertEquals(2, _sendBatchSizes.size());
+        assertEquals(3, (int) _sendBatchSizes.get(0));
+        assertEquals(2, (int) _sendBatchSizes.get(1));
+        Mockito.verify(_sender).commit();
+        assertEquals(5, response.getResults().size());
+        for (SimpleOperationResult result : response.getResults()) {
+            assertEquals(OperationStatus.SUCCESS, result.getStatus());
+        }
+    }
+
+    @Test
+    public void transactionBatchSizeLimitsTheMessagesSentTogetherTest() {
+        List<ObjectData> documents = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            documents.add(createDocument(i, FIRST_DESTINATION));
+        }
+        SimpleOperationResponse response = ResponseUtil.getResponse(documents);
+
+        SendStrategy.transactedStrategy(_adapter, _sender, DOCUMENT_SIZE_THRESHOLD, 2).send(documents, response,
+                JMSConstants.DYNAMIC_DESTINATION_ID);
+
+        assertEquals(3, _sendBatchSizes.size());
+        Mockito.verify(_sender, Mockito.times(3)).commit();
+    }
+
+    @Test
+    public void failedBatchSendRollsBackTransactionTest() {
+        Mockito.doThrow(new IllegalStateException("array enqueue failed")).when(_sender).sendBatch(
+                Mockito.any(Destination.class), Mockito.anyListOf(Message.class), Mockito.anyLong());
+        List<ObjectData> documents = new ArrayList<>();
+        documents.add(createDocument(0, FIRST_DESTINATION));
+        documents.add(createDocument(1, FIRST_DESTINATION));
+        SimpleOperationResponse response = ResponseUtil.getResponse(documents);
+
+        SendStrategy.transactedStrategy(_adapter, _sender, DOCUMENT_SIZE_THRESHOLD, 10).send(documents, response,
+                JMSConstants.DYNAMIC_DESTINATION_ID);
+
+        Mockito.verify(_sender).rollback();
+        Mockito.verify(_sender, Mockito.never()).commit();
+        for (SimpleOperationResult result : response.getResults()) {
+            assertEquals(OperationStatus.APPLICATION_ERROR, result.getStatus());
+        }
+    }
+
+    @Test
+    public void senderWithoutBatchSendReportsFailedMessageIndexTest() {
+        Mockito.when(_sender.isBatchSendSupported()).thenReturn(false);
+        Mockito.doAnswer(invocation -> {
+            _sendBatchSizes.add(((List<?>) invocation.getArguments()[1]).size());
+            if (_sendBatchSizes.size() == 4) {
+                throw new IllegalStateException("send failed");
+            }
+            return null;
+        }).when(_sender).sendBatch(Mockito.any(Destination.class), Mockito.anyListOf(Message.class),
+                Mockito.anyLong());
+        List<ObjectData> documents = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            documents.add(createDocument(i, FIRST_DESTINATION));
+        }
+        SimpleOperationResponse response = ResponseUtil.getResponse(documents);
+
+        SendStrategy.transactedStrategy(_adapter, _sender, DOCUMENT_SIZE_THRESHOLD, 10).send(documents, response,
+                JMSConstants.DYNAMIC_DESTINATION_ID);
+
+        assertEquals(4, _sendBatchSizes.size());
+        for (int size : _sendBatchSizes) {
+            assertEquals(1, size);
+        }
+        Mockito.verify(_sender).rollback();
+        Mockito.verify(_sender, Mockito.never()).commit();
+        assertEquals(5, response.getResults().size());
+        for (SimpleOperationResult result : response.getResults()) {
+            assertEquals(OperationStatus.APPLICATION_ERROR, result.getStatus());
+            String payload = new String(result.getPayloads().get(0), StringUtil.UTF8_CHARSET);
+            assertTrue(payload.contains("\"errorDocumentIndex\":3"));
+        }
+    }
+
+    private void mockDestination(String name) {
+        TargetDestination targetDestination = Mockito.mock(TargetDestination.class);
+        Mockito.when(targetDestination.getDestinationName()).thenReturn(name);
+        Mockito.when(targetDestination.getDestinationType()).thenReturn(DestinationType.TEXT_MESSAGE);
+        Mockito.when(_adapter.createTargetDestination(name, DestinationType.TEXT_MESSAGE)).thenReturn(
+                targetDestination);
+        Mockito.when(_adapter.getDestination(Mockito.eq(name), Mockito.anyInt())).thenReturn(
+                Mockito.mock(Destination.class));
+    }
+
+    private static ObjectData createDocument(int id, String destination) {
+        MutableDynamicPropertyMap properties = new MutableDynamicPropertyMap();
+        properties.addProperty(JMSConstants.PROPERTY_DESTINATION, destination);
+        properties.addProperty(JMSConstants.PROPERTY_DESTINATION_TYPE, DestinationType.TEXT_MESSAGE.name());
+        return new SimpleTrackedData(id, new ByteArrayInputStream(("message " + id).getBytes(StringUtil.UTF8_CHARSET)),
+                null, null, properties);
+    }
+}
@@ -3,6 +3,7 @@ package com.boomi.connector.jmssdk.pool;
 
 import com.boomi.connector.api.PropertyMap;
 import com.boomi.connector.jmssdk.JMSTestContext;
+import com.boomi.connector.jmssdk.client.AdapterMetrics;
 import com.boomi.connector.jmssdk.client.GenericJndiBaseAdapter;
 import com.boomi.connector.jmssdk.client.settings.AdapterSettings;
 
@@ -86,4 +87,33 @@ public class AdapterPoolImplTest {
         // being released (true)
         verify(factoryMock, Mockito.times(2)).validateObject(adapterMock2);
     }
+
+    @Test
+    public void metricsTrackActiveAndIdleAdaptersTest() {
+        JMSTestContext context =
+                new JMSTestContext.Builder().withPoolEnabled().withVersion2().withGenericService().build();
+        PropertyMap connectionProperties = context.getConnectionProperties();
+        AdapterSettings settings = new AdapterSettings(connectionProperties,
+                new AdapterPoolSettings(connectionProperties));
+
+        AdapterFactory factoryMock = mock(AdapterFactory.class);
+        when(factoryMock.makeObject()).thenReturn(mock(GenericJndiBaseAdapter.class),
+                mock(GenericJndiBaseAdapter.class));
+        when(factoryMock.validateObject(Mockito.any(GenericJndiBaseAdapter.class))).thenReturn(true);
+        AdapterMetrics adapterMetrics = new AdapterMetrics();
+        adapterMetrics.recordAdapterCreated();
+        adapterMetrics.recordAdapterCreated();
+
+        AdapterPoolImpl adapterPool = new AdapterPoolImpl(settings, factoryMock, adapterMetrics);
+        GenericJndiBaseAdapter adapter1 = adapterPool.createAdapter();
+        GenericJndiBaseAdapter adapter2 = adapterPool.createAdapter();
+        adapterPool.releaseAdapter(adapter1);
+
+        AdapterPoolMetrics metrics = adapterPool.getMetrics();
+        assertThat(metrics.getActiveAdapters(), is(1));
+        assertThat(metrics.getIdleAdapters(), is(1));
+        assertThat(metrics.getAdaptersCreated(), is(2L));
+
+        adapterPool.releaseAdapter(adapter2);
+    }
 }
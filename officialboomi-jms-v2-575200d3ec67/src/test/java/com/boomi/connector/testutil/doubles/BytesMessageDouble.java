@@ -7,12 +7,14 @@ import com.boomi.util.StringUtil;
 import javax.jms.BytesMessage;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
 public class BytesMessageDouble extends MessageDouble implements BytesMessage {
 
     private final byte[] _payload;
     private final ByteArrayInputStream _stream;
+    private final ByteArrayOutputStream _writtenBytes = new ByteArrayOutputStream();
 
     public BytesMessageDouble(String destination, byte[] payload) {
         super(destination);
@@ -24,6 +26,15 @@ public class BytesMessageDouble extends MessageDouble implements BytesMessage {
         this(StringUtil.EMPTY_STRING, new byte[] {});
     }
 
+    /**
+     * Get the bytes written to the body of this message
+     *
+     * @return the written bytes
+     */
+    public byte[] getWrittenBytes() {
+        return _writtenBytes.toByteArray();
+    }
+
     @Override
     public long getBodyLength() {
         return _payload.length;
@@ -95,7 +106,10 @@ public class BytesMessageDouble extends MessageDouble implements BytesMessage {
 
     @Override
     public int readBytes(byte[] value, int length) {
-        throw new UnsupportedOperationException();
+        if (length > value.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        return _stream.read(value, 0, length);
     }
 
     @Override
@@ -145,12 +159,12 @@ public class BytesMessageDouble extends MessageDouble implements BytesMessage {
 
     @Override
     public void writeBytes(byte[] value) {
-        throw new UnsupportedOperationException();
+        _writtenBytes.write(value, 0, value.length);
     }
 
     @Override
     public void writeBytes(byte[] value, int offset, int length) {
-        throw new UnsupportedOperationException();
+        _writtenBytes.write(value, offset, length);
     }
 
     @Override
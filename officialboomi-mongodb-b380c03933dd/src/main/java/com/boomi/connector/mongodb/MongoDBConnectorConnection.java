@@ -37,11 +37,13 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.net.ssl.SSLContext;
 
+import org.bson.BsonDocument;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.bson.types.Decimal128;
@@ -95,13 +97,16 @@ import com.mongodb.bulk.BulkWriteError;
 import com.mongodb.bulk.BulkWriteResult;
 import com.mongodb.bulk.BulkWriteUpsert;
 import com.mongodb.bulk.WriteConcernError;
+import com.mongodb.client.ChangeStreamIterable;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoChangeStreamCursor;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.MongoIterable;
+import com.mongodb.client.model.Aggregates;
 import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.FindOneAndReplaceOptions;
@@ -112,6 +117,8 @@ import com.mongodb.client.model.ReplaceOptions;
 import com.mongodb.client.model.ReturnDocument;
 import com.mongodb.client.model.Sorts;
 import com.mongodb.client.model.WriteModel;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
 import com.mongodb.connection.ClusterSettings;
 import com.mongodb.connection.ClusterSettings.Builder;
 import com.mongodb.connection.SslSettings;
@@ -126,6 +133,9 @@ public class MongoDBConnectorConnection extends BaseConnection {
 	/** The logger. */
 	public static final Logger logger = Logger.getLogger(MongoDBConnectorConnection.class.getName());
 
+	/** The number of sampled documents per range when splitting a collection. */
+	private static final int PARTITION_SAMPLES_PER_RANGE = 20;
+
 	/** The exceptions termed failure. */
 	@SuppressWarnings("rawtypes")
 	private static List<Class> exceptionsTermedFailures = initListOfExceptionsTermedFailure();
@@ -982,7 +992,7 @@ public class MongoDBConnectorConnection extends BaseConnection {
 
 	/**
 	 * Prepare input configuration using
-	 * {@linkQUERY_BATCHSIZE,DEFAULTMAXRETRY,INCLUDE_SIZE_EXCEEDED_PAYLOAD}.
+	 * {@linkQUERY_BATCHSIZE,DEFAULTMAXRETRY,INCLUDE_SIZE_EXCEEDED_PAYLOAD,MAX_IN_FLIGHT_BATCHES}.
 	 *
 	 * @param operationContext the operation context
 	 * @param responseLogger   the response logger
@@ -1005,6 +1015,10 @@ public class MongoDBConnectorConnection extends BaseConnection {
 		inputConfig.put(MongoDBConstants.IS_UPSERT_OPERATION,
 				OperationType.UPSERT.equals(operationContext.getOperationType()));
 		inputConfig.put(MongoDBConstants.INCLUDE_SIZE_EXCEEDED_PAYLOAD, includeSizeLimit);
+		Long maxInFlightBatches = operationProperties.getLongProperty(MongoDBConstants.MAX_IN_FLIGHT_BATCHES,
+				MongoDBConstants.DEFAULT_MAX_IN_FLIGHT_BATCHES);
+		inputConfig.put(MongoDBConstants.MAX_IN_FLIGHT_BATCHES,
+				(null == maxInFlightBatches || maxInFlightBatches < 1L) ? 1 : maxInFlightBatches.intValue());
 		return inputConfig;
 	}
 
@@ -1241,6 +1255,131 @@ public class MongoDBConnectorConnection extends BaseConnection {
 		return resultCursor;
 	}
 
+	/**
+	 * Performs the query like {@link #doQuery} but splits the collection into
+	 * ranges of the partition field that are read concurrently. The documents
+	 * of the ranges are interleaved as they are read, sorted within each range
+	 * by the sort keys, or by the partition field when no sort keys are
+	 * provided. Falls back to a single cursor when the collection cannot be
+	 * split.
+	 *
+	 * @param collectionName the collection name
+	 * @param bsonFilter     the bson filter
+	 * @param bsonprojection the bsonprojection
+	 * @param sortKeys       the sort keys
+	 * @param batchSize      the batch size
+	 * @param partitionField the indexed, single valued field the collection is
+	 *                       split on
+	 * @param partitions     the number of ranges
+	 * @return the mongo cursor
+	 */
+	public MongoCursor<Document> doPartitionedQuery(String collectionName, Bson bsonFilter, Bson bsonprojection,
+			Bson sortKeys, int batchSize, String partitionField, int partitions) {
+		MongoCollection<Document> coll = getCollection(collectionName);
+		List<Object> boundaries = findPartitionBoundaries(coll, partitionField, partitions);
+		if (boundaries.isEmpty()) {
+			return doQuery(collectionName, bsonFilter, bsonprojection, sortKeys, batchSize);
+		}
+		Bson finalFilter = DocumentUtil.buildFilterWithMaxDocumentSize(getContext().getConfig(), bsonFilter);
+		Bson partitionSort = (null != sortKeys) ? sortKeys : Sorts.ascending(partitionField);
+		List<FindIterable<Document>> partitionQueries = new ArrayList<>();
+		for (Bson range : buildPartitionRanges(partitionField, boundaries)) {
+			FindIterable<Document> result = coll.find(Filters.and(finalFilter, range)).sort(partitionSort)
+					.batchSize(batchSize);
+			if (null != bsonprojection) {
+				result.projection(bsonprojection);
+			}
+			partitionQueries.add(result);
+		}
+		String logMessage = new StringBuffer("Querying collection ").append(collectionName).append(" in ")
+				.append(partitionQueries.size()).append(" ranges of ").append(partitionField).toString();
+		logger.log(Level.INFO, logMessage);
+		return new PartitionedCursor(partitionQueries, batchSize);
+	}
+
+	/**
+	 * Finds the values of the partition field splitting the collection into
+	 * ranges of about the same number of documents, from a random sample of the
+	 * collection. The ranges can only be built on values of a single type, so no
+	 * boundaries are returned when the sample holds values of different types.
+	 *
+	 * @param coll           the collection
+	 * @param partitionField the partition field
+	 * @param partitions     the number of ranges
+	 * @return the ascending boundaries, empty if the collection cannot be split
+	 */
+	List<Object> findPartitionBoundaries(MongoCollection<Document> coll, String partitionField, int partitions) {
+		List<Object> samples = new ArrayList<>();
+		List<Bson> pipeline = Arrays.asList(Aggregates.sample(partitions * PARTITION_SAMPLES_PER_RANGE),
+				Aggregates.project(Projections.include(partitionField)),
+				Aggregates.sort(Sorts.ascending(partitionField)));
+		List<String> fieldPath = Arrays.asList(partitionField.split("\\."));
+		for (Document sample : coll.aggregate(pipeline).allowDiskUse(true)) {
+			Object value = sample.getEmbedded(fieldPath, Object.class);
+			if (null != value) {
+				if (!samples.isEmpty() && !samples.get(0).getClass().equals(value.getClass())) {
+					return new ArrayList<>();
+				}
+				samples.add(value);
+			}
+		}
+		List<Object> boundaries = new ArrayList<>();
+		for (int range = 1; range < partitions && !samples.isEmpty(); range++) {
+			Object boundary = samples.get(range * samples.size() / partitions);
+			if (boundaries.isEmpty() || !boundaries.get(boundaries.size() - 1).equals(boundary)) {
+				boundaries.add(boundary);
+			}
+		}
+		return boundaries;
+	}
+
+	/**
+	 * Builds the filters of the ranges delimited by the given boundaries. The
+	 * first range matches every document that is not in a later range, including
+	 * documents whose partition field is missing or of another type, so the
+	 * ranges together always cover the whole collection.
+	 *
+	 * @param partitionField the partition field
+	 * @param boundaries     the ascending boundaries
+	 * @return the range filters
+	 */
+	static List<Bson> buildPartitionRanges(String partitionField, List<Object> boundaries) {
+		List<Bson> ranges = new ArrayList<>();
+		ranges.add(Filters.nor(Filters.gte(partitionField, boundaries.get(0))));
+		for (int index = 0; index < boundaries.size(); index++) {
+			Bson lowerBound = Filters.gte(partitionField, boundaries.get(index));
+			if (index + 1 < boundaries.size()) {
+				ranges.add(Filters.and(lowerBound, Filters.lt(partitionField, boundaries.get(index + 1))));
+			} else {
+				ranges.add(lowerBound);
+			}
+		}
+		return ranges;
+	}
+
+	/**
+	 * Opens a change stream on the given collection. Update events carry the
+	 * current version of the changed document. When a resume token is provided
+	 * the stream continues right after the event the token belongs to.
+	 *
+	 * @param collectionName the collection name
+	 * @param pipeline       the aggregation stages filtering the change events
+	 * @param resumeToken    the resume token, null to start from the current time
+	 * @param batchSize      the batch size
+	 * @param maxAwaitTime   the maximum time in milliseconds to wait for new events
+	 * @return the change stream cursor
+	 */
+	public MongoChangeStreamCursor<ChangeStreamDocument<Document>> doWatch(String collectionName, List<Bson> pipeline,
+			BsonDocument resumeToken, int batchSize, long maxAwaitTime) {
+		ChangeStreamIterable<Document> changeStream = getCollection(collectionName).watch(pipeline)
+				.fullDocument(FullDocument.UPDATE_LOOKUP).batchSize(batchSize)
+				.maxAwaitTime(maxAwaitTime, TimeUnit.MILLISECONDS);
+		if (null != resumeToken) {
+			changeStream = changeStream.resumeAfter(resumeToken);
+		}
+		return changeStream.cursor();
+	}
+
 	/**
 	 * Prepares the list of documents that has to be replaced by the current ones
 	 * present in the given collection of a database.
@@ -7,21 +7,25 @@ import com.boomi.connector.api.GroupingExpression;
 import com.boomi.connector.api.GroupingOperator;
 import com.boomi.connector.api.ObjectDefinitionRole;
 import com.boomi.connector.api.OperationResponse;
+import com.boomi.connector.api.PropertyMap;
 import com.boomi.connector.api.QueryFilter;
 import com.boomi.connector.api.QueryRequest;
 import com.boomi.connector.api.ResponseUtil;
 import com.boomi.connector.api.SimpleExpression;
 import com.boomi.connector.api.Sort;
+import com.boomi.connector.mongodb.actions.RetryableChangeStreamOperation;
 import com.boomi.connector.mongodb.actions.RetryableQueryOperation;
 import com.boomi.connector.mongodb.constants.DataTypes;
 import com.boomi.connector.mongodb.constants.MongoDBConstants;
 import com.boomi.connector.mongodb.exception.MongoDBConnectException;
 import com.boomi.connector.mongodb.util.ProfileUtils;
 import com.boomi.connector.mongodb.util.QueryOperationUtil;
+import com.boomi.connector.mongodb.util.ResumeTokenStore;
 import com.boomi.connector.util.BaseQueryOperation;
 import com.boomi.util.StringUtil;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
+import com.mongodb.client.model.Aggregates;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.Projections;
 import com.mongodb.client.model.Sorts;
@@ -124,6 +128,11 @@ public class MongoDBConnectorQueryOperation extends BaseQueryOperation {
         String objectTypeId = getContext().getObjectTypeId();
         String objectIdType = null;
         Map<String, Object> inputConfig = getConnection().prepareInputConfig(getContext(), response.getLogger());
+        if (MongoDBConstants.QUERY_MODE_CHANGE_STREAM.equals(
+                getContext().getOperationProperties().getProperty(MongoDBConstants.QUERY_MODE))) {
+            executeChangeStreamQuery(request, response, inputConfig);
+            return;
+        }
         prepareProjections(inputConfig);
         FilterData requestData = request.getFilter();
         QueryFilter filterData = requestData.getFilter();
@@ -147,6 +156,7 @@ public class MongoDBConnectorQueryOperation extends BaseQueryOperation {
             inputConfig.put(MongoDBConstants.QUERY_FILTER, bsonFilter);
             Bson sortSpecs = constructSortSpecs(filterData);
             inputConfig.put(MongoDBConstants.SORT_SPEC, sortSpecs);
+            preparePartitions(inputConfig);
             RetryableQueryOperation operation = new RetryableQueryOperation(requestData, getConnection(), objectTypeId,
                     response, inputConfig, objectIdType, getContext());
             operation.execute();
@@ -160,6 +170,81 @@ public class MongoDBConnectorQueryOperation extends BaseQueryOperation {
         }
     }
 
+    /**
+     * Adds the number of ranges and the field the collection is split on when
+     * the query reads the collection in parallel ranges.
+     *
+     * @param inputConfig the input config
+     */
+    private void preparePartitions(Map<String, Object> inputConfig) {
+        PropertyMap operationProperties = getContext().getOperationProperties();
+        Long partitions = operationProperties.getLongProperty(MongoDBConstants.QUERY_PARTITIONS,
+                MongoDBConstants.DEFAULT_QUERY_PARTITIONS);
+        String partitionField = operationProperties.getProperty(MongoDBConstants.PARTITION_FIELD);
+        inputConfig.put(MongoDBConstants.QUERY_PARTITIONS, (null == partitions || partitions < 1L) ? 1
+                : partitions.intValue());
+        inputConfig.put(MongoDBConstants.PARTITION_FIELD,
+                StringUtil.isBlank(partitionField) ? MongoDBConstants.ID_FIELD_NAME : partitionField.trim());
+    }
+
+    /**
+     * Returns the changes made to the collection since the previous execution
+     * using a MongoDB change stream instead of scanning the collection.
+     *
+     * @param request     the request
+     * @param response    the response
+     * @param inputConfig the input config
+     */
+    private void executeChangeStreamQuery(QueryRequest request, OperationResponse response,
+            Map<String, Object> inputConfig) {
+        String objectTypeId = getContext().getObjectTypeId();
+        PropertyMap operationProperties = getContext().getOperationProperties();
+        FilterData requestData = request.getFilter();
+        try {
+            inputConfig.put(MongoDBConstants.CHANGE_STREAM_PIPELINE, buildChangeStreamPipeline(operationProperties));
+            inputConfig.put(MongoDBConstants.CHANGE_STREAM_MAX_EVENTS, operationProperties.getLongProperty(
+                    MongoDBConstants.CHANGE_STREAM_MAX_EVENTS, MongoDBConstants.DEFAULT_CHANGE_STREAM_MAX_EVENTS));
+            inputConfig.put(MongoDBConstants.CHANGE_STREAM_MAX_AWAIT_TIME, operationProperties.getLongProperty(
+                    MongoDBConstants.CHANGE_STREAM_MAX_AWAIT_TIME,
+                    MongoDBConstants.DEFAULT_CHANGE_STREAM_MAX_AWAIT_TIME));
+            ResumeTokenStore tokenStore = new ResumeTokenStore(getConnection().getMongoDB(),
+                    operationProperties.getProperty(MongoDBConstants.RESUME_TOKEN_COLLECTION,
+                            MongoDBConstants.DEFAULT_RESUME_TOKEN_COLLECTION));
+            String resumeTokenKey = operationProperties.getProperty(MongoDBConstants.RESUME_TOKEN_KEY);
+            if (StringUtil.isBlank(resumeTokenKey)) {
+                resumeTokenKey = objectTypeId;
+            }
+            RetryableChangeStreamOperation operation = new RetryableChangeStreamOperation(requestData,
+                    getConnection(), objectTypeId, response, inputConfig, tokenStore, resumeTokenKey, getContext());
+            operation.execute();
+        } catch (Exception e) {
+            ResponseUtil.addExceptionFailure(response, requestData, e);
+        } finally {
+            getConnection().closeConnection();
+        }
+    }
+
+    /**
+     * Builds the aggregation stages filtering the change events on the selected
+     * operation types and on the additional match expression.
+     *
+     * @param operationProperties the operation properties
+     * @return the pipeline
+     */
+    static List<Bson> buildChangeStreamPipeline(PropertyMap operationProperties) {
+        List<Bson> pipeline = new ArrayList<>();
+        String operationTypes = operationProperties.getProperty(MongoDBConstants.CHANGE_STREAM_OPERATION_TYPES);
+        if (StringUtil.isNotBlank(operationTypes)) {
+            pipeline.add(Aggregates.match(Filters.in(MongoDBConstants.OPERATION_TYPE_FIELD,
+                    Arrays.asList(operationTypes.trim().split(MongoDBConstants.REGEX_CSV_FORMAT)))));
+        }
+        String eventFilter = operationProperties.getProperty(MongoDBConstants.CHANGE_STREAM_FILTER);
+        if (StringUtil.isNotBlank(eventFilter)) {
+            pipeline.add(Aggregates.match(Document.parse(eventFilter)));
+        }
+        return pipeline;
+    }
+
     /**
      * Gets the sort spec.
      *
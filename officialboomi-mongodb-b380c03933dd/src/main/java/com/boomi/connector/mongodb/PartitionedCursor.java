@@ -0,0 +1,191 @@
+// Copyright (c) 2025 Boomi, Inc.
+package com.boomi.connector.mongodb;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.bson.Document;
+
+import com.mongodb.MongoException;
+import com.mongodb.MongoInterruptedException;
+import com.mongodb.ServerAddress;
+import com.mongodb.ServerCursor;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCursor;
+
+/**
+ * Cursor over a collection split into ranges. Every range is read concurrently
+ * by its own server cursor into a buffer shared by all the ranges, so every
+ * range keeps progressing and no server cursor is left idle while another range
+ * is returned. The documents of the ranges are interleaved in the order they
+ * are read, while the documents of each range keep the sort order within the
+ * range. At most {@code bufferSize} documents per range are held in memory.
+ *
+ */
+public class PartitionedCursor implements MongoCursor<Document> {
+
+	/** Marks the end of the documents of a range. */
+	private static final Object END_OF_PARTITION = new Object();
+
+	/** The buffered documents of all the ranges. */
+	private final BlockingQueue<Object> buffer;
+
+	/** The executor reading the ranges. */
+	private final ExecutorService executor;
+
+	/** The number of ranges. */
+	private final int partitionCount;
+
+	/** The number of ranges not yet read to the end. */
+	private int remainingPartitions;
+
+	/** The next document to return. */
+	private Document nextDocument;
+
+	/**
+	 * Instantiates a new partitioned cursor and starts reading all the ranges.
+	 *
+	 * @param partitions the queries for each range, in the order they are returned
+	 * @param bufferSize the number of documents buffered per range
+	 */
+	public PartitionedCursor(List<FindIterable<Document>> partitions, int bufferSize) {
+		partitionCount = partitions.size();
+		remainingPartitions = partitionCount;
+		buffer = new ArrayBlockingQueue<>(Math.max(1, bufferSize) * Math.max(1, partitionCount));
+		executor = Executors.newFixedThreadPool(Math.max(1, partitionCount));
+		for (final FindIterable<Document> partition : partitions) {
+			executor.execute(() -> readPartition(partition, buffer));
+		}
+		executor.shutdown();
+	}
+
+	/**
+	 * Reads all the documents of a range into the shared buffer, followed by the
+	 * end marker or by the throwable that stopped the read, errors included, so
+	 * the cursor never waits for a range that stopped. The server cursor of the
+	 * range is only opened once the read starts.
+	 *
+	 * @param partition the query for the range
+	 * @param buffer    the buffer
+	 */
+	private static void readPartition(FindIterable<Document> partition, BlockingQueue<Object> buffer) {
+		Object last = END_OF_PARTITION;
+		try (MongoCursor<Document> cursor = partition.iterator()) {
+			while (cursor.hasNext()) {
+				buffer.put(cursor.next());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return;
+		} catch (Throwable t) {
+			last = t;
+		}
+		try {
+			buffer.put(last);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Checks if another document is available, waiting for any of the ranges
+	 * still being read if needed.
+	 *
+	 * @return true, if successful
+	 */
+	@Override
+	public boolean hasNext() {
+		while (null == nextDocument && remainingPartitions > 0) {
+			Object item = take(buffer);
+			if (END_OF_PARTITION == item) {
+				remainingPartitions--;
+			} else if (item instanceof RuntimeException) {
+				close();
+				throw (RuntimeException) item;
+			} else if (item instanceof Throwable) {
+				close();
+				throw new MongoException("Failed to read a range of the collection", (Throwable) item);
+			} else {
+				nextDocument = (Document) item;
+			}
+		}
+		return null != nextDocument;
+	}
+
+	/**
+	 * Takes the next item from the given buffer.
+	 *
+	 * @param buffer the buffer
+	 * @return the item
+	 */
+	private static Object take(BlockingQueue<Object> buffer) {
+		try {
+			return buffer.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new MongoInterruptedException("Interrupted while waiting for the next document", e);
+		}
+	}
+
+	@Override
+	public Document next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		Document document = nextDocument;
+		nextDocument = null;
+		return document;
+	}
+
+	@Override
+	public Document tryNext() {
+		return hasNext() ? next() : null;
+	}
+
+	@Override
+	public int available() {
+		int available = (null == nextDocument) ? 0 : 1;
+		if (remainingPartitions > 0) {
+			for (Object item : buffer) {
+				if (item instanceof Document) {
+					available++;
+				}
+			}
+		}
+		return available;
+	}
+
+	/**
+	 * Stops reading the ranges, which closes their server cursors.
+	 */
+	@Override
+	public void close() {
+		executor.shutdownNow();
+		remainingPartitions = 0;
+		nextDocument = null;
+		buffer.clear();
+	}
+
+	@Override
+	public ServerCursor getServerCursor() {
+		return null;
+	}
+
+	@Override
+	public ServerAddress getServerAddress() {
+		return null;
+	}
+
+	/**
+	 * Gets the number of ranges.
+	 *
+	 * @return the number of ranges
+	 */
+	public int getPartitionCount() {
+		return partitionCount;
+	}
+}
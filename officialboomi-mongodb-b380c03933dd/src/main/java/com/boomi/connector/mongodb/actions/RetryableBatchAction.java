@@ -0,0 +1,178 @@
+// Copyright (c) 2020 Boomi, LP
+package com.boomi.connector.mongodb.actions;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+
+import com.boomi.connector.api.OperationResponse;
+import com.boomi.connector.mongodb.BatchDocuments;
+import com.boomi.connector.mongodb.MongoDBConnectorConnection;
+import com.boomi.connector.mongodb.TrackedDataWrapper;
+import com.boomi.connector.mongodb.bean.BatchResult;
+import com.boomi.connector.mongodb.constants.MongoDBConstants;
+
+/**
+ * Base class for the retryable operations writing their input in batches.
+ */
+public abstract class RetryableBatchAction extends RetryableAction {
+
+	/**
+	 * Instantiates a new retryable batch action.
+	 *
+	 * @param connection the connection
+	 * @param collectionName the collection name
+	 * @param response the response
+	 * @param inputConfig the input config
+	 */
+	RetryableBatchAction(MongoDBConnectorConnection connection, String collectionName, OperationResponse response,
+			Map<String, Object> inputConfig) {
+		super(connection, collectionName, response, inputConfig);
+	}
+
+	/**
+	 * Writes the batches of the given input keeping up to
+	 * {@link #getMaxInFlightBatches()} batches in flight on the shared client.
+	 * Input is still parsed on the calling thread and the response for each batch
+	 * is recorded in the order the batches were read, so the write errors of a
+	 * batch are always mapped against that batch by
+	 * {@link MongoDBConnectorConnection#processError}.
+	 *
+	 * @param input the batched input
+	 */
+	void executeConcurrently(BatchDocuments input) {
+		int maxInFlight = getMaxInFlightBatches();
+		// resolve the collection before the writers start, the connection caches it lazily
+		getConnection().getCollection(getCollectionName());
+		ExecutorService executor = Executors.newFixedThreadPool(maxInFlight);
+		Deque<InFlightBatch> inFlight = new ArrayDeque<>();
+		long startTime = System.currentTimeMillis();
+		int batchCount = 0;
+		int docCount = 0;
+		try {
+			while (input.hasNext()) {
+				if (inFlight.size() >= maxInFlight) {
+					docCount += completeBatch(inFlight.poll(), input);
+				}
+				final List<TrackedDataWrapper> batch = input.next();
+				inFlight.add(new InFlightBatch(batch, executor.submit(() -> doExecute(batch))));
+				batchCount++;
+			}
+			while (!inFlight.isEmpty()) {
+				docCount += completeBatch(inFlight.poll(), input);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		long elapsed = Math.max(1L, System.currentTimeMillis() - startTime);
+		String logMessage = new StringBuffer("Wrote ").append(docCount).append(" documents in ").append(batchCount)
+				.append(" batches with up to ").append(maxInFlight).append(" batches in flight in ").append(elapsed)
+				.append(MongoDBConstants.TIME_UNIT_MILLISEC).append(" (").append(docCount * 1000L / elapsed)
+				.append(" documents/sec)").toString();
+		getResponse().getLogger().log(Level.INFO, logMessage);
+	}
+
+	/**
+	 * Waits for the write of the given batch to finish and updates the operation
+	 * response for it.
+	 *
+	 * @param inFlightBatch the in flight batch
+	 * @param input         the batched input
+	 * @return the number of documents in the batch
+	 */
+	private int completeBatch(InFlightBatch inFlightBatch, BatchDocuments input) {
+		List<TrackedDataWrapper> batch = inFlightBatch.getBatch();
+		BatchResult unsuccessfulRecordsResult = new BatchResult();
+		Exception ex = null;
+		try {
+			inFlightBatch.getWrite().get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			ex = e;
+		} catch (ExecutionException e) {
+			ex = (e.getCause() instanceof Exception) ? (Exception) e.getCause() : e;
+			handleBatchException(ex, batch, unsuccessfulRecordsResult);
+		} finally {
+			getConnection().updateOperationResponse(getResponse(), ex, batch, input, unsuccessfulRecordsResult);
+		}
+		return batch.size();
+	}
+
+	/**
+	 * Hook for operations that need to record additional failure details when
+	 * the write of a batch throws.
+	 *
+	 * @param ex                        the exception thrown by the write
+	 * @param batch                     the batch
+	 * @param unsuccessfulRecordsResult the unsuccessful records result
+	 */
+	void handleBatchException(Exception ex, List<TrackedDataWrapper> batch, BatchResult unsuccessfulRecordsResult) {
+		// no additional details by default
+	}
+
+	/**
+	 * Writes the given batch.
+	 *
+	 * @param batch the batch
+	 */
+	abstract void doExecute(List<TrackedDataWrapper> batch);
+
+	/**
+	 * Gets the maximum number of batches written concurrently.
+	 *
+	 * @return the max in flight batches, at least 1
+	 */
+	public int getMaxInFlightBatches() {
+		Object maxInFlightBatches = getInputConfig().get(MongoDBConstants.MAX_IN_FLIGHT_BATCHES);
+		return (maxInFlightBatches instanceof Integer) ? Math.max(1, (Integer) maxInFlightBatches) : 1;
+	}
+
+	/**
+	 * A batch whose write has been submitted but not yet recorded in the
+	 * response.
+	 */
+	private static class InFlightBatch {
+
+		/** The batch. */
+		private final List<TrackedDataWrapper> batch;
+
+		/** The pending write. */
+		private final Future<?> write;
+
+		/**
+		 * Instantiates a new in flight batch.
+		 *
+		 * @param batch the batch
+		 * @param write the pending write
+		 */
+		InFlightBatch(List<TrackedDataWrapper> batch, Future<?> write) {
+			this.batch = batch;
+			this.write = write;
+		}
+
+		/**
+		 * Gets the batch.
+		 *
+		 * @return the batch
+		 */
+		List<TrackedDataWrapper> getBatch() {
+			return batch;
+		}
+
+		/**
+		 * Gets the pending write.
+		 *
+		 * @return the write
+		 */
+		Future<?> getWrite() {
+			return write;
+		}
+	}
+
+}
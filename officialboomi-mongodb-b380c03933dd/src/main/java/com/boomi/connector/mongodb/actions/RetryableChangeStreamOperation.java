@@ -0,0 +1,254 @@
+// Copyright (c) 2025 Boomi, Inc.
+package com.boomi.connector.mongodb.actions;
+
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import com.boomi.connector.api.ConnectorException;
+import com.boomi.connector.api.FilterData;
+import com.boomi.connector.api.OperationContext;
+import com.boomi.connector.api.OperationResponse;
+import com.boomi.connector.api.OperationStatus;
+import com.boomi.connector.api.Payload;
+import com.boomi.connector.api.ResponseUtil;
+import com.boomi.connector.mongodb.MongoDBConnectorConnection;
+import com.boomi.connector.mongodb.bean.ErrorDetails;
+import com.boomi.connector.mongodb.bean.OutputDocument;
+import com.boomi.connector.mongodb.constants.MongoDBConstants;
+import com.boomi.connector.mongodb.util.DocumentUtil;
+import com.boomi.connector.mongodb.util.ErrorUtils;
+import com.boomi.connector.mongodb.util.MongoDBConnectorPayloadUtil;
+import com.boomi.connector.mongodb.util.ResumeTokenStore;
+import com.boomi.util.IOUtil;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.UpdateDescription;
+
+/**
+ * Implements logic for the change stream query, which returns the changes made
+ * to a collection since the previous execution. The resume token of the last
+ * completed batch is persisted once the emitted events have been handed off,
+ * so a failed execution is resumed from the last completed batch.
+ *
+ */
+public class RetryableChangeStreamOperation extends RetryableAction {
+
+	/** The request. */
+	private final FilterData request;
+
+	/** The OperationContext type. */
+	private final OperationContext operationContext;
+
+	/** The resume token store. */
+	private final ResumeTokenStore tokenStore;
+
+	/** The key the resume token is stored under. */
+	private final String resumeTokenKey;
+
+	/** The number of events emitted by the current execution. */
+	private int emittedEvents;
+
+	/** The resume token of the last completed batch, persisted once its events are handed off. */
+	private BsonDocument checkpointToken;
+
+	/**
+	 * Instantiates a new retryable change stream operation.
+	 *
+	 * @param request          the request
+	 * @param connection       the connection
+	 * @param collectionName   the collection name
+	 * @param response         the response
+	 * @param inputConfig      the input config
+	 * @param tokenStore       the resume token store
+	 * @param resumeTokenKey   the key the resume token is stored under
+	 * @param operationContext the operation context
+	 */
+	public RetryableChangeStreamOperation(FilterData request, MongoDBConnectorConnection connection,
+			String collectionName, OperationResponse response, Map<String, Object> inputConfig,
+			ResumeTokenStore tokenStore, String resumeTokenKey, OperationContext operationContext) {
+		super(connection, collectionName, response, inputConfig);
+		this.request = request;
+		this.tokenStore = tokenStore;
+		this.resumeTokenKey = resumeTokenKey;
+		this.operationContext = operationContext;
+	}
+
+	/**
+	 * Executes the change stream query.
+	 */
+	@Override
+	public void execute() {
+		MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = null;
+		emittedEvents = 0;
+		checkpointToken = null;
+		boolean isHandedOff;
+		try {
+			cursor = getConnection().doWatch(getCollectionName(), getPipeline(), tokenStore.load(resumeTokenKey),
+					getBatchSize(), (long) getInputConfig().get(MongoDBConstants.CHANGE_STREAM_MAX_AWAIT_TIME));
+			emitChanges(cursor);
+			if (emittedEvents == 0) {
+				ResponseUtil.addEmptySuccess(getResponse(), request, MongoDBConstants.STATUS_CODE_SUCCESS);
+			} else {
+				getResponse().finishPartialResult(request);
+			}
+			isHandedOff = true;
+		} catch (Exception e) {
+			if (emittedEvents == 0) {
+				getConnection().updateQueryResponse(null, request, getResponse(),
+						getConnection().processQueryError(e), operationContext);
+				isHandedOff = false;
+			} else {
+				addPartialFailure(getConnection().processQueryError(e));
+				isHandedOff = true;
+			}
+		} finally {
+			IOUtil.closeQuietly(cursor);
+		}
+		if (isHandedOff) {
+			checkpoint();
+		}
+	}
+
+	/**
+	 * Emits the available change events as partial results, counting them as
+	 * they are emitted, and keeps the resume token of every completed batch and
+	 * of the drained stream as the token to checkpoint.
+	 *
+	 * @param cursor the change stream cursor
+	 */
+	private void emitChanges(MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor) {
+		int batchSize = getBatchSize();
+		long maxEvents = (long) getInputConfig().get(MongoDBConstants.CHANGE_STREAM_MAX_EVENTS);
+		int eventsInBatch = 0;
+		int batchCount = 0;
+		ChangeStreamDocument<Document> change;
+		while ((maxEvents <= 0 || emittedEvents < maxEvents) && null != (change = cursor.tryNext())) {
+			try (Payload payload = DocumentUtil.toPayLoad(toEventDocument(change))) {
+				getResponse().addPartialResult(request, OperationStatus.SUCCESS, MongoDBConstants.STATUS_CODE_SUCCESS,
+						MongoDBConstants.STATUS_MESSAGE_SUCCESS, payload);
+			} catch (Exception e) {
+				throw new ConnectorException(e);
+			}
+			emittedEvents++;
+			if (++eventsInBatch >= batchSize) {
+				keepResumeToken(cursor.getResumeToken());
+				String logMessage = new StringBuffer("Total number of change events in batch :").append(++batchCount)
+						.append(" are ").append(eventsInBatch).toString();
+				getResponse().getLogger().log(Level.INFO, logMessage);
+				eventsInBatch = 0;
+			}
+		}
+		keepResumeToken(cursor.getResumeToken());
+	}
+
+	/**
+	 * Keeps the given resume token as the token to checkpoint.
+	 *
+	 * @param resumeToken the resume token
+	 */
+	private void keepResumeToken(BsonDocument resumeToken) {
+		if (null != resumeToken) {
+			checkpointToken = resumeToken;
+		}
+	}
+
+	/**
+	 * Persists the resume token of the last completed batch. A failure is only
+	 * logged, as the results have already been handed off and the next
+	 * execution then resumes from the previous checkpoint.
+	 */
+	private void checkpoint() {
+		if (null == checkpointToken) {
+			return;
+		}
+		try {
+			tokenStore.save(resumeTokenKey, checkpointToken);
+		} catch (Exception e) {
+			getResponse().getLogger().log(Level.WARNING, "Unable to save the change stream resume token", e);
+		}
+	}
+
+	/**
+	 * Adds a failure to the partial results that have already been emitted and
+	 * finishes them.
+	 *
+	 * @param errorDetails the error details
+	 */
+	private void addPartialFailure(ErrorDetails errorDetails) {
+		try (Payload payload = MongoDBConnectorPayloadUtil
+				.toPayload(new OutputDocument(OperationStatus.FAILURE, errorDetails))) {
+			getResponse().addPartialResult(request, OperationStatus.FAILURE, ErrorUtils.fetchErrorCode(errorDetails),
+					errorDetails.getErrorMessage(), payload);
+		} catch (Exception e) {
+			throw new ConnectorException(e);
+		} finally {
+			getResponse().finishPartialResult(request);
+		}
+	}
+
+	/**
+	 * Converts a change event to the document returned by the operation.
+	 *
+	 * @param change the change event
+	 * @return the document
+	 */
+	static Document toEventDocument(ChangeStreamDocument<Document> change) {
+		Document event = new Document(MongoDBConstants.OPERATION_TYPE_FIELD, change.getOperationTypeString());
+		event.append(MongoDBConstants.DOCUMENT_KEY_FIELD, change.getDocumentKey());
+		if (null != change.getFullDocument()) {
+			event.append(MongoDBConstants.FULL_DOCUMENT_FIELD, change.getFullDocument());
+		}
+		UpdateDescription updateDescription = change.getUpdateDescription();
+		if (null != updateDescription) {
+			event.append(MongoDBConstants.UPDATED_FIELDS_FIELD, updateDescription.getUpdatedFields());
+			event.append(MongoDBConstants.REMOVED_FIELDS_FIELD, updateDescription.getRemovedFields());
+		}
+		if (null != change.getClusterTime()) {
+			event.append(MongoDBConstants.CLUSTER_TIME_FIELD, change.getClusterTime());
+		}
+		return event;
+	}
+
+	/**
+	 * Gets the aggregation stages filtering the change events.
+	 *
+	 * @return the pipeline
+	 */
+	@SuppressWarnings("unchecked")
+	private List<Bson> getPipeline() {
+		return (List<Bson>) getInputConfig().get(MongoDBConstants.CHANGE_STREAM_PIPELINE);
+	}
+
+	/**
+	 * Gets the batch size.
+	 *
+	 * @return the batch size
+	 */
+	private int getBatchSize() {
+		return Math.max(1, (int) getInputConfig().get(MongoDBConstants.QUERY_BATCHSIZE));
+	}
+
+	/**
+	 * Gets the request.
+	 *
+	 * @return the request
+	 */
+	public FilterData getRequest() {
+		return request;
+	}
+
+	/**
+	 * overridden method of RetryableAction.
+	 */
+	@Override
+	void doExecute() {
+		throw new UnsupportedOperationException(
+				"The change stream is read by execute() instead of implementing the overridden method");
+	}
+
+}
@@ -19,7 +19,7 @@ import com.mongodb.MongoException;
  * Implement logic for retryable create operation.
  *
  */
-public class RetryableCreateOperation extends RetryableAction {
+public class RetryableCreateOperation extends RetryableBatchAction {
 
 	/**
 	 * Instantiates a new retryable create operation.
@@ -48,6 +48,10 @@ public class RetryableCreateOperation extends RetryableAction {
 		Exception ex = null;
 		List<TrackedDataWrapper> batch = null;
 		BatchDocuments input = (BatchDocuments) getInputWrapper();
+		if (getMaxInFlightBatches() > 1) {
+			executeConcurrently(input);
+			return;
+		}
 		BatchResult unsuccessfulRecordsResult = new BatchResult();
 		while (input.hasNext())
 		{
@@ -72,6 +76,7 @@ public class RetryableCreateOperation extends RetryableAction {
 	 * @param batch the batch
 	 * @throws MongoException the mongo exception
 	 */
+	@Override
 	void doExecute(List<TrackedDataWrapper> batch) {
 		getConnection().doCreate(batch, getCollectionName());
 	}
@@ -19,7 +19,7 @@ import com.mongodb.MongoException;
  * Implements logic for retryable delete operation
  * 
  */
-public class RetryableDeleteOperation extends RetryableAction {
+public class RetryableDeleteOperation extends RetryableBatchAction {
 
 	/** The object type id. */
 	private final String objectTypeId;
@@ -79,6 +79,7 @@ public class RetryableDeleteOperation extends RetryableAction {
 	 * @param batch the batch
 	 * @throws MongoException the mongo exception
 	 */
+	@Override
 	void doExecute(List<TrackedDataWrapper> batch) {
 		getConnection().doDelete(batch, objectTypeId);
 	}
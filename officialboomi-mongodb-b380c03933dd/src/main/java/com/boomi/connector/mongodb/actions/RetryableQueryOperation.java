@@ -84,8 +84,16 @@ public class RetryableQueryOperation extends RetryableAction {
 	 */
 	@Override
 	void doExecute() {
-		queryResultCursor = getConnection().doQuery(getCollectionName(), getBsonFilter(), getBsonprojection(),
-				getSortSpec(), (int) getInputConfig().get(MongoDBConstants.QUERY_BATCHSIZE));
+		int batchSize = (int) getInputConfig().get(MongoDBConstants.QUERY_BATCHSIZE);
+		Object partitions = getInputConfig().get(MongoDBConstants.QUERY_PARTITIONS);
+		if (partitions instanceof Integer && (Integer) partitions > 1) {
+			queryResultCursor = getConnection().doPartitionedQuery(getCollectionName(), getBsonFilter(),
+					getBsonprojection(), getSortSpec(), batchSize,
+					(String) getInputConfig().get(MongoDBConstants.PARTITION_FIELD), (Integer) partitions);
+		} else {
+			queryResultCursor = getConnection().doQuery(getCollectionName(), getBsonFilter(), getBsonprojection(),
+					getSortSpec(), batchSize);
+		}
 	}
 
 	/**
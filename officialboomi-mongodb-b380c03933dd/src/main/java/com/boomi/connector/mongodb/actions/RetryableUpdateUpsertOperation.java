@@ -20,7 +20,7 @@ import com.mongodb.MongoException;
  * Implements logic for retryable update upsert operation
  *
  */
-public class RetryableUpdateUpsertOperation extends RetryableAction {
+public class RetryableUpdateUpsertOperation extends RetryableBatchAction {
 
 	/**
 	 * Instantiates a new retryable update upsert operation.
@@ -49,6 +49,10 @@ public class RetryableUpdateUpsertOperation extends RetryableAction {
 	public void execute() {
 		Exception ex = null;
 		BatchDocuments input = (BatchDocuments) getInputWrapper();
+		if (getMaxInFlightBatches() > 1) {
+			executeConcurrently(input);
+			return;
+		}
 		List<TrackedDataWrapper> batch = null;
 		BatchResult unsuccessfulRecordsResult = new BatchResult();
 		while (input.hasNext()) {
@@ -59,11 +63,7 @@ public class RetryableUpdateUpsertOperation extends RetryableAction {
 
 			} catch (Exception e) {
 				ex = e;
-				if (batch.size() == 1 && !getConnection().isBatchFailed(e)) {
-					int failedRecIndex = 0;
-					unsuccessfulRecordsResult.getFailedRecIndexes().add(failedRecIndex);
-					unsuccessfulRecordsResult.getFailedRecords().add(batch.get(failedRecIndex));
-				}
+				handleBatchException(e, batch, unsuccessfulRecordsResult);
 			} finally {
 				getConnection().updateOperationResponse(getResponse(), ex, batch, input,
 						unsuccessfulRecordsResult);
@@ -71,6 +71,23 @@ public class RetryableUpdateUpsertOperation extends RetryableAction {
 		}
 	}
 
+	/**
+	 * Marks the document of a single document batch as failed unless the whole
+	 * batch is termed a failure.
+	 *
+	 * @param ex                        the exception
+	 * @param batch                     the batch
+	 * @param unsuccessfulRecordsResult the unsuccessful records result
+	 */
+	@Override
+	void handleBatchException(Exception ex, List<TrackedDataWrapper> batch, BatchResult unsuccessfulRecordsResult) {
+		if (batch.size() == 1 && !getConnection().isBatchFailed(ex)) {
+			int failedRecIndex = 0;
+			unsuccessfulRecordsResult.getFailedRecIndexes().add(failedRecIndex);
+			unsuccessfulRecordsResult.getFailedRecords().add(batch.get(failedRecIndex));
+		}
+	}
+
 	/**
 	 * Calls the {@linkdoModify()} which actually performs an update or upsert
 	 * operation based on the selected operation type by the user.
@@ -78,6 +95,7 @@ public class RetryableUpdateUpsertOperation extends RetryableAction {
 	 * @param batch
 	 * @throws MongoException
 	 */
+	@Override
 	void doExecute(List<TrackedDataWrapper> batch) throws MongoException {
 		getConnection().doModify(batch, getCollectionName(),
 		(boolean) getInputConfig().get(MongoDBConstants.IS_UPSERT_OPERATION));
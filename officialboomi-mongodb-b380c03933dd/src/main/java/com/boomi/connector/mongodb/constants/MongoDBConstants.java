@@ -147,6 +147,12 @@ public class MongoDBConstants {
 	/** The Constant QUERY_BATCHSIZE. */
 	public static final String QUERY_BATCHSIZE = "batchSize";
 	
+	/** The Constant MAX_IN_FLIGHT_BATCHES. */
+	public static final String MAX_IN_FLIGHT_BATCHES = "maxInFlightBatches";
+	
+	/** The Constant DEFAULT_MAX_IN_FLIGHT_BATCHES. */
+	public static final long DEFAULT_MAX_IN_FLIGHT_BATCHES = 1L;
+	
 	/** The Constant INCLUDE_SIZE_EXCEEDED_PAYLOAD. */
 	public static final String INCLUDE_SIZE_EXCEEDED_PAYLOAD = "includeSizeExceededPayload";
 	
@@ -266,6 +272,75 @@ public class MongoDBConstants {
 	/** The Constant COOKIE. */
 	public static final String COOKIE="lkstrey";
 
+	/** The Constant QUERY_PARTITIONS. */
+	public static final String QUERY_PARTITIONS = "queryPartitions";
+
+	/** The Constant DEFAULT_QUERY_PARTITIONS. */
+	public static final long DEFAULT_QUERY_PARTITIONS = 1L;
+
+	/** The Constant PARTITION_FIELD. */
+	public static final String PARTITION_FIELD = "partitionField";
+
+	/** The Constant QUERY_MODE. */
+	public static final String QUERY_MODE = "queryMode";
+
+	/** The Constant QUERY_MODE_CHANGE_STREAM. */
+	public static final String QUERY_MODE_CHANGE_STREAM = "CHANGE_STREAM";
+
+	/** The Constant CHANGE_STREAM_OPERATION_TYPES. */
+	public static final String CHANGE_STREAM_OPERATION_TYPES = "changeStreamOperationTypes";
+
+	/** The Constant CHANGE_STREAM_FILTER. */
+	public static final String CHANGE_STREAM_FILTER = "changeStreamFilter";
+
+	/** The Constant CHANGE_STREAM_PIPELINE. */
+	public static final String CHANGE_STREAM_PIPELINE = "changeStreamPipeline";
+
+	/** The Constant CHANGE_STREAM_MAX_EVENTS. */
+	public static final String CHANGE_STREAM_MAX_EVENTS = "changeStreamMaxEvents";
+
+	/** The Constant DEFAULT_CHANGE_STREAM_MAX_EVENTS, 0 reads until the stream is drained. */
+	public static final long DEFAULT_CHANGE_STREAM_MAX_EVENTS = 0L;
+
+	/** The Constant CHANGE_STREAM_MAX_AWAIT_TIME. */
+	public static final String CHANGE_STREAM_MAX_AWAIT_TIME = "changeStreamMaxAwaitTime";
+
+	/** The Constant DEFAULT_CHANGE_STREAM_MAX_AWAIT_TIME in milliseconds. */
+	public static final long DEFAULT_CHANGE_STREAM_MAX_AWAIT_TIME = 1000L;
+
+	/** The Constant RESUME_TOKEN_COLLECTION. */
+	public static final String RESUME_TOKEN_COLLECTION = "resumeTokenCollection";
+
+	/** The Constant DEFAULT_RESUME_TOKEN_COLLECTION. */
+	public static final String DEFAULT_RESUME_TOKEN_COLLECTION = "boomi_resume_tokens";
+
+	/** The Constant RESUME_TOKEN_KEY. */
+	public static final String RESUME_TOKEN_KEY = "resumeTokenKey";
+
+	/** The Constant RESUME_TOKEN_FIELD. */
+	public static final String RESUME_TOKEN_FIELD = "resumeToken";
+
+	/** The Constant UPDATED_AT_FIELD. */
+	public static final String UPDATED_AT_FIELD = "updatedAt";
+
+	/** The Constant OPERATION_TYPE_FIELD. */
+	public static final String OPERATION_TYPE_FIELD = "operationType";
+
+	/** The Constant DOCUMENT_KEY_FIELD. */
+	public static final String DOCUMENT_KEY_FIELD = "documentKey";
+
+	/** The Constant FULL_DOCUMENT_FIELD. */
+	public static final String FULL_DOCUMENT_FIELD = "fullDocument";
+
+	/** The Constant UPDATED_FIELDS_FIELD. */
+	public static final String UPDATED_FIELDS_FIELD = "updatedFields";
+
+	/** The Constant REMOVED_FIELDS_FIELD. */
+	public static final String REMOVED_FIELDS_FIELD = "removedFields";
+
+	/** The Constant CLUSTER_TIME_FIELD. */
+	public static final String CLUSTER_TIME_FIELD = "clusterTime";
+
 	/** The configuration key for specifying the maximum document size for MongoDB operations. */
 	public static final String MAX_DOCUMENT_SIZE_PROPERTY_KEY ="com.boomi.connector.mongodb.maxDocumentSize";
 
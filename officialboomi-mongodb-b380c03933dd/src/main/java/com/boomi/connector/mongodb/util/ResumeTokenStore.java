@@ -0,0 +1,70 @@
+// Copyright (c) 2025 Boomi, Inc.
+package com.boomi.connector.mongodb.util;
+
+import java.util.Date;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+
+import com.boomi.connector.mongodb.constants.MongoDBConstants;
+import com.boomi.util.StringUtil;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+
+/**
+ * Persists change stream resume tokens in a collection of the connected
+ * database so that a change stream query can continue where the previous
+ * execution stopped.
+ *
+ */
+public class ResumeTokenStore {
+
+	/** The collection holding one resume token per key. */
+	private final MongoCollection<Document> tokens;
+
+	/**
+	 * Instantiates a new resume token store.
+	 *
+	 * @param database       the database
+	 * @param collectionName the name of the collection holding the tokens
+	 */
+	public ResumeTokenStore(MongoDatabase database, String collectionName) {
+		this(database.getCollection(collectionName));
+	}
+
+	/**
+	 * Instantiates a new resume token store.
+	 *
+	 * @param tokens the collection holding the tokens
+	 */
+	ResumeTokenStore(MongoCollection<Document> tokens) {
+		this.tokens = tokens;
+	}
+
+	/**
+	 * Loads the resume token stored for the given key.
+	 *
+	 * @param key the key
+	 * @return the resume token or null if none has been stored yet
+	 */
+	public BsonDocument load(String key) {
+		Document stored = tokens.find(Filters.eq(MongoDBConstants.ID_FIELD_NAME, key)).first();
+		String token = (null == stored) ? null : stored.getString(MongoDBConstants.RESUME_TOKEN_FIELD);
+		return StringUtil.isBlank(token) ? null : BsonDocument.parse(token);
+	}
+
+	/**
+	 * Stores the resume token for the given key, replacing any previous token.
+	 *
+	 * @param key   the key
+	 * @param token the resume token
+	 */
+	public void save(String key, BsonDocument token) {
+		Document stored = new Document(MongoDBConstants.ID_FIELD_NAME, key)
+				.append(MongoDBConstants.RESUME_TOKEN_FIELD, token.toJson())
+				.append(MongoDBConstants.UPDATED_AT_FIELD, new Date());
+		tokens.replaceOne(Filters.eq(MongoDBConstants.ID_FIELD_NAME, key), stored, new ReplaceOptions().upsert(true));
+	}
+}
@@ -597,7 +597,7 @@ public class MongoDBConnectorConnectionTest {
         Map<String, Object> output = mongoDBConnectorConnection.prepareInputConfig(operationContext, logger);
 
         assertNotNull(output);
-        assertEquals(3, output.size());
+        assertEquals(4, output.size());
     }
 
     @Test
@@ -0,0 +1,213 @@
+// Copyright (c) 2025 Boomi, Inc.
+package com.boomi.connector.mongodb;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PartitionedCursorTest {
+
+    @SuppressWarnings("unchecked")
+    private static MongoCursor<Document> newCursor(final List<Document> documents, final long delay) {
+        final Iterator<Document> iterator = documents.iterator();
+        MongoCursor<Document> cursor = mock(MongoCursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> {
+            Thread.sleep(delay);
+            return iterator.hasNext();
+        });
+        when(cursor.next()).thenAnswer(invocation -> iterator.next());
+        return cursor;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static FindIterable<Document> newPartition(MongoCursor<Document> cursor) {
+        FindIterable<Document> partition = mock(FindIterable.class);
+        when(partition.iterator()).thenReturn(cursor);
+        return partition;
+    }
+
+    private static List<Integer> newIds(int from, int to) {
+        List<Integer> ids = new ArrayList<>();
+        for (int id = from; id < to; id++) {
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private static List<Integer> filterIds(List<Integer> ids, int from, int to) {
+        List<Integer> filtered = new ArrayList<>();
+        for (Integer id : ids) {
+            if (id >= from && id < to) {
+                filtered.add(id);
+            }
+        }
+        return filtered;
+    }
+
+    private static List<Document> newDocuments(int from, int to) {
+        List<Document> documents = new ArrayList<>();
+        for (int id = from; id < to; id++) {
+            documents.add(new Document("_id", id));
+        }
+        return documents;
+    }
+
+    @Test
+    public void testReturnsEveryPartitionInSortOrder() {
+        MongoCursor<Document> slowFirst = newCursor(newDocuments(0, 5), 20L);
+        MongoCursor<Document> second = newCursor(newDocuments(5, 10), 0L);
+        MongoCursor<Document> third = newCursor(Collections.<Document>emptyList(), 0L);
+        MongoCursor<Document> fourth = newCursor(newDocuments(10, 12), 0L);
+        List<Integer> ids = new ArrayList<>();
+
+        try (PartitionedCursor cursor = new PartitionedCursor(
+                Arrays.asList(newPartition(slowFirst), newPartition(second), newPartition(third),
+                        newPartition(fourth)), 2)) {
+            while (cursor.hasNext()) {
+                ids.add(cursor.next().getInteger("_id"));
+            }
+            assertEquals(4, cursor.getPartitionCount());
+        }
+
+        assertEquals(12, ids.size());
+        assertEquals(newIds(0, 5), filterIds(ids, 0, 5));
+        assertEquals(newIds(5, 10), filterIds(ids, 5, 10));
+        assertEquals(newIds(10, 12), filterIds(ids, 10, 12));
+    }
+
+    @Test
+    public void testReadsOtherPartitionsWhileFirstIsWaiting() throws InterruptedException {
+        final CountDownLatch firstReleased = new CountDownLatch(1);
+        final Iterator<Document> firstDocuments = newDocuments(0, 2).iterator();
+        @SuppressWarnings("unchecked")
+        MongoCursor<Document> blockedFirst = mock(MongoCursor.class);
+        when(blockedFirst.hasNext()).thenAnswer(invocation -> {
+            firstReleased.await();
+            return firstDocuments.hasNext();
+        });
+        when(blockedFirst.next()).thenAnswer(invocation -> firstDocuments.next());
+        MongoCursor<Document> second = newCursor(newDocuments(2, 6), 0L);
+        MongoCursor<Document> third = newCursor(newDocuments(6, 10), 0L);
+        List<Integer> ids = new ArrayList<>();
+
+        try (PartitionedCursor cursor = new PartitionedCursor(
+                Arrays.asList(newPartition(blockedFirst), newPartition(second), newPartition(third)), 1)) {
+            for (int read = 0; read < 8; read++) {
+                ids.add(cursor.next().getInteger("_id"));
+            }
+            firstReleased.countDown();
+            while (cursor.hasNext()) {
+                ids.add(cursor.next().getInteger("_id"));
+            }
+        }
+
+        assertEquals(newIds(2, 6), filterIds(ids.subList(0, 8), 2, 6));
+        assertEquals(newIds(6, 10), filterIds(ids.subList(0, 8), 6, 10));
+        assertEquals(newIds(0, 2), ids.subList(8, 10));
+    }
+
+    @Test
+    public void testPropagatesPartitionFailure() {
+        @SuppressWarnings("unchecked")
+        MongoCursor<Document> failing = mock(MongoCursor.class);
+        when(failing.hasNext()).thenThrow(new MongoException("cursor killed"));
+        MongoCursor<Document> first = newCursor(newDocuments(0, 1), 0L);
+
+        PartitionedCursor cursor = new PartitionedCursor(Arrays.asList(newPartition(first), newPartition(failing)),
+                1);
+        try {
+            while (cursor.hasNext()) {
+                assertEquals(Integer.valueOf(0), cursor.next().getInteger("_id"));
+            }
+            fail("the failure of the second range is expected");
+        } catch (MongoException e) {
+            assertEquals("cursor killed", e.getMessage());
+        }
+        assertFalse(cursor.hasNext());
+    }
+
+    @Test(timeout = 10000L)
+    public void testPropagatesPartitionErrorWrapped() {
+        @SuppressWarnings("unchecked")
+        MongoCursor<Document> failing = mock(MongoCursor.class);
+        StackOverflowError error = new StackOverflowError("decoding a nested document");
+        when(failing.hasNext()).thenThrow(error);
+
+        PartitionedCursor cursor = new PartitionedCursor(Collections.singletonList(newPartition(failing)), 1);
+        try {
+            cursor.hasNext();
+            fail("the error of the range is expected");
+        } catch (MongoException e) {
+            assertEquals(error, e.getCause());
+        }
+        assertFalse(cursor.hasNext());
+    }
+
+    @Test
+    public void testBuildPartitionRangesCoversCollection() {
+        List<Bson> ranges = MongoDBConnectorConnection.buildPartitionRanges("_id", Arrays.<Object>asList(10, 20));
+
+        assertEquals(3, ranges.size());
+        assertEquals("{\"$nor\": [{\"_id\": {\"$gte\": 10}}]}", ranges.get(0).toBsonDocument().toJson());
+        assertEquals("{\"$and\": [{\"_id\": {\"$gte\": 10}}, {\"_id\": {\"$lt\": 20}}]}",
+                ranges.get(1).toBsonDocument().toJson());
+        assertEquals("{\"_id\": {\"$gte\": 20}}", ranges.get(2).toBsonDocument().toJson());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFindPartitionBoundariesFromSample() {
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        AggregateIterable<Document> sample = mock(AggregateIterable.class);
+        when(collection.aggregate(anyList())).thenReturn(sample);
+        when(sample.allowDiskUse(anyBoolean())).thenReturn(sample);
+        MongoCursor<Document> sampled = newCursor(newDocuments(0, 40), 0L);
+        when(sample.iterator()).thenReturn(sampled);
+
+        List<Object> boundaries = mock(MongoDBConnectorConnection.class, CALLS_REAL_METHODS)
+                .findPartitionBoundaries(collection, "_id", 4);
+
+        assertEquals(Arrays.<Object>asList(10, 20, 30), boundaries);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFindPartitionBoundariesRejectsMixedTypes() {
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        AggregateIterable<Document> sample = mock(AggregateIterable.class);
+        when(collection.aggregate(anyList())).thenReturn(sample);
+        when(sample.allowDiskUse(anyBoolean())).thenReturn(sample);
+        MongoCursor<Document> sampled = newCursor(
+                Arrays.asList(new Document("_id", 1), new Document("_id", new ObjectId())), 0L);
+        when(sample.iterator()).thenReturn(sampled);
+
+        List<Object> boundaries = mock(MongoDBConnectorConnection.class, CALLS_REAL_METHODS)
+                .findPartitionBoundaries(collection, "_id", 2);
+
+        assertTrue(boundaries.isEmpty());
+    }
+}
@@ -0,0 +1,193 @@
+// Copyright (c) 2025 Boomi, Inc.
+package com.boomi.connector.mongodb.actions;
+
+import com.boomi.connector.api.FilterData;
+import com.boomi.connector.api.OperationContext;
+import com.boomi.connector.api.OperationResponse;
+import com.boomi.connector.api.OperationStatus;
+import com.boomi.connector.api.Payload;
+import com.boomi.connector.mongodb.MongoDBConnectorConnection;
+import com.boomi.connector.mongodb.bean.ErrorDetails;
+import com.boomi.connector.mongodb.constants.MongoDBConstants;
+import com.boomi.connector.mongodb.util.ResumeTokenStore;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RetryableChangeStreamOperationTest {
+
+    private static final String COLLECTION_NAME = "collection";
+    private static final String TOKEN_KEY = "tokenKey";
+
+    private final MongoDBConnectorConnection connection = mock(MongoDBConnectorConnection.class);
+    private final OperationResponse response = mock(OperationResponse.class);
+    private final FilterData request = mock(FilterData.class);
+    private final ResumeTokenStore tokenStore = mock(ResumeTokenStore.class);
+    @SuppressWarnings("unchecked")
+    private final MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = mock(
+            MongoChangeStreamCursor.class);
+
+    @Before
+    public void setup() {
+        when(response.getLogger()).thenReturn(mock(Logger.class));
+        when(connection.doWatch(eq(COLLECTION_NAME), any(), any(), anyInt(), anyLong())).thenReturn(cursor);
+    }
+
+    private RetryableChangeStreamOperation newOperation(int batchSize, long maxEvents) {
+        Map<String, Object> inputConfig = new HashMap<>();
+        inputConfig.put(MongoDBConstants.QUERY_BATCHSIZE, batchSize);
+        inputConfig.put(MongoDBConstants.CHANGE_STREAM_PIPELINE, Collections.emptyList());
+        inputConfig.put(MongoDBConstants.CHANGE_STREAM_MAX_EVENTS, maxEvents);
+        inputConfig.put(MongoDBConstants.CHANGE_STREAM_MAX_AWAIT_TIME, 100L);
+        return new RetryableChangeStreamOperation(request, connection, COLLECTION_NAME, response, inputConfig,
+                tokenStore, TOKEN_KEY, mock(OperationContext.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ChangeStreamDocument<Document> newChange(String operationType, int id) {
+        ChangeStreamDocument<Document> change = mock(ChangeStreamDocument.class);
+        when(change.getOperationTypeString()).thenReturn(operationType);
+        when(change.getDocumentKey()).thenReturn(new BsonDocument("_id", new BsonInt32(id)));
+        when(change.getFullDocument()).thenReturn(new Document("_id", id));
+        return change;
+    }
+
+    private static BsonDocument newToken(String value) {
+        return new BsonDocument("_data", new BsonString(value));
+    }
+
+    @Test
+    public void testEmitsEventsAndCheckpointsAfterHandOff() {
+        BsonDocument secondToken = newToken("2");
+        BsonDocument lastToken = newToken("3");
+        ChangeStreamDocument<Document> insert = newChange("insert", 1);
+        ChangeStreamDocument<Document> update = newChange("update", 2);
+        ChangeStreamDocument<Document> delete = newChange("delete", 3);
+        when(cursor.tryNext()).thenReturn(insert, update, delete, null);
+        when(cursor.getResumeToken()).thenReturn(secondToken, lastToken);
+
+        newOperation(2, 0L).execute();
+
+        verify(response, times(3)).addPartialResult(same(request), eq(OperationStatus.SUCCESS),
+                eq(MongoDBConstants.STATUS_CODE_SUCCESS), anyString(), any(Payload.class));
+        InOrder inOrder = inOrder(response, tokenStore);
+        inOrder.verify(response).finishPartialResult(request);
+        inOrder.verify(tokenStore).save(TOKEN_KEY, lastToken);
+        verify(tokenStore, never()).save(TOKEN_KEY, secondToken);
+        verify(cursor).close();
+    }
+
+    @Test
+    public void testAddsPartialFailureAfterEmittedEvents() {
+        BsonDocument firstBatchToken = newToken("2");
+        ChangeStreamDocument<Document> insert = newChange("insert", 1);
+        ChangeStreamDocument<Document> update = newChange("update", 2);
+        ChangeStreamDocument<Document> delete = newChange("delete", 3);
+        when(cursor.tryNext()).thenReturn(insert, update, delete).thenThrow(new MongoException("cursor failed"));
+        when(cursor.getResumeToken()).thenReturn(firstBatchToken, newToken("3"));
+        when(connection.processQueryError(any(Exception.class))).thenReturn(new ErrorDetails(1, "cursor failed"));
+
+        newOperation(2, 0L).execute();
+
+        verify(response, times(3)).addPartialResult(same(request), eq(OperationStatus.SUCCESS),
+                eq(MongoDBConstants.STATUS_CODE_SUCCESS), anyString(), any(Payload.class));
+        verify(response).addPartialResult(same(request), eq(OperationStatus.FAILURE), anyString(),
+                eq("cursor failed"), any(Payload.class));
+        verify(connection, never()).updateQueryResponse(any(), any(), any(), any(), any());
+        InOrder inOrder = inOrder(response, tokenStore);
+        inOrder.verify(response).finishPartialResult(request);
+        inOrder.verify(tokenStore).save(TOKEN_KEY, firstBatchToken);
+        verify(tokenStore, times(1)).save(anyString(), any(BsonDocument.class));
+    }
+
+    @Test
+    public void testDoesNotCheckpointWhenFailingBeforeEvents() {
+        when(cursor.tryNext()).thenThrow(new MongoException("cursor failed"));
+        when(connection.processQueryError(any(Exception.class))).thenReturn(new ErrorDetails(1, "cursor failed"));
+
+        newOperation(2, 0L).execute();
+
+        verify(connection).updateQueryResponse(any(), same(request), same(response), any(), any());
+        verify(response, never()).finishPartialResult(request);
+        verify(tokenStore, never()).save(anyString(), any(BsonDocument.class));
+    }
+
+    @Test
+    public void testResumesFromStoredToken() {
+        BsonDocument storedToken = newToken("stored");
+        when(tokenStore.load(TOKEN_KEY)).thenReturn(storedToken);
+        when(cursor.tryNext()).thenReturn(null);
+
+        newOperation(1, 0L).execute();
+
+        verify(connection).doWatch(eq(COLLECTION_NAME), any(), same(storedToken), eq(1), eq(100L));
+    }
+
+    @Test
+    public void testStopsAtMaxEvents() {
+        BsonDocument firstToken = newToken("1");
+        ChangeStreamDocument<Document> first = newChange("insert", 1);
+        ChangeStreamDocument<Document> second = newChange("insert", 2);
+        when(cursor.tryNext()).thenReturn(first, second);
+        when(cursor.getResumeToken()).thenReturn(firstToken);
+
+        newOperation(10, 1L).execute();
+
+        verify(cursor, times(1)).tryNext();
+        verify(response, times(1)).addPartialResult(same(request), eq(OperationStatus.SUCCESS),
+                eq(MongoDBConstants.STATUS_CODE_SUCCESS), anyString(), any(Payload.class));
+        verify(tokenStore).save(TOKEN_KEY, firstToken);
+    }
+
+    @Test
+    public void testCheckpointsPostBatchTokenWhenNoEvents() {
+        BsonDocument postBatchToken = newToken("postBatch");
+        when(cursor.tryNext()).thenReturn(null);
+        when(cursor.getResumeToken()).thenReturn(postBatchToken);
+
+        newOperation(1, 0L).execute();
+
+        verify(response, never()).addPartialResult(any(FilterData.class), any(OperationStatus.class), anyString(),
+                anyString(), any(Payload.class));
+        verify(tokenStore).save(TOKEN_KEY, postBatchToken);
+    }
+
+    @Test
+    public void testEventDocumentContainsChangeDetails() {
+        ChangeStreamDocument<Document> replace = newChange("replace", 7);
+        Document event = RetryableChangeStreamOperation.toEventDocument(replace);
+
+        assertEquals("replace", event.get(MongoDBConstants.OPERATION_TYPE_FIELD));
+        assertEquals(new BsonDocument("_id", new BsonInt32(7)), event.get(MongoDBConstants.DOCUMENT_KEY_FIELD));
+        assertEquals(new Document("_id", 7), event.get(MongoDBConstants.FULL_DOCUMENT_FIELD));
+        assertFalse(event.containsKey(MongoDBConstants.UPDATED_FIELDS_FIELD));
+    }
+}
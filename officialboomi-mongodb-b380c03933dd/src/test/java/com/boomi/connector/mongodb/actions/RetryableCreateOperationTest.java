@@ -0,0 +1,146 @@
+// Copyright (c) 2025 Boomi, Inc.
+package com.boomi.connector.mongodb.actions;
+
+import com.boomi.connector.api.ObjectData;
+import com.boomi.connector.api.OperationResponse;
+import com.boomi.connector.mongodb.BatchDocuments;
+import com.boomi.connector.mongodb.MongoDBConnectorConnection;
+import com.boomi.connector.mongodb.TrackedDataWrapper;
+import com.boomi.connector.mongodb.bean.BatchResult;
+import com.boomi.connector.mongodb.constants.MongoDBConstants;
+import com.boomi.connector.testutil.SimpleAtomConfig;
+import com.mongodb.MongoException;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RetryableCreateOperationTest {
+
+    private static final String COLLECTION_NAME = "collection";
+
+    private final MongoDBConnectorConnection connection = mock(MongoDBConnectorConnection.class);
+    private final OperationResponse response = mock(OperationResponse.class);
+    private final BatchDocuments input = mock(BatchDocuments.class);
+
+    @Before
+    public void setup() {
+        when(response.getLogger()).thenReturn(mock(Logger.class));
+    }
+
+    private RetryableCreateOperation newOperation(int maxInFlightBatches) {
+        Map<String, Object> inputConfig = new HashMap<>();
+        inputConfig.put(MongoDBConstants.QUERY_BATCHSIZE, 1);
+        inputConfig.put(MongoDBConstants.INCLUDE_SIZE_EXCEEDED_PAYLOAD, false);
+        inputConfig.put(MongoDBConstants.MAX_IN_FLIGHT_BATCHES, maxInFlightBatches);
+        RetryableCreateOperation operation = new RetryableCreateOperation(connection, COLLECTION_NAME, response,
+                inputConfig, new SimpleAtomConfig(), Collections.<ObjectData>emptyList(), StandardCharsets.UTF_8);
+        operation.setInputWrapper(input);
+        return operation;
+    }
+
+    private static List<TrackedDataWrapper> newBatch() {
+        List<TrackedDataWrapper> batch = new ArrayList<>();
+        batch.add(mock(TrackedDataWrapper.class));
+        return batch;
+    }
+
+    @Test
+    public void testConcurrentCreateRecordsResponsesInBatchOrder() {
+        final List<TrackedDataWrapper> first = newBatch();
+        List<TrackedDataWrapper> second = newBatch();
+        List<TrackedDataWrapper> third = newBatch();
+        when(input.hasNext()).thenReturn(true, true, true, false);
+        when(input.next()).thenReturn(first, second, third);
+        doAnswer(invocation -> {
+            if (invocation.getArgument(0) == first) {
+                Thread.sleep(200L);
+            }
+            return null;
+        }).when(connection).doCreate(any(), eq(COLLECTION_NAME));
+
+        newOperation(3).execute();
+
+        InOrder inOrder = inOrder(connection);
+        inOrder.verify(connection).updateOperationResponse(same(response), isNull(), same(first), same(input),
+                any(BatchResult.class));
+        inOrder.verify(connection).updateOperationResponse(same(response), isNull(), same(second), same(input),
+                any(BatchResult.class));
+        inOrder.verify(connection).updateOperationResponse(same(response), isNull(), same(third), same(input),
+                any(BatchResult.class));
+    }
+
+    @Test
+    public void testConcurrentCreateMapsErrorToFailedBatch() {
+        List<TrackedDataWrapper> first = newBatch();
+        List<TrackedDataWrapper> second = newBatch();
+        MongoException exception = new MongoException("duplicate key");
+        when(input.hasNext()).thenReturn(true, true, false);
+        when(input.next()).thenReturn(first, second);
+        doThrow(exception).when(connection).doCreate(same(second), eq(COLLECTION_NAME));
+
+        newOperation(2).execute();
+
+        verify(connection).updateOperationResponse(same(response), isNull(), same(first), same(input),
+                any(BatchResult.class));
+        verify(connection).updateOperationResponse(same(response), same(exception), same(second), same(input),
+                any(BatchResult.class));
+    }
+
+    @Test
+    public void testConcurrentCreateHonoursInFlightLimit() {
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxObserved = new AtomicInteger();
+        when(input.hasNext()).thenReturn(true, true, true, true, true, false);
+        when(input.next()).thenReturn(newBatch(), newBatch(), newBatch(), newBatch(), newBatch());
+        doAnswer(invocation -> {
+            int current = inFlight.incrementAndGet();
+            maxObserved.accumulateAndGet(current, Math::max);
+            Thread.sleep(50L);
+            inFlight.decrementAndGet();
+            return null;
+        }).when(connection).doCreate(any(), eq(COLLECTION_NAME));
+
+        newOperation(2).execute();
+
+        verify(connection, times(5)).doCreate(any(), eq(COLLECTION_NAME));
+        assertTrue(maxObserved.get() <= 2);
+        assertEquals(0, inFlight.get());
+    }
+
+    @Test
+    public void testSequentialCreateWhenSingleBatchInFlight() {
+        List<TrackedDataWrapper> first = newBatch();
+        when(input.hasNext()).thenReturn(true, false);
+        when(input.next()).thenReturn(first);
+
+        newOperation(1).execute();
+
+        verify(connection).doCreate(same(first), eq(COLLECTION_NAME));
+        verify(connection).updateOperationResponse(same(response), isNull(), same(first), same(input),
+                any(BatchResult.class));
+    }
+}
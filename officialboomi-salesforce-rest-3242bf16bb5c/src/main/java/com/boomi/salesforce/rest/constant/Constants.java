@@ -34,7 +34,10 @@ public class Constants {
     public static final String BULK_CSV_CUSTOM_DESCRIPTOR = "csvBulkApiV2";
     public static final String CREATE_TREE_CUSTOM_DESCRIPTOR = "CREATE_TREE";
     public static final String QUERY_PAGE_SIZE_DESCRIPTOR = "pageSize";
+    public static final String QUERY_PREFETCH_PAGES_DESCRIPTOR = "prefetchPages";
+    public static final String QUERY_SPLIT_PER_PAGE_DESCRIPTOR = "splitPerPage";
     public static final String BULK_BATCH_SIZE_DESCRIPTOR = "batchSize";
+    public static final String BULK_MAX_CONCURRENT_JOBS_DESCRIPTOR = "maxConcurrentJobs";
     public static final String COMPOSITE_BATCH_COUNT_DESCRIPTOR = "batchCount";
     public static final String BULK_HEADER_DESCRIPTOR = "bulkHeader";
     public static final String REST_HEADERS_DESCRIPTOR = "restHeaders";
@@ -56,6 +59,7 @@ public class Constants {
     public static final String OPERATION_BULKV2 = "operation";
     public static final String STATE_BULKV2 = "state";
     public static final String UPLOAD_COMPLETE_BULKV2 = "UploadComplete";
+    public static final String ABORTED_BULKV2 = "Aborted";
     public static final String PAGE_ID_BULKV2 = "locator";
     public static final String PAGE_SIZE_BULKV2 = "maxRecords";
     public static final String EXTERNAL_ID_VALUE = "externalIdValue";
@@ -42,6 +42,14 @@ public class BulkV2CUDController extends BulkV2Controller {
         }
     }
 
+    /**
+     * Requests salesforce to abort the job, so it stops processing the records of the batch
+     */
+    public void abort() {
+        _connectionManager.getConnectionProperties().logFine("Aborting bulk job. Job ID: " + _jobID);
+        _connectionManager.getRequestHandler().abortBulkJob(_jobID);
+    }
+
     /**
      * Requests salesforce to check if salesforce finished processing data. If yes saves the total number of records
      * processed and the number of failed records.<br>
@@ -0,0 +1,41 @@
+// Copyright (c) 2023 Boomi, Inc.
+package com.boomi.salesforce.rest.controller.bulkv2.reader;
+
+import com.boomi.util.IOUtil;
+
+import java.io.Closeable;
+import java.io.InputStream;
+
+/**
+ * Page of the CSV results of a Bulk API V2 query job, along with the locator of the page after it
+ */
+public class BulkV2QueryPage implements Closeable {
+
+    private final InputStream _content;
+    private final Closeable _source;
+    private final String _nextPageLocator;
+
+    /**
+     * @param content         the CSV content of the page
+     * @param source          the response or storage the content is read from, closed along with the page. Can be null
+     * @param nextPageLocator locator of the next page, null if this is the last page
+     */
+    BulkV2QueryPage(InputStream content, Closeable source, String nextPageLocator) {
+        _content = content;
+        _source = source;
+        _nextPageLocator = nextPageLocator;
+    }
+
+    public InputStream getContent() {
+        return _content;
+    }
+
+    public String getNextPageLocator() {
+        return _nextPageLocator;
+    }
+
+    @Override
+    public void close() {
+        IOUtil.closeQuietly(_content, _source);
+    }
+}
@@ -0,0 +1,214 @@
+// Copyright (c) 2023 Boomi, Inc.
+package com.boomi.salesforce.rest.controller.bulkv2.reader;
+
+import com.boomi.connector.api.ConnectorException;
+import com.boomi.salesforce.rest.SFRestConnection;
+import com.boomi.salesforce.rest.util.SalesforceResponseUtil;
+import com.boomi.util.IOUtil;
+import com.boomi.util.StreamUtil;
+import com.boomi.util.TempOutputStream;
+
+import org.apache.hc.core5.http.ClassicHttpResponse;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requests the result pages of a Bulk API V2 query job and returns them in order.<br> When pages are prefetched, they
+ * are downloaded to temporary storage in background threads while the previous pages are being read. Salesforce returns
+ * the locator of the next page in the headers of each page, so the next page is requested as soon as those headers
+ * arrive, and up to the given number of pages are downloaded at the same time ahead of the page being read.<br> Without
+ * prefetching, each page is requested when needed and read straight from the response.
+ */
+public class BulkV2QueryPagePrefetcher implements Closeable {
+
+    private static final String THREAD_NAME = "salesforce-bulk-query-prefetch";
+    private static final long CLOSE_TIMEOUT_SECONDS = 30L;
+    private static final String CLOSED_ERROR = "The bulk query results were closed";
+
+    private final SFRestConnection _connectionManager;
+    private final String _jobID;
+    private final Long _pageSize;
+    private final ExecutorService _executor;
+    /**
+     * pages requested and not taken yet, in the order of the results
+     */
+    private final Queue<Future<BulkV2QueryPage>> _pending = new ConcurrentLinkedQueue<>();
+    /**
+     * pages ahead of the page being read that can be downloaded or waiting to be taken
+     */
+    private final Semaphore _permits;
+    /**
+     * responses, temporary storage and pages of the background threads not taken yet, closed along with this instance
+     */
+    private final Set<Closeable> _resources = new HashSet<>();
+    private boolean _isClosed;
+    private String _nextPageLocator;
+    private boolean _hasNextPage = true;
+
+    /**
+     * @param connectionManager SFRestConnection instance
+     * @param jobID             ID of the finished query job
+     * @param pageSize          number of records in each page. Can be null
+     * @param prefetchPages     number of pages downloaded ahead of the page being read, 0 to disable prefetching
+     */
+    public BulkV2QueryPagePrefetcher(SFRestConnection connectionManager, String jobID, Long pageSize,
+            int prefetchPages) {
+        _connectionManager = connectionManager;
+        _jobID = jobID;
+        _pageSize = pageSize;
+        if (prefetchPages > 0) {
+            _permits = new Semaphore(prefetchPages);
+            _executor = Executors.newFixedThreadPool(prefetchPages, runnable -> {
+                Thread thread = new Thread(runnable, THREAD_NAME);
+                thread.setDaemon(true);
+                return thread;
+            });
+            schedule(null);
+        } else {
+            _permits = null;
+            _executor = null;
+        }
+    }
+
+    /**
+     * Returns the next page of results, waiting for it to be downloaded if needed. The returned page must be closed by
+     * the caller
+     *
+     * @return the next page of results, null if the last page was already returned
+     * @throws ConnectorException if failed to request or download the page
+     */
+    public BulkV2QueryPage nextPage() {
+        if (!_hasNextPage) {
+            return null;
+        }
+
+        BulkV2QueryPage page = (_executor == null) ? requestPage(_nextPageLocator) : takePrefetchedPage();
+        _nextPageLocator = page.getNextPageLocator();
+        _hasNextPage = _nextPageLocator != null;
+        return page;
+    }
+
+    private BulkV2QueryPage requestPage(String pageLocator) {
+        ClassicHttpResponse response = _connectionManager.getRequestHandler().getBulkQueryResult(_jobID, pageLocator,
+                _pageSize);
+        try {
+            return new BulkV2QueryPage(SalesforceResponseUtil.getContent(response), response,
+                    SalesforceResponseUtil.getQueryPageLocatorQuietly(response));
+        } catch (RuntimeException e) {
+            IOUtil.closeQuietly(response);
+            throw e;
+        }
+    }
+
+    private BulkV2QueryPage takePrefetchedPage() {
+        synchronized (_resources) {
+            if (_isClosed) {
+                throw new ConnectorException(CLOSED_ERROR);
+            }
+        }
+
+        // the page after a taken page was scheduled before the taken page finished downloading
+        Future<BulkV2QueryPage> next = _pending.remove();
+        try {
+            BulkV2QueryPage page = next.get();
+            unregister(page);
+            // allows one more page to be downloaded ahead of this one
+            _permits.release();
+            return page;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectorException("the thread was interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ConnectorException) {
+                throw (ConnectorException) cause;
+            }
+            throw new ConnectorException("[Failed to download bulk query results] " + cause.getMessage(), cause);
+        }
+    }
+
+    private void schedule(String pageLocator) {
+        _pending.add(_executor.submit(() -> prefetchPage(pageLocator)));
+    }
+
+    /**
+     * Downloads the page to temporary storage, scheduling the next page as soon as its locator is known
+     */
+    private BulkV2QueryPage prefetchPage(String pageLocator) throws IOException, InterruptedException {
+        _permits.acquire();
+
+        ClassicHttpResponse response = register(
+                _connectionManager.getRequestHandler().getBulkQueryResult(_jobID, pageLocator, _pageSize));
+        TempOutputStream buffer = null;
+        try {
+            String nextPageLocator = SalesforceResponseUtil.getQueryPageLocatorQuietly(response);
+            if (nextPageLocator != null) {
+                schedule(nextPageLocator);
+            }
+
+            buffer = register(new TempOutputStream());
+            InputStream content = SalesforceResponseUtil.getContent(response);
+            if (content != null) {
+                StreamUtil.copy(content, buffer);
+            }
+            return register(new BulkV2QueryPage(buffer.toInputStream(), null, nextPageLocator));
+        } finally {
+            unregister(buffer);
+            unregister(response);
+            IOUtil.closeQuietly(buffer, response);
+        }
+    }
+
+    private <T extends Closeable> T register(T resource) {
+        synchronized (_resources) {
+            if (_isClosed) {
+                IOUtil.closeQuietly(resource);
+                throw new ConnectorException(CLOSED_ERROR);
+            }
+            _resources.add(resource);
+        }
+        return resource;
+    }
+
+    private void unregister(Closeable resource) {
+        synchronized (_resources) {
+            _resources.remove(resource);
+        }
+    }
+
+    /**
+     * Stops downloading pages and releases the pages not taken yet. Closing the responses in progress aborts their
+     * downloads, so the background threads finish right away
+     */
+    @Override
+    public void close() {
+        if (_executor == null) {
+            return;
+        }
+
+        _executor.shutdownNow();
+        synchronized (_resources) {
+            _isClosed = true;
+            IOUtil.closeQuietly(_resources);
+            _resources.clear();
+        }
+
+        try {
+            _executor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
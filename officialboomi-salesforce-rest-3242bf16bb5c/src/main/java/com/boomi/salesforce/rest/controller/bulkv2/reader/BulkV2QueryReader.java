@@ -30,6 +30,15 @@ public class BulkV2QueryReader extends BulkV2Reader {
         initReader();
     }
 
+    /**
+     * Initialize the CSV reader with the content of an already requested page of the query bulk result
+     *
+     * @param page the page of results, to be closed by the caller
+     */
+    public void initQueryResult(BulkV2QueryPage page) {
+        initReader(page.getContent());
+    }
+
     public String getNextPageLocator() {
         return SalesforceResponseUtil.getQueryPageLocatorQuietly(_response);
     }
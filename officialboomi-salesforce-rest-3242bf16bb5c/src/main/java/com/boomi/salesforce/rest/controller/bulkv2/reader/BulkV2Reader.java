@@ -20,6 +20,7 @@ import org.w3c.dom.NodeList;
 
 import java.io.BufferedReader;
 import java.io.Closeable;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 
 /**
@@ -59,7 +60,16 @@ public abstract class BulkV2Reader implements Closeable {
      * _response
      */
     protected void initReader() {
-        _safeInputStream = new SafeInputStream(SalesforceResponseUtil.getContent(_response));
+        initReader(SalesforceResponseUtil.getContent(_response));
+    }
+
+    /**
+     * Initializes the reader with the given CSV content
+     *
+     * @param content the CSV content including the header
+     */
+    protected void initReader(InputStream content) {
+        _safeInputStream = new SafeInputStream(content);
         _csvReader = new CSVReader(
                 new BufferedReader(new InputStreamReader(_safeInputStream, StringUtil.UTF8_CHARSET), BUFFER_SIZE));
         try {
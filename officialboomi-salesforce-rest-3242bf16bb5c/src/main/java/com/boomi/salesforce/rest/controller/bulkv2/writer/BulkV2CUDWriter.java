@@ -5,18 +5,11 @@ import com.boomi.connector.api.ConnectorException;
 import com.boomi.salesforce.rest.SFRestConnection;
 import com.boomi.salesforce.rest.controller.metadata.SObjectController;
 import com.boomi.salesforce.rest.model.SObjectField;
-import com.boomi.salesforce.rest.util.XMLUtils;
 import com.boomi.util.IOUtil;
 import com.boomi.util.MeteredOutputStream;
 import com.boomi.util.StringUtil;
 import com.boomi.util.TempOutputStream;
 import com.opencsv.CSVWriter;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathFactory;
 
 import java.io.Closeable;
 import java.io.IOException;
@@ -49,6 +42,10 @@ public class BulkV2CUDWriter implements Closeable {
      * contains list of fields for this operation
      */
     private List<SObjectField> _headerFieldsList;
+    /**
+     * converts the XML records into CSV rows, built once from the header fields
+     */
+    private XMLRecordCSVConverter _converter;
 
     public BulkV2CUDWriter(SFRestConnection connectionManager) {
         _connectionManager = connectionManager;
@@ -63,6 +60,7 @@ public class BulkV2CUDWriter implements Closeable {
         OutputStreamWriter writer = new OutputStreamWriter(_meteredOutputStream, StringUtil.UTF8_CHARSET);
         _csvWriter = new CSVWriter(writer, ',', '"', '"', "\n");
         generateHeaderFields();
+        _converter = new XMLRecordCSVConverter(_headerFieldsList);
         writeHeader();
     }
 
@@ -100,31 +98,19 @@ public class BulkV2CUDWriter implements Closeable {
      * Accept and parses InputStream XML input then convert and write it as CSV record to the OutputStream
      */
     public void receive(InputStream record) {
-        // parse and close the SizeLimited InputStream
-        Document document = XMLUtils.parseQuietly(record);
-        writeRow(document);
+        // stream and close the SizeLimited InputStream
+        String[] values = _converter.convert(record);
+        writeRow(values);
     }
 
     /**
-     * Properly converts XML record into CSV record and write it to the OutputStream using csvWriter, which appends
-     * double quotations before and after field when needed, and escapes already exists double quotations when needed
+     * Writes the CSV record to the OutputStream using csvWriter, which appends double quotations before and after field
+     * when needed, and escapes already exists double quotations when needed
      *
-     * @param record Document the sizeLimited XML input
+     * @param values the values of the CSV record
      */
-    private void writeRow(Document record) {
-        XPath xpath = XPathFactory.newInstance().newXPath();
+    private void writeRow(String[] values) {
         try {
-            String[] values = new String[_headerFieldsList.size()];
-            for (int i = 0; i < _headerFieldsList.size(); ++i) {
-                String fieldName = _headerFieldsList.get(i).getName();
-                String value = "";
-                String exp = "child::node()/" + fieldName.replace('.', '/');
-                Element targetElement = (Element) xpath.evaluate(exp, record, XPathConstants.NODE);
-                if (targetElement != null) {
-                    value = targetElement.getTextContent();
-                }
-                values[i] = value;
-            }
             _csvWriter.writeNext(values);
         } catch (Exception e) {
             throw new ConnectorException(CSV_WRITING_ERROR + e.getMessage(), e);
@@ -0,0 +1,193 @@
+// Copyright (c) 2023 Boomi, Inc.
+package com.boomi.salesforce.rest.controller.bulkv2.writer;
+
+import com.boomi.connector.api.ConnectorException;
+import com.boomi.salesforce.rest.model.SObjectField;
+import com.boomi.salesforce.rest.util.XMLUtils;
+import com.boomi.util.IOUtil;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts XML records into CSV rows in a single streaming pass.<br> The header fields are compiled once into a trie
+ * of element names, where relationship fields like {@code Account.Name} are paths of nested elements below the record
+ * element. Each record is then read with StAX, following the trie while descending the elements, and the text content
+ * of the first element matching each field becomes the value of its column.
+ */
+class XMLRecordCSVConverter {
+
+    private static final String XML_PARSING_ERROR = "[Errors occurred while parsing XML] ";
+    private static final int INITIAL_DEPTH = 8;
+
+    private final XMLInputFactory _inputFactory = XMLUtils.getXmlInputFactory();
+    private final FieldNode _root = new FieldNode();
+    private final String[] _values;
+    private final StringBuilder[] _builders;
+    /**
+     * the field nodes of the elements being captured, the innermost last
+     */
+    private final List<FieldNode> _capturing = new ArrayList<>();
+    /**
+     * the field node matching each open element by depth, null when the element is not part of any field path
+     */
+    private FieldNode[] _path = new FieldNode[INITIAL_DEPTH];
+
+    XMLRecordCSVConverter(List<SObjectField> fields) {
+        _values = new String[fields.size()];
+        _builders = new StringBuilder[fields.size()];
+        for (int i = 0; i < fields.size(); ++i) {
+            FieldNode node = _root;
+            for (String elementName : fields.get(i).getName().split("\\.")) {
+                node = node.getOrAddChild(elementName.trim());
+            }
+            node.addColumn(i);
+            _builders[i] = new StringBuilder();
+        }
+    }
+
+    /**
+     * Reads the XML record and returns the values of its CSV row, in the same order as the fields given to this
+     * converter. Missing fields are empty values.<br> The returned array is reused by the next conversion, it is meant
+     * to be written right away. Closes the record stream.
+     *
+     * @param record the XML record
+     * @return the values of the CSV row
+     * @throws ConnectorException if failed to parse the record
+     */
+    String[] convert(InputStream record) {
+        Arrays.fill(_values, null);
+        _capturing.clear();
+
+        XMLStreamReader reader = null;
+        try {
+            reader = _inputFactory.createXMLStreamReader(record);
+            readRecord(reader);
+        } catch (XMLStreamException e) {
+            throw new ConnectorException(XML_PARSING_ERROR + e.getMessage(), e);
+        } finally {
+            closeQuietly(reader);
+            IOUtil.closeQuietly(record);
+        }
+
+        for (int i = 0; i < _values.length; ++i) {
+            if (_values[i] == null) {
+                _values[i] = "";
+            }
+        }
+        return _values;
+    }
+
+    private void readRecord(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 0;
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    ++depth;
+                    startElement(depth, reader.getLocalName());
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    endElement(depth);
+                    --depth;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    appendText(reader);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private void startElement(int depth, String elementName) {
+        if (depth == _path.length) {
+            _path = Arrays.copyOf(_path, depth * 2);
+        }
+
+        FieldNode node;
+        if (depth == 1) {
+            // the record element, whatever its name is
+            node = _root;
+        } else {
+            FieldNode parent = _path[depth - 1];
+            node = (parent == null) ? null : parent._children.get(elementName);
+        }
+        _path[depth] = node;
+
+        if ((node != null) && node.isField() && !node.isCaptured(_values)) {
+            for (int column : node._columns) {
+                _builders[column].setLength(0);
+            }
+            _capturing.add(node);
+        }
+    }
+
+    private void endElement(int depth) {
+        FieldNode node = _path[depth];
+        int last = _capturing.size() - 1;
+        if ((node == null) || (last < 0) || (_capturing.get(last) != node)) {
+            return;
+        }
+
+        _capturing.remove(last);
+        for (int column : node._columns) {
+            _values[column] = _builders[column].toString();
+        }
+    }
+
+    private void appendText(XMLStreamReader reader) {
+        for (FieldNode node : _capturing) {
+            for (int column : node._columns) {
+                _builders[column].append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+            }
+        }
+    }
+
+    private static void closeQuietly(XMLStreamReader reader) {
+        if (reader == null) {
+            return;
+        }
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            // nothing else to do, the record stream is closed anyway
+        }
+    }
+
+    /**
+     * Node of the field trie: an element name below its parent, and the columns of the fields ending at it
+     */
+    private static class FieldNode {
+
+        private final Map<String, FieldNode> _children = new HashMap<>();
+        private int[] _columns = new int[0];
+
+        FieldNode getOrAddChild(String elementName) {
+            return _children.computeIfAbsent(elementName, name -> new FieldNode());
+        }
+
+        void addColumn(int column) {
+            _columns = Arrays.copyOf(_columns, _columns.length + 1);
+            _columns[_columns.length - 1] = column;
+        }
+
+        boolean isField() {
+            return _columns.length > 0;
+        }
+
+        boolean isCaptured(String[] values) {
+            return values[_columns[0]] != null;
+        }
+    }
+}
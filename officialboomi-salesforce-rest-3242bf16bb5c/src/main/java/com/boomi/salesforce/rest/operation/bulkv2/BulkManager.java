@@ -6,6 +6,10 @@ import com.boomi.salesforce.rest.controller.bulkv2.BulkV2CUDController;
 import com.boomi.salesforce.rest.controller.bulkv2.BulkV2Controller;
 import com.boomi.salesforce.rest.controller.bulkv2.BulkV2QueryController;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 public class BulkManager {
 
     private static final int INITIAL_WAIT_TIME = 1500;
@@ -25,6 +29,17 @@ public class BulkManager {
         waitForBulkProcessing(controller);
     }
 
+    /**
+     * Waits for salesforce to finish Bulk CUD processing of at least one of the given jobs. The status of all the jobs
+     * is checked in the same polling loop.
+     *
+     * @param controllers used to check if Salesforce finished each job processing
+     * @return the controllers of the jobs that finished processing, never empty
+     */
+    public static List<BulkV2CUDController> waitAnyCUD(List<BulkV2CUDController> controllers) {
+        return waitForAnyBulkProcessing(controllers);
+    }
+
     /**
      * Waits for salesforce to finish Bulk Query processing
      *
@@ -38,6 +53,14 @@ public class BulkManager {
      * Waits until bulk processing is done, or 21 minutes has elapsed.
      */
     private static void waitForBulkProcessing(BulkV2Controller controller) {
+        waitForAnyBulkProcessing(Collections.singletonList(controller));
+    }
+
+    /**
+     * Waits until the bulk processing of at least one of the jobs is done, or 21 minutes has elapsed.
+     */
+    private static <T extends BulkV2Controller> List<T> waitForAnyBulkProcessing(List<T> controllers) {
+        List<T> finished = new ArrayList<>();
         int waitingTime = INITIAL_WAIT_TIME;
         int safetyCount = MAX_NUMBER_OF_RETRIES;
         do {
@@ -48,10 +71,17 @@ public class BulkManager {
                 Thread.currentThread().interrupt();
                 throw new ConnectorException("the thread was interrupted", e);
             }
-        } while (!controller.isFinishedProcessing() && --safetyCount != 0);
+
+            for (T controller : controllers) {
+                if (controller.isFinishedProcessing()) {
+                    finished.add(controller);
+                }
+            }
+        } while (finished.isEmpty() && --safetyCount != 0);
 
         if (safetyCount == 0) {
             throw new ConnectorException("Salesforce is taking too long inProgress state for this bulk operation");
         }
+        return finished;
     }
 }
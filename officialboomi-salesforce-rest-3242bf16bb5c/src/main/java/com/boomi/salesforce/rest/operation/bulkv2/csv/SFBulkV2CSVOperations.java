@@ -6,11 +6,15 @@ import com.boomi.connector.api.ObjectData;
 import com.boomi.connector.api.OperationResponse;
 import com.boomi.connector.api.OperationStatus;
 import com.boomi.connector.api.UpdateRequest;
+import com.boomi.connector.util.PayloadUtil;
 import com.boomi.salesforce.rest.SFRestConnection;
 import com.boomi.salesforce.rest.controller.bulkv2.BulkV2CUDController;
 import com.boomi.salesforce.rest.controller.bulkv2.BulkV2QueryController;
+import com.boomi.salesforce.rest.controller.bulkv2.reader.BulkV2QueryPage;
+import com.boomi.salesforce.rest.controller.bulkv2.reader.BulkV2QueryPagePrefetcher;
 import com.boomi.salesforce.rest.controller.operation.QueryController;
 import com.boomi.salesforce.rest.operation.bulkv2.BulkManager;
+import com.boomi.salesforce.rest.properties.OperationProperties;
 import com.boomi.salesforce.rest.util.SalesforceResponseUtil;
 import com.boomi.util.IOUtil;
 import com.boomi.util.LogUtil;
@@ -102,30 +106,32 @@ public class SFBulkV2CSVOperations {
         String operationName = _connectionManager.getOperationProperties().getOperationBoomiName();
         QueryController soqlController = new QueryController(_connectionManager);
         for (ObjectData input : request) {
+            BulkV2QueryPagePrefetcher pagePrefetcher = null;
             try {
                 String queryString = soqlController.readSOQLInput(input);
                 bulkController.startQueryBulk(queryString);
 
                 BulkManager.waitQuery(bulkController);
 
-                Long pageSize = _connectionManager.getOperationProperties().getPageSize();
-                String pageLocator = null;
-                do {
-                    ClassicHttpResponse salesforceResponse = bulkController.getCSVResults(pageLocator, pageSize);
+                OperationProperties operationProperties = _connectionManager.getOperationProperties();
+                pagePrefetcher = new BulkV2QueryPagePrefetcher(_connectionManager, bulkController.getJobId(),
+                        operationProperties.getPageSize(), operationProperties.getPrefetchPages());
+                BulkV2QueryPage page;
+                while ((page = pagePrefetcher.nextPage()) != null) {
                     try {
                         response.addPartialResult(input, OperationStatus.SUCCESS, "200", null,
-                                SalesforceResponseUtil.toPayload(salesforceResponse));
-
-                        pageLocator = SalesforceResponseUtil.getQueryPageLocatorQuietly(salesforceResponse);
+                                PayloadUtil.toPayload(page.getContent()));
                     } finally {
-                        IOUtil.closeQuietly(salesforceResponse);
+                        page.close();
                     }
-                } while (pageLocator != null);
+                }
 
                 response.finishPartialResult(input);
             } catch (Exception e) {
                 response.addErrorResult(input, OperationStatus.FAILURE, "",
                         "Salesforce failed to " + operationName + " records", e);
+            } finally {
+                IOUtil.closeQuietly(pagePrefetcher);
             }
         }
     }
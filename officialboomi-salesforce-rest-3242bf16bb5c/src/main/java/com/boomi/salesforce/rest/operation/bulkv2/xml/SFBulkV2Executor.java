@@ -4,23 +4,39 @@ package com.boomi.salesforce.rest.operation.bulkv2.xml;
 import com.boomi.connector.api.OperationResponse;
 import com.boomi.connector.api.OperationStatus;
 import com.boomi.connector.api.TrackedData;
+import com.boomi.connector.util.PayloadUtil;
 import com.boomi.salesforce.rest.SFRestConnection;
+import com.boomi.salesforce.rest.controller.DocumentController;
 import com.boomi.salesforce.rest.controller.bulkv2.BulkV2CUDController;
 import com.boomi.salesforce.rest.controller.bulkv2.BulkV2QueryController;
 import com.boomi.salesforce.rest.controller.bulkv2.reader.BulkV2CUDReader;
+import com.boomi.salesforce.rest.controller.bulkv2.reader.BulkV2QueryPage;
+import com.boomi.salesforce.rest.controller.bulkv2.reader.BulkV2QueryPagePrefetcher;
 import com.boomi.salesforce.rest.controller.bulkv2.reader.BulkV2QueryReader;
 import com.boomi.salesforce.rest.operation.bulkv2.BulkManager;
+import com.boomi.salesforce.rest.properties.OperationProperties;
 import com.boomi.util.IOUtil;
+import com.boomi.util.LogUtil;
 
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Executes a CSV batch file and print the XML output response
  */
 public class SFBulkV2Executor {
+    private static final Logger LOG = LogUtil.getLogger(SFBulkV2Executor.class);
+
     private final OperationResponse _response;
     private final SFRestConnection _connectionManager;
+    /**
+     * jobs uploaded and still being processed by Salesforce, in the order they were uploaded
+     */
+    private final List<OpenJob> _openJobs = new ArrayList<>();
 
     /**
      * @param connectionManager SFRestConnection instance
@@ -31,22 +47,132 @@ public class SFBulkV2Executor {
     }
 
     /**
-     * Builds new bulk job and uploads the given batch<br> Reads and add the successful and failed results<br>
+     * Builds new bulk job and uploads the given batch, without waiting for Salesforce to process it<br> Up to the
+     * maximum concurrent jobs are kept open, once reached waits for at least one of them to finish and adds its results
+     * before uploading the batch<br> {@link #finishBulks()} must be called after the last batch<br> If uploading the
+     * batch or waiting for the open jobs fails, the other open jobs are reported or aborted before rethrowing
      *
      * @param bulkBatch     InputStream contains the bulk batch CSV body
      * @param contentLength length of the CSV data in bytes
      * @param batchObjects  list of input documents in this batch of bulk
      */
-    public void sendBulk(InputStream bulkBatch, Long contentLength, List<TrackedData> batchObjects) {
-        BulkV2CUDReader bulkReader = null;
+    public void submitBulk(InputStream bulkBatch, Long contentLength, List<TrackedData> batchObjects) {
         try {
+            int maxConcurrentJobs = _connectionManager.getOperationProperties().getMaxConcurrentJobs();
+            while (_openJobs.size() >= maxConcurrentJobs) {
+                readFinishedJobs();
+            }
+
             BulkV2CUDController bulkController = new BulkV2CUDController(_connectionManager);
-            // start the bulk load operation steps
-            bulkController.startBulk(bulkBatch, contentLength);
+            try {
+                // start the bulk load operation steps
+                bulkController.startBulk(bulkBatch, contentLength);
+            } catch (RuntimeException e) {
+                // the job may have been created before the upload failed
+                if (bulkController.getJobId() != null) {
+                    abortQuietly(bulkController);
+                }
+                throw e;
+            }
+            _openJobs.add(new OpenJob(bulkController, batchObjects));
+        } catch (RuntimeException e) {
+            failOpenJobs(e);
+            throw e;
+        } finally {
+            IOUtil.closeQuietly(bulkBatch);
+        }
+    }
 
-            // waits for Salesforce to finish processing
-            BulkManager.waitCUD(bulkController);
+    /**
+     * Waits for Salesforce to finish processing all the open jobs and adds their results<br> If waiting for the open
+     * jobs fails, the other open jobs are reported or aborted before rethrowing
+     */
+    public void finishBulks() {
+        try {
+            while (!_openJobs.isEmpty()) {
+                readFinishedJobs();
+            }
+        } catch (RuntimeException e) {
+            failOpenJobs(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Settles the jobs left open after a job of this execution failed, so none of them keeps writing records without
+     * its documents getting a result. The finished jobs have their results added, the ones still in progress are
+     * aborted and a failure is added for their documents.
+     *
+     * @param cause the failure of the execution
+     */
+    private void failOpenJobs(Exception cause) {
+        List<OpenJob> openJobs = new ArrayList<>(_openJobs);
+        _openJobs.clear();
+        for (OpenJob job : openJobs) {
+            String errorMessage;
+            try {
+                if (job._controller.isFinishedProcessing()) {
+                    readResults(job._controller, job._batchObjects);
+                    continue;
+                }
+                job._controller.abort();
+                errorMessage = "Bulk job " + job._controller.getJobId()
+                               + " was aborted after another job of the execution failed: " + cause.getMessage();
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "Failed to settle bulk job " + job._controller.getJobId(), e);
+                errorMessage = e.getMessage();
+            }
+            _response.addPartialResult(job._batchObjects, OperationStatus.FAILURE, "", errorMessage,
+                                       DocumentController.generateFailedOutput("", errorMessage));
+            _response.finishPartialResult(job._batchObjects);
+        }
+    }
 
+    /**
+     * Aborts the job, logging instead of throwing if it fails
+     *
+     * @param bulkController controller of the job to abort
+     */
+    private static void abortQuietly(BulkV2CUDController bulkController) {
+        try {
+            bulkController.abort();
+        } catch (RuntimeException e) {
+            LOG.log(Level.WARNING, "Failed to abort bulk job " + bulkController.getJobId(), e);
+        }
+    }
+
+    /**
+     * Waits for Salesforce to finish processing at least one of the open jobs, then reads and adds the results of the
+     * finished ones in the order they were uploaded
+     */
+    private void readFinishedJobs() {
+        List<BulkV2CUDController> controllers = new ArrayList<>(_openJobs.size());
+        for (OpenJob job : _openJobs) {
+            controllers.add(job._controller);
+        }
+
+        // waits for Salesforce to finish processing
+        List<BulkV2CUDController> finished = BulkManager.waitAnyCUD(controllers);
+
+        Iterator<OpenJob> jobs = _openJobs.iterator();
+        while (jobs.hasNext()) {
+            OpenJob job = jobs.next();
+            if (finished.contains(job._controller)) {
+                jobs.remove();
+                readResults(job._controller, job._batchObjects);
+            }
+        }
+    }
+
+    /**
+     * Reads and add the successful and failed results of a finished job<br>
+     *
+     * @param bulkController controller of the finished job
+     * @param batchObjects   list of input documents in the batch of the job
+     */
+    private void readResults(BulkV2CUDController bulkController, List<TrackedData> batchObjects) {
+        BulkV2CUDReader bulkReader = null;
+        try {
             // Read Bulk Job results
             bulkReader = new BulkV2CUDReader(_connectionManager, bulkController.getJobId(),
                                              bulkController.getTotalRecordsCount(),
@@ -72,7 +198,6 @@ public class SFBulkV2Executor {
             }
             _response.finishPartialResult(batchObjects);
         } finally {
-            IOUtil.closeQuietly(bulkBatch);
             if (bulkReader != null) {
                 bulkReader.close();
             }
@@ -80,39 +205,63 @@ public class SFBulkV2Executor {
     }
 
     /**
-     * Builds new Query bulk job with the given SOQL query string<br> Reads and add the successful results<br>
+     * Builds new Query bulk job with the given SOQL query string<br> Reads and add the successful results, either one
+     * document per record or one CSV document per page of results<br> The next pages are downloaded while the current
+     * one is being added if prefetching is configured<br>
      *
      * @param requestData input document for this batch of bulk
      * @param queryString TrackedData contains the bulk batch CSV body
      */
     public void startQueryBulk(TrackedData requestData, String queryString) {
+        BulkV2QueryPagePrefetcher pagePrefetcher = null;
         BulkV2QueryReader bulkReader = null;
         try {
+            OperationProperties operationProperties = _connectionManager.getOperationProperties();
+            boolean isSplitPerPage = operationProperties.isSplitPerPage();
             BulkV2QueryController bulkController = new BulkV2QueryController(_connectionManager);
             // start the bulk load operation steps
             bulkController.startQueryBulk(queryString);
             // waits for Salesforce to finish processing
             BulkManager.waitQuery(bulkController);
 
-            String pageLocator = null;
-            Long pageSize = _connectionManager.getOperationProperties().getPageSize();
             // Read Bulk Job results
+            pagePrefetcher = new BulkV2QueryPagePrefetcher(_connectionManager, bulkController.getJobId(),
+                    operationProperties.getPageSize(), operationProperties.getPrefetchPages());
             bulkReader = new BulkV2QueryReader(_connectionManager, bulkController.getJobId(),
                                                bulkController.getTotalRecordsCount());
-            do {
-                bulkReader.initQueryResult(pageLocator, pageSize);
-                while (bulkReader.hasNext()) {
-                    _response.addPartialResult(requestData, OperationStatus.SUCCESS, "200", "success",
-                                               bulkReader.getNext());
+            BulkV2QueryPage page;
+            while ((page = pagePrefetcher.nextPage()) != null) {
+                try {
+                    if (isSplitPerPage) {
+                        _response.addPartialResult(requestData, OperationStatus.SUCCESS, "200", "success",
+                                                   PayloadUtil.toPayload(page.getContent()));
+                    } else {
+                        bulkReader.initQueryResult(page);
+                        while (bulkReader.hasNext()) {
+                            _response.addPartialResult(requestData, OperationStatus.SUCCESS, "200", "success",
+                                                       bulkReader.getNext());
+                        }
+                    }
+                } finally {
+                    page.close();
                 }
-
-                pageLocator = bulkReader.getNextPageLocator();
-            } while (pageLocator != null);
+            }
             _response.finishPartialResult(requestData);
         } finally {
-            if (bulkReader != null) {
-                bulkReader.close();
-            }
+            IOUtil.closeQuietly(bulkReader, pagePrefetcher);
+        }
+    }
+
+    /**
+     * Bulk job uploaded to Salesforce along with the input documents of its batch
+     */
+    private static class OpenJob {
+        private final BulkV2CUDController _controller;
+        private final List<TrackedData> _batchObjects;
+
+        OpenJob(BulkV2CUDController controller, List<TrackedData> batchObjects) {
+            _controller = controller;
+            _batchObjects = batchObjects;
         }
     }
 }
\ No newline at end of file
@@ -46,11 +46,12 @@ public class SFBulkV2XMLOperations {
             Pair<InputStream, Long> batchData = _combiner.writeDeleteBatch(batchObjects);
 
             if (batchData != null) {
-                _executor.sendBulk(batchData.getKey(), batchData.getValue(), batchObjects);
+                _executor.submitBulk(batchData.getKey(), batchData.getValue(), batchObjects);
             }
 
             batchObjects = _batcher.nextDeleteBatch();
         }
+        _executor.finishBulks();
     }
 
     /**
@@ -62,12 +63,12 @@ public class SFBulkV2XMLOperations {
             Pair<InputStream, Long> batchData = _combiner.writeUpdateBatch(batchObjects);
 
             if (batchData != null) {
-                _executor.sendBulk(batchData.getKey(), batchData.getValue(), batchObjects);
+                _executor.submitBulk(batchData.getKey(), batchData.getValue(), batchObjects);
             }
 
             batchObjects = _batcher.nextUpdateBatch();
         }
-
+        _executor.finishBulks();
     }
 
     /**
@@ -25,6 +25,10 @@ public class OperationProperties {
     private static final int MAX_BATCH_COUNT = 200;
     private static final long DEFAULT_BATCH_COUNT = 200L;
     private static final long DEFAULT_BATCH_SIZE = 100L;
+    private static final int MAX_CONCURRENT_JOBS = 10;
+    private static final long DEFAULT_CONCURRENT_JOBS = 1L;
+    private static final int MAX_PREFETCH_PAGES = 4;
+    private static final long DEFAULT_PREFETCH_PAGES = 0L;
     private static final long MB_TO_BYTES_FACTOR = 1000000L;
     private static final long QUERY_UNLIMITED_DOCUMENTS = -1L;
 
@@ -34,7 +38,8 @@ public class OperationProperties {
 
     public OperationProperties(PropertyMap operationProperties, String operationName) {
         _operationProperties = operationProperties;
-        _extraProperties = new HashMap<>();
+        // query result pages can be prefetched in background threads, which store the API limit of each response
+        _extraProperties = Collections.synchronizedMap(new HashMap<>());
 
         if (Constants.CREATE_TREE_CUSTOM_DESCRIPTOR.equals(operationName)) {
             setBoomiOperation(OperationType.CREATE.name());
@@ -149,6 +154,31 @@ public class OperationProperties {
         return _operationProperties.getLongProperty(Constants.QUERY_PAGE_SIZE_DESCRIPTOR);
     }
 
+    /**
+     * Should be used in Bulk Query Operations only
+     *
+     * @return the number of result pages downloaded ahead of the page being read, 0 to download each page when read
+     * @throws ConnectorException if the value was not in the valid range
+     */
+    public int getPrefetchPages() {
+        long val = _operationProperties.getLongProperty(Constants.QUERY_PREFETCH_PAGES_DESCRIPTOR,
+                DEFAULT_PREFETCH_PAGES);
+        if (val < 0 || val > MAX_PREFETCH_PAGES) {
+            throw new ConnectorException(
+                    "Invalid Prefetch Pages given:" + val + ". The range of valid values, is 0-4.");
+        }
+        return (int) val;
+    }
+
+    /**
+     * Should be used in Bulk Query Operations only
+     *
+     * @return true if each page of results is returned as a single CSV document instead of one document per record
+     */
+    public boolean isSplitPerPage() {
+        return _operationProperties.getBooleanProperty(Constants.QUERY_SPLIT_PER_PAGE_DESCRIPTOR, false);
+    }
+
     public boolean isBulkOperationAPI() {
         if (StringUtil.isNotBlank(getBulkOperation())) {
             return true;
@@ -171,6 +201,22 @@ public class OperationProperties {
         return val * MB_TO_BYTES_FACTOR;
     }
 
+    /**
+     * Should be used in Bulk Operations only
+     *
+     * @return the maximum number of bulk jobs uploaded and processed by Salesforce at the same time
+     * @throws ConnectorException if the value was not in the valid range
+     */
+    public int getMaxConcurrentJobs() {
+        long val = _operationProperties.getLongProperty(Constants.BULK_MAX_CONCURRENT_JOBS_DESCRIPTOR,
+                DEFAULT_CONCURRENT_JOBS);
+        if (val <= 0 || val > MAX_CONCURRENT_JOBS) {
+            throw new ConnectorException(
+                    "Invalid Maximum Concurrent Jobs given:" + val + ". The range of valid values, is 1-10.");
+        }
+        return (int) val;
+    }
+
     public String getBulkHeader() {
         return _operationProperties.getProperty(Constants.BULK_HEADER_DESCRIPTOR, "");
     }
@@ -196,6 +196,21 @@ public class RequestBuilder {
                                     .setEntity(requestBody.toString()).build();
     }
 
+    /**
+     * Builds the ClassicHttpRequest to set the state of a Bulk V2 job as Aborted so Salesforce stops processing it
+     *
+     * @param jobID Bulk Job Id
+     * @return ClassicHttpRequest to abort the bulk job. Ready for execution
+     */
+    public ClassicHttpRequest abortJob(String jobID) {
+        ObjectNode requestBody = new ObjectMapper().createObjectNode();
+        requestBody.put(Constants.STATE_BULKV2, Constants.ABORTED_BULKV2);
+
+        URI uri = _sfuriBuilder.abortBulk(jobID);
+        return ClassicRequestBuilder.patch(uri).addHeader(acceptJSON()).addHeader(contentJSON())
+                                    .setEntity(requestBody.toString()).build();
+    }
+
     /**
      * Builds the ClassicHttpRequest to get the job status of Bulk V2 job
      *
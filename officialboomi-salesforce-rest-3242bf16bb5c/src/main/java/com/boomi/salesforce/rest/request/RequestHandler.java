@@ -310,6 +310,16 @@ public class RequestHandler {
         _requestExecutor.executeVoid(request, "finish upload bulk batch");
     }
 
+    /**
+     * Aborts a bulk job so Salesforce stops processing its data batch
+     *
+     * @param jobID Bulk Job Id
+     */
+    public void abortBulkJob(String jobID) {
+        ClassicHttpRequest request = _requestBuilder.abortJob(jobID);
+        _requestExecutor.executeVoid(request, "abort bulk job");
+    }
+
     /**
      * Tests connection by sending request to retrieve information about the Salesforce version
      */
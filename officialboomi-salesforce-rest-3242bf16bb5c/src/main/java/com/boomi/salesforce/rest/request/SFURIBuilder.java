@@ -156,6 +156,18 @@ public class SFURIBuilder {
         return buildURI(builder, "finish upload Bulk batch data");
     }
 
+    /**
+     * Builds URI to be used to abort a job in Bulk API V2
+     *
+     * @param jobID Bulk Job Id
+     * @return uri to abort BULK V2 job
+     */
+    public URI abortBulk(String jobID) {
+        URIBuilder builder = new URIBuilder(_baseURI).setPath(
+                _baseURI.getPath() + Constants.CREATE_JOB_URI + "/" + jobID);
+        return buildURI(builder, "abort Bulk job");
+    }
+
     /**
      * Builds URI to be used to get status of a job in Bulk API V2
      *
@@ -0,0 +1,105 @@
+// Copyright (c) 2023 Boomi, Inc.
+package com.boomi.salesforce.rest.controller.bulkv2.reader;
+
+import com.boomi.connector.api.ConnectorException;
+import com.boomi.connector.testutil.MutablePropertyMap;
+import com.boomi.salesforce.rest.SFRestConnection;
+import com.boomi.salesforce.rest.properties.OperationProperties;
+import com.boomi.salesforce.rest.testutil.BulkV2TestServer;
+import com.boomi.util.IOUtil;
+import com.boomi.util.StreamUtil;
+import com.boomi.util.StringUtil;
+
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BulkV2QueryPagePrefetcherTest {
+
+    private static final String JOB_ID = "750Q1";
+
+    private BulkV2TestServer _server;
+    private CloseableHttpClient _httpClient;
+    private SFRestConnection _connection;
+
+    @BeforeEach
+    void setup() throws IOException {
+        _server = new BulkV2TestServer();
+        _server.setQueryResults("Id", "001", "002", "003", "004", "005", "006", "007");
+        _httpClient = HttpClients.createDefault();
+        _connection = _server.buildConnection(_httpClient, new OperationProperties(new MutablePropertyMap(), "QUERY"));
+        // creates the query job the pages are read from
+        _connection.getRequestHandler().createBulkV2QueryJob("SELECT Id FROM Account").close();
+    }
+
+    @AfterEach
+    void tearDown() {
+        IOUtil.closeQuietly(_httpClient, _server);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, 3 })
+    void nextPageReturnsPagesInOrder(int prefetchPages) throws IOException {
+        List<String> pages = new ArrayList<>();
+        List<String> locators = new ArrayList<>();
+        try (BulkV2QueryPagePrefetcher prefetcher = new BulkV2QueryPagePrefetcher(_connection, JOB_ID, 2L,
+                prefetchPages)) {
+            BulkV2QueryPage page;
+            while ((page = prefetcher.nextPage()) != null) {
+                try {
+                    pages.add(StreamUtil.toString(page.getContent(), StringUtil.UTF8_CHARSET));
+                    locators.add(page.getNextPageLocator());
+                } finally {
+                    page.close();
+                }
+            }
+            assertNull(prefetcher.nextPage());
+        }
+
+        assertEquals(Arrays.asList("Id\n001\n002\n", "Id\n003\n004\n", "Id\n005\n006\n", "Id\n007\n"), pages);
+        assertEquals(Arrays.asList("2", "4", "6", null), locators);
+        assertEquals(4, _server.getQueryResultRequests());
+    }
+
+    @Test
+    void nextPageDoesNotDownloadMorePagesThanPrefetched() throws InterruptedException {
+        try (BulkV2QueryPagePrefetcher prefetcher = new BulkV2QueryPagePrefetcher(_connection, JOB_ID, 2L, 1)) {
+            prefetcher.nextPage().close();
+            // gives the background thread the time to run ahead if it could
+            Thread.sleep(300L);
+
+            // the page being read and the next one
+            assertTrue(_server.getQueryResultRequests() <= 2);
+        }
+    }
+
+    @Test
+    void nextPageThrowsDownloadErrors() {
+        try (BulkV2QueryPagePrefetcher prefetcher = new BulkV2QueryPagePrefetcher(_connection, "missing", 2L, 2)) {
+            assertThrows(ConnectorException.class, prefetcher::nextPage);
+        }
+    }
+
+    @Test
+    void closeReleasesPagesNotRead() {
+        BulkV2QueryPagePrefetcher prefetcher = new BulkV2QueryPagePrefetcher(_connection, JOB_ID, 2L, 3);
+        prefetcher.nextPage().close();
+        prefetcher.close();
+
+        assertThrows(ConnectorException.class, prefetcher::nextPage);
+    }
+}
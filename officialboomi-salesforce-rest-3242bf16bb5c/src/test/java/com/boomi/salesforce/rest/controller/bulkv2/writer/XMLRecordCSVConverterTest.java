@@ -0,0 +1,92 @@
+// Copyright (c) 2023 Boomi, Inc.
+package com.boomi.salesforce.rest.controller.bulkv2.writer;
+
+import com.boomi.connector.api.ConnectorException;
+import com.boomi.salesforce.rest.model.SObjectField;
+import com.boomi.util.StringUtil;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class XMLRecordCSVConverterTest {
+
+    @Test
+    void convertRelationshipFields() {
+        XMLRecordCSVConverter converter = new XMLRecordCSVConverter(
+                fields("Id", "Account.Name", "Account.Owner.Email", "Missing"));
+
+        String[] values = converter.convert(toStream(
+                "<records type=\"Contact\"><Id>003</Id><Account><Name>Acme</Name><Owner><Email>owner@acme.com</Email>"
+                + "</Owner></Account></records>"));
+
+        assertArrayEquals(new String[] { "003", "Acme", "owner@acme.com", "" }, values);
+    }
+
+    @Test
+    void convertParentAndChildFields() {
+        XMLRecordCSVConverter converter = new XMLRecordCSVConverter(fields("Account", "Account.Name"));
+
+        String[] values = converter.convert(
+                toStream("<records><Account><Name>Acme</Name><Id>001</Id></Account></records>"));
+
+        assertArrayEquals(new String[] { "Acme001", "Acme" }, values);
+    }
+
+    @Test
+    void convertFirstMatchingElement() {
+        XMLRecordCSVConverter converter = new XMLRecordCSVConverter(fields("Name", "Account.Name"));
+
+        String[] values = converter.convert(toStream(
+                "<records><Account><Id>001</Id></Account><Account><Name>second</Name></Account><Name>first</Name>"
+                + "<Name>duplicated</Name></records>"));
+
+        assertArrayEquals(new String[] { "first", "second" }, values);
+    }
+
+    @Test
+    void convertEscapedAndNestedContent() {
+        XMLRecordCSVConverter converter = new XMLRecordCSVConverter(fields("Name", "Description", "Title"));
+
+        String[] values = converter.convert(toStream(
+                "<records><Name>a &amp; \"b\"</Name><Description><![CDATA[<p>]]> and <b>bold</b></Description>"
+                + "<Title/></records>"));
+
+        assertArrayEquals(new String[] { "a & \"b\"", "<p> and bold", "" }, values);
+    }
+
+    @Test
+    void convertReusesFieldsAcrossRecords() {
+        XMLRecordCSVConverter converter = new XMLRecordCSVConverter(fields("Id", "Name"));
+
+        converter.convert(toStream("<records><Id>1</Id><Name>first</Name></records>"));
+        String[] values = converter.convert(toStream("<records><Id>2</Id></records>"));
+
+        assertArrayEquals(new String[] { "2", "" }, values);
+    }
+
+    @Test
+    void convertInvalidRecord() {
+        XMLRecordCSVConverter converter = new XMLRecordCSVConverter(fields("Id"));
+
+        assertThrows(ConnectorException.class, () -> converter.convert(toStream("<records><Id>1</records>")));
+    }
+
+    private static List<SObjectField> fields(String... names) {
+        List<SObjectField> fields = new ArrayList<>();
+        for (String name : names) {
+            fields.add(new SObjectField(name, null));
+        }
+        return fields;
+    }
+
+    private static InputStream toStream(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StringUtil.UTF8_CHARSET));
+    }
+}
@@ -7,6 +7,11 @@ import com.boomi.salesforce.rest.controller.bulkv2.BulkV2QueryController;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -27,6 +32,19 @@ public class BulkManagerTest {
                 "it should wait at least 1500 milliseconds");
     }
 
+    @Test
+    void waitAnyCUD() {
+        BulkV2CUDController pending = mock(BulkV2CUDController.class, Mockito.RETURNS_DEEP_STUBS);
+        BulkV2CUDController finished = mock(BulkV2CUDController.class, Mockito.RETURNS_DEEP_STUBS);
+        when(pending.isFinishedProcessing()).thenReturn(false);
+        when(finished.isFinishedProcessing()).thenReturn(false, true);
+
+        List<BulkV2CUDController> result = BulkManager.waitAnyCUD(Arrays.asList(pending, finished));
+
+        assertEquals(Collections.singletonList(finished), result);
+        Mockito.verify(pending, Mockito.times(2)).isFinishedProcessing();
+    }
+
     @Test
     void waitQuery() {
         BulkV2QueryController controller = mock(BulkV2QueryController.class, Mockito.RETURNS_DEEP_STUBS);
@@ -0,0 +1,203 @@
+// Copyright (c) 2023 Boomi, Inc.
+package com.boomi.salesforce.rest.operation.bulkv2.xml;
+
+import com.boomi.connector.api.ConnectorException;
+import com.boomi.connector.api.OperationResponse;
+import com.boomi.connector.api.OperationStatus;
+import com.boomi.connector.api.Payload;
+import com.boomi.connector.api.PropertyMap;
+import com.boomi.connector.api.TrackedData;
+import com.boomi.connector.testutil.MutablePropertyMap;
+import com.boomi.connector.testutil.OperationResponseFactory;
+import com.boomi.connector.testutil.SimpleOperationResponse;
+import com.boomi.connector.testutil.SimpleTrackedData;
+import com.boomi.salesforce.rest.SFRestConnection;
+import com.boomi.salesforce.rest.properties.OperationProperties;
+import com.boomi.salesforce.rest.testutil.BulkV2TestServer;
+import com.boomi.util.CollectionUtil;
+import com.boomi.util.IOUtil;
+import com.boomi.util.StreamUtil;
+import com.boomi.util.StringUtil;
+
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class SFBulkV2ExecutorTest {
+
+    private final OperationResponse _response = mock(OperationResponse.class);
+    private BulkV2TestServer _server;
+    private CloseableHttpClient _httpClient;
+
+    @BeforeEach
+    void setup() throws IOException {
+        _server = new BulkV2TestServer();
+        _httpClient = HttpClients.createDefault();
+    }
+
+    @AfterEach
+    void tearDown() {
+        IOUtil.closeQuietly(_httpClient, _server);
+    }
+
+    @Test
+    void submitBulkKeepsConcurrentJobsOpen() {
+        SFBulkV2Executor executor = new SFBulkV2Executor(buildConnection(2L), _response);
+        List<TrackedData> firstBatch = batch(2);
+        List<TrackedData> secondBatch = batch(1);
+        List<TrackedData> thirdBatch = batch(1);
+
+        submit(executor, firstBatch, "A", "fail-B");
+        submit(executor, secondBatch, "C");
+        submit(executor, thirdBatch, "fail-D");
+        executor.finishBulks();
+
+        assertEquals(3, _server.getCreatedJobs());
+        assertEquals(2, _server.getMaxOpenJobs());
+
+        verify(_response).addPartialResult(eq(firstBatch), eq(OperationStatus.SUCCESS), eq("200"), eq("success"),
+                any(Payload.class));
+        verify(_response).addPartialResult(eq(firstBatch), eq(OperationStatus.APPLICATION_ERROR), eq(""),
+                eq("error for fail-B"), any(Payload.class));
+        verify(_response).addPartialResult(eq(secondBatch), eq(OperationStatus.SUCCESS), eq("200"), eq("success"),
+                any(Payload.class));
+        verify(_response).addPartialResult(eq(thirdBatch), eq(OperationStatus.APPLICATION_ERROR), eq(""),
+                eq("error for fail-D"), any(Payload.class));
+        verify(_response, never()).addPartialResult(eq(secondBatch), eq(OperationStatus.APPLICATION_ERROR), any(),
+                any(), any(Payload.class));
+        verify(_response, never()).addPartialResult(eq(thirdBatch), eq(OperationStatus.SUCCESS), any(), any(),
+                any(Payload.class));
+        verify(_response).finishPartialResult(firstBatch);
+        verify(_response).finishPartialResult(secondBatch);
+        verify(_response).finishPartialResult(thirdBatch);
+    }
+
+    @Test
+    void finishBulksReportsOrAbortsOpenJobsWhenOneFails() {
+        SFBulkV2Executor executor = new SFBulkV2Executor(buildConnection(3L), _response);
+        List<TrackedData> firstBatch = batch(1);
+        List<TrackedData> failedBatch = batch(1);
+        List<TrackedData> lastBatch = batch(1);
+
+        submit(executor, firstBatch, "A");
+        submit(executor, failedBatch, "jobfail-B");
+        submit(executor, lastBatch, "C");
+        ConnectorException error = assertThrows(ConnectorException.class, executor::finishBulks);
+
+        assertTrue(error.getMessage().contains("InvalidBatch : job failed"));
+        assertEquals(1, _server.getAbortedJobs());
+        verify(_response).addPartialResult(eq(firstBatch), eq(OperationStatus.SUCCESS), eq("200"), eq("success"),
+                any(Payload.class));
+        verify(_response).addPartialResult(eq(failedBatch), eq(OperationStatus.FAILURE), eq(""),
+                eq(error.getMessage()), any(Payload.class));
+        verify(_response).addPartialResult(eq(lastBatch), eq(OperationStatus.FAILURE), eq(""),
+                eq("Bulk job 7503 was aborted after another job of the execution failed: " + error.getMessage()),
+                any(Payload.class));
+        verify(_response).finishPartialResult(firstBatch);
+        verify(_response).finishPartialResult(failedBatch);
+        verify(_response).finishPartialResult(lastBatch);
+    }
+
+    @Test
+    void submitBulkWithSingleJobWaitsForPreviousJob() {
+        SFBulkV2Executor executor = new SFBulkV2Executor(buildConnection(1L), _response);
+        List<TrackedData> firstBatch = batch(1);
+        List<TrackedData> secondBatch = batch(1);
+
+        submit(executor, firstBatch, "A");
+        submit(executor, secondBatch, "B");
+        executor.finishBulks();
+
+        assertEquals(2, _server.getCreatedJobs());
+        assertEquals(1, _server.getMaxOpenJobs());
+        verify(_response).finishPartialResult(firstBatch);
+        verify(_response).finishPartialResult(secondBatch);
+    }
+
+    @Test
+    void startQueryBulkReadsPrefetchedPagesInOrder() {
+        _server.setQueryResults("Id,Name", "001,A", "002,B", "003,C", "004,D", "005,E");
+        SimpleTrackedData input = new SimpleTrackedData(0, StreamUtil.EMPTY_STREAM);
+        SimpleOperationResponse response = OperationResponseFactory.get(input);
+
+        SFBulkV2Executor executor = new SFBulkV2Executor(buildQueryConnection(2L, false), response);
+        executor.startQueryBulk(input, "SELECT Id, Name FROM Account");
+
+        assertEquals(3, _server.getQueryResultRequests());
+        assertEquals(1, response.getResults().size());
+        List<byte[]> payloads = CollectionUtil.getFirst(response.getResults()).getPayloads();
+        assertEquals(5, payloads.size());
+        for (int i = 0; i < payloads.size(); i++) {
+            assertTrue(new String(payloads.get(i), StringUtil.UTF8_CHARSET).contains("<Id>00" + (i + 1) + "</Id>"));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = { 0L, 1L })
+    void startQueryBulkSplitPerPage(long prefetchPages) {
+        _server.setQueryResults("Id,Name", "001,A", "002,B", "003,C", "004,D", "005,E");
+        SimpleTrackedData input = new SimpleTrackedData(0, StreamUtil.EMPTY_STREAM);
+        SimpleOperationResponse response = OperationResponseFactory.get(input);
+
+        SFBulkV2Executor executor = new SFBulkV2Executor(buildQueryConnection(prefetchPages, true), response);
+        executor.startQueryBulk(input, "SELECT Id, Name FROM Account");
+
+        List<byte[]> payloads = CollectionUtil.getFirst(response.getResults()).getPayloads();
+        assertEquals(3, payloads.size());
+        assertEquals("Id,Name\n001,A\n002,B\n", new String(payloads.get(0), StringUtil.UTF8_CHARSET));
+        assertEquals("Id,Name\n003,C\n004,D\n", new String(payloads.get(1), StringUtil.UTF8_CHARSET));
+        assertEquals("Id,Name\n005,E\n", new String(payloads.get(2), StringUtil.UTF8_CHARSET));
+    }
+
+    private SFRestConnection buildConnection(long maxConcurrentJobs) {
+        PropertyMap properties = new MutablePropertyMap();
+        properties.put("object", "Account");
+        properties.put("operation", "insert");
+        properties.put("maxConcurrentJobs", maxConcurrentJobs);
+        return _server.buildConnection(_httpClient, new OperationProperties(properties, "CREATE"));
+    }
+
+    private SFRestConnection buildQueryConnection(long prefetchPages, boolean isSplitPerPage) {
+        PropertyMap properties = new MutablePropertyMap();
+        properties.put("object", "Account");
+        properties.put("pageSize", 2L);
+        properties.put("prefetchPages", prefetchPages);
+        properties.put("splitPerPage", isSplitPerPage);
+        return _server.buildConnection(_httpClient, new OperationProperties(properties, "QUERY"));
+    }
+
+    private static List<TrackedData> batch(int size) {
+        List<TrackedData> batch = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            batch.add(mock(TrackedData.class));
+        }
+        return batch;
+    }
+
+    private static void submit(SFBulkV2Executor executor, List<TrackedData> batch, String... rows) {
+        StringBuilder csv = new StringBuilder("Name\n");
+        for (String row : rows) {
+            csv.append(row).append('\n');
+        }
+        byte[] content = csv.toString().getBytes(StringUtil.UTF8_CHARSET);
+        executor.submitBulk(new ByteArrayInputStream(content), (long) content.length, batch);
+    }
+}
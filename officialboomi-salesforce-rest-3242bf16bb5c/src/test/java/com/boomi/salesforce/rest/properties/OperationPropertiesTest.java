@@ -1,6 +1,7 @@
 // Copyright (c) 2023 Boomi, Inc.
 package com.boomi.salesforce.rest.properties;
 
+import com.boomi.connector.api.ConnectorException;
 import com.boomi.connector.api.PropertyMap;
 import com.boomi.connector.api.TrackedData;
 import com.boomi.connector.testutil.MutableDynamicPropertyMap;
@@ -11,12 +12,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.util.Collections;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
 public class OperationPropertiesTest {
@@ -57,6 +61,39 @@ public class OperationPropertiesTest {
         );
     }
 
+    @Test
+    void maxConcurrentJobsDefaultsToOne() {
+        OperationProperties operationProperties = new OperationProperties(new MutablePropertyMap(), "CREATE");
+        assertEquals(1, operationProperties.getMaxConcurrentJobs());
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = { 0L, 11L })
+    void maxConcurrentJobsOutOfRange(long maxConcurrentJobs) {
+        PropertyMap propertyMap = new MutablePropertyMap();
+        propertyMap.put("maxConcurrentJobs", maxConcurrentJobs);
+        OperationProperties operationProperties = new OperationProperties(propertyMap, "CREATE");
+
+        assertThrows(ConnectorException.class, operationProperties::getMaxConcurrentJobs);
+    }
+
+    @Test
+    void prefetchPagesDefaultsToZero() {
+        OperationProperties operationProperties = new OperationProperties(new MutablePropertyMap(), "QUERY");
+        assertEquals(0, operationProperties.getPrefetchPages());
+        assertFalse(operationProperties.isSplitPerPage());
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = { -1L, 5L })
+    void prefetchPagesOutOfRange(long prefetchPages) {
+        PropertyMap propertyMap = new MutablePropertyMap();
+        propertyMap.put("prefetchPages", prefetchPages);
+        OperationProperties operationProperties = new OperationProperties(propertyMap, "QUERY");
+
+        assertThrows(ConnectorException.class, operationProperties::getPrefetchPages);
+    }
+
     @ParameterizedTest
     @MethodSource("getOperationBoomiNameTestCases")
     void getOperationBoomiName(String operationName, String expectedOperationName) {
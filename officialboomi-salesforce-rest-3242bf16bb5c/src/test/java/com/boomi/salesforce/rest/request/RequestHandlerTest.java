@@ -134,6 +134,14 @@ public class RequestHandlerTest {
         verify(_executorMock, times(1)).executeVoid(any(), any());
     }
 
+    @Test
+    void abortBulkJob() {
+        _requestHandler.abortBulkJob(JOB_ID);
+
+        verify(_builderMock, times(1)).abortJob(JOB_ID);
+        verify(_executorMock, times(1)).executeVoid(any(), any());
+    }
+
     @Test
     void executeGetFields() {
         ClassicHttpResponse result = _requestHandler.executeGetFields(OBJECT_NAME);
@@ -0,0 +1,329 @@
+// Copyright (c) 2023 Boomi, Inc.
+package com.boomi.salesforce.rest.testutil;
+
+import com.boomi.salesforce.rest.SFRestConnection;
+import com.boomi.salesforce.rest.authenticator.TokenManager;
+import com.boomi.salesforce.rest.properties.ConnectionProperties;
+import com.boomi.salesforce.rest.properties.OperationProperties;
+import com.boomi.salesforce.rest.request.RequestBuilder;
+import com.boomi.salesforce.rest.request.RequestExecutor;
+import com.boomi.salesforce.rest.request.RequestHandler;
+import com.boomi.salesforce.rest.request.SFURIBuilder;
+import com.boomi.util.StreamUtil;
+import com.boomi.util.StringUtil;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.mockito.Mockito;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Local stand-in for the Salesforce Bulk API V2 ingest and query endpoints.<br> Each ingest job reports to be in
+ * progress on its first status check and completes on the next one. The uploaded rows containing "fail" are reported
+ * as failed records, the rest as successful records. A job with a row containing "jobfail" is reported as failed
+ * on its first status check, and a job set as Aborted stops being processed.<br> Query jobs complete right away and return the configured
+ * query results, split in pages of the requested size.
+ */
+public class BulkV2TestServer implements Closeable {
+
+    private static final String BASE_PATH = "/services/data/v58.0";
+    private static final String INGEST_PATH = BASE_PATH + "/jobs/ingest";
+    private static final String QUERY_PATH = BASE_PATH + "/jobs/query";
+    private static final String JSON = "application/json";
+    private static final String CSV = "text/csv";
+
+    private final HttpServer _server;
+    private final Map<String, Job> _jobs = new ConcurrentHashMap<>();
+    private final List<String> _queryJobs = new ArrayList<>();
+    private String _queryHeader = "Id";
+    private List<String> _queryRows = new ArrayList<>();
+    private int _queryResultRequests;
+    private int _createdJobs;
+    private int _openJobs;
+    private int _maxOpenJobs;
+    private int _abortedJobs;
+
+    public BulkV2TestServer() throws IOException {
+        _server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        _server.createContext(INGEST_PATH, this::handle);
+        _server.createContext(QUERY_PATH, this::handleQuery);
+        _server.start();
+    }
+
+    /**
+     * @return the base URI of the REST API served by this instance
+     */
+    public URI getBaseURI() {
+        return URI.create("http://localhost:" + _server.getAddress().getPort() + BASE_PATH);
+    }
+
+    /**
+     * Builds a connection sending its requests to this instance
+     *
+     * @param httpClient          the client executing the requests
+     * @param operationProperties the operation properties of the connection
+     * @return the connection
+     */
+    public SFRestConnection buildConnection(CloseableHttpClient httpClient, OperationProperties operationProperties) {
+        URI baseURI = getBaseURI();
+        RequestBuilder requestBuilder = new RequestBuilder(new SFURIBuilder(baseURI, baseURI), operationProperties);
+        RequestExecutor requestExecutor = new RequestExecutor(httpClient, mock(TokenManager.class),
+                mock(ConnectionProperties.class), operationProperties);
+
+        SFRestConnection connection = mock(SFRestConnection.class, Mockito.RETURNS_DEEP_STUBS);
+        when(connection.getOperationProperties()).thenReturn(operationProperties);
+        when(connection.getRequestHandler()).thenReturn(new RequestHandler(requestBuilder, requestExecutor));
+        return connection;
+    }
+
+    /**
+     * @return the number of jobs created
+     */
+    public synchronized int getCreatedJobs() {
+        return _createdJobs;
+    }
+
+    /**
+     * @return the maximum number of jobs created and not completed at the same time
+     */
+    public synchronized int getMaxOpenJobs() {
+        return _maxOpenJobs;
+    }
+
+    /**
+     * @return the number of jobs aborted
+     */
+    public synchronized int getAbortedJobs() {
+        return _abortedJobs;
+    }
+
+    /**
+     * Sets the results returned by the query jobs
+     *
+     * @param header the CSV header line
+     * @param rows   the CSV record lines
+     */
+    public synchronized void setQueryResults(String header, String... rows) {
+        _queryHeader = header;
+        _queryRows = Arrays.asList(rows);
+    }
+
+    /**
+     * @return the number of query result pages requested
+     */
+    public synchronized int getQueryResultRequests() {
+        return _queryResultRequests;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath().substring(INGEST_PATH.length());
+            String[] parts = path.isEmpty() ? new String[0] : path.substring(1).split("/");
+            String method = exchange.getRequestMethod();
+
+            if (parts.length == 0 && "POST".equals(method)) {
+                respond(exchange, 200, JSON, "{\"id\":\"" + createJob() + "\",\"state\":\"Open\"}");
+                return;
+            }
+
+            Job job = (parts.length == 0) ? null : _jobs.get(parts[0]);
+            String resource = (parts.length == 2) ? parts[1] : "";
+            if (job == null) {
+                respond(exchange, 404, JSON, "[{\"message\":\"job not found\",\"errorCode\":\"NOT_FOUND\"}]");
+            } else if (parts.length == 1 && "PATCH".equals(method)) {
+                String state = StreamUtil.toString(exchange.getRequestBody(), StringUtil.UTF8_CHARSET).contains(
+                        "Aborted") ? abort(job) : "UploadComplete";
+                respond(exchange, 200, JSON, "{\"id\":\"" + parts[0] + "\",\"state\":\"" + state + "\"}");
+            } else if (parts.length == 1 && "GET".equals(method)) {
+                respond(exchange, 200, JSON, status(job));
+            } else if ("batches".equals(resource) && "PUT".equals(method)) {
+                job.upload(StreamUtil.toString(exchange.getRequestBody(), StringUtil.UTF8_CHARSET));
+                respond(exchange, 201, JSON, "");
+            } else if ("successfulResults".equals(resource)) {
+                respond(exchange, 200, CSV, job.results(false));
+            } else if ("failedResults".equals(resource)) {
+                respond(exchange, 200, CSV, job.results(true));
+            } else {
+                respond(exchange, 404, JSON, "[{\"message\":\"not found\",\"errorCode\":\"NOT_FOUND\"}]");
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleQuery(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath().substring(QUERY_PATH.length());
+            String[] parts = path.isEmpty() ? new String[0] : path.substring(1).split("/");
+
+            if (parts.length == 0 && "POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 200, JSON, "{\"id\":\"" + createQueryJob() + "\",\"state\":\"UploadComplete\"}");
+            } else if (parts.length == 0 || !hasQueryJob(parts[0])) {
+                respond(exchange, 404, JSON, "[{\"message\":\"job not found\",\"errorCode\":\"NOT_FOUND\"}]");
+            } else if (parts.length == 1) {
+                respond(exchange, 200, JSON, queryStatus());
+            } else if ("results".equals(parts[1])) {
+                queryResults(exchange);
+            } else {
+                respond(exchange, 404, JSON, "[{\"message\":\"not found\",\"errorCode\":\"NOT_FOUND\"}]");
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private synchronized String createQueryJob() {
+        String jobId = "750Q" + (_queryJobs.size() + 1);
+        _queryJobs.add(jobId);
+        return jobId;
+    }
+
+    private synchronized boolean hasQueryJob(String jobId) {
+        return _queryJobs.contains(jobId);
+    }
+
+    private synchronized String queryStatus() {
+        return "{\"state\":\"JobComplete\",\"numberRecordsProcessed\":\"" + _queryRows.size() + "\"}";
+    }
+
+    /**
+     * Responds the page starting at the row given as locator, with the next row as locator of the next page
+     */
+    private void queryResults(HttpExchange exchange) throws IOException {
+        Map<String, String> parameters = new HashMap<>();
+        String query = exchange.getRequestURI().getQuery();
+        for (String parameter : (query == null) ? new String[0] : query.split("&")) {
+            String[] keyValue = parameter.split("=", 2);
+            parameters.put(keyValue[0], keyValue.length == 2 ? keyValue[1] : "");
+        }
+
+        StringBuilder csv = new StringBuilder();
+        String nextLocator;
+        synchronized (this) {
+            ++_queryResultRequests;
+            int start = Integer.parseInt(parameters.getOrDefault("locator", "0"));
+            int end = Math.min(_queryRows.size(),
+                    start + Integer.parseInt(parameters.getOrDefault("maxRecords", "2000")));
+            csv.append(_queryHeader).append('\n');
+            for (String row : _queryRows.subList(start, end)) {
+                csv.append(row).append('\n');
+            }
+            nextLocator = (end < _queryRows.size()) ? String.valueOf(end) : "null";
+        }
+
+        exchange.getResponseHeaders().set("Sforce-Locator", nextLocator);
+        respond(exchange, 200, CSV, csv.toString());
+    }
+
+    private synchronized String createJob() {
+        String jobId = "750" + (++_createdJobs);
+        _jobs.put(jobId, new Job());
+        _maxOpenJobs = Math.max(_maxOpenJobs, ++_openJobs);
+        return jobId;
+    }
+
+    private synchronized String abort(Job job) {
+        if (!job._isComplete) {
+            job._isComplete = true;
+            job._isAborted = true;
+            --_openJobs;
+            ++_abortedJobs;
+        }
+        return "Aborted";
+    }
+
+    private synchronized String status(Job job) {
+        if (!job._isComplete && (job._statusChecks++ > 0 || job.isFailed())) {
+            job._isComplete = true;
+            --_openJobs;
+        }
+
+        if (!job._isComplete) {
+            return "{\"state\":\"InProgress\"}";
+        } else if (job._isAborted) {
+            return "{\"state\":\"Aborted\"}";
+        } else if (job.isFailed()) {
+            return "{\"state\":\"Failed\",\"errorMessage\":\"InvalidBatch : job failed\"}";
+        }
+        return "{\"state\":\"JobComplete\",\"numberRecordsProcessed\":\"" + job._rows.size()
+               + "\",\"numberRecordsFailed\":\"" + job.failedRows().size() + "\"}";
+    }
+
+    private static void respond(HttpExchange exchange, int code, String contentType, String body) throws IOException {
+        byte[] content = body.getBytes(StringUtil.UTF8_CHARSET);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(code, content.length == 0 ? -1 : content.length);
+        if (content.length > 0) {
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(content);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        _server.stop(0);
+    }
+
+    private static class Job {
+        private final List<String> _rows = new ArrayList<>();
+        private String _header;
+        private int _statusChecks;
+        private boolean _isComplete;
+        private boolean _isAborted;
+
+        void upload(String csv) {
+            List<String> lines = new ArrayList<>(Arrays.asList(csv.split("\n")));
+            _header = lines.remove(0);
+            _rows.addAll(lines);
+        }
+
+        boolean isFailed() {
+            for (String row : _rows) {
+                if (row.contains("jobfail")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        List<String> failedRows() {
+            List<String> failed = new ArrayList<>();
+            for (String row : _rows) {
+                if (row.contains("fail")) {
+                    failed.add(row);
+                }
+            }
+            return failed;
+        }
+
+        String results(boolean isFailed) {
+            String resultHeader = isFailed ? "\"sf__Id\",\"sf__Error\"," : "\"sf__Id\",\"sf__Created\",";
+            StringBuilder csv = new StringBuilder(resultHeader).append(_header).append('\n');
+            List<String> failed = failedRows();
+            for (String row : _rows) {
+                if (failed.contains(row) == isFailed) {
+                    String result = isFailed ? "\"\",\"error for " + row + "\"," : "\"001" + row + "\",\"true\",";
+                    csv.append(result).append(row).append('\n');
+                }
+            }
+            return csv.toString();
+        }
+    }
+}
@@ -0,0 +1,246 @@
+//Copyright (c) 2021 Boomi, Inc.
+package com.boomi.connector.sftp;
+
+import com.boomi.connector.sftp.constants.SFTPConstants;
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+import com.jcraft.jsch.SftpException;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the connected SFTP channels of the pooled sessions, so that a client
+ * borrowing a session reuses its channel instead of opening a new one. A
+ * channel is returned in the home directory, and is checked with a round trip
+ * before reuse if it stayed idle for a while.
+ *
+ * @author Omesh Deoli
+ */
+public class ChannelSftpPool {
+
+	/** The log. */
+	private static final Logger log = Logger.getLogger(ChannelSftpPool.class.getName());
+
+	/** The idle time after which a channel is checked before reuse, in milliseconds. */
+	private static final long VALIDATE_AFTER_IDLE_MILLIS = 30000L;
+
+	/** The idle channels of each session, most recently returned first. */
+	private final ConcurrentMap<Session, Deque<IdleChannel>> idleChannels = new ConcurrentHashMap<>();
+
+	/**
+	 * The Class SingletonHolder.
+	 */
+	private static class SingletonHolder {
+
+		/** The Constant INSTANCE. */
+		public static final ChannelSftpPool INSTANCE = new ChannelSftpPool();
+	}
+
+	/**
+	 * Gets the single instance of ChannelSftpPool.
+	 *
+	 * @return single instance of ChannelSftpPool
+	 */
+	public static ChannelSftpPool getInstance() {
+		return SingletonHolder.INSTANCE;
+	}
+
+	/**
+	 * Instantiates a new channel pool.
+	 */
+	ChannelSftpPool() {
+		// single instance, except in tests
+	}
+
+	/**
+	 * Borrows a healthy idle channel of the session, or opens a new one.
+	 *
+	 * @param session the session
+	 * @return the channel
+	 * @throws JSchException if the channel cannot be opened
+	 */
+	public ChannelSftp borrowChannel(Session session) throws JSchException {
+		SFTPConnectionPool.getMetrics().channelBorrowed();
+		IdleChannel idle;
+		while ((idle = pollIdle(session)) != null) {
+			if (isHealthy(session, idle)) {
+				return idle.channel;
+			}
+			discard(idle.channel);
+		}
+		ChannelSftp channel = (ChannelSftp) session.openChannel(SFTPConstants.SFTP);
+		channel.connect();
+		SFTPConnectionPool.getMetrics().channelCreated();
+		return channel;
+	}
+
+	/**
+	 * Returns a channel for reuse with its session, after moving it back to the
+	 * home directory. A channel that is not connected anymore is dropped.
+	 *
+	 * @param session the session
+	 * @param channel the channel
+	 */
+	public void returnChannel(Session session, ChannelSftp channel) {
+		if (!session.isConnected() || !channel.isConnected() || channel.isClosed()) {
+			discard(channel);
+			return;
+		}
+		try {
+			String home = channel.getHome();
+			if (!home.equals(channel.pwd())) {
+				channel.cd(home);
+			}
+		} catch (SftpException e) {
+			log.log(Level.FINE, SFTPConstants.ERROR_CHANNEL_NOT_REUSABLE, e);
+			discard(channel);
+			return;
+		}
+		final IdleChannel idle = new IdleChannel(channel, System.currentTimeMillis());
+		idleChannels.compute(session, (key, channels) -> {
+			Deque<IdleChannel> result = channels == null ? new ArrayDeque<>() : channels;
+			result.addFirst(idle);
+			return result;
+		});
+	}
+
+	/**
+	 * Disconnects the idle channels of a session that is closed.
+	 *
+	 * @param session the session
+	 */
+	public void discardAll(Session session) {
+		Deque<IdleChannel> channels = idleChannels.remove(session);
+		if (channels != null) {
+			for (IdleChannel idle : channels) {
+				discard(idle.channel);
+			}
+		}
+	}
+
+	/**
+	 * Disconnects the channels idle for longer than the given time, and those of
+	 * sessions that are not connected anymore.
+	 *
+	 * @param maxIdleMillis the max idle time, in milliseconds
+	 */
+	public void evictIdle(final long maxIdleMillis) {
+		final long now = System.currentTimeMillis();
+		for (Session session : idleChannels.keySet()) {
+			final Deque<IdleChannel> evicted = new ArrayDeque<>();
+			idleChannels.computeIfPresent(session, (key, channels) -> {
+				Iterator<IdleChannel> iterator = channels.iterator();
+				while (iterator.hasNext()) {
+					IdleChannel idle = iterator.next();
+					if (!key.isConnected() || now - idle.returnedAt > maxIdleMillis) {
+						iterator.remove();
+						evicted.add(idle);
+					}
+				}
+				return channels.isEmpty() ? null : channels;
+			});
+			for (IdleChannel idle : evicted) {
+				discard(idle.channel);
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of idle channels.
+	 *
+	 * @return the idle count
+	 */
+	int getIdleCount() {
+		final int[] count = new int[1];
+		for (Session session : idleChannels.keySet()) {
+			idleChannels.computeIfPresent(session, (key, channels) -> {
+				count[0] += channels.size();
+				return channels;
+			});
+		}
+		return count[0];
+	}
+
+	/**
+	 * Takes the most recently returned idle channel of a session.
+	 *
+	 * @param session the session
+	 * @return the idle channel, null if there is none
+	 */
+	private IdleChannel pollIdle(Session session) {
+		final IdleChannel[] taken = new IdleChannel[1];
+		idleChannels.computeIfPresent(session, (key, channels) -> {
+			taken[0] = channels.pollFirst();
+			return channels.isEmpty() ? null : channels;
+		});
+		return taken[0];
+	}
+
+	/**
+	 * Checks if an idle channel can be reused. A channel idle for a while is
+	 * checked with a round trip, as the server may have dropped it.
+	 *
+	 * @param session the session
+	 * @param idle    the idle channel
+	 * @return true, if healthy
+	 */
+	private static boolean isHealthy(Session session, IdleChannel idle) {
+		if (!session.isConnected() || !idle.channel.isConnected() || idle.channel.isClosed()) {
+			return false;
+		}
+		if (System.currentTimeMillis() - idle.returnedAt < VALIDATE_AFTER_IDLE_MILLIS) {
+			return true;
+		}
+		try {
+			idle.channel.realpath(".");
+			return true;
+		} catch (SftpException e) {
+			log.log(Level.FINE, SFTPConstants.ERROR_CHANNEL_NOT_REUSABLE, e);
+			return false;
+		}
+	}
+
+	/**
+	 * Disconnects a channel.
+	 *
+	 * @param channel the channel
+	 */
+	private static void discard(ChannelSftp channel) {
+		SFTPConnectionPool.getMetrics().channelDiscarded();
+		try {
+			channel.disconnect();
+		} catch (Exception e) {
+			log.log(Level.FINE, SFTPConstants.ERROR_DISCONNECTING_CHANNEL, e);
+		}
+	}
+
+	/**
+	 * A channel waiting in the pool.
+	 */
+	private static final class IdleChannel {
+
+		/** The channel. */
+		private final ChannelSftp channel;
+
+		/** The time the channel was returned. */
+		private final long returnedAt;
+
+		/**
+		 * Instantiates a new idle channel.
+		 *
+		 * @param channel    the channel
+		 * @param returnedAt the time the channel was returned
+		 */
+		IdleChannel(ChannelSftp channel, long returnedAt) {
+			this.channel = channel;
+			this.returnedAt = returnedAt;
+		}
+	}
+}
@@ -39,7 +39,7 @@ public class ConnectionProperties {
 	
 	private ConnectorContext connectorContext;
 	
-	private long currentDate;
+	private volatile long currentDate;
 	
 
 	/**
@@ -78,6 +78,12 @@ public class CustomLsEntrySelector implements LsEntrySelector {
 
 	OperationResponse operationResponse;
 
+	/** The downloader of the file contents, null when they are downloaded one at a time. */
+	ParallelQueryDownloader downloader;
+
+	/** The traversal listing the subdirectories, null when they are listed one at a time. */
+	ParallelDirectoryTraversal traversal;
+
 	/**
 	 * Checks if is reconnect failed.
 	 *
@@ -96,6 +102,24 @@ public class CustomLsEntrySelector implements LsEntrySelector {
 		this.reconnectFailed = reconnectFailed;
 	}
 
+	/**
+	 * Sets the downloader of the file contents.
+	 *
+	 * @param downloader the downloader, null to download one file at a time
+	 */
+	public void setDownloader(ParallelQueryDownloader downloader) {
+		this.downloader = downloader;
+	}
+
+	/**
+	 * Sets the traversal listing the subdirectories.
+	 *
+	 * @param traversal the traversal, null to list one subdirectory at a time
+	 */
+	public void setTraversal(ParallelDirectoryTraversal traversal) {
+		this.traversal = traversal;
+	}
+
 	/**
 	 * Instantiates a new custom ls entry selector.
 	 *
@@ -149,8 +173,18 @@ public class CustomLsEntrySelector implements LsEntrySelector {
 				numberOfEntriesProcessed++;
 				addPartialResultAndListContent(entry, filename, fullFilePath);
 
-
+				if (downloader != null) {
+					// wait for the pending downloads only when they could reach the limit
+					addDownloadedResults((long) result.getSize() + downloader.getPendingCount() >= limit);
+				}
 				if ((long) result.getSize() == limit) {
+					if (traversal != null) {
+						traversal.stop();
+					}
+					return BREAK;
+				}
+				if (traversal != null && level == 0 && !traversal.drain(false)) {
+					// an entry of a subdirectory reached the limit
 					return BREAK;
 				}
 			}
@@ -177,6 +211,15 @@ public class CustomLsEntrySelector implements LsEntrySelector {
 			result.addPartialResult(dirFullPath, filename, partialResult);
 			if (level == 0 && entry.getAttrs().isDir()
 					&& propertyMap.getBooleanProperty("recursiveList", false)) {
+				if (traversal != null) {
+					CustomLsEntrySelector subFolderSelector = new CustomLsEntrySelector(this.result, this.filter,
+							this.limit, this.logger, this.resultBuilder, fullFilePath, this.conn, this.newClient, 1,
+							propertyMap, operationResponse);
+					subFolderSelector.setDownloader(downloader);
+					subFolderSelector.setTraversal(traversal);
+					traversal.submit(subFolderSelector);
+					return;
+				}
 				CustomLsEntrySelector subFolderSelector = null;
 				SFTPClient subFolderClient = null;
 				try {
@@ -185,6 +228,7 @@ public class CustomLsEntrySelector implements LsEntrySelector {
 					subFolderSelector = new CustomLsEntrySelector(this.result, this.filter, this.limit,
 							this.logger, this.resultBuilder, fullFilePath, this.conn, this.newClient, 1,
 							propertyMap, operationResponse);
+					subFolderSelector.setDownloader(downloader);
 					subFolderClient.openConnection();
 					subFolderClient.listDirectoryContentWithSelector(fullFilePath, subFolderSelector);
 				} finally {
@@ -211,6 +255,10 @@ public class CustomLsEntrySelector implements LsEntrySelector {
 		RetryableQueryAction rQuery = null;
 		try {
 			if (filter.accept(entry)) {
+				if (downloader != null && resultBuilder instanceof QueryResultBuilder && !reconnectFailed) {
+					downloader.submit(entry, dirFullPath);
+					return null;
+				}
 				rQuery = new RetryableQueryAction(conn, filter.getInput(),
 						RetryStrategyFactory.createFactory(1), newClient,
 						FileMetadata.joinPaths(dirFullPath, entry.getFilename()));
@@ -247,4 +295,57 @@ public class CustomLsEntrySelector implements LsEntrySelector {
 		}
 	}
 
+	/**
+	 * Adds the results of the files downloaded by the downloader in listing order,
+	 * waiting for the oldest downloads while the downloader is full, or for all of
+	 * them.
+	 *
+	 * @param all whether to wait for all the pending downloads
+	 */
+	public void addDownloadedResults(boolean all) {
+		while (downloader.getPendingCount() > 0 && (all || downloader.isFull())) {
+			ParallelQueryDownloader.Download download = downloader.take();
+			try {
+				BaseResult downloadedResult = getDownloadedResult(download);
+				if (!(downloadedResult instanceof ErrorResult)) {
+					if (logger.isLoggable(Level.FINE)) {
+						LogUtil.fine(logger, "Adding %s",
+								FileMetadata.joinPaths(download.getDirFullPath(), download.getEntry().getFilename()));
+					}
+					result.addPartialResult(download.getDirFullPath(), download.getEntry().getFilename(),
+							downloadedResult);
+				}
+			} finally {
+				IOUtil.closeQuietly(((QueryResultBuilder) resultBuilder).getFilecontent());
+				download.close();
+			}
+		}
+	}
+
+	/**
+	 * Gets the result of a file downloaded by the downloader.
+	 *
+	 * @param download the download
+	 * @return the result
+	 */
+	private BaseResult getDownloadedResult(ParallelQueryDownloader.Download download) {
+		String fullFilePath = FileMetadata.joinPaths(download.getDirFullPath(), download.getEntry().getFilename());
+		Exception failure = download.getFailure();
+		if (failure == null) {
+			try {
+				return ((QueryResultBuilder) resultBuilder).makeDownloadedResult(download.getEntry(),
+						download.getAction(), propertyMap, operationResponse);
+			} catch (Exception e) {
+				failure = e;
+			}
+		}
+		if (download.getAction() != null && download.getAction().isReconnectFailed()) {
+			reconnectFailed = true;
+			LogUtil.warning(logger, "Error fetching file from " + fullFilePath, failure);
+		} else {
+			LogUtil.warning(logger, failure, SFTPConstants.UNEXPECTED_ERROR_OCCURED, fullFilePath);
+		}
+		return new ErrorResult(OperationStatus.APPLICATION_ERROR, failure);
+	}
+
 }
@@ -0,0 +1,246 @@
+//Copyright (c) 2020 Boomi, Inc.
+
+package com.boomi.connector.sftp;
+
+import com.boomi.connector.api.ConnectorException;
+import com.boomi.connector.api.TrackedData;
+import com.boomi.connector.sftp.common.PropertiesUtil;
+import com.boomi.util.IOUtil;
+import com.jcraft.jsch.ChannelSftp.LsEntry;
+import com.jcraft.jsch.ChannelSftp.LsEntrySelector;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.logging.Level;
+
+/**
+ * Lists the subdirectories found by a query on several SFTP channels at once,
+ * breadth first. Each worker owns a client for as long as it lists a
+ * directory, and hands every entry back as the server returns it. The entries
+ * are selected from the calling thread, by the selector of their directory, so
+ * the results are still added from one thread while the listings run. Once a
+ * selector breaks, at the limit, the workers stop listing.
+ *
+ * @author Omesh Deoli
+ */
+public class ParallelDirectoryTraversal implements Closeable {
+
+	/** The Constant QUEUE_CAPACITY, the entries listed but not selected yet. */
+	private static final int QUEUE_CAPACITY = 1024;
+
+	/** The connection. */
+	private final SFTPConnection conn;
+
+	/** The input. */
+	private final TrackedData input;
+
+	/** The workers. */
+	private final ExecutorService executor;
+
+	/** The clients not used by a worker. */
+	private final BlockingQueue<SFTPClient> idleClients = new LinkedBlockingQueue<>();
+
+	/** All the clients, closed with the traversal. */
+	private final List<SFTPClient> clients = new ArrayList<>();
+
+	/** The entries listed by the workers, and the end of each listing. */
+	private final BlockingQueue<Listed> listed = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+
+	/** Whether the traversal stopped, at the limit or on close. */
+	private volatile boolean stopped;
+
+	/** The directories submitted and not fully selected, only used from the calling thread. */
+	private int pendingDirectories;
+
+	/** The directories fully selected, only used from the calling thread. */
+	private int listedDirectories;
+
+	/** The start time. */
+	private final long startTime = System.currentTimeMillis();
+
+	/**
+	 * Instantiates a new parallel directory traversal.
+	 *
+	 * @param conn        the connection
+	 * @param input       the input
+	 * @param parallelism the number of channels
+	 */
+	public ParallelDirectoryTraversal(SFTPConnection conn, TrackedData input, int parallelism) {
+		this.conn = conn;
+		this.input = input;
+		this.executor = Executors.newFixedThreadPool(parallelism);
+	}
+
+	/**
+	 * Starts listing the directory of a selector.
+	 *
+	 * @param selector the selector of the directory
+	 */
+	public void submit(final CustomLsEntrySelector selector) {
+		if (stopped) {
+			return;
+		}
+		pendingDirectories++;
+		executor.submit(() -> list(selector));
+	}
+
+	/**
+	 * Selects the listed entries, each by the selector of its directory.
+	 *
+	 * @param wait whether to wait until every submitted directory is listed,
+	 *             rather than only selecting the entries already listed
+	 * @return false, if the traversal stopped
+	 */
+	public boolean drain(boolean wait) {
+		while (!stopped && pendingDirectories > 0) {
+			Listed next;
+			if (wait) {
+				try {
+					next = listed.take();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new ConnectorException("Interrupted while listing the directories", e);
+				}
+			} else {
+				next = listed.poll();
+				if (next == null) {
+					break;
+				}
+			}
+			if (next.entry == null) {
+				pendingDirectories--;
+				listedDirectories++;
+				if (next.failure != null) {
+					input.getLogger().log(Level.WARNING, "Failed to list " + next.selector.dirFullPath, next.failure);
+				}
+			} else if (next.selector.select(next.entry) == LsEntrySelector.BREAK) {
+				this.stop();
+			}
+		}
+		return !stopped;
+	}
+
+	/**
+	 * Stops the workers listing, the entries not selected yet are dropped.
+	 */
+	public void stop() {
+		stopped = true;
+	}
+
+	/**
+	 * Checks if the traversal stopped.
+	 *
+	 * @return true, if stopped
+	 */
+	public boolean isStopped() {
+		return stopped;
+	}
+
+	/**
+	 * Lists a directory on a worker, with the client that is free or a new one.
+	 * The end of the listing is always handed back, with any failure, so the
+	 * calling thread never waits for a listing that stopped.
+	 *
+	 * @param selector the selector of the directory
+	 */
+	private void list(final CustomLsEntrySelector selector) {
+		Throwable failure = null;
+		SFTPClient client = idleClients.poll();
+		try {
+			if (client == null) {
+				client = conn.createSftpClient(new PropertiesUtil(conn.getContext().getConnectionProperties()));
+				synchronized (clients) {
+					clients.add(client);
+				}
+				client.openConnection();
+			}
+			client.listDirectoryContentWithSelector(selector.dirFullPath,
+					entry -> stopped || !put(new Listed(selector, entry, null)) ? LsEntrySelector.BREAK
+							: LsEntrySelector.CONTINUE);
+		} catch (Throwable t) {
+			failure = t;
+			// the channel may be broken, the next listing opens a new client
+			IOUtil.closeQuietly(client);
+			synchronized (clients) {
+				clients.remove(client);
+			}
+			client = null;
+		} finally {
+			if (client != null) {
+				idleClients.add(client);
+			}
+			put(new Listed(selector, null, failure));
+		}
+	}
+
+	/**
+	 * Hands a listed entry to the calling thread, waiting while it is behind.
+	 *
+	 * @param next the listed entry
+	 * @return false, if interrupted by the close
+	 */
+	private boolean put(Listed next) {
+		try {
+			listed.put(next);
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	/**
+	 * Stops the workers, closes the clients and logs the listing rate.
+	 */
+	@Override
+	public void close() {
+		this.stop();
+		executor.shutdownNow();
+		listed.clear();
+		synchronized (clients) {
+			for (SFTPClient client : clients) {
+				IOUtil.closeQuietly(client);
+			}
+			clients.clear();
+		}
+		if (listedDirectories > 0) {
+			long elapsed = Math.max(1L, System.currentTimeMillis() - startTime);
+			input.getLogger().log(Level.INFO, "Listed {0} directories in {1} ms, {2} directories/s",
+					new Object[] { listedDirectories, elapsed, listedDirectories * 1000L / elapsed });
+		}
+	}
+
+	/**
+	 * An entry listed by a worker, or the end of a listing when the entry is
+	 * null.
+	 */
+	private static final class Listed {
+
+		/** The selector of the directory. */
+		private final CustomLsEntrySelector selector;
+
+		/** The entry, null at the end of the listing. */
+		private final LsEntry entry;
+
+		/** The failure ending the listing. */
+		private final Throwable failure;
+
+		/**
+		 * Instantiates a new listed entry.
+		 *
+		 * @param selector the selector of the directory
+		 * @param entry    the entry
+		 * @param failure  the failure
+		 */
+		Listed(CustomLsEntrySelector selector, LsEntry entry, Throwable failure) {
+			this.selector = selector;
+			this.entry = entry;
+			this.failure = failure;
+		}
+	}
+}
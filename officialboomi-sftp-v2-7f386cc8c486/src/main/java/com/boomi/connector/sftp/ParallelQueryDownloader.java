@@ -0,0 +1,247 @@
+//Copyright (c) 2020 Boomi, Inc.
+
+package com.boomi.connector.sftp;
+
+import com.boomi.connector.api.ConnectorException;
+import com.boomi.connector.api.TrackedData;
+import com.boomi.connector.sftp.actions.RetryableQueryAction;
+import com.boomi.connector.sftp.common.FileMetadata;
+import com.boomi.connector.sftp.common.PropertiesUtil;
+import com.boomi.connector.sftp.retry.RetryStrategyFactory;
+import com.boomi.util.IOUtil;
+import com.jcraft.jsch.ChannelSftp.LsEntry;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Downloads the files matched by a query on several SFTP channels at once. Each
+ * worker owns a client, and so a channel on its own session, for as long as it
+ * downloads a file. The downloads are handed back in the order they were
+ * submitted, so the results are added in listing order from the calling thread.
+ *
+ * @author Omesh Deoli
+ */
+public class ParallelQueryDownloader implements Closeable {
+
+	/** The connection. */
+	private final SFTPConnection conn;
+
+	/** The input. */
+	private final TrackedData input;
+
+	/** The number of channels. */
+	private final int parallelism;
+
+	/** The workers. */
+	private final ExecutorService executor;
+
+	/** The clients not used by a worker. */
+	private final BlockingQueue<SFTPClient> idleClients = new LinkedBlockingQueue<>();
+
+	/** All the clients, closed with the downloader. */
+	private final List<SFTPClient> clients = new ArrayList<>();
+
+	/** The downloads in submission order, only used from the calling thread. */
+	private final Deque<Future<Download>> pending = new ArrayDeque<>();
+
+	/**
+	 * Instantiates a new parallel query downloader.
+	 *
+	 * @param conn        the connection
+	 * @param input       the input
+	 * @param parallelism the number of channels
+	 */
+	public ParallelQueryDownloader(SFTPConnection conn, TrackedData input, int parallelism) {
+		this.conn = conn;
+		this.input = input;
+		this.parallelism = parallelism;
+		this.executor = Executors.newFixedThreadPool(parallelism);
+	}
+
+	/**
+	 * Starts downloading a file.
+	 *
+	 * @param entry       the entry
+	 * @param dirFullPath the dir full path
+	 */
+	public void submit(final LsEntry entry, final String dirFullPath) {
+		pending.add(executor.submit(() -> download(entry, dirFullPath)));
+	}
+
+	/**
+	 * Checks if enough downloads are pending to keep every channel busy, in which
+	 * case the oldest should be taken before submitting another one.
+	 *
+	 * @return true, if full
+	 */
+	public boolean isFull() {
+		return pending.size() >= 2 * parallelism;
+	}
+
+	/**
+	 * Gets the number of downloads not taken yet.
+	 *
+	 * @return the pending count
+	 */
+	public int getPendingCount() {
+		return pending.size();
+	}
+
+	/**
+	 * Waits for the oldest download and takes it.
+	 *
+	 * @return the download
+	 */
+	public Download take() {
+		Future<Download> next = pending.remove();
+		try {
+			return next.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ConnectorException("Interrupted while downloading the files", e);
+		} catch (ExecutionException e) {
+			throw new ConnectorException(e.getCause());
+		}
+	}
+
+	/**
+	 * Downloads a file on a worker, with the client that is free or a new one.
+	 *
+	 * @param entry       the entry
+	 * @param dirFullPath the dir full path
+	 * @return the download
+	 */
+	private Download download(LsEntry entry, String dirFullPath) {
+		Download download = new Download(entry, dirFullPath);
+		SFTPClient client = idleClients.poll();
+		try {
+			if (client == null) {
+				client = conn.createSftpClient(new PropertiesUtil(conn.getContext().getConnectionProperties()));
+				synchronized (clients) {
+					clients.add(client);
+				}
+			}
+			download.action = new RetryableQueryAction(conn, input, RetryStrategyFactory.createFactory(1), client,
+					FileMetadata.joinPaths(dirFullPath, entry.getFilename()));
+			download.action.execute();
+		} catch (Exception e) {
+			download.failure = e;
+		} finally {
+			if (client != null) {
+				idleClients.add(client);
+			}
+		}
+		return download;
+	}
+
+	/**
+	 * Stops the workers, closes the pending downloads and the clients.
+	 */
+	@Override
+	public void close() {
+		executor.shutdownNow();
+		for (Future<Download> future : pending) {
+			if (!future.cancel(true) && future.isDone()) {
+				try {
+					IOUtil.closeQuietly(future.get());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} catch (ExecutionException e) {
+					// the download failed, there is nothing to close
+				}
+			}
+		}
+		pending.clear();
+		synchronized (clients) {
+			for (SFTPClient client : clients) {
+				IOUtil.closeQuietly(client);
+			}
+			clients.clear();
+		}
+	}
+
+	/**
+	 * A file downloaded, or failed to download, by a worker.
+	 */
+	public static final class Download implements Closeable {
+
+		/** The entry. */
+		private final LsEntry entry;
+
+		/** The dir full path. */
+		private final String dirFullPath;
+
+		/** The action holding the content. */
+		private RetryableQueryAction action;
+
+		/** The failure. */
+		private Exception failure;
+
+		/**
+		 * Instantiates a new download.
+		 *
+		 * @param entry       the entry
+		 * @param dirFullPath the dir full path
+		 */
+		Download(LsEntry entry, String dirFullPath) {
+			this.entry = entry;
+			this.dirFullPath = dirFullPath;
+		}
+
+		/**
+		 * Gets the entry.
+		 *
+		 * @return the entry
+		 */
+		public LsEntry getEntry() {
+			return entry;
+		}
+
+		/**
+		 * Gets the dir full path.
+		 *
+		 * @return the dir full path
+		 */
+		public String getDirFullPath() {
+			return dirFullPath;
+		}
+
+		/**
+		 * Gets the action holding the content.
+		 *
+		 * @return the action, null if no client could be opened
+		 */
+		public RetryableQueryAction getAction() {
+			return action;
+		}
+
+		/**
+		 * Gets the failure.
+		 *
+		 * @return the failure, null if the file was downloaded
+		 */
+		public Exception getFailure() {
+			return failure;
+		}
+
+		/**
+		 * Close.
+		 */
+		@Override
+		public void close() {
+			if (action != null) {
+				action.close();
+			}
+		}
+	}
+}
@@ -0,0 +1,137 @@
+//Copyright (c) 2021 Boomi, Inc.
+package com.boomi.connector.sftp;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The counters of the session and channel pools, shared by all the connections
+ * of the JVM.
+ *
+ * @author Omesh Deoli
+ */
+public class PoolMetrics {
+
+	/** The number of sessions borrowed. */
+	private final AtomicLong sessionBorrows = new AtomicLong();
+
+	/** The time spent waiting for a session, in nanoseconds. */
+	private final AtomicLong sessionWaitNanos = new AtomicLong();
+
+	/** The number of sessions created. */
+	private final AtomicLong sessionCreates = new AtomicLong();
+
+	/** The number of channels borrowed. */
+	private final AtomicLong channelBorrows = new AtomicLong();
+
+	/** The number of channels created. */
+	private final AtomicLong channelCreates = new AtomicLong();
+
+	/** The number of channels disconnected by a failed health check or eviction. */
+	private final AtomicLong channelDiscards = new AtomicLong();
+
+	/**
+	 * Records a session borrowed from the pool.
+	 *
+	 * @param waitNanos the time spent waiting for the session
+	 */
+	void sessionBorrowed(long waitNanos) {
+		sessionBorrows.incrementAndGet();
+		sessionWaitNanos.addAndGet(waitNanos);
+	}
+
+	/**
+	 * Records a session created by the pool.
+	 */
+	void sessionCreated() {
+		sessionCreates.incrementAndGet();
+	}
+
+	/**
+	 * Records a channel borrowed from the pool.
+	 */
+	void channelBorrowed() {
+		channelBorrows.incrementAndGet();
+	}
+
+	/**
+	 * Records a channel created by the pool.
+	 */
+	void channelCreated() {
+		channelCreates.incrementAndGet();
+	}
+
+	/**
+	 * Records a pooled channel disconnected.
+	 */
+	void channelDiscarded() {
+		channelDiscards.incrementAndGet();
+	}
+
+	/**
+	 * Gets the number of sessions borrowed.
+	 *
+	 * @return the session borrows
+	 */
+	public long getSessionBorrows() {
+		return sessionBorrows.get();
+	}
+
+	/**
+	 * Gets the time spent waiting for a session.
+	 *
+	 * @return the session wait, in milliseconds
+	 */
+	public long getSessionWaitMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(sessionWaitNanos.get());
+	}
+
+	/**
+	 * Gets the number of sessions created.
+	 *
+	 * @return the session creates
+	 */
+	public long getSessionCreates() {
+		return sessionCreates.get();
+	}
+
+	/**
+	 * Gets the number of channels borrowed.
+	 *
+	 * @return the channel borrows
+	 */
+	public long getChannelBorrows() {
+		return channelBorrows.get();
+	}
+
+	/**
+	 * Gets the number of channels created.
+	 *
+	 * @return the channel creates
+	 */
+	public long getChannelCreates() {
+		return channelCreates.get();
+	}
+
+	/**
+	 * Gets the number of channels disconnected by a failed health check or
+	 * eviction.
+	 *
+	 * @return the channel discards
+	 */
+	public long getChannelDiscards() {
+		return channelDiscards.get();
+	}
+
+	/**
+	 * To string.
+	 *
+	 * @return the string
+	 */
+	@Override
+	public String toString() {
+		return "sessions borrowed=" + getSessionBorrows() + ", waited=" + getSessionWaitMillis() + "ms, created="
+				+ getSessionCreates() + "; channels borrowed=" + getChannelBorrows() + ", created="
+				+ getChannelCreates() + ", discarded=" + getChannelDiscards();
+	}
+}
@@ -53,18 +53,7 @@ public class QueryResultBuilder implements ResultBuilder {
 			throws IOException {
 		try {
 			retryableGetaction.execute();
-			PayloadMetadata metadata = operationResponse.createMetadata();
-			metadata.setTrackedProperty(SFTPConstants.PROPERTY_FILENAME, meta.getFilename());
-			fileContent = (retryableGetaction).getOutputStream().toInputStream();
-			String timeStamp = FileMetadata.formatDate(FileMetadata.parseDate(meta.getAttrs().getMTime() * 1000L));
-			boolean includeAllMetadata = propertyMap
-					.getBooleanProperty(PROPERTY_INCLUDE_METADATA, Boolean.FALSE);
-			if (!includeAllMetadata) {
-				return new BaseResult(PayloadUtil.toPayload(fileContent, metadata));
-			} else {
-				GetSFTPFileMetadata getFileMetadata = new GetSFTPFileMetadata(fileContent, meta.getFilename(), timeStamp);
-				return new BaseResult(PayloadUtil.toPayload(getFileMetadata.toJson(), metadata));
-			}
+			return makeDownloadedResult(meta, retryableGetaction, propertyMap, operationResponse);
 		}
 		
 		finally {
@@ -73,4 +62,30 @@ public class QueryResultBuilder implements ResultBuilder {
 
 	}
 
+	/**
+	 * Make the result of a file already downloaded by the action.
+	 *
+	 * @param meta the meta
+	 * @param downloadedAction the executed action holding the content
+	 * @param propertyMap the property map
+	 * @param operationResponse the operation response
+	 * @return the base result
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	public BaseResult makeDownloadedResult(LsEntry meta, RetryableQueryAction downloadedAction,
+			PropertyMap propertyMap, OperationResponse operationResponse) throws IOException {
+		PayloadMetadata metadata = operationResponse.createMetadata();
+		metadata.setTrackedProperty(SFTPConstants.PROPERTY_FILENAME, meta.getFilename());
+		fileContent = downloadedAction.getOutputStream().toInputStream();
+		String timeStamp = FileMetadata.formatDate(FileMetadata.parseDate(meta.getAttrs().getMTime() * 1000L));
+		boolean includeAllMetadata = propertyMap
+				.getBooleanProperty(PROPERTY_INCLUDE_METADATA, Boolean.FALSE);
+		if (!includeAllMetadata) {
+			return new BaseResult(PayloadUtil.toPayload(fileContent, metadata));
+		} else {
+			GetSFTPFileMetadata getFileMetadata = new GetSFTPFileMetadata(fileContent, meta.getFilename(), timeStamp);
+			return new BaseResult(PayloadUtil.toPayload(getFileMetadata.toJson(), metadata));
+		}
+	}
+
 }
@@ -22,7 +22,9 @@ import com.jcraft.jsch.SftpATTRS;
 import com.jcraft.jsch.SftpException;
 
 import java.io.Closeable;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.InvalidPathException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
@@ -145,7 +147,9 @@ public class SFTPClient implements Closeable {
 	private void getSession() {
 		try {
 			if (conProp.getProperties().isPoolingEnabled()) {
+				long borrowStart = System.nanoTime();
 				session = StackSessionPool.getInstance().getPool().borrowObject(conProp);
+				SFTPConnectionPool.getMetrics().sessionBorrowed(System.nanoTime() - borrowStart);
 
 				if (!session.isConnected()){
 					returnSession();
@@ -225,15 +229,30 @@ public class SFTPClient implements Closeable {
 	}
 
 	/**
-	 * Close connection.
+	 * Close connection. With pooling, the channel is kept with the session for the
+	 * next client borrowing it.
 	 */
 	public void closeConnection() {
-		killChannel();
 		if (conProp.getProperties().isPoolingEnabled()) {
+			if (this.sftpChannel != null && session != null) {
+				ChannelSftpPool.getInstance().returnChannel(session, this.sftpChannel);
+				this.sftpChannel = null;
+			}
 			returnSession();
 		}else {
+			killChannel();
 			ManageSession.killSession(session);
 		}
+		session = null;
+	}
+
+	/**
+	 * Closes the connection after a failure, disconnecting the channel instead of
+	 * keeping it for reuse.
+	 */
+	public void resetConnection() {
+		killChannel();
+		closeConnection();
 	}
 
 	/**
@@ -248,6 +267,7 @@ public class SFTPClient implements Closeable {
 				this.logger.log(Level.FINE, SFTPConstants.ERROR_DISCONNECTING_CHANNEL, e);
 			}
 		}
+		this.sftpChannel = null;
 	}
 
 	/**
@@ -257,6 +277,10 @@ public class SFTPClient implements Closeable {
 	 */
 	public void getChannel() {
 		try {
+			if (conProp.getProperties().isPoolingEnabled()) {
+				this.sftpChannel = ChannelSftpPool.getInstance().borrowChannel(session);
+				return;
+			}
 			Channel channel = session.openChannel(SFTPConstants.SFTP);
 			channel.connect();
 			this.sftpChannel = (ChannelSftp) channel;
@@ -285,6 +309,59 @@ public class SFTPClient implements Closeable {
 
 	}
 
+	/**
+	 * Allocates a file of the given size, so that its segments can be written in
+	 * any order with {@link #getFileOutputStream(String, long, long)}. Only the
+	 * last byte is written, the rest of the file is left to the segments.
+	 *
+	 * @param filePath the file path
+	 * @param fileSize the file size
+	 */
+	public void allocateFile(String filePath, long fileSize) {
+
+		try (OutputStream lastByte = sftpChannel.put(filePath, null, ChannelSftp.OVERWRITE, fileSize - 1)) {
+			lastByte.write(0);
+		} catch (SftpException e) {
+			throw new SFTPSdkException(MessageFormat.format(SFTPConstants.ERROR_FAILED_FILE_UPLOAD, filePath)
+					+ SFTPConstants.CAUSE + e.getMessage(), e);
+		} catch (IOException e) {
+			throw new ConnectorException(MessageFormat.format(SFTPConstants.ERROR_FAILED_FILE_UPLOAD, filePath)
+					+ SFTPConstants.CAUSE + e.getMessage(), e);
+		}
+
+	}
+
+	/**
+	 * Gets a stream writing an allocated file at the given position, without
+	 * truncating it.
+	 *
+	 * @param filePath the file path
+	 * @param position the position of the first byte written
+	 * @param fileSize the allocated size of the file
+	 * @return the file output stream
+	 */
+	public OutputStream getFileOutputStream(String filePath, long position, long fileSize) {
+
+		try {
+			// APPEND opens the file without truncating it and writes at its size plus the offset
+			return sftpChannel.put(filePath, null, ChannelSftp.APPEND, position - fileSize);
+		} catch (SftpException e) {
+			throw new SFTPSdkException(MessageFormat.format(SFTPConstants.ERROR_FAILED_FILE_UPLOAD, filePath)
+					+ SFTPConstants.CAUSE + e.getMessage(), e);
+		}
+
+	}
+
+	/**
+	 * Checks if the server advertises the posix rename extension, in which case
+	 * {@link #renameFile(String, String)} atomically replaces an existing target.
+	 *
+	 * @return true, if the rename replaces an existing target
+	 */
+	public boolean supportsPosixRename() {
+		return "1".equals(sftpChannel.getExtension(SFTPConstants.POSIX_RENAME_EXTENSION));
+	}
+
 	/**
 	 * Rename file.
 	 *
@@ -362,6 +439,27 @@ public class SFTPClient implements Closeable {
 
 	}
 
+	/**
+	 * Gets the file stream, starting at the given offset.
+	 *
+	 * @param filePath the file path
+	 * @param offset   the number of bytes to skip
+	 * @return the file stream
+	 */
+	public InputStream getFileStream(String filePath, long offset) {
+
+		try {
+			return sftpChannel.get(filePath, null, offset);
+		} catch (SftpException e) {
+			if (e.id == ChannelSftp.SSH_FX_NO_SUCH_FILE) {
+				throw new NoSuchFileFoundException(SFTPConstants.FILE_NOT_FOUND, e);
+			}
+			throw new SFTPSdkException(MessageFormat.format(SFTPConstants.ERROR_FAILED_FILE_RETRIEVAL, filePath)
+					+ SFTPConstants.CAUSE + e.getMessage(), e);
+		}
+
+	}
+
 	/**
 	 * Can retrieve.
 	 *
@@ -395,7 +493,19 @@ public class SFTPClient implements Closeable {
 	 * @return the unique file name
 	 */
 	public String getUniqueFileName(String path, String inputFile) {
-		String uniqueFileName = inputFile;
+		return SFTPClient.getNumberedFileName(inputFile, this.findHighestFileNumber(path, inputFile) + 1);
+	}
+
+	/**
+	 * Finds the highest number appended to a file name in a directory, with one
+	 * listing of the files matching the name.
+	 *
+	 * @param path      the path
+	 * @param inputFile the inputfile name
+	 * @return the highest number, 0 if only the file itself exists, -1 if neither
+	 *         exists
+	 */
+	public int findHighestFileNumber(String path, String inputFile) {
 		final String inputFileName = inputFile;
 		String extension = "";
 		int counter = -1;
@@ -414,13 +524,22 @@ public class SFTPClient implements Closeable {
 		String directoryPath = path + SFTPConstants.FILE_SEPARATOR + fileNameWithoutExtension + SFTPConstants.ASTERISK + extension;
 		List<LsEntry> files = listDirectoryContent(directoryPath);
 
-		counter = getHighestFileNumber(counter, pattern, files);
+		return getHighestFileNumber(counter, pattern, files);
+	}
 
-		if (counter >= 0) {
-			uniqueFileName = fileNameWithoutExtension + (counter + 1) + extension;
+	/**
+	 * Gets a file name with a number appended before its extension.
+	 *
+	 * @param inputFile the inputfile name
+	 * @param number    the number, the file name is returned unchanged if 0
+	 * @return the numbered file name
+	 */
+	public static String getNumberedFileName(String inputFile, int number) {
+		if (number <= 0) {
+			return inputFile;
 		}
-
-		return uniqueFileName;
+		String fileNameWithoutExtension = getFileNameExcludeExtension(inputFile);
+		return fileNameWithoutExtension + number + inputFile.substring(fileNameWithoutExtension.length());
 	}
 
 	private static int getHighestFileNumber(int counter, Pattern pattern, List<LsEntry> files) {
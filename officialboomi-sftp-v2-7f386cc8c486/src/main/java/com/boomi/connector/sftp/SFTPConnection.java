@@ -170,6 +170,17 @@ public class SFTPConnection extends BaseConnection {
 
 	}
 
+	/**
+	 * Checks if a rename replaces an existing target.
+	 *
+	 * @return true, if the server supports the posix rename extension
+	 */
+	public boolean supportsPosixRename() {
+
+		return client.supportsPosixRename();
+
+	}
+
 	/**
 	 * Put file.
 	 *
@@ -256,6 +267,31 @@ public class SFTPConnection extends BaseConnection {
 
 	}
 
+	/**
+	 * Allocates a file of the given size.
+	 *
+	 * @param fullFilePath the full file path
+	 * @param fileSize     the file size
+	 */
+	public void allocateFile(String fullFilePath, long fileSize) {
+
+		client.allocateFile(fullFilePath, fileSize);
+
+	}
+
+	/**
+	 * Gets the file stream, starting at the given offset.
+	 *
+	 * @param fullFilePath the full file path
+	 * @param offset       the number of bytes to skip
+	 * @return the file stream
+	 */
+	public InputStream getFileStream(String fullFilePath, long offset) {
+
+		return client.getFileStream(fullFilePath, offset);
+
+	}
+
 
 	/**
 	 * Creates the directory.
@@ -324,6 +360,18 @@ public class SFTPConnection extends BaseConnection {
 		return client.getUniqueFileName(remoteDir, enteredFileName);
 	}
 
+	/**
+	 * Find the highest number appended to a file name.
+	 *
+	 * @param enteredFileName the entered file name
+	 * @param remoteDir       the remote dir
+	 * @return the highest number, 0 if only the file itself exists, -1 if neither
+	 *         exists
+	 */
+	public int findHighestFileNumber(String enteredFileName, String remoteDir) {
+		return client.findHighestFileNumber(remoteDir, enteredFileName);
+	}
+
 	/**
 	 * File exists.
 	 *
@@ -409,10 +457,10 @@ public class SFTPConnection extends BaseConnection {
 	}
 
 	/**
-	 * Reconnect.
+	 * Reconnect. The failed channel is disconnected rather than pooled.
 	 */
 	public void reconnect() {
-		closeConnection();
+		client.resetConnection();
 		this.openConnection();
 	}
 
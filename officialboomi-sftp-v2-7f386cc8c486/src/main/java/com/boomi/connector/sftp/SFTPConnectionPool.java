@@ -6,9 +6,8 @@ import com.jcraft.jsch.Session;
 
 import org.apache.commons.pool.KeyedObjectPool;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
@@ -27,65 +26,103 @@ public class SFTPConnectionPool {
 	private static Logger log = Logger.getLogger(SFTPConnectionPool.class.getName());
 
 	/** The connection map. */
-	private static Map<String, ConnectionProperties> connectionMap = new HashMap<>();
+	private static final ConcurrentMap<String, ConnectionProperties> connectionMap = new ConcurrentHashMap<>();
 
 	/** The Constant DEFAULT_EVICTION_INTERVAL_UNITS. */
 	private static final TimeUnit DEFAULT_EVICTION_INTERVAL_UNITS = TimeUnit.MINUTES;
 
+	/** The Constant MAX_IDLE_MILLIS, after which the sessions of unused connection properties are closed. */
+	private static final long MAX_IDLE_MILLIS = TimeUnit.HOURS.toMillis(3L);
+
+	/** The Constant CHANNEL_MAX_IDLE_MILLIS, after which an idle channel is disconnected. */
+	private static final long CHANNEL_MAX_IDLE_MILLIS = TimeUnit.MINUTES.toMillis(5L);
+
 	/** The ScheduledExecutorService SHUTDOWN_SERVICE . */
 	private static final ScheduledExecutorService SHUTDOWN_SERVICE = ExecutorUtil
 			.newScheduler((String) "SFTP Pool Shutdown Service");
 
 	/** The connection tracking map. */
-	private static Map<ConnectionProperties, KeyedObjectPool<ConnectionProperties, Session>> connectionTrackingMap = new HashMap<>();
+	private static final ConcurrentMap<ConnectionProperties, KeyedObjectPool<ConnectionProperties, Session>> connectionTrackingMap = new ConcurrentHashMap<>();
+
+	/** The metrics of the session and channel pools. */
+	private static final PoolMetrics METRICS = new PoolMetrics();
 
 	private SFTPConnectionPool() {
 		//Hide implicit constructor
 	}
 
 	/**
-	 * Gets the connection propeties.
+	 * Gets the connection propeties. The connection properties registered for the
+	 * key are marked as used in the same atomic step, so the evictor cannot close
+	 * them while they are handed out.
 	 *
 	 * @param conProp the con prop
 	 * @param key the key
 	 * @return the connection propeties
 	 */
-	public static ConnectionProperties getConnectionPropeties(ConnectionProperties conProp, String key) {
-		if (connectionMap.get(key) == null) {
+	public static ConnectionProperties getConnectionPropeties(final ConnectionProperties conProp, String key) {
+		if (key == null) {
 			conProp.setCurrentDate(System.currentTimeMillis());
-			connectionMap.put(key, conProp);
-			connectionTrackingMap.put(conProp, StackSessionPool.getInstance().getPool());
-		} else {
-			if (key != null) {
-				conProp = connectionMap.get(key);
-				conProp.setCurrentDate(System.currentTimeMillis());
-			}
+			return conProp;
 		}
-		return conProp;
+		return connectionMap.compute(key, (k, registered) -> {
+			ConnectionProperties result = registered;
+			if (result == null) {
+				result = conProp;
+				connectionTrackingMap.put(result, StackSessionPool.getInstance().getPool());
+			}
+			result.setCurrentDate(System.currentTimeMillis());
+			return result;
+		});
 	}
 
-	static {
-		Runnable evictor = () -> {
-			for (Entry<String, ConnectionProperties> entry : connectionMap.entrySet()) {
-				String key = entry.getKey();
-				KeyedObjectPool<ConnectionProperties, Session> pool;
-				KeyedObjectPool<ConnectionProperties, Session> connectionPool = pool = connectionTrackingMap
-						.get(entry.getValue());
-				synchronized (connectionPool) {
-					try {
-						if (System.currentTimeMillis() - entry.getValue().getCurrentDate() > 10800000 && !(pool.getNumActive() > 0)) {
-							pool.clear();
-							connectionMap.remove(key);
-							connectionTrackingMap.remove(entry.getValue());
-						}
-					} catch (Exception e) {
-						log.log(Level.SEVERE, (String) ("Unable to close connection pool: " + pool.toString()),
-								(Throwable) e);
+	/**
+	 * Gets the metrics of the session and channel pools.
+	 *
+	 * @return the metrics
+	 */
+	public static PoolMetrics getMetrics() {
+		return METRICS;
+	}
+
+	/**
+	 * Closes the pooled sessions of the connection properties unused for longer
+	 * than the given time and without any session borrowed.
+	 *
+	 * @param maxIdleMillis the max idle time, in milliseconds
+	 */
+	static void evictIdle(final long maxIdleMillis) {
+		final long now = System.currentTimeMillis();
+		for (String key : connectionMap.keySet()) {
+			connectionMap.computeIfPresent(key, (k, conProp) -> {
+				KeyedObjectPool<ConnectionProperties, Session> pool = connectionTrackingMap.get(conProp);
+				if (now - conProp.getCurrentDate() <= maxIdleMillis || pool == null) {
+					return conProp;
+				}
+				try {
+					if (pool.getNumActive(conProp) > 0) {
+						return conProp;
 					}
+					pool.clear(conProp);
+				} catch (Exception e) {
+					log.log(Level.SEVERE, (String) ("Unable to close connection pool: " + pool.toString()),
+							(Throwable) e);
+					return conProp;
 				}
-			}
+				connectionTrackingMap.remove(conProp);
+				return null;
+			});
+		}
+	}
+
+	static {
+		Runnable evictor = () -> evictIdle(MAX_IDLE_MILLIS);
+		Runnable channelEvictor = () -> {
+			ChannelSftpPool.getInstance().evictIdle(CHANNEL_MAX_IDLE_MILLIS);
+			log.log(Level.FINE, "SFTP pool metrics: {0}", METRICS);
 		};
 		SHUTDOWN_SERVICE.scheduleAtFixedRate(evictor, 30L, 30L, DEFAULT_EVICTION_INTERVAL_UNITS);
+		SHUTDOWN_SERVICE.scheduleAtFixedRate(channelEvictor, 1L, 1L, DEFAULT_EVICTION_INTERVAL_UNITS);
 	}
 
 }
@@ -0,0 +1,349 @@
+//Copyright (c) 2020 Boomi, Inc.
+
+package com.boomi.connector.sftp;
+
+import com.boomi.connector.api.ConnectorException;
+import com.boomi.connector.api.ObjectData;
+import com.boomi.connector.api.TrackedData;
+import com.boomi.connector.sftp.common.PropertiesUtil;
+import com.boomi.connector.sftp.constants.SFTPConstants;
+import com.boomi.connector.sftp.retry.RetryStrategyFactory;
+import com.boomi.util.IOUtil;
+import com.boomi.util.StreamUtil;
+import com.boomi.util.retry.RetryStrategy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.zip.CRC32;
+
+/**
+ * Transfers a single large file as several byte ranges at once, each range on
+ * its own SFTP channel. A download writes every range at its position in a
+ * local file. An upload first allocates the remote file at its full size, then
+ * writes every range at its position, so the ranges can land in any order. A
+ * range that fails is transferred again on its own, and an uploaded range can
+ * be read back to verify its CRC32 checksum.
+ *
+ * @author Omesh Deoli
+ */
+public class SegmentedTransfer {
+
+	/** The connection. */
+	private final SFTPConnection conn;
+
+	/** The input. */
+	private final TrackedData input;
+
+	/** The number of segments. */
+	private final int segmentCount;
+
+	/** The retry factory of each segment. */
+	private final RetryStrategyFactory retryFactory;
+
+	/** Whether uploaded segments are read back to verify their checksum. */
+	private final boolean verifyChecksums;
+
+	/**
+	 * Instantiates a new segmented transfer.
+	 *
+	 * @param conn            the connection
+	 * @param input           the input
+	 * @param segmentCount    the number of segments
+	 * @param retryFactory    the retry factory of each segment
+	 * @param verifyChecksums whether uploaded segments are read back to verify their checksum
+	 */
+	public SegmentedTransfer(SFTPConnection conn, TrackedData input, int segmentCount,
+			RetryStrategyFactory retryFactory, boolean verifyChecksums) {
+		this.conn = conn;
+		this.input = input;
+		this.segmentCount = segmentCount;
+		this.retryFactory = retryFactory;
+		this.verifyChecksums = verifyChecksums;
+	}
+
+	/**
+	 * Checks if a file is large enough to be transferred in segments.
+	 *
+	 * @param fileSize     the file size
+	 * @param segmentCount the number of segments
+	 * @param thresholdMB  the smallest size transferred in segments, in MB
+	 * @return true, if the file is transferred in segments
+	 */
+	public static boolean isSegmented(long fileSize, int segmentCount, long thresholdMB) {
+		return segmentCount > 1 && fileSize > 0L && fileSize >= thresholdMB * 1024L * 1024L;
+	}
+
+	/**
+	 * Splits a file into contiguous segments of about the same size.
+	 *
+	 * @param fileSize     the file size
+	 * @param segmentCount the number of segments
+	 * @return the segments
+	 */
+	static List<Segment> split(long fileSize, int segmentCount) {
+		int count = (int) Math.max(1L, Math.min(segmentCount, fileSize));
+		List<Segment> segments = new ArrayList<>(count);
+		long start = 0L;
+		for (int i = 0; i < count; i++) {
+			long end = fileSize * (i + 1) / count;
+			segments.add(new Segment(start, end - start));
+			start = end;
+		}
+		return segments;
+	}
+
+	/**
+	 * Downloads a remote file into a local file.
+	 *
+	 * @param filePath the remote file path
+	 * @param fileSize the remote file size
+	 * @param target   the local file, overwritten
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	public void download(final String filePath, long fileSize, Path target) throws IOException {
+		try (final FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			transfer(filePath, fileSize, (client, segment) -> downloadSegment(client, filePath, segment, out));
+		}
+	}
+
+	/**
+	 * Uploads a document to a remote file.
+	 *
+	 * @param document the document, whose data is read once per segment
+	 * @param fileSize the size of the document
+	 * @param filePath the remote file path, overwritten
+	 */
+	public void upload(final ObjectData document, final long fileSize, final String filePath) {
+		conn.allocateFile(filePath, fileSize);
+		transfer(filePath, fileSize,
+				(client, segment) -> uploadSegment(client, document, filePath, fileSize, segment));
+	}
+
+	/**
+	 * Transfers all the segments at once and waits for them, failing with the
+	 * first segment that fails after its retries.
+	 *
+	 * @param filePath the remote file path
+	 * @param fileSize the file size
+	 * @param task     the transfer of a segment
+	 */
+	private void transfer(String filePath, long fileSize, SegmentTask task) {
+		List<Segment> segments = split(fileSize, segmentCount);
+		ExecutorService executor = Executors.newFixedThreadPool(segments.size());
+		try {
+			List<Future<Void>> transfers = new ArrayList<>(segments.size());
+			for (final Segment segment : segments) {
+				transfers.add(executor.submit(() -> {
+					transferWithRetry(segment, task);
+					return null;
+				}));
+			}
+			for (Future<Void> transfer : transfers) {
+				transfer.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ConnectorException(MessageFormat.format(SFTPConstants.ERROR_SEGMENTED_TRANSFER, filePath), e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new ConnectorException(MessageFormat.format(SFTPConstants.ERROR_SEGMENTED_TRANSFER, filePath)
+					+ SFTPConstants.CAUSE + e.getCause().getMessage(), e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Transfers a segment on its own client, transferring the whole segment again
+	 * on a new channel each time it fails, until the retries are exhausted.
+	 *
+	 * @param segment the segment
+	 * @param task    the transfer of a segment
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private void transferWithRetry(Segment segment, SegmentTask task) throws IOException {
+		SFTPClient client = conn.createSftpClient(new PropertiesUtil(conn.getContext().getConnectionProperties()));
+		RetryStrategy retry = retryFactory.createRetryStrategy();
+		int numAttempts = 0;
+		try {
+			while (true) {
+				try {
+					client.openConnection();
+					task.transfer(client, segment);
+					return;
+				} catch (IOException | RuntimeException e) {
+					if (!retry.shouldRetry(++numAttempts, null)) {
+						throw e;
+					}
+					input.getLogger().log(Level.WARNING,
+							"Transfer of the segment at byte {0} failed. Retry attempt no {1}. Cause: {2}",
+							new Object[] { segment.getStart(), numAttempts, e.getMessage() });
+					client.resetConnection();
+				}
+			}
+		} finally {
+			IOUtil.closeQuietly(client);
+		}
+	}
+
+	/**
+	 * Downloads a segment to its position in the local file.
+	 *
+	 * @param client   the client
+	 * @param filePath the remote file path
+	 * @param segment  the segment
+	 * @param out      the local file
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private static void downloadSegment(SFTPClient client, String filePath, Segment segment, FileChannel out)
+			throws IOException {
+		try (InputStream in = client.getFileStream(filePath, segment.getStart())) {
+			byte[] buffer = new byte[SFTPConstants.SEGMENT_BUFFER_SIZE];
+			long position = segment.getStart();
+			long end = segment.getStart() + segment.getLength();
+			while (position < end) {
+				int read = in.read(buffer, 0, (int) Math.min(buffer.length, end - position));
+				if (read == -1) {
+					throw new IOException(MessageFormat.format(SFTPConstants.ERROR_SEGMENT_TRUNCATED, filePath,
+							String.valueOf(position)));
+				}
+				ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, read);
+				while (bytes.hasRemaining()) {
+					position += out.write(bytes, position);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Uploads a segment of a document to its position in the remote file, then
+	 * reads it back to verify its checksum if required.
+	 *
+	 * @param client   the client
+	 * @param document the document
+	 * @param filePath the remote file path
+	 * @param fileSize the file size
+	 * @param segment  the segment
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private void uploadSegment(SFTPClient client, ObjectData document, String filePath, long fileSize,
+			Segment segment) throws IOException {
+		CRC32 sent = new CRC32();
+		try (InputStream in = document.getData()) {
+			StreamUtil.skipFully(in, segment.getStart());
+			try (OutputStream out = client.getFileOutputStream(filePath, segment.getStart(), fileSize)) {
+				copy(in, out, segment, sent, filePath);
+			}
+		}
+		if (verifyChecksums) {
+			CRC32 received = new CRC32();
+			try (InputStream in = client.getFileStream(filePath, segment.getStart())) {
+				copy(in, null, segment, received, filePath);
+			}
+			if (received.getValue() != sent.getValue()) {
+				throw new IOException(MessageFormat.format(SFTPConstants.ERROR_SEGMENT_CHECKSUM, filePath,
+						String.valueOf(segment.getStart())));
+			}
+		}
+	}
+
+	/**
+	 * Copies the bytes of a segment, updating their checksum.
+	 *
+	 * @param in       the stream positioned at the start of the segment
+	 * @param out      the output stream, null to only compute the checksum
+	 * @param segment  the segment
+	 * @param checksum the checksum
+	 * @param filePath the remote file path
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private static void copy(InputStream in, OutputStream out, Segment segment, CRC32 checksum, String filePath)
+			throws IOException {
+		byte[] buffer = new byte[SFTPConstants.SEGMENT_BUFFER_SIZE];
+		long remaining = segment.getLength();
+		while (remaining > 0L) {
+			int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+			if (read == -1) {
+				throw new IOException(MessageFormat.format(SFTPConstants.ERROR_SEGMENT_TRUNCATED, filePath,
+						String.valueOf(segment.getStart() + segment.getLength() - remaining)));
+			}
+			checksum.update(buffer, 0, read);
+			if (out != null) {
+				out.write(buffer, 0, read);
+			}
+			remaining -= read;
+		}
+	}
+
+	/**
+	 * The transfer of a segment on a client.
+	 */
+	private interface SegmentTask {
+
+		/**
+		 * Transfers the segment.
+		 *
+		 * @param client  the client
+		 * @param segment the segment
+		 * @throws IOException Signals that an I/O exception has occurred.
+		 */
+		void transfer(SFTPClient client, Segment segment) throws IOException;
+	}
+
+	/**
+	 * A byte range of a file.
+	 */
+	static final class Segment {
+
+		/** The start. */
+		private final long start;
+
+		/** The length. */
+		private final long length;
+
+		/**
+		 * Instantiates a new segment.
+		 *
+		 * @param start  the start
+		 * @param length the length
+		 */
+		Segment(long start, long length) {
+			this.start = start;
+			this.length = length;
+		}
+
+		/**
+		 * Gets the start.
+		 *
+		 * @return the start
+		 */
+		long getStart() {
+			return start;
+		}
+
+		/**
+		 * Gets the length.
+		 *
+		 * @return the length
+		 */
+		long getLength() {
+			return length;
+		}
+	}
+}
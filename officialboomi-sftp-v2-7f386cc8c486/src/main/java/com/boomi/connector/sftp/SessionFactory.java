@@ -21,7 +21,9 @@ public class SessionFactory extends BaseKeyedPoolableObjectFactory<ConnectionPro
 	 */
 	@Override
 	public Session makeObject(ConnectionProperties conProp) {
-		return ManageSession.getSessionWithoutConnectionPooling(conProp);
+		Session session = ManageSession.getSessionWithoutConnectionPooling(conProp);
+		SFTPConnectionPool.getMetrics().sessionCreated();
+		return session;
 	}
 
 
@@ -33,6 +35,7 @@ public class SessionFactory extends BaseKeyedPoolableObjectFactory<ConnectionPro
 	 */
 	@Override
 	public void destroyObject(ConnectionProperties serverDetails, Session session) {
+		ChannelSftpPool.getInstance().discardAll(session);
 		ManageSession.killSession(session);
 	}
 
@@ -0,0 +1,52 @@
+//Copyright (c) 2020 Boomi, Inc.
+
+package com.boomi.connector.sftp;
+
+import com.boomi.connector.sftp.constants.SFTPConstants;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Allocates unique file names for the documents of one execution. The first
+ * name of a file in a directory is found with one listing of the files
+ * matching it, the following names advance a local counter and only check that
+ * the next numbered name is still free, so each document costs a single remote
+ * call however many files the directory holds.
+ *
+ * @author Omesh Deoli
+ */
+public class UniqueFileNameAllocator {
+
+	/** The next number of each file, keyed by directory and file name. */
+	private final Map<String, Integer> nextNumbers = new HashMap<>();
+
+	/**
+	 * Allocates a unique name for a file. A numbered name created by another
+	 * client since the previous allocation is skipped.
+	 *
+	 * @param connection      the connection
+	 * @param enteredFileName the entered file name
+	 * @param remoteDir       the remote dir
+	 * @return the unique file name
+	 */
+	public String allocate(SFTPConnection connection, String enteredFileName, String remoteDir) {
+		String key = remoteDir + SFTPConstants.FILE_SEPARATOR + enteredFileName;
+		Integer next = nextNumbers.get(key);
+		int number;
+		String uniqueFileName;
+		if (next == null) {
+			number = connection.findHighestFileNumber(enteredFileName, remoteDir) + 1;
+			uniqueFileName = SFTPClient.getNumberedFileName(enteredFileName, number);
+		} else {
+			number = next;
+			uniqueFileName = SFTPClient.getNumberedFileName(enteredFileName, number);
+			while (connection.fileExists(uniqueFileName, remoteDir)) {
+				number++;
+				uniqueFileName = SFTPClient.getNumberedFileName(enteredFileName, number);
+			}
+		}
+		nextNumbers.put(key, number + 1);
+		return uniqueFileName;
+	}
+}
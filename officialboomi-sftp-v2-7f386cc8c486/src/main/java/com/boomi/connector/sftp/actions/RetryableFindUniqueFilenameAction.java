@@ -5,6 +5,7 @@ package com.boomi.connector.sftp.actions;
 import com.boomi.connector.api.TrackedData;
 
 import com.boomi.connector.sftp.SFTPConnection;
+import com.boomi.connector.sftp.UniqueFileNameAllocator;
 
 /**
  * The Class RetryableFindUniqueFilenameAction.
@@ -71,6 +72,9 @@ public class RetryableFindUniqueFilenameAction extends SingleRetryAction {
 	/** The remote dir. */
 	private String remoteDir;
 
+	/** The allocator of the execution, or null to list the directory every time. */
+	private final UniqueFileNameAllocator allocator;
+
 	
 	/**
 	 * Instantiates a new retryable find unique filename action.
@@ -84,15 +88,38 @@ public class RetryableFindUniqueFilenameAction extends SingleRetryAction {
 		super(connection, remoteDir, input);
 	    this.remoteDir=remoteDir;
 	    this.enteredFileName=enteredFileName;
+	    this.allocator = null;
 		
 	}
 
+	/**
+	 * Instantiates a new retryable find unique filename action allocating the name
+	 * from the counters of the execution.
+	 *
+	 * @param connection the connection
+	 * @param enteredFileName the entered file name
+	 * @param remoteDir the remote dir
+	 * @param input the input
+	 * @param allocator the allocator of the execution
+	 */
+	public RetryableFindUniqueFilenameAction(SFTPConnection connection, String enteredFileName, String remoteDir,
+			TrackedData input, UniqueFileNameAllocator allocator) {
+		super(connection, remoteDir, input);
+		this.remoteDir = remoteDir;
+		this.enteredFileName = enteredFileName;
+		this.allocator = allocator;
+	}
+
 	/**
 	 * Do execute.
 	 */
 	@Override
 	public void doExecute() {
-		uniqueFileName = this.getConnection().findUniqueFileName(enteredFileName, remoteDir);
+		if (allocator != null) {
+			uniqueFileName = allocator.allocate(this.getConnection(), enteredFileName, remoteDir);
+		} else {
+			uniqueFileName = this.getConnection().findUniqueFileName(enteredFileName, remoteDir);
+		}
 	}
 
 }
@@ -0,0 +1,183 @@
+//Copyright (c) 2020 Boomi, Inc.
+
+package com.boomi.connector.sftp.actions;
+
+import com.boomi.connector.api.ConnectorException;
+import com.boomi.connector.api.TrackedData;
+import com.boomi.connector.sftp.SFTPConnection;
+import com.boomi.connector.sftp.constants.SFTPConstants;
+import com.boomi.connector.sftp.retry.RetryStrategyFactory;
+import com.boomi.util.IOUtil;
+import com.boomi.util.retry.RetryStrategy;
+import com.jcraft.jsch.SftpATTRS;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.MessageFormat;
+import java.util.logging.Level;
+
+/**
+ * Opens a remote file as a stream that is read straight from the channel, so
+ * the content never lands in temporary storage. If the transfer breaks, the
+ * stream reconnects and resumes the download from the number of bytes already
+ * read.
+ *
+ * @author Omesh Deoli
+ */
+public class RetryableStreamFileAction extends RetryableAction implements Closeable {
+
+	/** The file path. */
+	private final String filePath;
+
+	/** The file name. */
+	private final String fileName;
+
+	/** The attributes of the file when the download started. */
+	private SftpATTRS attributes;
+
+	/** The stream of the current transfer. */
+	private InputStream remoteStream;
+
+	/** The number of bytes read so far. */
+	private long position;
+
+	/** The stream handed over to the payload. */
+	private final InputStream inputStream = new ResumingInputStream();
+
+	/**
+	 * Instantiates a new retryable stream file action.
+	 *
+	 * @param connection the connection
+	 * @param remoteDir the remote dir
+	 * @param fileName the file name
+	 * @param filePath the file path
+	 * @param input the input
+	 * @param retryFactory the retry factory
+	 */
+	public RetryableStreamFileAction(SFTPConnection connection, String remoteDir, String fileName, String filePath,
+			TrackedData input, RetryStrategyFactory retryFactory) {
+		super(connection, remoteDir, input, retryFactory);
+		this.fileName = fileName;
+		this.filePath = filePath;
+	}
+
+	/**
+	 * Gets the input stream, valid once the action is executed.
+	 *
+	 * @return the input stream
+	 */
+	public InputStream getInputStream() {
+		return inputStream;
+	}
+
+	/**
+	 * Gets the attributes of the file when the download started.
+	 *
+	 * @return the attributes
+	 */
+	public SftpATTRS getAttributes() {
+		return attributes;
+	}
+
+	/**
+	 * Opens the remote stream at the current position. The file is stated once
+	 * when the download starts, and again on resume to make sure it did not
+	 * change in between.
+	 */
+	@Override
+	void doExecute() {
+		IOUtil.closeQuietly(remoteStream);
+		remoteStream = null;
+		InputStream opened = this.getConnection().getFileStream(this.filePath, this.position);
+		SftpATTRS current = this.getConnection().getSingleFileAttributes(this.getRemoteDir(), this.fileName);
+		if (attributes != null
+				&& (current.getMTime() != attributes.getMTime() || current.getSize() != attributes.getSize())) {
+			IOUtil.closeQuietly(opened);
+			throw new ConnectorException(
+					MessageFormat.format(SFTPConstants.ERROR_FILE_CHANGED_DURING_DOWNLOAD, this.filePath));
+		}
+		attributes = current;
+		remoteStream = new BufferedInputStream(opened, SFTPConstants.STREAM_DOWNLOAD_BUFFER_SIZE);
+	}
+
+	/**
+	 * Closes the remote stream.
+	 */
+	@Override
+	public void close() {
+		IOUtil.closeQuietly(remoteStream);
+		remoteStream = null;
+	}
+
+	/**
+	 * Reads from the remote stream, resuming the transfer at the current position
+	 * when a read fails.
+	 */
+	private class ResumingInputStream extends InputStream {
+
+		/** The retry strategy of the transfer, shared by all the resumes. */
+		private final RetryStrategy retry = retryFactory.createRetryStrategy();
+
+		/** The number of resumes. */
+		private int numAttempts;
+
+		@Override
+		public int read() throws IOException {
+			byte[] single = new byte[1];
+			int read = read(single, 0, 1);
+			return read == -1 ? -1 : single[0] & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException {
+			while (true) {
+				if (remoteStream == null) {
+					throw new IOException(SFTPConstants.ERROR_STREAM_CLOSED);
+				}
+				try {
+					int read = remoteStream.read(buffer, offset, length);
+					if (read > 0) {
+						position += read;
+					}
+					return read;
+				} catch (IOException e) {
+					resume(e);
+				}
+			}
+		}
+
+		@Override
+		public int available() throws IOException {
+			return remoteStream == null ? 0 : remoteStream.available();
+		}
+
+		@Override
+		public void close() {
+			RetryableStreamFileAction.this.close();
+		}
+
+		/**
+		 * Reconnects and reopens the remote stream at the current position, or
+		 * rethrows the failure once the retries are exhausted.
+		 *
+		 * @param cause the failure of the read
+		 * @throws IOException if the transfer cannot be resumed
+		 */
+		private void resume(IOException cause) throws IOException {
+			if (!retry.shouldRetry(++numAttempts, NULL_STATUS)) {
+				throw cause;
+			}
+			input.getLogger().log(Level.WARNING, "Transfer of {0} interrupted after {1} bytes, resuming. Attempt no {2}.",
+					new Object[] { filePath, position, numAttempts });
+			try {
+				reconnect();
+				execute();
+			} catch (RuntimeException e) {
+				cause.addSuppressed(e);
+				throw cause;
+			}
+		}
+	}
+}
@@ -7,6 +7,8 @@ import com.boomi.connector.api.TrackedData;
 import com.boomi.connector.sftp.SFTPConnection;
 import com.boomi.connector.sftp.retry.RetryStrategyFactory;
 import com.boomi.util.IOUtil;
+import com.jcraft.jsch.ChannelSftp;
+
 import java.io.Closeable;
 import java.io.InputStream;
 
@@ -28,6 +30,9 @@ public class RetryableUploadFileAction extends RetryableAction implements Closea
 	/** The append offset. */
 	private final long appendOffset;
 
+	/** Whether the next attempt writes the file from scratch instead of resuming it. */
+	private boolean truncate;
+
 	/**
 	 * Instantiates a new retryable upload file action.
 	 *
@@ -46,11 +51,33 @@ public class RetryableUploadFileAction extends RetryableAction implements Closea
 		this.appendOffset = appendOffset;
 	}
 
+	/**
+	 * Instantiates a new retryable upload file action whose first attempt
+	 * truncates the file, which saves the size lookup made to resume an upload.
+	 * The retries resume the upload as usual.
+	 *
+	 * @param connection the connection
+	 * @param remoteDir the remote dir
+	 * @param retryFactory the retry factory
+	 * @param filePath the file path
+	 * @param input the input
+	 */
+	public RetryableUploadFileAction(SFTPConnection connection, String remoteDir, RetryStrategyFactory retryFactory,
+			String filePath, ObjectData input) {
+		this(connection, remoteDir, retryFactory, filePath, input, 0L);
+		this.truncate = true;
+	}
+
 	/**
 	 * Do execute.
 	 */
 	@Override
 	public void doExecute() {
+		if (this.truncate) {
+			this.truncate = false;
+			this.getConnection().putFile(this.inputStream, this.filePath, ChannelSftp.OVERWRITE);
+			return;
+		}
 		this.getConnection().uploadFile(this.filePath, this.inputStream, this.appendOffset);
 	}
 
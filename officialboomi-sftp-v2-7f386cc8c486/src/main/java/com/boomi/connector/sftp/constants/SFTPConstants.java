@@ -167,6 +167,66 @@ public class SFTPConstants {
 	/** The Constant PROPERTY_INCLUDE_METADATA. */
 	public static final String PROPERTY_INCLUDE_METADATA = "includeAllMetadata";
 
+	/** The Constant PROPERTY_STREAM_DOWNLOAD. */
+	public static final String PROPERTY_STREAM_DOWNLOAD = "streamDownload";
+
+	/** The Constant PROPERTY_TRANSFER_PARALLELISM. */
+	public static final String PROPERTY_TRANSFER_PARALLELISM = "transferParallelism";
+
+	/** The Constant DEFAULT_TRANSFER_PARALLELISM, one file transferred at a time. */
+	public static final Long DEFAULT_TRANSFER_PARALLELISM = 1L;
+
+	/** The Constant PROPERTY_RECURSIVE_LIST. */
+	public static final String PROPERTY_RECURSIVE_LIST = "recursiveList";
+
+	/** The Constant PROPERTY_LISTING_PARALLELISM. */
+	public static final String PROPERTY_LISTING_PARALLELISM = "listingParallelism";
+
+	/** The Constant DEFAULT_LISTING_PARALLELISM, one subdirectory listed at a time. */
+	public static final Long DEFAULT_LISTING_PARALLELISM = 1L;
+
+	/** The Constant PROPERTY_SEGMENT_COUNT. */
+	public static final String PROPERTY_SEGMENT_COUNT = "segmentCount";
+
+	/** The Constant DEFAULT_SEGMENT_COUNT, files transferred in one piece. */
+	public static final Long DEFAULT_SEGMENT_COUNT = 1L;
+
+	/** The Constant PROPERTY_SEGMENT_THRESHOLD. */
+	public static final String PROPERTY_SEGMENT_THRESHOLD = "segmentThreshold";
+
+	/** The Constant DEFAULT_SEGMENT_THRESHOLD, in MB. */
+	public static final Long DEFAULT_SEGMENT_THRESHOLD = 64L;
+
+	/** The Constant PROPERTY_VERIFY_SEGMENTS. */
+	public static final String PROPERTY_VERIFY_SEGMENTS = "verifySegments";
+
+	/** The Constant SEGMENT_BUFFER_SIZE. */
+	public static final int SEGMENT_BUFFER_SIZE = 64 * 1024;
+
+	/** The Constant SEGMENTED_DOWNLOAD_PREFIX, of the temporary file of a segmented download. */
+	public static final String SEGMENTED_DOWNLOAD_PREFIX = "sftp-segments-";
+
+	/** The Constant PROPERTY_OPTIMIZED_COMMIT. */
+	public static final String PROPERTY_OPTIMIZED_COMMIT = "optimizedCommit";
+
+	/** The Constant POSIX_RENAME_EXTENSION, the OpenSSH extension renaming over an existing file. */
+	public static final String POSIX_RENAME_EXTENSION = "posix-rename@openssh.com";
+
+	/** The Constant PROPERTY_INCREMENTAL_LISTEN. */
+	public static final String PROPERTY_INCREMENTAL_LISTEN = "incrementalListen";
+
+	/** The Constant PROPERTY_LISTEN_INDEX_DIRECTORY. */
+	public static final String PROPERTY_LISTEN_INDEX_DIRECTORY = "listenIndexDirectory";
+
+	/** The Constant PROPERTY_LISTEN_MTIME_WATERMARK. */
+	public static final String PROPERTY_LISTEN_MTIME_WATERMARK = "listenMtimeWatermark";
+
+	/** The Constant DEFAULT_LISTEN_INDEX_DIRECTORY, under the temporary directory. */
+	public static final String DEFAULT_LISTEN_INDEX_DIRECTORY = "sftp-listen-index";
+
+	/** The Constant STREAM_DOWNLOAD_BUFFER_SIZE, the read-ahead buffer of a streamed download. */
+	public static final int STREAM_DOWNLOAD_BUFFER_SIZE = 256 * 1024;
+
 	/** The Constant SFTP. */
 	public static final String SFTP = "sftp";
 	
@@ -193,6 +253,27 @@ public class SFTPConstants {
 	/** The Constant ERROR_FAILED_FILE_RETRIEVAL. */
 	public static final String ERROR_FAILED_FILE_RETRIEVAL = "An error occurred while retrieving the file at path ''{0}''";
 
+	/** The Constant ERROR_FILE_CHANGED_DURING_DOWNLOAD. */
+	public static final String ERROR_FILE_CHANGED_DURING_DOWNLOAD = "The file at path ''{0}'' changed while it was being downloaded";
+
+	/** The Constant ERROR_TRANSFER_WORKER_STOPPED. */
+	public static final String ERROR_TRANSFER_WORKER_STOPPED = "A parallel transfer stopped unexpectedly";
+
+	/** The Constant ERROR_OPENING_TRANSFER_CONNECTION. */
+	public static final String ERROR_OPENING_TRANSFER_CONNECTION = "Unable to open another connection for parallel transfers, continuing with fewer transfers at once";
+
+	/** The Constant ERROR_SEGMENT_TRUNCATED. */
+	public static final String ERROR_SEGMENT_TRUNCATED = "The file at path ''{0}'' ended at byte {1} before the end of its segment";
+
+	/** The Constant ERROR_SEGMENT_CHECKSUM. */
+	public static final String ERROR_SEGMENT_CHECKSUM = "The checksum of the segment at byte {1} of the file at path ''{0}'' does not match the uploaded content";
+
+	/** The Constant ERROR_SEGMENTED_TRANSFER. */
+	public static final String ERROR_SEGMENTED_TRANSFER = "The segmented transfer of the file at path ''{0}'' failed";
+
+	/** The Constant ERROR_STREAM_CLOSED. */
+	public static final String ERROR_STREAM_CLOSED = "The download stream is closed";
+
 	/** The Constant ERROR_FAILED_DIRECTORY_CREATE. */
 	public static final String ERROR_FAILED_DIRECTORY_CREATE = "An error occurred while creating the ''{0}'' directory.";
 
@@ -304,6 +385,9 @@ public class SFTPConstants {
 	/** The Constant ERROR_DISCONNECTING_CHANNEL. */
 	public static final String ERROR_DISCONNECTING_CHANNEL = "Errors occurred disconnecting channel, will ignore.";
 
+	/** The Constant ERROR_CHANNEL_NOT_REUSABLE. */
+	public static final String ERROR_CHANNEL_NOT_REUSABLE = "Pooled channel cannot be reused, it will be disconnected.";
+
 	/** The Constant ERROR_DISCONNECTING_SESSION. */
 	public static final String ERROR_DISCONNECTING_SESSION = "Errors occurred disconnecting session, will ignore.";
 
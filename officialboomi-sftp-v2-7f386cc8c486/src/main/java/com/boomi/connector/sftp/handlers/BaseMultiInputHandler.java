@@ -18,6 +18,15 @@ import com.boomi.connector.sftp.exception.SFTPSdkException;
 import com.boomi.connector.sftp.results.ErrorResult;
 import com.boomi.util.StringUtil;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 
 /**
@@ -57,20 +66,167 @@ abstract class BaseMultiInputHandler<T extends TrackedData> {
 	 *
 	 * @param updateRequest the update request
 	 */
-	@SuppressWarnings("unchecked")
+	@SuppressWarnings({ "unchecked", "deprecation" })
 	public void processMultiInput(UpdateRequest updateRequest) {
+		int parallelism = this.connection.getOperationContext().getOperationProperties()
+				.getLongProperty(SFTPConstants.PROPERTY_TRANSFER_PARALLELISM,
+						SFTPConstants.DEFAULT_TRANSFER_PARALLELISM)
+				.intValue();
+		if (parallelism > 1) {
+			OperationResponse sharedResponse = SynchronizedOperationResponse.wrap(this.operationResponse);
+			BaseMultiInputHandler<T> firstWorker = this.newWorker(this.connection, sharedResponse);
+			if (firstWorker != null) {
+				this.processMultiInputInParallel(updateRequest, parallelism, firstWorker, sharedResponse);
+				return;
+			}
+		}
 		for (ObjectData input : updateRequest) {
-			try {
-				if(connection.isConnected())
-				{
-				this.processInput((T) input);
+			this.processSingleInput((T) input);
+		}
+	}
+
+	/**
+	 * Process single input, adding an error result if it fails.
+	 *
+	 * @param input the input
+	 */
+	private void processSingleInput(T input) {
+		try {
+			if(connection.isConnected())
+			{
+			this.processInput(input);
+			}
+			else {
+			throw new ConnectorException("Lost Connectivity During Operation");
+			}
+		} catch (Exception e) {
+			this.addApplicationErrorResult(input, e);
+		}
+	}
+
+	/**
+	 * Creates a handler processing inputs on another connection, so that several
+	 * inputs are transferred at once. Returns null when the inputs must be
+	 * processed one after the other.
+	 *
+	 * @param workerConnection the connection of the worker
+	 * @param sharedResponse the operation response shared by the workers
+	 * @return the handler, or null
+	 */
+	BaseMultiInputHandler<T> newWorker(SFTPConnection workerConnection, OperationResponse sharedResponse) {
+		return null;
+	}
+
+	/**
+	 * Gets the key of the remote file an input is transferred to. Inputs with the
+	 * same key are never processed at the same time.
+	 *
+	 * @param input the input
+	 * @return the key, or null if the input can be processed at any time
+	 */
+	String getTransferKey(T input) {
+		return null;
+	}
+
+	/**
+	 * Process the inputs with several workers, each on its own SFTP connection.
+	 * The first worker uses the connection of the operation, the others open a
+	 * new one. Every worker takes the next input until none is left, and each
+	 * input gets its own result.
+	 *
+	 * @param updateRequest the update request
+	 * @param parallelism the number of workers
+	 * @param firstWorker the worker on the connection of the operation
+	 * @param sharedResponse the operation response shared by the workers
+	 */
+	@SuppressWarnings("unchecked")
+	private void processMultiInputInParallel(UpdateRequest updateRequest, int parallelism,
+			BaseMultiInputHandler<T> firstWorker, OperationResponse sharedResponse) {
+		Iterator<ObjectData> inputs = updateRequest.iterator();
+		ConcurrentMap<String, Object> transferLocks = new ConcurrentHashMap<>();
+		ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+		List<Future<?>> workers = new ArrayList<>();
+		try {
+			workers.add(executor.submit(() -> firstWorker.processInputs(inputs, transferLocks)));
+			for (int i = 1; i < parallelism; i++) {
+				workers.add(executor.submit(() -> this.processInputsOnNewConnection(inputs, transferLocks,
+						sharedResponse)));
+			}
+			for (Future<?> worker : workers) {
+				try {
+					worker.get();
+				} catch (ExecutionException e) {
+					sharedResponse.getLogger().log(Level.WARNING, SFTPConstants.ERROR_TRANSFER_WORKER_STOPPED,
+							e.getCause());
 				}
-				else {
-				throw new ConnectorException("Lost Connectivity During Operation");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			executor.shutdownNow();
+		}
+		ObjectData input;
+		while ((input = nextInput(inputs)) != null) {
+			firstWorker.addApplicationErrorResult((T) input,
+					new ConnectorException("Lost Connectivity During Operation"));
+		}
+	}
+
+	/**
+	 * Process inputs on a new connection, giving up without taking any input if
+	 * it cannot be opened.
+	 *
+	 * @param inputs the inputs shared by the workers
+	 * @param transferLocks the locks of the transfer keys
+	 * @param sharedResponse the operation response shared by the workers
+	 */
+	private void processInputsOnNewConnection(Iterator<ObjectData> inputs, ConcurrentMap<String, Object> transferLocks,
+			OperationResponse sharedResponse) {
+		SFTPConnection workerConnection = new SFTPConnection(this.connection.getContext());
+		try {
+			workerConnection.openConnection();
+		} catch (ConnectorException e) {
+			sharedResponse.getLogger().log(Level.WARNING, SFTPConstants.ERROR_OPENING_TRANSFER_CONNECTION, e);
+			workerConnection.closeConnection();
+			return;
+		}
+		try {
+			this.newWorker(workerConnection, sharedResponse).processInputs(inputs, transferLocks);
+		} finally {
+			workerConnection.closeConnection();
+		}
+	}
+
+	/**
+	 * Process the inputs left until none is left.
+	 *
+	 * @param inputs the inputs shared by the workers
+	 * @param transferLocks the locks of the transfer keys
+	 */
+	@SuppressWarnings("unchecked")
+	private void processInputs(Iterator<ObjectData> inputs, ConcurrentMap<String, Object> transferLocks) {
+		ObjectData input;
+		while ((input = nextInput(inputs)) != null) {
+			String transferKey = this.getTransferKey((T) input);
+			if (transferKey == null) {
+				this.processSingleInput((T) input);
+			} else {
+				synchronized (transferLocks.computeIfAbsent(transferKey, key -> new Object())) {
+					this.processSingleInput((T) input);
 				}
-			} catch (Exception e) {
-				this.addApplicationErrorResult((T) input, e);
-			}			
+			}
+		}
+	}
+
+	/**
+	 * Takes the next input.
+	 *
+	 * @param inputs the inputs shared by the workers
+	 * @return the input, or null if none is left
+	 */
+	private static ObjectData nextInput(Iterator<ObjectData> inputs) {
+		synchronized (inputs) {
+			return inputs.hasNext() ? inputs.next() : null;
 		}
 	}
 
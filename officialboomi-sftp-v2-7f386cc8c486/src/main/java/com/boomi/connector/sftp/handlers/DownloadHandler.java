@@ -4,7 +4,12 @@ package com.boomi.connector.sftp.handlers;
 
 import static com.boomi.connector.sftp.constants.SFTPConstants.PROPERTY_INCLUDE_METADATA;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.MessageFormat;
 import java.util.logging.Level;
 
 import com.boomi.connector.api.ConnectorException;
@@ -18,9 +23,11 @@ import com.boomi.connector.api.PropertyMap;
 import com.boomi.connector.api.TrackedData;
 import com.boomi.connector.sftp.SFTPConnection;
 import com.boomi.connector.sftp.SFTPUtil;
+import com.boomi.connector.sftp.SegmentedTransfer;
 import com.boomi.connector.sftp.actions.RetryableDeleteFileAtPathAction;
 import com.boomi.connector.sftp.actions.RetryableGetFileMetadataAction;
 import com.boomi.connector.sftp.actions.RetryableRetrieveFileAction;
+import com.boomi.connector.sftp.actions.RetryableStreamFileAction;
 import com.boomi.connector.sftp.common.GetSFTPFileMetadata;
 import com.boomi.connector.sftp.common.PathsHandler;
 import com.boomi.connector.sftp.common.SFTPFileMetadata;
@@ -34,6 +41,7 @@ import com.boomi.connector.sftp.results.Result;
 import com.boomi.connector.sftp.retry.RetryStrategyFactory;
 import com.boomi.util.IOUtil;
 import com.boomi.util.StringUtil;
+import com.jcraft.jsch.SftpATTRS;
 
 /**
  * The Class DownloadHandler.
@@ -59,6 +67,15 @@ public class DownloadHandler {
 	/** The isfail delete after. */
 	Boolean isfailDeleteAfter;
 
+	/** The isstream download enabled. */
+	boolean isstreamDownloadEnabled;
+
+	/** The number of segments of a large file. */
+	int segmentCount;
+
+	/** The smallest size of a file downloaded in segments, in MB. */
+	long segmentThreshold;
+
 	/** The file metadata. */
 	SFTPFileMetadata fileMetadata;
 
@@ -80,6 +97,13 @@ public class DownloadHandler {
 		PropertyMap opProperties = this.connection.getOperationContext().getOperationProperties();
 		isdeleteAfterEnabled = opProperties.getBooleanProperty(SFTPConstants.PROPERTY_DELETE_AFTER);
 		isfailDeleteAfter = opProperties.getBooleanProperty(SFTPConstants.PROPERTY_FAIL_DELETE_AFTER);
+		// the file must be fully read before it can be deleted, so delete after always spools the content
+		isstreamDownloadEnabled = opProperties.getBooleanProperty(SFTPConstants.PROPERTY_STREAM_DOWNLOAD, Boolean.FALSE)
+				&& !Boolean.TRUE.equals(isdeleteAfterEnabled);
+		segmentCount = opProperties.getLongProperty(SFTPConstants.PROPERTY_SEGMENT_COUNT,
+				SFTPConstants.DEFAULT_SEGMENT_COUNT).intValue();
+		segmentThreshold = opProperties.getLongProperty(SFTPConstants.PROPERTY_SEGMENT_THRESHOLD,
+				SFTPConstants.DEFAULT_SEGMENT_THRESHOLD);
 		this.downloadRetryFactory = RetryStrategyFactory.createFactory(1);
 	}
 
@@ -94,16 +118,28 @@ public class DownloadHandler {
 		Result res = null;
 		InputStream inputStream = null;
 		RetryableRetrieveFileAction getFileAction = null;
+		RetryableStreamFileAction streamFileAction = null;
 		try {
 			DownloadPaths downloadPaths = this.getAndValidateNormalizedPaths((TrackedData) input);
 			String fullFilePath = pathsHandler.joinPaths(downloadPaths.getRemoteDirFullPath(), fileMetadata.getName());
-			getFileAction = new RetryableRetrieveFileAction(connection, downloadPaths.getRemoteDirFullPath(),
-					fullFilePath, input, downloadRetryFactory);
+			if (isstreamDownloadEnabled) {
+				streamFileAction = new RetryableStreamFileAction(connection, downloadPaths.getRemoteDirFullPath(),
+						fileMetadata.getName(), fullFilePath, input, downloadRetryFactory);
+				streamFileAction.execute();
+				res = this.makeStreamedResult(streamFileAction, operationContext);
+				res.addToResponse(operationResponse, (TrackedData) input);
+				return;
+			}
+			inputStream = this.downloadInSegments(downloadPaths.getRemoteDirFullPath(), fullFilePath, input);
+			if (inputStream == null) {
+				getFileAction = new RetryableRetrieveFileAction(connection, downloadPaths.getRemoteDirFullPath(),
+						fullFilePath, input, downloadRetryFactory);
 
-			getFileAction.execute();
+				getFileAction.execute();
+				inputStream = getFileAction.getOutputStream().toInputStream();
+			}
 			PayloadMetadata metadata = operationResponse.createMetadata();
 			metadata.setTrackedProperty(SFTPConstants.PROPERTY_FILENAME, fileMetadata.getName());
-			inputStream = getFileAction.getOutputStream().toInputStream();
 			boolean includeAllMetadata = operationContext.getOperationProperties()
 					.getBooleanProperty(PROPERTY_INCLUDE_METADATA, Boolean.FALSE);
 			if (isdeleteAfterEnabled) {
@@ -141,6 +177,79 @@ public class DownloadHandler {
 		} finally {
 			IOUtil.closeQuietly(inputStream);
 			IOUtil.closeQuietly(getFileAction);
+			IOUtil.closeQuietly(streamFileAction);
+		}
+	}
+
+	/**
+	 * Makes the result of a streamed download. The payload reads the file from the
+	 * channel as it is written, and the modified date is taken from the attributes
+	 * stated when the download started.
+	 *
+	 * @param streamFileAction the executed stream file action
+	 * @param operationContext the operation context
+	 * @return the result
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private Result makeStreamedResult(RetryableStreamFileAction streamFileAction, OperationContext operationContext)
+			throws IOException {
+		PayloadMetadata metadata = operationResponse.createMetadata();
+		metadata.setTrackedProperty(SFTPConstants.PROPERTY_FILENAME, fileMetadata.getName());
+		boolean includeAllMetadata = operationContext.getOperationProperties()
+				.getBooleanProperty(PROPERTY_INCLUDE_METADATA, Boolean.FALSE);
+		if (!includeAllMetadata) {
+			return new BaseResult(PayloadUtil.toPayload(streamFileAction.getInputStream(), metadata));
+		}
+		String formattedDate = SFTPUtil.formatDate(SFTPUtil.parseDate(streamFileAction.getAttributes().getMTime()));
+		GetSFTPFileMetadata getFileMetadata = new GetSFTPFileMetadata(streamFileAction.getInputStream(),
+				fileMetadata.getName(), formattedDate);
+		return new BaseResult(PayloadUtil.toPayload(getFileMetadata.toJson(), metadata));
+	}
+
+	/**
+	 * Downloads a large file in segments on several channels into a temporary
+	 * file, deleted once its stream is closed. The file is stated before and after
+	 * the download to make sure the segments were read from the same content.
+	 *
+	 * @param remoteDir    the remote dir
+	 * @param fullFilePath the full file path
+	 * @param input        the input
+	 * @return the stream of the downloaded file, null if the file is not
+	 *         downloaded in segments
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private InputStream downloadInSegments(String remoteDir, String fullFilePath, ObjectIdData input)
+			throws IOException {
+		if (segmentCount <= 1) {
+			return null;
+		}
+		SftpATTRS before;
+		try {
+			before = connection.getSingleFileAttributes(remoteDir, fileMetadata.getName());
+		} catch (SFTPSdkException e) {
+			// a missing file is reported by the regular download
+			return null;
+		}
+		if (before.isDir() || !SegmentedTransfer.isSegmented(before.getSize(), segmentCount, segmentThreshold)) {
+			return null;
+		}
+		Path target = Files.createTempFile(SFTPConstants.SEGMENTED_DOWNLOAD_PREFIX, null);
+		try {
+			new SegmentedTransfer(connection, input, segmentCount, downloadRetryFactory, false).download(fullFilePath,
+					before.getSize(), target);
+			SftpATTRS after = connection.getSingleFileAttributes(remoteDir, fileMetadata.getName());
+			if (after.getMTime() != before.getMTime() || after.getSize() != before.getSize()) {
+				throw new ConnectorException(
+						MessageFormat.format(SFTPConstants.ERROR_FILE_CHANGED_DURING_DOWNLOAD, fullFilePath));
+			}
+			return Files.newInputStream(target, StandardOpenOption.DELETE_ON_CLOSE);
+		} catch (IOException | RuntimeException e) {
+			try {
+				Files.deleteIfExists(target);
+			} catch (IOException deleteFailure) {
+				e.addSuppressed(deleteFailure);
+			}
+			throw e;
 		}
 	}
 
@@ -13,6 +13,9 @@ import com.boomi.connector.api.Payload;
 import com.boomi.connector.api.PropertyMap;
 import com.boomi.connector.sftp.CustomLsEntrySelector;
 import com.boomi.connector.sftp.FileQueryFilter;
+import com.boomi.connector.sftp.ParallelDirectoryTraversal;
+import com.boomi.connector.sftp.ParallelQueryDownloader;
+import com.boomi.connector.sftp.QueryResultBuilder;
 import com.boomi.connector.sftp.ResultBuilder;
 import com.boomi.connector.sftp.SFTPClient;
 import com.boomi.connector.sftp.SFTPConnection;
@@ -30,7 +33,6 @@ import com.boomi.util.json.JsonPayloadUtil;
 import com.fasterxml.jackson.core.TreeNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.jcraft.jsch.ChannelSftp.LsEntry;
-import com.jcraft.jsch.ChannelSftp.LsEntrySelector;
 
 /**
  * The Class QueryHandler.
@@ -137,18 +139,41 @@ public class QueryHandler {
 
 		FileQueryFilter filter = conn.makeFilter(input, filesOnly, directory, remoteDir);
 		SFTPClient newClient = null;
-		LsEntrySelector selector = null;
+		CustomLsEntrySelector selector = null;
 		RetryableLsEntrySelector selectAction = null;
+		ParallelQueryDownloader downloader = null;
+		ParallelDirectoryTraversal traversal = null;
 		try {
 
 			long limit = conn.getLimit();
 			newClient = conn.createSftpClient(new PropertiesUtil(conn.getContext().getConnectionProperties()));
 			selector = new CustomLsEntrySelector(result, filter, limit, logger, resultBuilder, remoteDir, conn,
 					newClient, 0, propertyMap, operationResponse);
+			int parallelism = propertyMap.getLongProperty(SFTPConstants.PROPERTY_TRANSFER_PARALLELISM,
+					SFTPConstants.DEFAULT_TRANSFER_PARALLELISM).intValue();
+			if (parallelism > 1 && resultBuilder instanceof QueryResultBuilder) {
+				downloader = new ParallelQueryDownloader(conn, input, parallelism);
+				selector.setDownloader(downloader);
+			}
+			int listingParallelism = propertyMap.getLongProperty(SFTPConstants.PROPERTY_LISTING_PARALLELISM,
+					SFTPConstants.DEFAULT_LISTING_PARALLELISM).intValue();
+			if (listingParallelism > 1 && propertyMap.getBooleanProperty(SFTPConstants.PROPERTY_RECURSIVE_LIST,
+					Boolean.FALSE)) {
+				traversal = new ParallelDirectoryTraversal(conn, input, listingParallelism);
+				selector.setTraversal(traversal);
+			}
 			selectAction = new RetryableLsEntrySelector(conn, remoteDir, input, selector);
 			selectAction.execute();
+			if (traversal != null) {
+				traversal.drain(true);
+			}
+			if (downloader != null) {
+				selector.addDownloadedResults(true);
+			}
 
 		} finally {
+			IOUtil.closeQuietly(traversal);
+			IOUtil.closeQuietly(downloader);
 			IOUtil.closeQuietly(newClient);
 		}
 	}
@@ -0,0 +1,62 @@
+//Copyright (c) 2020 Boomi, Inc.
+
+package com.boomi.connector.sftp.handlers;
+
+import com.boomi.connector.api.OperationResponse;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Serializes the calls to an operation response shared by the workers of a
+ * parallel transfer.
+ *
+ * @author Omesh Deoli
+ */
+final class SynchronizedOperationResponse implements InvocationHandler {
+
+	/** The operation response. */
+	private final OperationResponse delegate;
+
+	/**
+	 * Instantiates a new synchronized operation response.
+	 *
+	 * @param delegate the operation response
+	 */
+	private SynchronizedOperationResponse(OperationResponse delegate) {
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Wraps an operation response so that it can be called from several threads.
+	 *
+	 * @param operationResponse the operation response
+	 * @return the synchronized operation response
+	 */
+	static OperationResponse wrap(OperationResponse operationResponse) {
+		return (OperationResponse) Proxy.newProxyInstance(OperationResponse.class.getClassLoader(),
+				new Class<?>[] { OperationResponse.class }, new SynchronizedOperationResponse(operationResponse));
+	}
+
+	/**
+	 * Invokes the method on the operation response, one thread at a time.
+	 *
+	 * @param proxy the proxy
+	 * @param method the method
+	 * @param args the args
+	 * @return the result of the method
+	 * @throws Throwable the exception thrown by the method
+	 */
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		synchronized (delegate) {
+			try {
+				return method.invoke(delegate, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+	}
+}
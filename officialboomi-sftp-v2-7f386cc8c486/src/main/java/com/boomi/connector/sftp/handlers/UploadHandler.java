@@ -2,6 +2,7 @@
 
 package com.boomi.connector.sftp.handlers;
 
+import com.boomi.connector.api.ConnectorException;
 import com.boomi.connector.api.ObjectData;
 import com.boomi.connector.api.ObjectDefinitionRole;
 import com.boomi.connector.api.OperationResponse;
@@ -11,6 +12,8 @@ import com.boomi.connector.api.TrackedData;
 import com.boomi.connector.sftp.ActionIfFileExists;
 import com.boomi.connector.sftp.SFTPConnection;
 import com.boomi.connector.sftp.SFTPUtil;
+import com.boomi.connector.sftp.SegmentedTransfer;
+import com.boomi.connector.sftp.UniqueFileNameAllocator;
 import com.boomi.connector.sftp.actions.RetryableDeleteFileAtPathAction;
 import com.boomi.connector.sftp.actions.RetryableFindSizeOnRemote;
 import com.boomi.connector.sftp.actions.RetryableFindUniqueFilenameAction;
@@ -33,6 +36,9 @@ import java.io.IOException;
 import java.text.MessageFormat;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.UUID;
 import java.util.logging.Level;
 
@@ -53,6 +59,24 @@ public class UploadHandler extends BaseMultiInputHandler<ObjectData> {
 	/** The upload retry factory. */
 	private final RetryStrategyFactory uploadRetryFactory;
 
+	/** The number of segments of a large file. */
+	private final int segmentCount;
+
+	/** The smallest size of a file uploaded in segments, in MB. */
+	private final long segmentThreshold;
+
+	/** Whether uploaded segments are read back to verify their checksum. */
+	private final boolean verifySegments;
+
+	/** Whether uploads skip the checks that the write and rename make redundant. */
+	private final boolean optimizedCommit;
+
+	/** The directories found to exist during this execution, with the optimized commit. */
+	private final Set<String> existingDirectories = new HashSet<>();
+
+	/** The allocator of unique file names for this execution. */
+	private final UniqueFileNameAllocator uniqueFileNameAllocator = new UniqueFileNameAllocator();
+
 	/**
 	 * Instantiates a new upload handler.
 	 *
@@ -67,6 +91,62 @@ public class UploadHandler extends BaseMultiInputHandler<ObjectData> {
 		this.actionIfFileExists = NumberUtil.toEnum(ActionIfFileExists.class,
 				opProperties.getProperty(SFTPConstants.OPERATION_PROP_ACTION_IF_FILE_EXISTS), ActionIfFileExists.ERROR);
 		this.uploadRetryFactory = RetryStrategyFactory.createFactory(1);
+		this.segmentCount = opProperties
+				.getLongProperty(SFTPConstants.PROPERTY_SEGMENT_COUNT, SFTPConstants.DEFAULT_SEGMENT_COUNT).intValue();
+		this.segmentThreshold = opProperties.getLongProperty(SFTPConstants.PROPERTY_SEGMENT_THRESHOLD,
+				SFTPConstants.DEFAULT_SEGMENT_THRESHOLD);
+		this.verifySegments = opProperties.getBooleanProperty(SFTPConstants.PROPERTY_VERIFY_SEGMENTS, Boolean.FALSE);
+		this.optimizedCommit = opProperties.getBooleanProperty(SFTPConstants.PROPERTY_OPTIMIZED_COMMIT, Boolean.FALSE);
+	}
+
+	/**
+	 * Checks if a directory exists. With the optimized commit, a directory found
+	 * once is not checked again during the execution.
+	 *
+	 * @param input input
+	 * @param remoteDir path to remote directory
+	 * @return boolean if file exists
+	 */
+	@Override
+	boolean doesFileExists(TrackedData input, String remoteDir) {
+		if (this.optimizedCommit && this.existingDirectories.contains(remoteDir)) {
+			return true;
+		}
+		boolean exists = super.doesFileExists(input, remoteDir);
+		if (exists && this.optimizedCommit) {
+			this.existingDirectories.add(remoteDir);
+		}
+		return exists;
+	}
+
+	/**
+	 * Creates a handler uploading on another connection. Appends must land in
+	 * document order and unique names are numbered by a counter of this handler,
+	 * so both upload one document at a time.
+	 *
+	 * @param workerConnection the connection of the worker
+	 * @param sharedResponse the operation response shared by the workers
+	 * @return the handler, or null
+	 */
+	@Override
+	BaseMultiInputHandler<ObjectData> newWorker(SFTPConnection workerConnection, OperationResponse sharedResponse) {
+		if (this.actionIfFileExists == ActionIfFileExists.APPEND
+				|| this.actionIfFileExists == ActionIfFileExists.FORCE_UNIQUE_NAMES) {
+			return null;
+		}
+		return new UploadHandler(workerConnection, sharedResponse);
+	}
+
+	/**
+	 * Gets the transfer key, the entered file name, so that documents targeting
+	 * the same file are uploaded one after the other.
+	 *
+	 * @param input the input
+	 * @return the transfer key
+	 */
+	@Override
+	String getTransferKey(ObjectData input) {
+		return SFTPUtil.getDocProperty(input, SFTPConstants.PROPERTY_FILENAME);
 	}
 
 	/**
@@ -110,10 +190,7 @@ public class UploadHandler extends BaseMultiInputHandler<ObjectData> {
 					"Entered Staging directory path is not a absolute full path.Setting home directory of user as default working path");
 			stagingDir = this.toFullPath(stagingDir);
 		}
-		RetryableVerifyFileExistsAction fileExistsAction = new RetryableVerifyFileExistsAction(connection, stagingDir,
-				input);
-		fileExistsAction.execute();
-		boolean fileExists = fileExistsAction.getFileExists();
+		boolean fileExists = this.doesFileExists(input, stagingDir);
 
 		if (!fileExists) {
 			throw new SFTPSdkException(SFTPConstants.ERROR_STAGING_DIR_NOT_FOUND);
@@ -226,11 +303,15 @@ public class UploadHandler extends BaseMultiInputHandler<ObjectData> {
 			}
 
 			RetryableFindUniqueFilenameAction uniqueFilenameAction = new RetryableFindUniqueFilenameAction(connection,
-					enteredFileName, remoteDir, input);
+					enteredFileName, remoteDir, input, this.uniqueFileNameAllocator);
 			uniqueFilenameAction.execute();
 			return uniqueFilenameAction.getUniqueFileName();
 
 		}
+		if (this.optimizedCommit && this.actionIfFileExists != ActionIfFileExists.ERROR) {
+			// only the error action depends on the file existing
+			return enteredFileName;
+		}
 
 		RetryableVerifyFileExistsAction fileExistsAction = new RetryableVerifyFileExistsAction(connection, remoteDir,
 				enteredFileName);
@@ -248,12 +329,17 @@ public class UploadHandler extends BaseMultiInputHandler<ObjectData> {
 	 *
 	 * @param remoteDir the remote dir
 	 * @param fileName  the file name
+	 * @param writtenAt the time the upload completed, used as the modification
+	 *                  date with the optimized commit instead of a lookup
 	 * @return the SFTP file metadata
 	 */
-	private SFTPFileMetadata getSFTPFileMetadata(String remoteDir, String fileName) {
+	private SFTPFileMetadata getSFTPFileMetadata(String remoteDir, String fileName, long writtenAt) {
 		if (!this.includeAllMetadata) {
 			return new SimpleSFTPFileMetadata(remoteDir, fileName);
 		}
+		if (this.optimizedCommit) {
+			return new ExtendedSFTPFileMetadata(remoteDir, fileName, SFTPUtil.formatDate(new Date(writtenAt)));
+		}
 		return this.getSFTPFileMetadataFromRemote(remoteDir, fileName);
 	}
 
@@ -385,7 +471,7 @@ public class UploadHandler extends BaseMultiInputHandler<ObjectData> {
 				findSizeAction.execute();
 				appendOffset = findSizeAction.getFileSize();
 			}
-			if (!UploadHandler.mustRenameFile(tempFileFullPath, finalFileFullPath)
+			if (!this.optimizedCommit && !UploadHandler.mustRenameFile(tempFileFullPath, finalFileFullPath)
 					&& actionIfFileExists.equals(ActionIfFileExists.OVERWRITE)) {
 				RetryableVerifyFileExistsAction fileExistsAction = new RetryableVerifyFileExistsAction(connection,
 						finalFileFullPath,input);
@@ -396,11 +482,20 @@ public class UploadHandler extends BaseMultiInputHandler<ObjectData> {
 					retrydeleteAtPath.execute();
 				}
 			}
-			uploadAction = new RetryableUploadFileAction(this.connection, remoteDir, this.uploadRetryFactory,
-					tempFileFullPath, input, appendOffset);
-			uploadAction.execute();
+			if (!this.uploadInSegments(input, tempFileFullPath)) {
+				if (this.optimizedCommit && !actionIfFileExists.equals(ActionIfFileExists.APPEND)) {
+					// the write truncates an existing file, so it needs neither a delete nor a size lookup
+					uploadAction = new RetryableUploadFileAction(this.connection, remoteDir, this.uploadRetryFactory,
+							tempFileFullPath, input);
+				} else {
+					uploadAction = new RetryableUploadFileAction(this.connection, remoteDir, this.uploadRetryFactory,
+							tempFileFullPath, input, appendOffset);
+				}
+				uploadAction.execute();
+			}
+			long writtenAt = System.currentTimeMillis();
 			executeRetryRenameFile(input, tempFileFullPath, finalFileFullPath);
-			SFTPFileMetadata fileMetadata = this.getSFTPFileMetadata(remoteDir, finalFileName);
+			SFTPFileMetadata fileMetadata = this.getSFTPFileMetadata(remoteDir, finalFileName, writtenAt);
 			operationResponse.addResult((TrackedData) input, OperationStatus.SUCCESS, "0", SFTPConstants.FILE_CREATED,
 					fileMetadata.toJsonPayload());
 		} catch (Exception ex) {
@@ -414,6 +509,32 @@ public class UploadHandler extends BaseMultiInputHandler<ObjectData> {
 		}
 	}
 
+	/**
+	 * Uploads a large document in segments on several channels. Appends are always
+	 * uploaded in one piece, as they extend a file of unknown size.
+	 *
+	 * @param input the input
+	 * @param filePath the path of the uploaded file
+	 * @return true, if the document was uploaded in segments
+	 */
+	private boolean uploadInSegments(ObjectData input, String filePath) {
+		if (this.segmentCount <= 1 || this.actionIfFileExists == ActionIfFileExists.APPEND) {
+			return false;
+		}
+		long dataSize;
+		try {
+			dataSize = input.getDataSize();
+		} catch (IOException e) {
+			throw new ConnectorException(e);
+		}
+		if (!SegmentedTransfer.isSegmented(dataSize, this.segmentCount, this.segmentThreshold)) {
+			return false;
+		}
+		new SegmentedTransfer(this.connection, input, this.segmentCount, this.uploadRetryFactory, this.verifySegments)
+				.upload(input, dataSize, filePath);
+		return true;
+	}
+
 	/**
 	 * @param input the input
 	 * @param tempFileFullPath full path to temp file
@@ -421,7 +542,9 @@ public class UploadHandler extends BaseMultiInputHandler<ObjectData> {
 	 */
 	private void executeRetryRenameFile(ObjectData input, String tempFileFullPath, String finalFileFullPath) {
 		if (UploadHandler.mustRenameFile(tempFileFullPath, finalFileFullPath)) {
-			if (actionIfFileExists.equals(ActionIfFileExists.OVERWRITE)) {
+			// the posix rename replaces the target atomically, a plain rename fails if it exists
+			if (actionIfFileExists.equals(ActionIfFileExists.OVERWRITE)
+					&& !(this.optimizedCommit && this.connection.supportsPosixRename())) {
 				RetryableVerifyFileExistsAction fileExistsAction = new RetryableVerifyFileExistsAction(connection,
 						finalFileFullPath, input);
 				fileExistsAction.execute();
@@ -0,0 +1,457 @@
+//Copyright (c) 2021 Boomi, Inc.
+package com.boomi.connector.sftp.listener;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The size and modification time of every file of a remote directory, kept in
+ * a hash table on local disk so that memory use does not depend on the number
+ * of files. Each file is keyed by a 64 bit hash of its name, the chance of two
+ * names colliding is negligible for the directory sizes a poller can list.
+ * Every file is stamped with the poll that last listed it, so the files that
+ * are no longer listed can be dropped once a poll completes.
+ *
+ * @author sweta.b.das
+ */
+public class DirectoryIndex implements Closeable {
+
+	/**
+	 * The change of a file since it was last indexed.
+	 */
+	public enum Change {
+
+		/** The file was not indexed. */
+		ADDED,
+
+		/** The file size or modification time changed. */
+		MODIFIED,
+
+		/** The file is unchanged. */
+		UNCHANGED
+	}
+
+	/** The Constant MAGIC, marking an index file. */
+	private static final int MAGIC = 0x53494458;
+
+	/** The Constant VERSION. */
+	private static final int VERSION = 1;
+
+	/** The Constant HEADER_SIZE: magic, version, capacity, count, watermark, poll. */
+	private static final int HEADER_SIZE = 32;
+
+	/** The Constant SLOT_SIZE: name hash, size, modification time, poll. */
+	private static final int SLOT_SIZE = 24;
+
+	/** The Constant SCAN_SLOTS, the number of slots read at once when scanning the table. */
+	private static final int SCAN_SLOTS = 4096;
+
+	/** The Constant INITIAL_CAPACITY, a power of two. */
+	private static final long INITIAL_CAPACITY = 1024L;
+
+	/** The index file. */
+	private final Path file;
+
+	/** Whether the index file was created, rather than read from a previous run. */
+	private final boolean created;
+
+	/** The channel of the index file. */
+	private FileChannel channel;
+
+	/** The number of slots, a power of two. */
+	private long capacity;
+
+	/** The number of files. */
+	private long count;
+
+	/** The modification time of the newest file, in seconds. */
+	private int watermark;
+
+	/** The number of the current poll, stamped on the files it lists. */
+	private int poll;
+
+	/** The number of files stamped by the current poll. */
+	private long listed;
+
+	/** The slot buffer. */
+	private final ByteBuffer slot = ByteBuffer.allocate(SLOT_SIZE);
+
+	/**
+	 * Instantiates a new directory index, opening the index file or creating it.
+	 *
+	 * @param file the index file
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	public DirectoryIndex(Path file) throws IOException {
+		this.file = file;
+		Files.createDirectories(file.toAbsolutePath().getParent());
+		this.created = !Files.exists(file) || !this.readHeader();
+		if (this.created) {
+			this.channel = DirectoryIndex.createTable(file, INITIAL_CAPACITY);
+			this.capacity = INITIAL_CAPACITY;
+			this.count = 0L;
+			this.watermark = 0;
+		}
+	}
+
+	/**
+	 * Checks if the index was created by this run, in which case it holds no file
+	 * yet.
+	 *
+	 * @return true, if created
+	 */
+	public boolean isCreated() {
+		return created;
+	}
+
+	/**
+	 * Gets the modification time of the newest file when the index was last
+	 * saved.
+	 *
+	 * @return the watermark, in seconds
+	 */
+	public int getWatermark() {
+		return watermark;
+	}
+
+	/**
+	 * Sets the watermark, saved with the next {@link #save()}.
+	 *
+	 * @param watermark the watermark, in seconds
+	 */
+	public void setWatermark(int watermark) {
+		this.watermark = watermark;
+	}
+
+	/**
+	 * Gets the number of files.
+	 *
+	 * @return the count
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Indexes the size and modification time of a file.
+	 *
+	 * @param name  the file name
+	 * @param size  the file size
+	 * @param mtime the modification time, in seconds
+	 * @return the change of the file since it was last indexed
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	public Change update(String name, long size, int mtime) throws IOException {
+		long hash = DirectoryIndex.hash(name);
+		long index = hash & (capacity - 1);
+		while (true) {
+			readSlot(index);
+			long slotHash = slot.getLong(0);
+			if (slotHash == 0L) {
+				writeSlot(index, hash, size, mtime);
+				listed++;
+				if (++count * 2 > capacity) {
+					this.rebuild(capacity * 2, false);
+				}
+				return Change.ADDED;
+			}
+			if (slotHash == hash) {
+				if (slot.getInt(20) != poll) {
+					listed++;
+				}
+				if (slot.getLong(8) == size && slot.getInt(16) == mtime) {
+					if (slot.getInt(20) != poll) {
+						writeSlot(index, hash, size, mtime);
+					}
+					return Change.UNCHANGED;
+				}
+				writeSlot(index, hash, size, mtime);
+				return Change.MODIFIED;
+			}
+			index = (index + 1) & (capacity - 1);
+		}
+	}
+
+	/**
+	 * Starts a poll. The files passed to {@link #update(String, long, int)} from
+	 * now on are stamped with the new poll.
+	 */
+	public void startPoll() {
+		poll++;
+		listed = 0L;
+	}
+
+	/**
+	 * Drops the files the current poll did not list, shrinking the table when
+	 * it got much larger than the remaining files need. Must only be called once
+	 * the listing of the poll completed.
+	 *
+	 * @return the number of dropped files
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	public long removeUnlisted() throws IOException {
+		long removed = count - listed;
+		if (removed <= 0L) {
+			return 0L;
+		}
+		long newCapacity = INITIAL_CAPACITY;
+		while (listed * 2 > newCapacity) {
+			newCapacity *= 2;
+		}
+		this.rebuild(newCapacity, true);
+		count = listed;
+		return removed;
+	}
+
+	/**
+	 * Saves the header, making the files indexed so far durable.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	public void save() throws IOException {
+		this.writeHeader(channel, capacity);
+		channel.force(false);
+	}
+
+	/**
+	 * Saves and closes the index.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (channel != null && channel.isOpen()) {
+			try {
+				this.save();
+			} finally {
+				channel.close();
+			}
+		}
+	}
+
+	/**
+	 * Reads the header of an existing index file.
+	 *
+	 * @return true, if the file is a valid index
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private boolean readHeader() throws IOException {
+		FileChannel existing = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		try {
+			while (header.hasRemaining() && existing.read(header, header.position()) > 0) {
+				// read the whole header
+			}
+			long slotCapacity = header.getLong(8);
+			if (header.hasRemaining() || header.getInt(0) != MAGIC || header.getInt(4) != VERSION
+					|| slotCapacity <= 0L || Long.bitCount(slotCapacity) != 1
+					|| existing.size() != HEADER_SIZE + slotCapacity * SLOT_SIZE) {
+				existing.close();
+				return false;
+			}
+		} catch (IOException e) {
+			existing.close();
+			throw e;
+		}
+		long slotCapacity = header.getLong(8);
+		this.channel = existing;
+		this.capacity = slotCapacity;
+		this.watermark = header.getInt(24);
+		this.poll = header.getInt(28);
+		// the count of the header is stale after a crash, the table is the truth
+		this.count = this.countSlots();
+		return true;
+	}
+
+	/**
+	 * Counts the files of the table.
+	 *
+	 * @return the count
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private long countSlots() throws IOException {
+		ByteBuffer slots = ByteBuffer.allocate(SCAN_SLOTS * SLOT_SIZE);
+		long files = 0L;
+		for (long first = 0L; first < capacity; first += SCAN_SLOTS) {
+			int scanned = (int) Math.min(SCAN_SLOTS, capacity - first);
+			slots.clear();
+			slots.limit(scanned * SLOT_SIZE);
+			DirectoryIndex.readFully(channel, slots, HEADER_SIZE + first * SLOT_SIZE);
+			for (int i = 0; i < scanned; i++) {
+				if (slots.getLong(i * SLOT_SIZE) != 0L) {
+					files++;
+				}
+			}
+		}
+		return files;
+	}
+
+	/**
+	 * Writes the header.
+	 *
+	 * @param target        the channel of the index file
+	 * @param slotCapacity  the number of slots
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private void writeHeader(FileChannel target, long slotCapacity) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		header.putInt(MAGIC).putInt(VERSION).putLong(slotCapacity).putLong(count).putInt(watermark).putInt(poll);
+		header.flip();
+		DirectoryIndex.writeFully(target, header, 0L);
+	}
+
+	/**
+	 * Rehashes the files into a new table file with the given number of slots,
+	 * which then replaces the index file.
+	 *
+	 * @param newCapacity the number of slots, a power of two
+	 * @param listedOnly  whether only the files listed by the current poll are kept
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private void rebuild(long newCapacity, boolean listedOnly) throws IOException {
+		Path grown = file.resolveSibling(file.getFileName() + ".grow");
+		FileChannel target = DirectoryIndex.createTable(grown, newCapacity);
+		try {
+			ByteBuffer moved = ByteBuffer.allocate(SLOT_SIZE);
+			for (long i = 0; i < capacity; i++) {
+				readSlot(i);
+				long hash = slot.getLong(0);
+				if (hash == 0L || (listedOnly && slot.getInt(20) != poll)) {
+					continue;
+				}
+				long index = hash & (newCapacity - 1);
+				while (true) {
+					moved.clear();
+					DirectoryIndex.readFully(target, moved, HEADER_SIZE + index * SLOT_SIZE);
+					if (moved.getLong(0) == 0L) {
+						break;
+					}
+					index = (index + 1) & (newCapacity - 1);
+				}
+				slot.rewind();
+				DirectoryIndex.writeFully(target, slot, HEADER_SIZE + index * SLOT_SIZE);
+			}
+			this.writeHeader(target, newCapacity);
+			target.force(false);
+		} catch (IOException e) {
+			target.close();
+			Files.deleteIfExists(grown);
+			throw e;
+		}
+		channel.close();
+		target.close();
+		Files.move(grown, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		this.capacity = newCapacity;
+	}
+
+	/**
+	 * Reads a slot into the slot buffer.
+	 *
+	 * @param index the slot index
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private void readSlot(long index) throws IOException {
+		slot.clear();
+		DirectoryIndex.readFully(channel, slot, HEADER_SIZE + index * SLOT_SIZE);
+	}
+
+	/**
+	 * Writes a slot, stamped with the current poll.
+	 *
+	 * @param index the slot index
+	 * @param hash  the name hash
+	 * @param size  the file size
+	 * @param mtime the modification time
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private void writeSlot(long index, long hash, long size, int mtime) throws IOException {
+		slot.clear();
+		slot.putLong(hash).putLong(size).putInt(mtime).putInt(poll);
+		slot.flip();
+		DirectoryIndex.writeFully(channel, slot, HEADER_SIZE + index * SLOT_SIZE);
+	}
+
+	/**
+	 * Creates an empty table file.
+	 *
+	 * @param path         the path
+	 * @param slotCapacity the number of slots
+	 * @return the channel of the table
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private static FileChannel createTable(Path path, long slotCapacity) throws IOException {
+		FileChannel table = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+		// the last byte sizes the file, the slots read as zero until written
+		DirectoryIndex.writeFully(table, ByteBuffer.allocate(1), HEADER_SIZE + slotCapacity * SLOT_SIZE - 1);
+		return table;
+	}
+
+	/**
+	 * Gets the name of the index file of a directory.
+	 *
+	 * @param key the key identifying the server, user and directory
+	 * @return the file name
+	 */
+	public static String getFileName(String key) {
+		return "sftp-listen-" + Long.toHexString(DirectoryIndex.hash(key)) + ".idx";
+	}
+
+	/**
+	 * Hashes a file name with 64 bit FNV-1a, never returning zero as it marks an
+	 * empty slot.
+	 *
+	 * @param name the name
+	 * @return the hash
+	 */
+	static long hash(String name) {
+		long hash = 0xcbf29ce484222325L;
+		for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+			hash ^= b & 0xff;
+			hash *= 0x100000001b3L;
+		}
+		return hash == 0L ? 1L : hash;
+	}
+
+	/**
+	 * Reads until the buffer is full, zero filling past the end of the file.
+	 *
+	 * @param source   the channel
+	 * @param buffer   the buffer
+	 * @param position the position
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private static void readFully(FileChannel source, ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			int read = source.read(buffer, position + buffer.position());
+			if (read < 0) {
+				while (buffer.hasRemaining()) {
+					buffer.put((byte) 0);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes the whole buffer.
+	 *
+	 * @param target   the channel
+	 * @param buffer   the buffer
+	 * @param position the position
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private static void writeFully(FileChannel target, ByteBuffer buffer, long position) throws IOException {
+		long offset = position;
+		while (buffer.hasRemaining()) {
+			offset += target.write(buffer, offset);
+		}
+	}
+}
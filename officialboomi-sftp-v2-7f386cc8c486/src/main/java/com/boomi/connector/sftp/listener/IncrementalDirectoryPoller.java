@@ -0,0 +1,189 @@
+//Copyright (c) 2021 Boomi, Inc.
+package com.boomi.connector.sftp.listener;
+
+import com.boomi.connector.sftp.SFTPClient;
+import com.boomi.connector.sftp.SFTPConnection;
+import com.boomi.connector.sftp.common.PropertiesUtil;
+import com.boomi.util.ExecutorUtil;
+import com.boomi.util.IOUtil;
+import com.jcraft.jsch.ChannelSftp.LsEntry;
+import com.jcraft.jsch.ChannelSftp.LsEntrySelector;
+import com.jcraft.jsch.SftpATTRS;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Polls a remote directory against a {@link DirectoryIndex} persisted on local
+ * disk. The listing is read on a channel of its own and each entry is compared
+ * with the index as the server returns it, so added and modified files are
+ * handed to the listener while the listing is still running and no listing is
+ * held in memory. The first poll of a new index only records the existing
+ * files. Removed files are not reported, they are dropped from the index once
+ * the listing completes, as are the files skipped by the watermark, which are
+ * never looked up again until they are modified.
+ *
+ * @author sweta.b.das
+ */
+public class IncrementalDirectoryPoller implements Closeable {
+
+	/** The Constant logger. */
+	private static final Logger logger = Logger.getLogger(IncrementalDirectoryPoller.class.getName());
+
+	/** The connection, used to download the changed files. */
+	private final SFTPConnection connection;
+
+	/** The remote directory. */
+	private final String remoteDirectory;
+
+	/** The adaptor submitting the changed files. */
+	private final SFTPFileListenerAdaptor adaptor;
+
+	/** The index. */
+	private final DirectoryIndex index;
+
+	/** Whether files older than the watermark of the previous poll are skipped. */
+	private final boolean useWatermark;
+
+	/** The scheduler. */
+	private final ScheduledExecutorService scheduler = ExecutorUtil.newScheduler("SFTP Incremental Poller");
+
+	/** The client listing the directory, opened again after a failed poll. */
+	private SFTPClient listingClient;
+
+	/** Whether the next poll only records the existing files. */
+	private boolean initialPoll;
+
+	/**
+	 * Instantiates a new incremental directory poller.
+	 *
+	 * @param connection      the connection
+	 * @param remoteDirectory the remote directory
+	 * @param adaptor         the adaptor submitting the changed files
+	 * @param index           the index
+	 * @param useWatermark    whether files older than the previous poll are skipped
+	 */
+	public IncrementalDirectoryPoller(SFTPConnection connection, String remoteDirectory,
+			SFTPFileListenerAdaptor adaptor, DirectoryIndex index, boolean useWatermark) {
+		this.connection = connection;
+		this.remoteDirectory = remoteDirectory;
+		this.adaptor = adaptor;
+		this.index = index;
+		this.useWatermark = useWatermark;
+		this.initialPoll = index.isCreated();
+	}
+
+	/**
+	 * Starts polling.
+	 *
+	 * @param pollingInterval the interval between the end of a poll and the start
+	 *                        of the next, in milliseconds
+	 */
+	public void start(long pollingInterval) {
+		scheduler.scheduleWithFixedDelay(this::pollQuietly, 0L, pollingInterval, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Polls the directory, logging a failure so that the next poll runs.
+	 */
+	private void pollQuietly() {
+		try {
+			this.poll();
+		} catch (Exception e) {
+			logger.log(Level.WARNING, "Polling of " + remoteDirectory + " failed, retrying at the next poll", e);
+			IOUtil.closeQuietly(listingClient);
+			listingClient = null;
+		}
+	}
+
+	/**
+	 * Lists the directory once, handing each added or modified file to the
+	 * adaptor, then drops the files that were not listed and saves the index
+	 * with the new watermark.
+	 *
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	void poll() throws IOException {
+		if (listingClient == null) {
+			listingClient = connection
+					.createSftpClient(new PropertiesUtil(connection.getContext().getConnectionProperties()));
+			listingClient.openConnection();
+		}
+		final int previousWatermark = index.getWatermark();
+		final int[] newWatermark = { previousWatermark };
+		final boolean[] failed = { false };
+		final boolean notify = !initialPoll;
+		long start = System.currentTimeMillis();
+		index.startPoll();
+		try {
+			listingClient.listDirectoryContentWithSelector(remoteDirectory, new LsEntrySelector() {
+				@Override
+				public int select(LsEntry entry) {
+					SftpATTRS attrs = entry.getAttrs();
+					if (attrs.isDir() || attrs.isLink()) {
+						return CONTINUE;
+					}
+					int mtime = attrs.getMTime();
+					newWatermark[0] = Math.max(newWatermark[0], mtime);
+					if (useWatermark && mtime < previousWatermark) {
+						return CONTINUE;
+					}
+					try {
+						DirectoryIndex.Change change = index.update(entry.getFilename(), attrs.getSize(), mtime);
+						if (notify && change != DirectoryIndex.Change.UNCHANGED) {
+							submit(entry);
+						}
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+					return CONTINUE;
+				}
+
+				/**
+				 * Submits a changed file. A file that fails is indexed with an impossible
+				 * size, so that the next poll reports it again, and the watermark is kept.
+				 */
+				private void submit(LsEntry entry) throws IOException {
+					try {
+						adaptor.fileAddedOrModified(new SFTPFile(entry));
+					} catch (RuntimeException e) {
+						logger.log(Level.WARNING, "Unable to submit " + entry.getFilename() + ", retrying at the next poll",
+								e);
+						index.update(entry.getFilename(), -1L, entry.getAttrs().getMTime());
+						failed[0] = true;
+					}
+				}
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		if (!failed[0]) {
+			index.setWatermark(newWatermark[0]);
+		}
+		long removed = index.removeUnlisted();
+		index.save();
+		initialPoll = false;
+		logger.log(Level.FINE, "Polled {0} in {1} ms, {2} files indexed, {3} dropped",
+				new Object[] { remoteDirectory, System.currentTimeMillis() - start, index.getCount(), removed });
+	}
+
+	/**
+	 * Stops polling and closes the listing client and the index.
+	 */
+	@Override
+	public void close() {
+		scheduler.shutdownNow();
+		try {
+			scheduler.awaitTermination(30L, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		IOUtil.closeQuietly(listingClient);
+		IOUtil.closeQuietly(index);
+	}
+}
@@ -153,9 +153,11 @@ public class SFTPFileListenerAdaptor implements DirectoryListener {
 	}
 
 	/**
+	 * Submits the content of an added or modified file.
+	 *
 	 * @param fileElement the file element
 	 */
-	private void fileAddedOrModified(FileElement fileElement) {
+	void fileAddedOrModified(FileElement fileElement) {
 		InputStream inputStream = null;
 		filename = fileElement.getName();
 		String remoteDir;
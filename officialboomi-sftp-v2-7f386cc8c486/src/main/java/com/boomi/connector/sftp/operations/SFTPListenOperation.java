@@ -1,15 +1,21 @@
 // Copyright (c) 2021 Boomi, Inc.
 package com.boomi.connector.sftp.operations;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 import com.boomi.connector.api.ConnectorException;
+import com.boomi.connector.api.PropertyMap;
 import com.boomi.connector.api.listen.ListenManager;
 import com.boomi.connector.api.listen.Listener;
 import com.boomi.connector.api.listen.SingletonListenOperation;
 import com.boomi.connector.sftp.SFTPConnection;
 import com.boomi.connector.sftp.constants.SFTPConstants;
+import com.boomi.connector.sftp.listener.DirectoryIndex;
+import com.boomi.connector.sftp.listener.IncrementalDirectoryPoller;
 import com.boomi.connector.sftp.listener.SFTPDirectory;
 import com.boomi.connector.sftp.listener.SFTPFileListenerAdaptor;
 import com.boomi.connector.util.listen.UnmanagedListenOperation;
@@ -27,6 +33,9 @@ public class SFTPListenOperation extends UnmanagedListenOperation implements Sin
 	public static final Logger logger = Logger.getLogger(SFTPListenOperation.class.getName());
 	/** The Directory Poller**/
 	private DirectoryPoller directoryPoller = null;
+
+	/** The incremental poller, used instead of the directory poller in incremental mode. */
+	private IncrementalDirectoryPoller incrementalPoller = null;
 	
 	/**
 	 * Instantiates a new SFTP listen operation.
@@ -66,6 +75,9 @@ public class SFTPListenOperation extends UnmanagedListenOperation implements Sin
 		if(directoryPoller != null) {
 			directoryPoller.stop();
 		}
+		if (incrementalPoller != null) {
+			incrementalPoller.close();
+		}
 	}
 
 	/**
@@ -81,7 +93,15 @@ public class SFTPListenOperation extends UnmanagedListenOperation implements Sin
 					.getLongProperty(SFTPConstants.POLLING_INTERVAL);
 			String remoteDirectory = getConnection().getContext().getConnectionProperties()
 					.getProperty(SFTPConstants.REMOTE_DIRECTORY);
-			if(!StringUtil.isEmpty(remoteDirectory) || !StringUtil.isBlank(remoteDirectory)) {
+			if (!StringUtil.isBlank(remoteDirectory)
+					&& getContext().getOperationProperties().getBooleanProperty(
+							SFTPConstants.PROPERTY_INCREMENTAL_LISTEN, false)) {
+				incrementalPoller = new IncrementalDirectoryPoller(getConnection(), remoteDirectory,
+						new SFTPFileListenerAdaptor(getConnection(), remoteDirectory, listener),
+						new DirectoryIndex(getIndexFile(remoteDirectory)), getContext().getOperationProperties()
+								.getBooleanProperty(SFTPConstants.PROPERTY_LISTEN_MTIME_WATERMARK, false));
+				incrementalPoller.start(pollingInterval);
+			} else if(!StringUtil.isEmpty(remoteDirectory) || !StringUtil.isBlank(remoteDirectory)) {
 			PolledDirectory polledDirectory = new SFTPDirectory(getConnection(), remoteDirectory);
 			directoryPoller = DirectoryPoller.newBuilder().addPolledDirectory(polledDirectory)
 					.addListener(new SFTPFileListenerAdaptor(getConnection(), remoteDirectory, listener))
@@ -95,4 +115,25 @@ public class SFTPListenOperation extends UnmanagedListenOperation implements Sin
 		}
 	}
 
+	/**
+	 * Gets the index file of the remote directory, named after the server, the
+	 * user and the directory so that each listener keeps its own index.
+	 *
+	 * @param remoteDirectory the remote directory
+	 * @return the index file
+	 * @throws IOException Signals that an I/O exception has occurred.
+	 */
+	private Path getIndexFile(String remoteDirectory) throws IOException {
+		PropertyMap connectionProperties = getConnection().getContext().getConnectionProperties();
+		String indexDirectory = getContext().getOperationProperties()
+				.getProperty(SFTPConstants.PROPERTY_LISTEN_INDEX_DIRECTORY);
+		Path directory = StringUtil.isBlank(indexDirectory)
+				? Paths.get(System.getProperty("java.io.tmpdir"), SFTPConstants.DEFAULT_LISTEN_INDEX_DIRECTORY)
+				: Paths.get(indexDirectory);
+		String key = connectionProperties.getProperty(SFTPConstants.PROPERTY_USERNAME) + "@"
+				+ connectionProperties.getProperty(SFTPConstants.PROPERTY_HOST) + ":"
+				+ connectionProperties.get(SFTPConstants.PROPERTY_PORT) + "/" + remoteDirectory;
+		return directory.resolve(DirectoryIndex.getFileName(key));
+	}
+
 }
@@ -0,0 +1,83 @@
+// Copyright (c) 2023 Boomi, Inc.
+package com.boomi.connector.sftp;
+
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+import com.jcraft.jsch.SftpException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ChannelSftpPoolTest {
+
+    private static final String HOME = "/home/boomi";
+
+    private final ChannelSftpPool _pool = new ChannelSftpPool();
+    private final Session _session = mock(Session.class);
+
+    @Before
+    public void init() throws JSchException, SftpException {
+        when(_session.isConnected()).thenReturn(true);
+        when(_session.openChannel("sftp")).thenAnswer(invocation -> newChannel());
+    }
+
+    @Test
+    public void testReusesReturnedChannel() throws JSchException {
+        ChannelSftp channel = _pool.borrowChannel(_session);
+        _pool.returnChannel(_session, channel);
+
+        assertSame(channel, _pool.borrowChannel(_session));
+        verify(_session, times(1)).openChannel("sftp");
+        verify(channel, never()).disconnect();
+    }
+
+    @Test
+    public void testMovesReturnedChannelBackHome() throws JSchException, SftpException {
+        ChannelSftp channel = _pool.borrowChannel(_session);
+        when(channel.pwd()).thenReturn(HOME + "/inbox");
+
+        _pool.returnChannel(_session, channel);
+
+        verify(channel).cd(HOME);
+        assertEquals(1, _pool.getIdleCount());
+    }
+
+    @Test
+    public void testDiscardsDisconnectedChannel() throws JSchException {
+        ChannelSftp channel = _pool.borrowChannel(_session);
+        _pool.returnChannel(_session, channel);
+        when(channel.isConnected()).thenReturn(false);
+
+        assertNotSame(channel, _pool.borrowChannel(_session));
+        verify(channel).disconnect();
+    }
+
+    @Test
+    public void testEvictsIdleChannels() throws JSchException {
+        ChannelSftp channel = _pool.borrowChannel(_session);
+        _pool.returnChannel(_session, channel);
+
+        _pool.evictIdle(-1L);
+
+        assertEquals(0, _pool.getIdleCount());
+        verify(channel).disconnect();
+    }
+
+    private static ChannelSftp newChannel() throws SftpException {
+        ChannelSftp channel = mock(ChannelSftp.class);
+        when(channel.isConnected()).thenReturn(true);
+        when(channel.getHome()).thenReturn(HOME);
+        when(channel.pwd()).thenReturn(HOME);
+        return channel;
+    }
+}
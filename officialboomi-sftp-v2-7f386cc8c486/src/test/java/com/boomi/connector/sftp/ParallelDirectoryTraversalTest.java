@@ -0,0 +1,148 @@
+// Copyright (c) 2023 Boomi, Inc.
+package com.boomi.connector.sftp;
+
+import com.boomi.connector.api.BrowseContext;
+import com.boomi.connector.api.PropertyMap;
+import com.boomi.connector.api.TrackedData;
+import com.boomi.connector.sftp.common.PropertiesUtil;
+import com.boomi.connector.sftp.exception.SFTPSdkException;
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.ChannelSftp.LsEntrySelector;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ParallelDirectoryTraversalTest {
+
+    private static final String DIRECTORY_A = "/home/boomi/a";
+    private static final String DIRECTORY_B = "/home/boomi/b";
+
+    private final SFTPConnection _connection = mock(SFTPConnection.class);
+    private final SFTPClient _client = mock(SFTPClient.class);
+    private final TrackedData _input = mock(TrackedData.class);
+    private final Logger _logger = mock(Logger.class);
+    private ParallelDirectoryTraversal _traversal;
+
+    @Before
+    public void init() {
+        BrowseContext context = mock(BrowseContext.class);
+        when(context.getConnectionProperties()).thenReturn(mock(PropertyMap.class));
+        when(_connection.getContext()).thenReturn(context);
+        when(_connection.createSftpClient(any(PropertiesUtil.class))).thenReturn(_client);
+        when(_input.getLogger()).thenReturn(_logger);
+    }
+
+    @After
+    public void close() {
+        if (_traversal != null) {
+            _traversal.close();
+        }
+    }
+
+    @Test
+    public void testListsDirectoriesOnSeveralChannels() {
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+        doAnswer(invocation -> {
+            bothStarted.countDown();
+            if (!bothStarted.await(5, TimeUnit.SECONDS)) {
+                throw new SFTPSdkException("directories were not listed in parallel");
+            }
+            String path = (String) invocation.getArguments()[0];
+            LsEntrySelector selector = (LsEntrySelector) invocation.getArguments()[1];
+            selector.select(entry(path + ".txt"));
+            return null;
+        }).when(_client).listDirectoryContentWithSelector(any(String.class), any(LsEntrySelector.class));
+        _traversal = new ParallelDirectoryTraversal(_connection, _input, 2);
+        CustomLsEntrySelector selectorA = selector(DIRECTORY_A);
+        CustomLsEntrySelector selectorB = selector(DIRECTORY_B);
+
+        _traversal.submit(selectorA);
+        _traversal.submit(selectorB);
+
+        assertTrue(_traversal.drain(true));
+        verify(selectorA).select(any(ChannelSftp.LsEntry.class));
+        verify(selectorB).select(any(ChannelSftp.LsEntry.class));
+        verify(_logger, never()).log(eq(Level.WARNING), any(String.class), any(Throwable.class));
+    }
+
+    @Test
+    public void testStopsWhenSelectorBreaks() {
+        doAnswer(invocation -> {
+            LsEntrySelector selector = (LsEntrySelector) invocation.getArguments()[1];
+            selector.select(entry("a.txt"));
+            selector.select(entry("b.txt"));
+            return null;
+        }).when(_client).listDirectoryContentWithSelector(any(String.class), any(LsEntrySelector.class));
+        _traversal = new ParallelDirectoryTraversal(_connection, _input, 1);
+        CustomLsEntrySelector selectorA = selector(DIRECTORY_A);
+        when(selectorA.select(any(ChannelSftp.LsEntry.class))).thenReturn(LsEntrySelector.BREAK);
+
+        _traversal.submit(selectorA);
+
+        assertFalse(_traversal.drain(true));
+        assertTrue(_traversal.isStopped());
+        verify(selectorA).select(any(ChannelSftp.LsEntry.class));
+    }
+
+    @Test
+    public void testLogsFailureOfOneDirectory() {
+        doAnswer(invocation -> {
+            throw new SFTPSdkException("permission denied");
+        }).when(_client).listDirectoryContentWithSelector(eq(DIRECTORY_A), any(LsEntrySelector.class));
+        doAnswer(invocation -> {
+            LsEntrySelector selector = (LsEntrySelector) invocation.getArguments()[1];
+            selector.select(entry("b.txt"));
+            return null;
+        }).when(_client).listDirectoryContentWithSelector(eq(DIRECTORY_B), any(LsEntrySelector.class));
+        _traversal = new ParallelDirectoryTraversal(_connection, _input, 1);
+        CustomLsEntrySelector selectorB = selector(DIRECTORY_B);
+
+        _traversal.submit(selector(DIRECTORY_A));
+        _traversal.submit(selectorB);
+
+        assertTrue(_traversal.drain(true));
+        verify(selectorB).select(any(ChannelSftp.LsEntry.class));
+        verify(_logger).log(eq(Level.WARNING), eq("Failed to list " + DIRECTORY_A), any(SFTPSdkException.class));
+    }
+
+    @Test(timeout = 10000L)
+    public void testLogsErrorOfOneDirectory() {
+        doAnswer(invocation -> {
+            throw new StackOverflowError("deeply nested listing");
+        }).when(_client).listDirectoryContentWithSelector(eq(DIRECTORY_A), any(LsEntrySelector.class));
+        _traversal = new ParallelDirectoryTraversal(_connection, _input, 1);
+
+        _traversal.submit(selector(DIRECTORY_A));
+
+        assertTrue(_traversal.drain(true));
+        verify(_logger).log(eq(Level.WARNING), eq("Failed to list " + DIRECTORY_A), any(StackOverflowError.class));
+    }
+
+    private static CustomLsEntrySelector selector(String dirFullPath) {
+        CustomLsEntrySelector selector = mock(CustomLsEntrySelector.class);
+        selector.dirFullPath = dirFullPath;
+        return selector;
+    }
+
+    private static ChannelSftp.LsEntry entry(String fileName) {
+        ChannelSftp.LsEntry entry = mock(ChannelSftp.LsEntry.class);
+        when(entry.getFilename()).thenReturn(fileName);
+        return entry;
+    }
+}
@@ -0,0 +1,140 @@
+// Copyright (c) 2023 Boomi, Inc.
+package com.boomi.connector.sftp;
+
+import com.boomi.connector.api.BrowseContext;
+import com.boomi.connector.api.ConnectorException;
+import com.boomi.connector.api.PropertyMap;
+import com.boomi.connector.api.TrackedData;
+import com.boomi.connector.sftp.common.MeteredTempOutputStream;
+import com.boomi.connector.sftp.common.PropertiesUtil;
+import com.jcraft.jsch.ChannelSftp;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ParallelQueryDownloaderTest {
+
+    private static final String DIRECTORY_PATH = "/home/boomi/query";
+
+    private final SFTPConnection _connection = mock(SFTPConnection.class);
+    private final TrackedData _input = mock(TrackedData.class);
+    private ParallelQueryDownloader _downloader;
+
+    @Before
+    public void init() {
+        BrowseContext context = mock(BrowseContext.class);
+        when(context.getConnectionProperties()).thenReturn(mock(PropertyMap.class));
+        when(_connection.getContext()).thenReturn(context);
+        when(_connection.createSftpClient(any(PropertiesUtil.class))).thenAnswer(invocation -> mock(SFTPClient.class));
+        when(_input.getLogger()).thenReturn(mock(Logger.class));
+    }
+
+    @After
+    public void close() {
+        if (_downloader != null) {
+            _downloader.close();
+        }
+    }
+
+    @Test
+    public void testDownloadsOnSeveralChannelsAndReturnsInSubmissionOrder() throws IOException {
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+        doAnswer(invocation -> {
+            bothStarted.countDown();
+            if (!bothStarted.await(5, TimeUnit.SECONDS)) {
+                throw new ConnectorException("files were not downloaded in parallel");
+            }
+            String path = (String) invocation.getArguments()[0];
+            MeteredTempOutputStream out = (MeteredTempOutputStream) invocation.getArguments()[1];
+            out.write(path.substring(path.lastIndexOf('/') + 1).getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(_connection).getFile(anyString(), any(MeteredTempOutputStream.class), any(SFTPClient.class));
+        _downloader = new ParallelQueryDownloader(_connection, _input, 2);
+
+        _downloader.submit(entry("a.txt"), DIRECTORY_PATH);
+        _downloader.submit(entry("b.txt"), DIRECTORY_PATH);
+
+        assertEquals(2, _downloader.getPendingCount());
+        assertDownloaded("a.txt", _downloader.take());
+        assertDownloaded("b.txt", _downloader.take());
+        assertEquals(0, _downloader.getPendingCount());
+    }
+
+    @Test
+    public void testKeepsFailureOfOneDownload() throws IOException {
+        doAnswer(invocation -> {
+            MeteredTempOutputStream out = (MeteredTempOutputStream) invocation.getArguments()[1];
+            out.write("ok.txt".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(_connection).getFile(eq(DIRECTORY_PATH + "/ok.txt"), any(MeteredTempOutputStream.class),
+                any(SFTPClient.class));
+        doAnswer(invocation -> {
+            throw new ConnectorException("permission denied");
+        }).when(_connection).getFile(eq(DIRECTORY_PATH + "/denied.txt"), any(MeteredTempOutputStream.class),
+                any(SFTPClient.class));
+        _downloader = new ParallelQueryDownloader(_connection, _input, 2);
+
+        _downloader.submit(entry("denied.txt"), DIRECTORY_PATH);
+        _downloader.submit(entry("ok.txt"), DIRECTORY_PATH);
+
+        ParallelQueryDownloader.Download denied = _downloader.take();
+        assertEquals("denied.txt", denied.getEntry().getFilename());
+        assertNotNull(denied.getFailure());
+        denied.close();
+        assertDownloaded("ok.txt", _downloader.take());
+    }
+
+    @Test
+    public void testIsFullWhenEveryChannelHasAFileQueued() {
+        _downloader = new ParallelQueryDownloader(_connection, _input, 1);
+
+        _downloader.submit(entry("a.txt"), DIRECTORY_PATH);
+        assertEquals(false, _downloader.isFull());
+        _downloader.submit(entry("b.txt"), DIRECTORY_PATH);
+        assertEquals(true, _downloader.isFull());
+    }
+
+    private static ChannelSftp.LsEntry entry(String fileName) {
+        ChannelSftp.LsEntry entry = mock(ChannelSftp.LsEntry.class);
+        when(entry.getFilename()).thenReturn(fileName);
+        return entry;
+    }
+
+    private static void assertDownloaded(String expected, ParallelQueryDownloader.Download download)
+            throws IOException {
+        try {
+            assertNull(download.getFailure());
+            assertEquals(expected, download.getEntry().getFilename());
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            try (InputStream in = download.getAction().getOutputStream().toInputStream()) {
+                byte[] buffer = new byte[64];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    content.write(buffer, 0, read);
+                }
+            }
+            assertEquals(expected, new String(content.toByteArray(), StandardCharsets.UTF_8));
+        } finally {
+            download.close();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+// Copyright (c) 2023 Boomi, Inc.
+package com.boomi.connector.sftp;
+
+import com.boomi.connector.api.BrowseContext;
+import com.boomi.connector.api.ObjectData;
+import com.boomi.connector.api.PropertyMap;
+import com.boomi.connector.sftp.common.PropertiesUtil;
+import com.boomi.connector.sftp.retry.RetryStrategyFactory;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SegmentedTransferTest {
+
+    private static final String FILE_PATH = "/home/boomi/large.bin";
+    private static final byte[] CONTENT = "0123456789abcdefghijklmnopqrstuvwxyz".getBytes(StandardCharsets.UTF_8);
+
+    private final SFTPConnection _connection = mock(SFTPConnection.class);
+    private final ObjectData _document = mock(ObjectData.class);
+
+    @Before
+    public void init() throws IOException {
+        BrowseContext context = mock(BrowseContext.class);
+        when(context.getConnectionProperties()).thenReturn(mock(PropertyMap.class));
+        when(_connection.getContext()).thenReturn(context);
+        when(_document.getLogger()).thenReturn(mock(Logger.class));
+        when(_document.getData()).thenAnswer(invocation -> new ByteArrayInputStream(CONTENT));
+    }
+
+    @Test
+    public void testSplitsIntoContiguousSegments() {
+        List<SegmentedTransfer.Segment> segments = SegmentedTransfer.split(10L, 3);
+
+        assertEquals(3, segments.size());
+        long next = 0L;
+        for (SegmentedTransfer.Segment segment : segments) {
+            assertEquals(next, segment.getStart());
+            next += segment.getLength();
+        }
+        assertEquals(10L, next);
+        assertEquals(2, SegmentedTransfer.split(2L, 4).size());
+    }
+
+    @Test
+    public void testDownloadsSegmentsAtTheirPosition() throws IOException {
+        final AtomicBoolean failedOnce = new AtomicBoolean();
+        SFTPClient client = mock(SFTPClient.class);
+        when(client.getFileStream(anyString(), anyLong())).thenAnswer(invocation -> {
+            long start = (Long) invocation.getArguments()[1];
+            if (start > 0L && failedOnce.compareAndSet(false, true)) {
+                return brokenStream();
+            }
+            return new ByteArrayInputStream(CONTENT, (int) start, CONTENT.length - (int) start);
+        });
+        when(_connection.createSftpClient(any(PropertiesUtil.class))).thenReturn(client);
+        Path target = Files.createTempFile("segmented", null);
+        try {
+            newTransfer(false).download(FILE_PATH, CONTENT.length, target);
+
+            assertArrayEquals(CONTENT, Files.readAllBytes(target));
+        } finally {
+            Files.delete(target);
+        }
+    }
+
+    @Test
+    public void testUploadsSegmentsIntoAllocatedFile() {
+        final byte[] remote = new byte[CONTENT.length];
+        SFTPClient client = mock(SFTPClient.class);
+        when(client.getFileOutputStream(anyString(), anyLong(), anyLong())).thenAnswer(invocation -> {
+            final int start = ((Long) invocation.getArguments()[1]).intValue();
+            return new ByteArrayOutputStream() {
+                @Override
+                public void close() {
+                    System.arraycopy(toByteArray(), 0, remote, start, size());
+                }
+            };
+        });
+        when(client.getFileStream(anyString(), anyLong())).thenAnswer(invocation -> {
+            int start = ((Long) invocation.getArguments()[1]).intValue();
+            return new ByteArrayInputStream(remote, start, remote.length - start);
+        });
+        when(_connection.createSftpClient(any(PropertiesUtil.class))).thenReturn(client);
+
+        newTransfer(true).upload(_document, CONTENT.length, FILE_PATH);
+
+        verify(_connection).allocateFile(FILE_PATH, CONTENT.length);
+        assertArrayEquals(CONTENT, remote);
+    }
+
+    private SegmentedTransfer newTransfer(boolean verifyChecksums) {
+        return new SegmentedTransfer(_connection, _document, 4, RetryStrategyFactory.createFactory(1),
+                verifyChecksums);
+    }
+
+    /**
+     * Fails like a dropped connection.
+     */
+    private static InputStream brokenStream() {
+        return new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("connection lost");
+            }
+        };
+    }
+}
@@ -0,0 +1,65 @@
+// Copyright (c) 2023 Boomi, Inc.
+package com.boomi.connector.sftp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class UniqueFileNameAllocatorTest {
+
+    private static final String REMOTE_DIR = "/home/boomi";
+
+    private final SFTPConnection _connection = mock(SFTPConnection.class);
+    private final UniqueFileNameAllocator _allocator = new UniqueFileNameAllocator();
+
+    @Test
+    public void testListsDirectoryOnce() {
+        when(_connection.findHighestFileNumber("file.txt", REMOTE_DIR)).thenReturn(4);
+
+        assertEquals("file5.txt", _allocator.allocate(_connection, "file.txt", REMOTE_DIR));
+        assertEquals("file6.txt", _allocator.allocate(_connection, "file.txt", REMOTE_DIR));
+        assertEquals("file7.txt", _allocator.allocate(_connection, "file.txt", REMOTE_DIR));
+
+        verify(_connection, times(1)).findHighestFileNumber("file.txt", REMOTE_DIR);
+    }
+
+    @Test
+    public void testKeepsNameOfNewFile() {
+        when(_connection.findHighestFileNumber("file", REMOTE_DIR)).thenReturn(-1);
+
+        assertEquals("file", _allocator.allocate(_connection, "file", REMOTE_DIR));
+        assertEquals("file1", _allocator.allocate(_connection, "file", REMOTE_DIR));
+    }
+
+    @Test
+    public void testSkipsNameCreatedByAnotherClient() {
+        when(_connection.findHighestFileNumber("file.txt", REMOTE_DIR)).thenReturn(0);
+        when(_connection.fileExists("file2.txt", REMOTE_DIR)).thenReturn(true);
+
+        assertEquals("file1.txt", _allocator.allocate(_connection, "file.txt", REMOTE_DIR));
+        assertEquals("file3.txt", _allocator.allocate(_connection, "file.txt", REMOTE_DIR));
+    }
+
+    @Test
+    public void testFirstNameNeedsNoExistenceCheck() {
+        when(_connection.findHighestFileNumber("file.txt", REMOTE_DIR)).thenReturn(0);
+
+        _allocator.allocate(_connection, "file.txt", REMOTE_DIR);
+
+        verify(_connection, never()).fileExists(anyString(), anyString());
+    }
+
+    @Test
+    public void testNumberedFileName() {
+        assertEquals("file.txt", SFTPClient.getNumberedFileName("file.txt", 0));
+        assertEquals("file12.txt", SFTPClient.getNumberedFileName("file.txt", 12));
+        assertEquals("archive.tar3.gz", SFTPClient.getNumberedFileName("archive.tar.gz", 3));
+        assertEquals(".profile1", SFTPClient.getNumberedFileName(".profile", 1));
+    }
+}
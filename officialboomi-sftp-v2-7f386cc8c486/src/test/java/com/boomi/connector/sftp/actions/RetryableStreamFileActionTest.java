@@ -0,0 +1,140 @@
+// Copyright (c) 2023 Boomi, Inc.
+package com.boomi.connector.sftp.actions;
+
+import com.boomi.connector.api.TrackedData;
+import com.boomi.connector.sftp.SFTPConnection;
+import com.boomi.connector.sftp.retry.RetryStrategyFactory;
+import com.jcraft.jsch.SftpATTRS;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RetryableStreamFileActionTest {
+
+    private static final String REMOTE_DIR = "/home/boomi";
+    private static final String FILE_NAME = "file.txt";
+    private static final String FILE_PATH = REMOTE_DIR + "/" + FILE_NAME;
+    private static final String CONTENT = "hello world";
+
+    private final SFTPConnection _connection = mock(SFTPConnection.class);
+    private final TrackedData _input = mock(TrackedData.class);
+    private final SftpATTRS _attributes = mock(SftpATTRS.class);
+
+    @Before
+    public void init() {
+        when(_input.getLogger()).thenReturn(mock(Logger.class));
+        when(_attributes.getMTime()).thenReturn(100);
+        when(_attributes.getSize()).thenReturn((long) CONTENT.length());
+        when(_connection.getSingleFileAttributes(REMOTE_DIR, FILE_NAME)).thenReturn(_attributes);
+    }
+
+    @Test
+    public void testStreamsFileWithoutResuming() throws IOException {
+        when(_connection.getFileStream(FILE_PATH, 0L)).thenReturn(stream(CONTENT));
+        RetryableStreamFileAction action = newAction(1);
+
+        action.execute();
+
+        assertEquals(CONTENT, readAll(action.getInputStream()));
+        assertEquals(100, action.getAttributes().getMTime());
+        verify(_connection, never()).reconnect();
+    }
+
+    @Test
+    public void testResumesAtBytesReadWhenTransferBreaks() throws IOException {
+        when(_connection.getFileStream(FILE_PATH, 0L)).thenReturn(brokenStream("hello "));
+        when(_connection.getFileStream(FILE_PATH, 6L)).thenReturn(stream("world"));
+        RetryableStreamFileAction action = newAction(1);
+
+        action.execute();
+
+        assertEquals(CONTENT, readAll(action.getInputStream()));
+        verify(_connection, times(1)).reconnect();
+    }
+
+    @Test
+    public void testFailsWhenRetriesAreExhausted() {
+        when(_connection.getFileStream(FILE_PATH, 0L)).thenReturn(brokenStream("hello "));
+        RetryableStreamFileAction action = newAction(0);
+
+        action.execute();
+
+        try {
+            readAll(action.getInputStream());
+            fail("expected the broken transfer to fail");
+        } catch (IOException e) {
+            verify(_connection, never()).reconnect();
+        }
+    }
+
+    @Test
+    public void testFailsWhenFileChangesBeforeResume() {
+        SftpATTRS changed = mock(SftpATTRS.class);
+        when(changed.getMTime()).thenReturn(200);
+        when(changed.getSize()).thenReturn((long) CONTENT.length());
+        when(_connection.getSingleFileAttributes(REMOTE_DIR, FILE_NAME)).thenReturn(_attributes, changed);
+        when(_connection.getFileStream(FILE_PATH, 0L)).thenReturn(brokenStream("hello "));
+        when(_connection.getFileStream(FILE_PATH, 6L)).thenReturn(stream("there"));
+        RetryableStreamFileAction action = newAction(1);
+
+        action.execute();
+
+        try {
+            readAll(action.getInputStream());
+            fail("expected the changed file to fail the transfer");
+        } catch (IOException e) {
+            assertEquals(1, e.getSuppressed().length);
+        }
+    }
+
+    private RetryableStreamFileAction newAction(int maxRetries) {
+        return new RetryableStreamFileAction(_connection, REMOTE_DIR, FILE_NAME, FILE_PATH, _input,
+                RetryStrategyFactory.createFactory(maxRetries));
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Serves the content, then fails like a dropped connection.
+     */
+    private static InputStream brokenStream(String content) {
+        final InputStream delegate = stream(content);
+        return new InputStream() {
+            @Override
+            public int read() throws IOException {
+                int read = delegate.read();
+                if (read == -1) {
+                    throw new IOException("connection lost");
+                }
+                return read;
+            }
+        };
+    }
+
+    private static String readAll(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,65 @@
+// Copyright (c) 2023 Boomi, Inc.
+package com.boomi.connector.sftp.actions;
+
+import com.boomi.connector.api.ObjectData;
+import com.boomi.connector.sftp.SFTPConnection;
+import com.boomi.connector.sftp.exception.SFTPSdkException;
+import com.boomi.connector.sftp.retry.RetryStrategyFactory;
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.SftpException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Logger;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RetryableUploadFileActionTest {
+
+    private static final String REMOTE_DIR = "/home/boomi";
+    private static final String FILE_PATH = REMOTE_DIR + "/file.txt";
+
+    private final SFTPConnection _connection = mock(SFTPConnection.class);
+    private final ObjectData _input = mock(ObjectData.class);
+    private final InputStream _content = new ByteArrayInputStream("hello".getBytes(StandardCharsets.UTF_8));
+
+    @Before
+    public void init() {
+        when(_input.getLogger()).thenReturn(mock(Logger.class));
+        when(_input.getData()).thenReturn(_content);
+    }
+
+    @Test
+    public void testTruncatingUploadSkipsSizeLookup() {
+        new RetryableUploadFileAction(_connection, REMOTE_DIR, RetryStrategyFactory.createFactory(1), FILE_PATH,
+                _input).execute();
+
+        verify(_connection).putFile(_content, FILE_PATH, ChannelSftp.OVERWRITE);
+        verify(_connection, never()).uploadFile(anyString(), any(InputStream.class), anyLong());
+    }
+
+    @Test
+    public void testTruncatingUploadResumesOnRetry() {
+        doThrow(new SFTPSdkException("connection lost",
+                new SftpException(ChannelSftp.SSH_FX_CONNECTION_LOST, "connection lost"))).when(_connection)
+                .putFile(_content, FILE_PATH, ChannelSftp.OVERWRITE);
+
+        new RetryableUploadFileAction(_connection, REMOTE_DIR, RetryStrategyFactory.createFactory(1), FILE_PATH,
+                _input).execute();
+
+        verify(_connection).reconnect();
+        verify(_connection).uploadFile(eq(FILE_PATH), eq(_content), eq(0L));
+    }
+}
@@ -0,0 +1,135 @@
+// Copyright (c) 2023 Boomi, Inc.
+package com.boomi.connector.sftp.listener;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DirectoryIndexTest {
+
+    private Path _directory;
+    private Path _file;
+
+    @Before
+    public void init() throws IOException {
+        _directory = Files.createTempDirectory("index");
+        _file = _directory.resolve(DirectoryIndex.getFileName("boomi@sftp.boomi.com:22/inbox"));
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        Files.deleteIfExists(_file);
+        Files.deleteIfExists(_directory);
+    }
+
+    @Test
+    public void testReportsAddedModifiedAndUnchangedFiles() throws IOException {
+        try (DirectoryIndex index = new DirectoryIndex(_file)) {
+            assertTrue(index.isCreated());
+            assertEquals(DirectoryIndex.Change.ADDED, index.update("a.txt", 10L, 100));
+            assertEquals(DirectoryIndex.Change.UNCHANGED, index.update("a.txt", 10L, 100));
+            assertEquals(DirectoryIndex.Change.MODIFIED, index.update("a.txt", 12L, 100));
+            assertEquals(DirectoryIndex.Change.MODIFIED, index.update("a.txt", 12L, 101));
+            assertEquals(1L, index.getCount());
+        }
+    }
+
+    @Test
+    public void testKeepsFilesAndWatermarkAcrossRuns() throws IOException {
+        try (DirectoryIndex index = new DirectoryIndex(_file)) {
+            index.update("a.txt", 10L, 100);
+            index.setWatermark(100);
+        }
+
+        try (DirectoryIndex index = new DirectoryIndex(_file)) {
+            assertFalse(index.isCreated());
+            assertEquals(100, index.getWatermark());
+            assertEquals(DirectoryIndex.Change.UNCHANGED, index.update("a.txt", 10L, 100));
+            assertEquals(DirectoryIndex.Change.ADDED, index.update("b.txt", 10L, 100));
+        }
+    }
+
+    @Test
+    public void testGrowsPastInitialCapacity() throws IOException {
+        try (DirectoryIndex index = new DirectoryIndex(_file)) {
+            for (int i = 0; i < 5000; i++) {
+                assertEquals(DirectoryIndex.Change.ADDED, index.update("file" + i, i, i));
+            }
+            for (int i = 0; i < 5000; i++) {
+                assertEquals(DirectoryIndex.Change.UNCHANGED, index.update("file" + i, i, i));
+            }
+            assertEquals(5000L, index.getCount());
+        }
+    }
+
+    @Test
+    public void testRemovesFilesNotListedByPoll() throws IOException {
+        try (DirectoryIndex index = new DirectoryIndex(_file)) {
+            index.startPoll();
+            for (int i = 0; i < 5000; i++) {
+                index.update("file" + i, i, i);
+            }
+            assertEquals(0L, index.removeUnlisted());
+            long grownSize = Files.size(_file);
+
+            index.startPoll();
+            assertEquals(DirectoryIndex.Change.UNCHANGED, index.update("file1", 1L, 1));
+            assertEquals(DirectoryIndex.Change.ADDED, index.update("new.txt", 10L, 100));
+            assertEquals(4999L, index.removeUnlisted());
+
+            assertEquals(2L, index.getCount());
+            assertTrue(Files.size(_file) < grownSize);
+            assertEquals(DirectoryIndex.Change.UNCHANGED, index.update("file1", 1L, 1));
+            assertEquals(DirectoryIndex.Change.ADDED, index.update("file2", 2L, 2));
+        }
+    }
+
+    @Test
+    public void testKeepsListedFilesAcrossRuns() throws IOException {
+        try (DirectoryIndex index = new DirectoryIndex(_file)) {
+            index.startPoll();
+            index.update("a.txt", 10L, 100);
+            index.update("b.txt", 10L, 100);
+        }
+
+        try (DirectoryIndex index = new DirectoryIndex(_file)) {
+            index.startPoll();
+            assertEquals(DirectoryIndex.Change.UNCHANGED, index.update("b.txt", 10L, 100));
+            assertEquals(1L, index.removeUnlisted());
+            assertEquals(DirectoryIndex.Change.ADDED, index.update("a.txt", 10L, 100));
+        }
+    }
+
+    @Test
+    public void testRecountsFilesNotSaved() throws IOException {
+        DirectoryIndex crashed = new DirectoryIndex(_file);
+        crashed.save();
+        crashed.update("a.txt", 10L, 100);
+        crashed.update("b.txt", 10L, 100);
+        // the count is not saved, as if the process stopped before the next save
+
+        try (DirectoryIndex index = new DirectoryIndex(_file)) {
+            assertEquals(2L, index.getCount());
+        } finally {
+            crashed.close();
+        }
+    }
+
+    @Test
+    public void testRecreatesInvalidIndexFile() throws IOException {
+        Files.write(_file, new byte[] { 1, 2, 3 });
+
+        try (DirectoryIndex index = new DirectoryIndex(_file)) {
+            assertTrue(index.isCreated());
+            assertEquals(DirectoryIndex.Change.ADDED, index.update("a.txt", 10L, 100));
+        }
+    }
+}